@@ -32,6 +32,7 @@
 import java.net.URI;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.*;
 
@@ -41,6 +42,7 @@
 import org.slf4j.Logger;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 import org.slf4j.event.Level;
+import org.zalando.fauxpas.ThrowingConsumer;
 
 import com.globalmentor.application.*;
 import com.globalmentor.net.Host;
@@ -179,7 +181,10 @@ public void clean(
 	 * @param argSiteTargetDirectory The target root directory into which the site will be generated.
 	 * @param argSiteDescriptionTargetDirectory The target root directory into which the site description will be generated.
 	 * @param full Specifies full instead of incremental mummification.
+	 * @param watch Watches the site source directory after mummification, mummifying the site again incrementally whenever the source changes.
+	 * @param noDaemon Mummifies in this process even if a Guise daemon is running.
 	 * @throws IOException if an I/O error occurs.
+	 * @see GuiseDaemon
 	 */
 	@Command(description = "Mummifies a site by generating a static version.", mixinStandardHelpOptions = true)
 	public void mummify(
@@ -188,24 +193,113 @@ public void mummify(
 			@Option(names = "--site-target-dir", description = "The target root directory into which the site will be generated; will be created if needed.%nDefaults to @|bold target/site/|@ relative to the project base directory.") @Nullable Path argSiteTargetDirectory,
 			@Option(names = "--site-description-target-dir", description = "The target root directory into which the site description will be generated; will be created if needed.%nDefaults to @|bold target/site-description/|@ relative to the project base directory.") @Nullable Path argSiteDescriptionTargetDirectory,
 			@Option(names = {"--full",
-					"-f"}, description = "Specifies full instead of incremental mummification.%nCached artifacts will be regenerated.", defaultValue = "false") final boolean full)
+					"-f"}, description = "Specifies full instead of incremental mummification.%nCached artifacts will be regenerated.", defaultValue = "false") final boolean full,
+			@Option(names = {"--watch",
+					"-w"}, description = "Watches the site source directory after mummification, mummifying the site again incrementally whenever the source changes.") final boolean watch,
+			@Option(names = "--no-daemon", description = "Mummifies in this process even if a Guise daemon is running.") final boolean noDaemon)
 			throws IOException {
 
 		logAppInfo();
 
 		final Path projectDirectory = argProjectDirectory != null ? argProjectDirectory : getWorkingDirectory();
 
+		System.out.println(ansi().bold().fg(Ansi.Color.BLUE).a("Mummify...").reset());
+
+		//delegate to a running daemon if possible; watching, however, requires a local mummifier
+		if(!watch && !noDaemon
+				&& GuiseDaemon.delegateMummify(projectDirectory, argSiteSourceDirectory, argSiteTargetDirectory, argSiteDescriptionTargetDirectory, full)) {
+			getLogger().info("Mummified by Guise daemon."); //TODO i18n
+			System.out.println(ansi().bold().fg(Ansi.Color.BLUE).a("Done.").reset());
+			return;
+		}
+
 		final GuiseMummy mummifier = new GuiseMummy();
 		final GuiseProject project = GuiseMummy.createProject(projectDirectory.toAbsolutePath(), argSiteSourceDirectory, argSiteTargetDirectory,
 				argSiteDescriptionTargetDirectory);
 		mummifier.setFull(full);
 
-		System.out.println(ansi().bold().fg(Ansi.Color.BLUE).a("Mummify...").reset());
 		logProjectInfo(project);
 
-		mummifier.mummify(project, GuiseMummy.LifeCyclePhase.MUMMIFY);
+		final MummyContext mummyContext = mummifier.mummify(project, GuiseMummy.LifeCyclePhase.MUMMIFY);
 
 		System.out.println(ansi().bold().fg(Ansi.Color.BLUE).a("Done.").reset());
+
+		if(watch) {
+			watchAndMummify(mummifier, project, mummyContext);
+		}
+	}
+
+	/**
+	 * Watches the site source directory of a project, mummifying the site again incrementally each time a batch of source changes is detected. This method does
+	 * not return until the thread is interrupted.
+	 * @implSpec Mummification is always incremental, relying on the recorded timestamps, fingerprints, and dependencies to regenerate only the affected
+	 *           artifacts. The site is planned again each time, but the mummify context is reused from one mummification to the next, along with its mummifiers
+	 *           and whatever they have cached, such as loaded templates and excerpts. If the site configuration changes, or if the changes could not all be
+	 *           determined, a new context is created instead.
+	 * @param mummifier The mummifier to use; its full mummification setting will be turned off.
+	 * @param project The project being mummified.
+	 * @param mummyContext The context of the mummification already performed by the mummifier.
+	 * @throws IOException if there is an error watching the site source directory.
+	 * @see GuiseMummy#mummify(MummyContext, GuiseMummy.LifeCyclePhase)
+	 */
+	protected void watchAndMummify(@Nonnull final GuiseMummy mummifier, @Nonnull final GuiseProject project, @Nonnull final MummyContext mummyContext)
+			throws IOException {
+		mummifier.setFull(false);
+		final AtomicReference<MummyContext> mummyContextReference = new AtomicReference<>(mummyContext);
+		watch(project, changedPaths -> {
+			System.out.println(ansi().bold().fg(Ansi.Color.BLUE).a("Mummify...").reset());
+			if(isSiteConfigurationChanged(mummyContextReference.get(), changedPaths)) {
+				getLogger().info("Site configuration may have changed; starting a new mummification context."); //TODO i18n
+				mummyContextReference.set(mummifier.mummify(project, GuiseMummy.LifeCyclePhase.MUMMIFY));
+			} else {
+				mummifier.mummify(mummyContextReference.get(), GuiseMummy.LifeCyclePhase.MUMMIFY);
+			}
+			System.out.println(ansi().bold().fg(Ansi.Color.BLUE).a("Done.").reset());
+		});
+	}
+
+	/**
+	 * Determines whether a batch of source changes may have changed the site configuration, which is loaded only when a mummify context is created.
+	 * @implSpec This implementation considers the site configuration changed if any changed path is a {@value GuiseMummy#MUMMY_CONFIG_BASE_FILENAME} file in
+	 *           the site source directory, or is the site source directory itself, which {@link SourceWatcher} reports if the individual changes are unknown.
+	 * @param mummyContext The current mummify context.
+	 * @param changedPaths The paths that have changed.
+	 * @return <code>true</code> if a new mummify context should be created to pick up the site configuration.
+	 */
+	protected boolean isSiteConfigurationChanged(@Nonnull final MummyContext mummyContext, @Nonnull final Set<Path> changedPaths) {
+		final Path siteSourceDirectory = mummyContext.getSiteSourceDirectory().normalize(); //the source watcher reports normalized paths
+		return changedPaths.stream().anyMatch(changedPath -> changedPath.equals(siteSourceDirectory) || (siteSourceDirectory.equals(changedPath.getParent())
+				&& changedPath.getFileName().toString().startsWith(GuiseMummy.MUMMY_CONFIG_BASE_FILENAME + ".")));
+	}
+
+	/**
+	 * Watches the site source directory of a project, updating the site each time a batch of source changes is detected. This method does not return until the
+	 * thread is interrupted.
+	 * @implNote An error while updating the site is logged rather than ending the watch, as the source may simply be in the middle of being edited.
+	 * @param project The project being watched.
+	 * @param update The operation for updating the site after the source changes, accepting the paths that have changed.
+	 * @throws IOException if there is an error watching the site source directory.
+	 * @see SourceWatcher
+	 */
+	protected void watch(@Nonnull final GuiseProject project, @Nonnull final ThrowingConsumer<Set<Path>, IOException> update) throws IOException {
+		final Path siteSourceDirectory = project.getDirectory().resolve(project.getConfiguration().getPath(PROJECT_CONFIG_KEY_SITE_SOURCE_DIRECTORY));
+		try (final SourceWatcher sourceWatcher = new SourceWatcher(siteSourceDirectory)) {
+			getLogger().info("Watching for changes in `{}`. (Press Ctrl+C to stop.)", siteSourceDirectory); //TODO i18n
+			while(!Thread.currentThread().isInterrupted()) {
+				final Set<Path> changedPaths = sourceWatcher.awaitChanges(SourceWatcher.DEFAULT_DEBOUNCE_DURATION);
+				changedPaths.forEach(changedPath -> getLogger().debug("Changed: `{}`", changedPath)); //TODO i18n
+				final long startNanos = System.nanoTime();
+				try {
+					update.tryAccept(changedPaths);
+				} catch(final IOException | RuntimeException exception) {
+					getLogger().error("Error updating site: {}", exception.getLocalizedMessage(), exception); //TODO i18n
+					continue;
+				}
+				getLogger().info("Updated site for {} changed path(s) in {} ms.", changedPaths.size(), (System.nanoTime() - startNanos) / 1_000_000); //TODO i18n
+			}
+		} catch(final InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
 	/**
@@ -291,27 +385,50 @@ public void deploy(
 		}
 	}
 
+	/**
+	 * Starts a long-lived daemon that mummifies sites on behalf of other invocations of the <code>mummify</code> command, which will delegate to the daemon while
+	 * it is running.
+	 * @throws IOException if there is an error starting the daemon.
+	 * @see GuiseDaemon
+	 */
+	@Command(description = "Starts a long-lived daemon that mummifies sites on behalf of other invocations of the @|bold mummify|@ command, avoiding JVM startup and warmup for each build.", mixinStandardHelpOptions = true)
+	public void daemon() throws IOException {
+
+		logAppInfo();
+
+		System.out.println(ansi().bold().fg(Ansi.Color.BLUE).a("Daemon...").reset());
+
+		new GuiseDaemon().run();
+	}
+
 	/** The relative path of the server base directory; meant to be used in conjunction with the temporary directory. */
 	private static final Path SERVER_RELATIVE_BASE_DIRECTORY = Paths.get("guise", "mummy", "server"); //TODO use constants
 
 	/**
 	 * Starts a web server for exploring the site in the target directory.
 	 * @param argProjectDirectory The base directory of the project being served.
+	 * @param argSiteSourceDirectory The source root directory of the site to mummify when watching.
 	 * @param argSiteTargetDirectory The target root directory of the site to be served.
 	 * @param argSiteDescriptionTargetDirectory The target root directory of the description of the site to be served.
 	 * @param argPort Specifies the server port.
 	 * @param browse Opens a browser to the site after starting the server.
+	 * @param watch Mummifies the site incrementally before serving it, and again whenever the source changes.
+	 * @param onDemand Renders pages from source as they are requested instead of serving a previously mummified site; takes precedence over watching.
 	 * @throws IOException if an I/O error occurs.
 	 * @throws LifecycleException if there is a problem starting the server.
 	 */
 	@Command(description = "Starts a web server for exploring the site in the target directory.", mixinStandardHelpOptions = true)
 	public void serve(
 			@Parameters(paramLabel = "<project>", description = "The base directory of the project being served.%nDefaults to the working directory, currently @|bold ${DEFAULT-VALUE}|@.", defaultValue = "${sys:user.dir}", arity = "0..1") @Nullable Path argProjectDirectory,
+			@Option(names = "--site-source-dir", description = "The source root directory of the site to mummify when watching.%nDefaults to @|bold src/site/|@ relative to the project base directory.") @Nullable Path argSiteSourceDirectory,
 			@Option(names = "--site-target-dir", description = "The target root directory of the site to be served.%nDefaults to @|bold target/site/|@ relative to the project base directory.") @Nullable Path argSiteTargetDirectory,
 			@Option(names = "--site-description-target-dir", description = "The target root directory of the description of the site to be served.%nDefaults to @|bold target/site-description/|@ relative to the project base directory.") @Nullable Path argSiteDescriptionTargetDirectory,
 			@Option(names = {"--port", "-p"}, description = "Specifies the server port.%nDefaults to @|bold ${DEFAULT-VALUE}|@.", defaultValue = ""
 					+ DEFAULT_SERVER_PORT) Integer argPort,
-			@Option(names = {"--browse", "-b"}, description = "Opens a browser to the site after starting the server.") final boolean browse)
+			@Option(names = {"--browse", "-b"}, description = "Opens a browser to the site after starting the server.") final boolean browse,
+			@Option(names = {"--watch",
+					"-w"}, description = "Mummifies the site incrementally before serving it, and again whenever the site source directory changes.") final boolean watch,
+			@Option(names = "--on-demand", description = "Plans the site and renders each page from source when it is first requested, instead of serving a previously mummified site.%nThe site is planned again whenever the site source directory changes.") final boolean onDemand)
 			throws IOException, LifecycleException {
 
 		logAppInfo();
@@ -334,6 +451,25 @@ public void serve(
 		serverBaseDirectory = getTempDirectory().resolve(SERVER_RELATIVE_BASE_DIRECTORY);
 		port = argPort != null ? argPort : projectConfiguration.findInt(CONFIG_KEY_SERVER_PORT).orElse(DEFAULT_SERVER_PORT);
 
+		final GuiseMummy mummifier = watch || onDemand ? new GuiseMummy() : null;
+		final OnDemandMummifier onDemandMummifier;
+		final MummyContext mummyContext;
+		if(onDemand) { //only plan the site; pages will be rendered as they are requested
+			onDemandMummifier = new OnDemandMummifier(mummifier, project);
+			mummyContext = null;
+			System.out.println(ansi().bold().fg(Ansi.Color.BLUE).a("Plan...").reset());
+			onDemandMummifier.plan();
+			createDirectories(siteTargetDirectory); //other artifacts such as images are still mummified into the target directory as they are requested
+		} else {
+			onDemandMummifier = null;
+			if(watch) { //bring the site up to date before serving it
+				System.out.println(ansi().bold().fg(Ansi.Color.BLUE).a("Mummify...").reset());
+				mummyContext = mummifier.mummify(project, GuiseMummy.LifeCyclePhase.MUMMIFY);
+			} else {
+				mummyContext = null;
+			}
+		}
+
 		checkArgument(isDirectory(siteTargetDirectory), "Site target directory %s does not exist.", siteTargetDirectory); //TODO improve error handling; see https://github.com/remkop/picocli/issues/672
 
 		System.out.println(ansi().bold().fg(Ansi.Color.BLUE).a("Serve...").reset());
@@ -350,6 +486,9 @@ public void serve(
 		final Context context = tomcat.addContext("", siteTargetDirectory.toAbsolutePath().toString());
 		final SiteRoot siteRoot = new SiteRoot(siteDescriptionTargetDirectory.toAbsolutePath().toString());
 		siteRoot.setDescriptionFileSidecarExtension(Mummifier.DESCRIPTION_FILE_SIDECAR_EXTENSION);
+		if(watch || onDemand) { //don't let the resource cache serve stale content after the site is mummified again
+			siteRoot.setCachingAllowed(false);
+		}
 		context.setResources(siteRoot);
 
 		final Wrapper defaultServlet = context.createWrapper(); //TODO use constants below
@@ -360,7 +499,12 @@ public void serve(
 		defaultServlet.setLoadOnStartup(1);
 
 		context.addChild(defaultServlet);
-		context.addServletMappingDecoded(ROOT_PATH, "default"); //TODO use constant
+		if(onDemandMummifier != null) { //the on-demand servlet delegates to the default servlet for anything other than pages
+			Tomcat.addServlet(context, "onDemand", new OnDemandMummifierServlet(onDemandMummifier, defaultServlet.getName())); //TODO use constant
+			context.addServletMappingDecoded(ROOT_PATH, "onDemand"); //TODO use constant
+		} else {
+			context.addServletMappingDecoded(ROOT_PATH, "default"); //TODO use constant
+		}
 		//TODO later add JSP servlet mappings
 		DEFAULT_MIME_TYPES_BY_FILENAME_EXTENSION.forEach((extension, mimeType) -> context.addMimeMapping(extension, mimeType));
 
@@ -380,7 +524,17 @@ public void serve(
 			Desktop.getDesktop().browse(siteLocalUrl);
 		}
 
-		tomcat.getServer().await();
+		//the server runs on its own threads, so use this thread to watch for changes
+		if(onDemandMummifier != null) {
+			watch(project, changedPaths -> {
+				System.out.println(ansi().bold().fg(Ansi.Color.BLUE).a("Plan...").reset());
+				onDemandMummifier.plan();
+			});
+		} else if(watch) {
+			watchAndMummify(mummifier, project, mummyContext);
+		} else {
+			tomcat.getServer().await();
+		}
 	}
 
 	/**
@@ -0,0 +1,296 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.cli;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.nio.file.Files.*;
+import static java.nio.file.attribute.PosixFilePermission.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+import java.security.*;
+import java.util.*;
+
+import javax.annotation.*;
+
+import io.clogr.Clogged;
+import io.guise.mummy.*;
+
+/**
+ * A long-lived daemon that mummifies sites on behalf of other Guise CLI invocations, avoiding the cost of JVM startup, class loading, and warmup for each
+ * build.
+ * <p>
+ * The daemon listens on an ephemeral port on the loopback interface. When it starts it writes the port, along with a randomly generated token that clients must
+ * present, to the {@link #getDaemonFile() daemon file} in the user home directory, readable only by the current user where the file system permits. A client
+ * that finds the daemon file, owned by the current user and not accessible to others, and is able to connect may delegate mummification using
+ * {@link #delegateMummify(Path, Path, Path, Path, boolean)}.
+ * </p>
+ * <p>
+ * Each request consists of the {@value #PROTOCOL_VERSION} protocol version, the {@link GuiseMummy#VERSION} of the client, the token, the absolute project
+ * directory, the optional site source, site target, and site description target directories, and the full mummification flag. The response consists of a
+ * success flag and an error message, if any. The daemon refuses requests from clients of a different Guise Mummy version, as the client expects the site to be
+ * mummified the way its own version would.
+ * </p>
+ * @apiNote Requests are processed one at a time, as mummification itself is already parallelized.
+ * @author Garret Wilson
+ */
+public class GuiseDaemon implements Clogged {
+
+	/** The path of the daemon file, relative to the user home directory. */
+	private static final Path DAEMON_FILE_RELATIVE_PATH = Paths.get(".guise", "mummy", "daemon.properties"); //TODO use constants
+
+	/** The version of the request protocol. */
+	static final int PROTOCOL_VERSION = 2;
+
+	/** The daemon file property indicating the port on which the daemon is listening. */
+	private static final String PROPERTY_PORT = "port";
+	/** The daemon file property indicating the token clients must present. */
+	private static final String PROPERTY_TOKEN = "token";
+
+	/** The number of random bytes in a token. */
+	private static final int TOKEN_LENGTH = 32;
+
+	/** The maximum time in milliseconds for a client to wait when connecting to a daemon. */
+	private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+
+	/** The maximum time in milliseconds for the daemon to wait for a client to send the request header. */
+	private static final int REQUEST_TIMEOUT_MILLIS = 5000;
+
+	/**
+	 * Returns the file in which a running daemon records its port and token.
+	 * @implSpec The file is located in the user home directory rather than in the system temporary directory, so that other users cannot plant a daemon file of
+	 *           their own.
+	 * @return The file in which a running daemon records its port and token.
+	 */
+	public static Path getDaemonFile() {
+		return Paths.get(System.getProperty("user.home")).resolve(DAEMON_FILE_RELATIVE_PATH);
+	}
+
+	/**
+	 * Determines whether the daemon file can be trusted: that it is owned by the current user and, if the file system supports POSIX permissions, that no other
+	 * users have access to it.
+	 * @param daemonFile The daemon file to check.
+	 * @return <code>true</code> if the daemon file was written by a daemon of the current user.
+	 * @throws IOException if there is an error determining the owner or permissions of the daemon file.
+	 */
+	static boolean isTrusted(@Nonnull final Path daemonFile) throws IOException {
+		final UserPrincipal currentUser;
+		try {
+			currentUser = daemonFile.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByName(System.getProperty("user.name"));
+		} catch(final UserPrincipalNotFoundException userPrincipalNotFoundException) {
+			return false;
+		}
+		if(!getOwner(daemonFile, LinkOption.NOFOLLOW_LINKS).equals(currentUser)) {
+			return false;
+		}
+		if(daemonFile.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			final Set<PosixFilePermission> permissions = getPosixFilePermissions(daemonFile, LinkOption.NOFOLLOW_LINKS);
+			return Collections.disjoint(permissions, EnumSet.of(GROUP_READ, GROUP_WRITE, GROUP_EXECUTE, OTHERS_READ, OTHERS_WRITE, OTHERS_EXECUTE));
+		}
+		return true;
+	}
+
+	/**
+	 * Runs the daemon, processing mummification requests until the thread is interrupted or the process is stopped.
+	 * @throws IOException if there is an error starting the daemon or accepting connections.
+	 */
+	public void run() throws IOException {
+		final byte[] tokenBytes = new byte[TOKEN_LENGTH];
+		new SecureRandom().nextBytes(tokenBytes);
+		final String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+		try (final ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+			final Path daemonFile = getDaemonFile();
+			writeDaemonFile(daemonFile, serverSocket.getLocalPort(), token);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					deleteIfExists(daemonFile);
+				} catch(final IOException ioException) {
+					getLogger().warn("Unable to delete daemon file `{}`.", daemonFile, ioException); //TODO i18n
+				}
+			}));
+			getLogger().info("Guise daemon listening on port {}. (Press Ctrl+C to stop.)", serverSocket.getLocalPort()); //TODO i18n
+			while(!Thread.currentThread().isInterrupted()) {
+				try (final Socket socket = serverSocket.accept()) {
+					handle(socket, token);
+				} catch(final IOException ioException) { //a failed connection should not bring down the daemon
+					getLogger().warn("Error processing daemon request: {}", ioException.getLocalizedMessage(), ioException); //TODO i18n
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the daemon file so that clients can find the daemon.
+	 * @param daemonFile The daemon file to write.
+	 * @param port The port on which the daemon is listening.
+	 * @param token The token clients must present.
+	 * @throws IOException if there is an error writing the daemon file.
+	 */
+	protected void writeDaemonFile(@Nonnull final Path daemonFile, final int port, @Nonnull final String token) throws IOException {
+		createDirectories(daemonFile.toAbsolutePath().getParent());
+		deleteIfExists(daemonFile);
+		if(daemonFile.getFileSystem().supportedFileAttributeViews().contains("posix")) { //keep other users from reading the token
+			createFile(daemonFile, PosixFilePermissions.asFileAttribute(EnumSet.of(OWNER_READ, OWNER_WRITE)));
+		}
+		final Properties properties = new Properties();
+		properties.setProperty(PROPERTY_PORT, Integer.toString(port));
+		properties.setProperty(PROPERTY_TOKEN, token);
+		try (final Writer writer = newBufferedWriter(daemonFile, UTF_8)) {
+			properties.store(writer, "Guise daemon");
+		}
+	}
+
+	/**
+	 * Processes a single mummification request.
+	 * @param socket The connection to the client.
+	 * @param token The token the client must present.
+	 * @throws IOException if there is an error communicating with the client.
+	 */
+	protected void handle(@Nonnull final Socket socket, @Nonnull final String token) throws IOException {
+		final DataInputStream inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		final DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		socket.setSoTimeout(REQUEST_TIMEOUT_MILLIS); //keep a client that never sends its request from blocking the daemon
+		if(inputStream.readInt() != PROTOCOL_VERSION) {
+			getLogger().warn("Rejected daemon request from {} using a different protocol version.", socket.getRemoteSocketAddress()); //TODO i18n
+			writeResponse(outputStream, "Request rejected by Guise daemon: unsupported protocol version.");
+			return;
+		}
+		final String clientVersion = inputStream.readUTF();
+		if(!MessageDigest.isEqual(inputStream.readUTF().getBytes(UTF_8), token.getBytes(UTF_8))) { //compare tokens in constant time
+			getLogger().warn("Rejected daemon request from {}.", socket.getRemoteSocketAddress()); //TODO i18n
+			writeResponse(outputStream, "Request rejected by Guise daemon.");
+			return;
+		}
+		if(!clientVersion.equals(GuiseMummy.VERSION)) {
+			getLogger().warn("Rejected daemon request from Guise Mummy version {}.", clientVersion); //TODO i18n
+			writeResponse(outputStream,
+					String.format("Guise daemon version %s cannot mummify for Guise Mummy version %s; restart the daemon.", GuiseMummy.VERSION, clientVersion)); //TODO i18n
+			return;
+		}
+		final Path projectDirectory = Paths.get(inputStream.readUTF());
+		final Path siteSourceDirectory = readOptionalPath(inputStream);
+		final Path siteTargetDirectory = readOptionalPath(inputStream);
+		final Path siteDescriptionTargetDirectory = readOptionalPath(inputStream);
+		final boolean full = inputStream.readBoolean();
+		socket.setSoTimeout(0); //the request has been read; mummification itself may take arbitrarily long
+		getLogger().info("Mummifying project `{}`.", projectDirectory); //TODO i18n
+		final long startNanos = System.nanoTime();
+		try {
+			final GuiseMummy mummifier = new GuiseMummy();
+			final GuiseProject project = GuiseMummy.createProject(projectDirectory, siteSourceDirectory, siteTargetDirectory, siteDescriptionTargetDirectory);
+			mummifier.setFull(full);
+			mummifier.mummify(project, GuiseMummy.LifeCyclePhase.MUMMIFY);
+		} catch(final IOException | RuntimeException exception) {
+			getLogger().error("Error mummifying project `{}`: {}", projectDirectory, exception.getLocalizedMessage(), exception); //TODO i18n
+			writeResponse(outputStream, Optional.ofNullable(exception.getLocalizedMessage()).orElse(exception.getClass().getName()));
+			return;
+		}
+		getLogger().info("Mummified project `{}` in {} ms.", projectDirectory, (System.nanoTime() - startNanos) / 1_000_000); //TODO i18n
+		writeResponse(outputStream, null);
+	}
+
+	/**
+	 * Delegates mummification of a project to a running daemon, if any.
+	 * @param projectDirectory The base directory of the project to mummify.
+	 * @param siteSourceDirectory The source root directory of the site to mummify, or <code>null</code> for the project default.
+	 * @param siteTargetDirectory The target root directory into which the site will be generated, or <code>null</code> for the project default.
+	 * @param siteDescriptionTargetDirectory The target root directory into which the site description will be generated, or <code>null</code> for the project
+	 *          default.
+	 * @param full Specifies full instead of incremental mummification.
+	 * @return <code>true</code> if the project was mummified by the daemon, or <code>false</code> if no daemon is running or the daemon file is not trusted.
+	 * @throws IOException if the daemon reported an error mummifying the project, or there was an error communicating with the daemon.
+	 * @see #isTrusted(Path)
+	 */
+	public static boolean delegateMummify(@Nonnull final Path projectDirectory, @Nullable final Path siteSourceDirectory, @Nullable final Path siteTargetDirectory,
+			@Nullable final Path siteDescriptionTargetDirectory, final boolean full) throws IOException {
+		final Path daemonFile = getDaemonFile();
+		if(!isRegularFile(daemonFile, LinkOption.NOFOLLOW_LINKS) || !isTrusted(daemonFile)) {
+			return false;
+		}
+		final Properties properties = new Properties();
+		try (final Reader reader = newBufferedReader(daemonFile, UTF_8)) {
+			properties.load(reader);
+		}
+		final int port;
+		try {
+			port = Integer.parseInt(properties.getProperty(PROPERTY_PORT, ""));
+		} catch(final NumberFormatException numberFormatException) {
+			return false; //ignore a daemon file that is partially written or otherwise invalid
+		}
+		final String token = properties.getProperty(PROPERTY_TOKEN, "");
+		try (final Socket socket = new Socket()) {
+			try {
+				socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT_MILLIS);
+			} catch(final IOException ioException) { //the daemon file was left over from a daemon that is no longer running
+				return false;
+			}
+			final DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			outputStream.writeInt(PROTOCOL_VERSION);
+			outputStream.writeUTF(GuiseMummy.VERSION);
+			outputStream.writeUTF(token);
+			outputStream.writeUTF(projectDirectory.toAbsolutePath().toString());
+			writeOptionalPath(outputStream, siteSourceDirectory);
+			writeOptionalPath(outputStream, siteTargetDirectory);
+			writeOptionalPath(outputStream, siteDescriptionTargetDirectory);
+			outputStream.writeBoolean(full);
+			outputStream.flush();
+			final DataInputStream inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			final boolean success = inputStream.readBoolean();
+			final String message = inputStream.readUTF();
+			if(!success) {
+				throw new IOException(message);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the response to a request.
+	 * @param outputStream The output stream to the client.
+	 * @param errorMessage The error message, or <code>null</code> if the request succeeded.
+	 * @throws IOException if there is an error writing the response.
+	 */
+	private static void writeResponse(@Nonnull final DataOutputStream outputStream, @Nullable final String errorMessage) throws IOException {
+		outputStream.writeBoolean(errorMessage == null);
+		outputStream.writeUTF(errorMessage != null ? errorMessage : "");
+		outputStream.flush();
+	}
+
+	/**
+	 * Writes a path that may not be present, converting it to an absolute path so that it is independent of the working directory.
+	 * @param outputStream The output stream to which to write.
+	 * @param path The path to write, or <code>null</code> if there is no path.
+	 * @throws IOException if there is an error writing the path.
+	 */
+	private static void writeOptionalPath(@Nonnull final DataOutputStream outputStream, @Nullable final Path path) throws IOException {
+		outputStream.writeUTF(path != null ? path.toAbsolutePath().toString() : "");
+	}
+
+	/**
+	 * Reads a path that may not be present.
+	 * @param inputStream The input stream from which to read.
+	 * @return The path read, or <code>null</code> if there was no path.
+	 * @throws IOException if there is an error reading the path.
+	 */
+	private static @Nullable Path readOptionalPath(@Nonnull final DataInputStream inputStream) throws IOException {
+		final String path = inputStream.readUTF();
+		return !path.isEmpty() ? Paths.get(path) : null;
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.cli;
+
+import static java.util.Objects.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import javax.annotation.*;
+
+import io.clogr.Clogged;
+import io.guise.mummy.*;
+import io.guise.mummy.mummify.collection.DirectoryArtifact;
+import io.guise.mummy.mummify.page.PageMummifier;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.*;
+
+/**
+ * Servlet that serves pages rendered on demand from the site source, delegating to another servlet, typically the default servlet, to serve other resources
+ * from the site target directory after they have been mummified.
+ * @author Garret Wilson
+ * @see OnDemandMummifier
+ */
+public class OnDemandMummifierServlet extends HttpServlet implements Clogged {
+
+	private static final long serialVersionUID = 1L;
+
+	private final OnDemandMummifier onDemandMummifier;
+
+	private final String delegateServletName;
+
+	/**
+	 * Constructor.
+	 * @param onDemandMummifier The on-demand mummifier of the site being served; must already have planned the site.
+	 * @param delegateServletName The name of the servlet for serving resources other than rendered pages from the site target directory.
+	 */
+	public OnDemandMummifierServlet(@Nonnull final OnDemandMummifier onDemandMummifier, @Nonnull final String delegateServletName) {
+		this.onDemandMummifier = requireNonNull(onDemandMummifier);
+		this.delegateServletName = requireNonNull(delegateServletName);
+	}
+
+	@Override
+	protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws ServletException, IOException {
+		final String requestPath = Optional.ofNullable(request.getPathInfo()).map(pathInfo -> request.getServletPath() + pathInfo).orElse(request.getServletPath());
+		final Path siteTargetDirectory = onDemandMummifier.getContext().getSiteTargetDirectory();
+		Path targetPath = siteTargetDirectory;
+		for(final String segment : requestPath.split("/")) {
+			if(!segment.isEmpty()) {
+				targetPath = targetPath.resolve(segment);
+			}
+		}
+		targetPath = targetPath.normalize();
+		if(!targetPath.startsWith(siteTargetDirectory)) { //don't allow requests to escape the site
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		try {
+			final Optional<Artifact> foundArtifact = onDemandMummifier.findArtifact(targetPath);
+			if(foundArtifact.isPresent() && foundArtifact.get() instanceof DirectoryArtifact) { //serve the content of a directory, if any
+				if(!requestPath.endsWith("/")) { //make sure relative references in the directory content resolve correctly
+					final String queryString = request.getQueryString();
+					response.sendRedirect(request.getContextPath() + requestPath + "/" + (queryString != null ? "?" + queryString : ""));
+					return;
+				}
+				targetPath = ((DirectoryArtifact)foundArtifact.get()).findContentArtifact().map(Artifact::getTargetPath).orElse(targetPath);
+			}
+			final Optional<byte[]> renderedPage = onDemandMummifier.findRenderedPage(targetPath);
+			if(renderedPage.isPresent()) {
+				response.setContentType(PageMummifier.PAGE_MEDIA_TYPE.toString());
+				response.setContentLength(renderedPage.get().length);
+				response.getOutputStream().write(renderedPage.get());
+				return;
+			}
+			onDemandMummifier.mummify(targetPath); //make sure any other artifact has been generated before the delegate servlet serves it
+		} catch(final IOException ioException) {
+			getLogger().error("Error generating `{}` on demand: {}", requestPath, ioException.getLocalizedMessage(), ioException); //TODO i18n
+			response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, ioException.getLocalizedMessage());
+			return;
+		}
+		getServletContext().getNamedDispatcher(delegateServletName).forward(request, response);
+	}
+
+}
@@ -21,13 +21,17 @@
 import static java.lang.String.format;
 import static java.util.Objects.*;
 
-import java.util.Optional;
-import java.util.function.Function;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.*;
 
 import javax.annotation.*;
 
 /**
  * Default Guise Mesh interpolation implementation.
+ * @implSpec This implementation parses each distinct text containing expressions only once into an {@link InterpolationTemplate}, which is cached and reused
+ *           when the same text is encountered again, such as the same template content appearing in many pages. Text with no expressions, which is by far the
+ *           most common, is recognized by a quick scan and is neither parsed nor cached.
  * @author Garret Wilson
  */
 public class DefaultMeshInterpolator implements MeshInterpolator {
@@ -38,9 +42,64 @@ public class DefaultMeshInterpolator implements MeshInterpolator {
 	/** The default Guise Mesh right interpolation expression delimiter. */
 	public static final String RIGHT_EXPRESSION_DELIMITER = "}";
 
+	/** The default maximum number of parsed interpolation templates to cache. */
+	public static final int DEFAULT_TEMPLATE_CACHE_SIZE = 4096;
+
 	/** Singleton shared instance. */
 	public static final DefaultMeshInterpolator INSTANCE = new DefaultMeshInterpolator();
 
+	private final int templateCacheSize;
+
+	/** The parsed interpolation templates, keyed to the text from which they were parsed. */
+	private final Map<String, InterpolationTemplate> templateCache = new ConcurrentHashMap<>();
+
+	/** Default constructor with a template cache of {@link #DEFAULT_TEMPLATE_CACHE_SIZE}. */
+	public DefaultMeshInterpolator() {
+		this(DEFAULT_TEMPLATE_CACHE_SIZE);
+	}
+
+	/**
+	 * Template cache size constructor.
+	 * @param templateCacheSize The maximum number of parsed interpolation templates to cache, or <code>0</code> if templates should not be cached.
+	 * @throws IllegalArgumentException if the given template cache size is negative.
+	 */
+	public DefaultMeshInterpolator(final int templateCacheSize) {
+		this.templateCacheSize = checkArgumentNotNegative(templateCacheSize);
+	}
+
+	/**
+	 * Retrieves the parsed interpolation template for the given text, parsing and caching it if necessary.
+	 * @apiNote Once text with expressions has been parsed, it will be recognized without being parsed again.
+	 * @implSpec Only text with expressions is cached; a new template is returned for text without expressions.
+	 * @implNote Rather than tracking usage of each entry, the cache is simply cleared when it becomes full. Templates are typically encountered repeatedly
+	 *           within a single site, so any frequently used templates will quickly be cached again. This keeps lookups free of contention.
+	 * @param text The text to parse.
+	 * @return The interpolation template representing the text.
+	 * @throws MeshInterpolationException if the interpolation syntax of the given text is incorrect.
+	 */
+	public InterpolationTemplate getTemplate(@Nonnull final CharSequence text) throws MeshInterpolationException {
+		if(!hasInterpolation(text)) {
+			return new InterpolationTemplate(List.of(text.toString()), List.of());
+		}
+		final String textString = text.toString();
+		InterpolationTemplate template = templateCache.get(textString);
+		if(template == null) {
+			template = parseTemplate(textString, LEFT_EXPRESSION_DELIMITER, RIGHT_EXPRESSION_DELIMITER);
+			if(templateCacheSize > 0) {
+				if(templateCache.size() >= templateCacheSize) {
+					templateCache.clear();
+				}
+				templateCache.put(textString, template); //a concurrent parse of the same text would produce an equivalent template
+			}
+		}
+		return template;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @implSpec This implementation delegates to {@link #hasInterpolation(CharSequence, String, String)}, which only scans for the beginning of an expression.
+	 *           Text with an incomplete expression is considered to have interpolation, so that the syntax error will be reported if interpolation is attempted.
+	 */
 	@Override
 	public boolean hasInterpolation(@Nonnull final CharSequence text) throws MeshInterpolationException {
 		return hasInterpolation(text, LEFT_EXPRESSION_DELIMITER, RIGHT_EXPRESSION_DELIMITER);
@@ -91,8 +150,22 @@ protected static boolean hasInterpolation(@Nonnull CharSequence text, final Stri
 	@Override
 	public Optional<CharSequence> findInterpolation(final MeshContext context, final CharSequence text, final MexlEvaluator evaluator)
 			throws MeshInterpolationException, MexlException {
-		return findInterpolation(text, LEFT_EXPRESSION_DELIMITER, RIGHT_EXPRESSION_DELIMITER,
-				expression -> evaluator.findExpressionResult(context, expression).map(Object::toString).orElse(""));
+		if(!hasInterpolation(text)) {
+			return Optional.empty();
+		}
+		return getTemplate(text).findInterpolation(expression -> evaluator.findExpressionResult(context, expression).map(Object::toString).orElse(""));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @implSpec This implementation parses the text using {@link #getTemplate(CharSequence)} and compiles each of its expressions using
+	 *           {@link MexlEvaluator#compileExpression(CharSequence)}.
+	 * @see InterpolationTemplate#compile(MexlEvaluator)
+	 */
+	@Override
+	public Optional<MeshInterpolation> compileInterpolation(final CharSequence text, final MexlEvaluator evaluator)
+			throws MeshInterpolationException, MexlException {
+		return getTemplate(text).compile(evaluator);
 	}
 
 	/**
@@ -111,34 +184,43 @@ public Optional<CharSequence> findInterpolation(final MeshContext context, final
 	 */
 	protected static Optional<CharSequence> findInterpolation(@Nonnull final CharSequence text, final String leftExpressionDelimiter,
 			final String rightExpressionDelimiter, @Nonnull final Function<CharSequence, CharSequence> evaluator) throws MeshInterpolationException, MexlException {
+		requireNonNull(evaluator);
+		return parseTemplate(text, leftExpressionDelimiter, rightExpressionDelimiter).findInterpolation(evaluator);
+	}
+
+	/**
+	 * Parses the given text into literal and expression segments.
+	 * @implSpec This current implementation only supports a left delimiter of exactly two characters and a right delimiter of exactly one character.
+	 * @implSpec This implementation does not support nested delimiters.
+	 * @implSpec This implementation does not fully support surrogate characters as expression delimiters.
+	 * @param text The text to parse.
+	 * @param leftExpressionDelimiter The string demarcating the left side of an interpolation expression.
+	 * @param rightExpressionDelimiter The string demarcating the right side of an interpolation expression.
+	 * @return The template representing the parsed text.
+	 * @throws MeshInterpolationException if the interpolation syntax of the given text is incorrect.
+	 */
+	protected static InterpolationTemplate parseTemplate(@Nonnull final CharSequence text, final String leftExpressionDelimiter,
+			final String rightExpressionDelimiter) throws MeshInterpolationException {
 		checkArgument(leftExpressionDelimiter.length() == 2,
 				"Interpolation left expression delimiter `%s` not supported; currently only a left delimiter of exactly two characters is supported.",
 				leftExpressionDelimiter);
 		checkArgument(rightExpressionDelimiter.length() == 1,
 				"Interpolation right expression delimiter `%s` not supported; currently only a right delimiter of exactly one character is supported.",
 				leftExpressionDelimiter);
-		requireNonNull(evaluator);
 		final char signalChar = leftExpressionDelimiter.charAt(0);
 		final char leftDelimiterChar = leftExpressionDelimiter.charAt(1);
 		final char rightDelimiterChar = rightExpressionDelimiter.charAt(0);
-		StringBuilder interpolationBuilder = null; //we may not need to interpolate
+		final List<String> literals = new ArrayList<>();
+		final List<String> expressions = new ArrayList<>();
 		final int length = text.length();
+		int literalStartIndex = 0; //the start of the current literal segment, which may include false signals
 		for(int index = 0; index < length;) {
 			final int signalIndex = indexOf(text, signalChar, index);
 			if(signalIndex == -1) { //if no signal was found
-				if(interpolationBuilder != null) { //if we have started building, add what is remaining
-					assert index > 0 : "If there is no signal on the first round, there is no way we could have started building yet.";
-					interpolationBuilder.append(text, index, length); //append everything up to but not including the last search location
-				}
 				break; //short-circuit
 			}
 			if(signalIndex == length - 1 || text.charAt(signalIndex + 1) != leftDelimiterChar) { //false signal (signal at end of string, or not followed by a delimiter)
-				if(interpolationBuilder != null) { //add the false signal only if we have started building; otherwise, just skip over it (we always skip it)
-					assert signalIndex > 0 : "We would not have started building yet if the signal were at the beginning.";
-					interpolationBuilder.append(text, index, signalIndex); //append only what we've searched up to this point
-					interpolationBuilder.append(signalChar); //what we found was a false signal, so add it too
-				}
-				index = signalIndex + 1;
+				index = signalIndex + 1; //the false signal remains part of the literal
 				continue;
 			}
 			final int expressionStartIndex = signalIndex + 2;
@@ -147,22 +229,108 @@ protected static Optional<CharSequence> findInterpolation(@Nonnull final CharSeq
 				throw new MeshInterpolationException(
 						format("Mesh interpolation string `%s` missing ending delimiter for interpolation expression starting at index %d.", text, signalIndex));
 			}
-			final int expressionEndIndex = rightDelimiterIndex;
-			final CharSequence expression = text.subSequence(expressionStartIndex, expressionEndIndex);
-			final CharSequence result = evaluator.apply(expression);
-			if(interpolationBuilder != null) { //if we've starting building already (this is the first point we know we have to)
-				assert signalIndex > 0 : "We would not have started building yet if the signal were at the beginning.";
-				interpolationBuilder.append(text, index, signalIndex); //append only what we've searched for in this iteration (there may have been a false signal after an earlier expression)
-			} else { //if we haven't started building
-				interpolationBuilder = new StringBuilder(length + result.length() + 16); //make a shot-in-the-dark guess about capacity, which is more accurate than nothing
-				if(signalIndex > 0) { //if there is anything to add before the signal  
-					interpolationBuilder.append(text, 0, signalIndex); //append everything up to but not including the signal, including any false signals
-				}
-			}
-			interpolationBuilder.append(result);
-			index = rightDelimiterIndex + 1; //start searching after the entire expression block
+			literals.add(text.subSequence(literalStartIndex, signalIndex).toString());
+			expressions.add(text.subSequence(expressionStartIndex, rightDelimiterIndex).toString());
+			index = literalStartIndex = rightDelimiterIndex + 1; //start searching after the entire expression block
 		}
-		return Optional.ofNullable(interpolationBuilder);
+		literals.add(text.subSequence(literalStartIndex, length).toString());
+		return new InterpolationTemplate(literals, expressions);
 	}
 
+	/**
+	 * Immutable representation of text parsed into literal segments and the expressions to be interpolated between them.
+	 * @author Garret Wilson
+	 */
+	public static final class InterpolationTemplate {
+
+		/** The literal segments; there will always be one more literal than expressions, although a literal may be empty. */
+		private final List<String> literals;
+
+		/** The total length of all the literal segments. */
+		private final int literalsLength;
+
+		private final List<String> expressions;
+
+		/** @return The expressions to be interpolated, in order, not including delimiters. */
+		public List<String> getExpressions() {
+			return expressions;
+		}
+
+		/** @return <code>true</code> if the template has one or more expressions to interpolate. */
+		public boolean hasExpressions() {
+			return !expressions.isEmpty();
+		}
+
+		/**
+		 * Constructor.
+		 * @param literals The literal segments, which must number one more than the expressions.
+		 * @param expressions The expressions to be interpolated between the literal segments.
+		 * @throws IllegalArgumentException if the number of literal segments is not one more than the number of expressions.
+		 */
+		InterpolationTemplate(@Nonnull final List<String> literals, @Nonnull final List<String> expressions) {
+			checkArgument(literals.size() == expressions.size() + 1, "Interpolation template must have one more literal than expressions.");
+			this.literals = List.copyOf(literals);
+			this.expressions = List.copyOf(expressions);
+			this.literalsLength = this.literals.stream().mapToInt(String::length).sum();
+		}
+
+		/**
+		 * Interpolates the template and returns the interpolated result if there were any expressions.
+		 * @param evaluator The strategy for evaluating the expression and returning a result; a return value of <code>null</code> will be interpolated as the
+		 *          string <code>"null"</code>.
+		 * @return The interpolated text if the template had any expressions; otherwise empty.
+		 * @throws MexlException if there was an error parsing or otherwise processing an expression.
+		 */
+		public Optional<CharSequence> findInterpolation(@Nonnull final Function<CharSequence, CharSequence> evaluator) throws MexlException {
+			if(!hasExpressions()) {
+				return Optional.empty();
+			}
+			return Optional.of(interpolate(expressionIndex -> evaluator.apply(expressions.get(expressionIndex))));
+		}
+
+		/**
+		 * Compiles the expressions of the template so that the template may be interpolated repeatedly without its expressions being parsed again.
+		 * @implSpec The compiled interpolation uses the {@link Object#toString()} value of each expression result, or the empty string if no result is returned.
+		 * @param evaluator The strategy for compiling Mesh Expression Language (MEXL) expressions.
+		 * @return The compiled interpolation if the template had any expressions; otherwise empty.
+		 * @throws MexlException if there was an error parsing an expression.
+		 * @see MexlEvaluator#compileExpression(CharSequence)
+		 */
+		public Optional<MeshInterpolation> compile(@Nonnull final MexlEvaluator evaluator) throws MexlException {
+			if(!hasExpressions()) {
+				return Optional.empty();
+			}
+			final List<MexlExpression> compiledExpressions = new ArrayList<>(expressions.size());
+			for(final String expression : expressions) {
+				compiledExpressions.add(evaluator.compileExpression(expression));
+			}
+			return Optional
+					.of(context -> interpolate(expressionIndex -> compiledExpressions.get(expressionIndex).findResult(context).map(Object::toString).orElse("")));
+		}
+
+		/**
+		 * Interpolates the template using the given expression results.
+		 * @param expressionResults The strategy for returning the result of the expression at each index; a return value of <code>null</code> will be interpolated
+		 *          as the string <code>"null"</code>.
+		 * @return The interpolated text.
+		 * @throws MexlException if there was an error parsing or otherwise processing an expression.
+		 */
+		private CharSequence interpolate(@Nonnull final IntFunction<CharSequence> expressionResults) throws MexlException {
+			final int expressionCount = expressions.size();
+			final String[] results = new String[expressionCount];
+			int length = literalsLength;
+			for(int expressionIndex = 0; expressionIndex < expressionCount; expressionIndex++) {
+				final String result = String.valueOf(expressionResults.apply(expressionIndex));
+				results[expressionIndex] = result;
+				length += result.length();
+			}
+			final StringBuilder interpolationBuilder = new StringBuilder(length);
+			for(int expressionIndex = 0; expressionIndex < expressionCount; expressionIndex++) {
+				interpolationBuilder.append(literals.get(expressionIndex)).append(results[expressionIndex]);
+			}
+			interpolationBuilder.append(literals.get(expressionCount));
+			return interpolationBuilder;
+		}
+
+	}
 }
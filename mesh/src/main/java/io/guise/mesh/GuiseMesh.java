@@ -148,6 +148,32 @@ public Document meshDocument(@Nonnull MeshContext context, @Nonnull final Docume
 		return document;
 	}
 
+	/**
+	 * Compiles a document into a program that can be executed repeatedly to mesh copies of the document, without analyzing the document each time.
+	 * @apiNote This is most useful for a document such as a template that is to be meshed many times with different contexts.
+	 * @param document The document to compile. The program retains its own copy of the document, so later changes to the given document will have no effect.
+	 * @return A program for meshing the document.
+	 * @see MeshProgram#execute(MeshContext)
+	 */
+	public MeshProgram compileDocument(@Nonnull final Document document) {
+		return compileDocument(document, List.of());
+	}
+
+	/**
+	 * Compiles a document into a program that can be executed repeatedly to mesh copies of the document, with the exception of certain elements the content of
+	 * which is not known in advance, which will be meshed anew each time the program is executed.
+	 * @apiNote This is most useful for a template into which different content is placed before it is meshed, in which case the elements receiving the content
+	 *          would be interpreted.
+	 * @param document The document to compile. The program retains its own copy of the document, so later changes to the given document will have no effect.
+	 * @param interpretedElements The elements in the document which are not to be compiled.
+	 * @return A program for meshing the document.
+	 * @throws IllegalArgumentException if one of the interpreted elements does not belong to the given document.
+	 * @see MeshProgram#execute(MeshContext, Document)
+	 */
+	public MeshProgram compileDocument(@Nonnull final Document document, @Nonnull final Collection<? extends Element> interpretedElements) {
+		return new MeshProgram(this, document, interpretedElements);
+	}
+
 	/**
 	 * Evaluates and transforms a document element.
 	 * @param context The context of meshing.
@@ -16,10 +16,13 @@
 
 package io.guise.mesh;
 
+import static com.globalmentor.java.Conditions.*;
 import static java.lang.String.format;
+import static java.util.Collections.*;
 import static java.util.Objects.*;
 
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.annotation.*;
 
@@ -34,6 +37,8 @@
  * @apiNote This strategy is primarily to provide an additional layer of indirection to be able to change expression evaluation libraries or write a new one if
  *          the currently available libraries are insufficient.
  * @implSpec This implementation supports retrieving {@link UrfResourceDescription} properties using an URF property handle.
+ * @implSpec This implementation caches compiled expressions keyed to the expression text, so that an expression appearing many times in a template or across
+ *           templates is only parsed once. The JEXL engine's own parse cache is also enabled with the same size.
  * @author Garret Wilson
  */
 public class JexlMexlEvaluator implements MexlEvaluator {
@@ -74,28 +79,125 @@ public List<JexlUberspect.PropertyResolver> apply(final JexlOperator operator, f
 		}
 	};
 
+	/** The default maximum number of compiled expressions to cache. */
+	public static final int DEFAULT_EXPRESSION_CACHE_SIZE = 1024;
+
+	/**
+	 * The system property for overriding the maximum number of compiled expressions cached by the shared instance.
+	 * @see #INSTANCE
+	 * @see #DEFAULT_EXPRESSION_CACHE_SIZE
+	 */
+	public static final String SYSTEM_PROPERTY_EXPRESSION_CACHE_SIZE = "guise.mesh.jexl.expressionCacheSize";
+
 	/**
 	 * Singleton shared instance.
+	 * @implSpec The shared instance uses the expression cache size specified by the {@value #SYSTEM_PROPERTY_EXPRESSION_CACHE_SIZE} system property, if any, or
+	 *           {@link #DEFAULT_EXPRESSION_CACHE_SIZE} otherwise.
 	 * @implNote This variable must be initialized after the property resolver and resolver strategy private constant instances.
 	 */
-	public static final JexlMexlEvaluator INSTANCE = new JexlMexlEvaluator();
+	public static final JexlMexlEvaluator INSTANCE = new JexlMexlEvaluator(
+			Integer.getInteger(SYSTEM_PROPERTY_EXPRESSION_CACHE_SIZE, DEFAULT_EXPRESSION_CACHE_SIZE));
 
 	private final JexlEngine jexl;
 
-	/** This class cannot be publicly instantiated. */
-	private JexlMexlEvaluator() {
-		jexl = new JexlBuilder().strategy(RESOLVER_STRATEGY).create();
+	private final int expressionCacheSize;
+
+	/** @return The maximum number of compiled expressions to cache; <code>0</code> indicates that caching is disabled. */
+	public int getExpressionCacheSize() {
+		return expressionCacheSize;
+	}
+
+	/** The compiled expressions, keyed to the expression text, in least-recently-used order. */
+	private final Map<String, JexlExpression> expressionCache;
+
+	private final LongAdder expressionCacheHitCount = new LongAdder();
+
+	/** @return The number of times an evaluated expression was found already compiled in the cache. */
+	public long getExpressionCacheHitCount() {
+		return expressionCacheHitCount.sum();
+	}
+
+	private final LongAdder expressionCacheMissCount = new LongAdder();
+
+	/** @return The number of times an evaluated expression had to be compiled because it was not present in the cache. */
+	public long getExpressionCacheMissCount() {
+		return expressionCacheMissCount.sum();
+	}
+
+	/**
+	 * Expression cache size constructor.
+	 * @param expressionCacheSize The maximum number of compiled expressions to cache, or <code>0</code> if compiled expressions should not be cached.
+	 * @throws IllegalArgumentException if the given expression cache size is negative.
+	 */
+	public JexlMexlEvaluator(final int expressionCacheSize) {
+		this.expressionCacheSize = checkArgumentNotNegative(expressionCacheSize);
+		jexl = new JexlBuilder().strategy(RESOLVER_STRATEGY).cache(expressionCacheSize).create();
+		expressionCache = synchronizedMap(new LinkedHashMap<String, JexlExpression>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, JexlExpression> eldest) {
+				return size() > expressionCacheSize;
+			}
+
+		});
 	}
 
 	@Override
 	public Object evaluate(final MeshContext context, final CharSequence expression) throws MexlException {
 		try {
-			return jexl.createExpression(expression.toString()).evaluate(new MeshJexlContext(context));
+			return getJexlExpression(expression.toString()).evaluate(new MeshJexlContext(context));
 		} catch(final JexlException jexlException) {
 			throw new MexlException(format("Error in MEXL expression `%s`: %s", expression, jexlException.getMessage()), jexlException);
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * @implSpec This implementation compiles the JEXL expression immediately using {@link #getJexlExpression(String)}, so that the returned expression can be
+	 *           evaluated without consulting the expression cache.
+	 */
+	@Override
+	public MexlExpression compileExpression(final CharSequence expression) throws MexlException {
+		final String expressionString = expression.toString();
+		final JexlExpression jexlExpression;
+		try {
+			jexlExpression = getJexlExpression(expressionString);
+		} catch(final JexlException jexlException) {
+			throw new MexlException(format("Error in MEXL expression `%s`: %s", expressionString, jexlException.getMessage()), jexlException);
+		}
+		return context -> {
+			try {
+				return jexlExpression.evaluate(new MeshJexlContext(context));
+			} catch(final JexlException jexlException) {
+				throw new MexlException(format("Error in MEXL expression `%s`: %s", expressionString, jexlException.getMessage()), jexlException);
+			}
+		};
+	}
+
+	/**
+	 * Retrieves the compiled form of an expression, compiling and caching it if necessary.
+	 * @implNote A compiled JEXL expression is immutable and may be evaluated concurrently with different contexts. Two threads compiling the same uncached
+	 *           expression at the same time will each produce an equivalent compiled expression, so no locking is held during compilation.
+	 * @param expression The expression text.
+	 * @return The compiled expression.
+	 * @throws JexlException if there is an error compiling the expression.
+	 */
+	protected JexlExpression getJexlExpression(@Nonnull final String expression) throws JexlException {
+		JexlExpression jexlExpression = expressionCache.get(expression);
+		if(jexlExpression != null) {
+			expressionCacheHitCount.increment();
+		} else {
+			expressionCacheMissCount.increment();
+			jexlExpression = jexl.createExpression(expression);
+			if(expressionCacheSize > 0) {
+				expressionCache.put(expression, jexlExpression);
+			}
+		}
+		return jexlExpression;
+	}
+
 	/**
 	 * A JEXL context that delegates to the meshing context.
 	 * @implSpec This implementation does not support setting variables.
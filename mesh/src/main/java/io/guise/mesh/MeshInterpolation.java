@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mesh;
+
+import javax.annotation.*;
+
+/**
+ * Text compiled by a {@link MeshInterpolator} so that its expressions may be interpolated repeatedly without the text being parsed again.
+ * @apiNote Compiled interpolations may be interpolated concurrently with different contexts.
+ * @author Garret Wilson
+ * @see MeshInterpolator#compileInterpolation(CharSequence, MexlEvaluator)
+ */
+@FunctionalInterface
+public interface MeshInterpolation {
+
+	/**
+	 * Interpolates the compiled text using the given meshing context.
+	 * @param context The context of meshing.
+	 * @return The interpolated text.
+	 * @throws MexlException if there was an error processing an expression.
+	 */
+	public CharSequence interpolate(@Nonnull MeshContext context) throws MexlException;
+
+}
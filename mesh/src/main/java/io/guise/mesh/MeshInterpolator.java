@@ -55,6 +55,28 @@ public interface MeshInterpolator {
 	public Optional<CharSequence> findInterpolation(@Nonnull MeshContext context, @Nonnull CharSequence text, @Nonnull MexlEvaluator evaluator)
 			throws MeshInterpolationException, MexlException;
 
+	/**
+	 * Compiles the given text so that its expressions may be interpolated repeatedly without the text being parsed again.
+	 * <p>
+	 * The presence of a result must be consistent with {@link #hasInterpolation(CharSequence)} for the same input text.
+	 * </p>
+	 * @implSpec The default implementation returns an interpolation that delegates to {@link #interpolate(MeshContext, CharSequence, MexlEvaluator)} each time it
+	 *           is interpolated.
+	 * @param text The text to compile.
+	 * @param evaluator The strategy for compiling and evaluating Mesh Expression Language (MEXL) expressions.
+	 * @return The compiled interpolation, which will be empty if the text has no expressions to interpolate.
+	 * @throws MeshInterpolationException if the interpolation syntax of the given text is incorrect.
+	 * @throws MexlException if there was an error parsing an expression.
+	 */
+	public default Optional<MeshInterpolation> compileInterpolation(@Nonnull final CharSequence text, @Nonnull final MexlEvaluator evaluator)
+			throws MeshInterpolationException, MexlException {
+		if(!hasInterpolation(text)) {
+			return Optional.empty();
+		}
+		final String textString = text.toString(); //make sure later changes to the character sequence have no effect
+		return Optional.of(context -> interpolate(context, textString, evaluator));
+	}
+
 	/**
 	 * Interpolates the given text and returns the interpolated result.
 	 * @apiNote This is a convenience method that functions equivalently to {@link #findInterpolation(MeshContext, CharSequence, MexlEvaluator)} except that the
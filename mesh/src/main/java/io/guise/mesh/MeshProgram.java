@@ -0,0 +1,582 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mesh;
+
+import static com.globalmentor.io.IO.*;
+import static com.globalmentor.java.Conditions.*;
+import static com.globalmentor.xml.XmlDom.*;
+import static io.guise.mesh.GuiseMesh.*;
+import static java.util.Collections.*;
+import static java.util.Objects.*;
+import static java.util.function.Predicate.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.regex.Matcher;
+
+import javax.annotation.*;
+
+import org.w3c.dom.*;
+
+import com.globalmentor.xml.spec.NsName;
+
+/**
+ * A document compiled by {@link GuiseMesh} into a program that can be executed repeatedly against different meshing contexts without analyzing the document
+ * again.
+ * <p>
+ * Compilation determines once which subtrees are static and may be left untouched, which text and attributes require interpolation, and which elements carry
+ * <code>mx:each</code>, <code>mx:text</code>, and <code>mx:attr-*</code> instructions, and compiles all the expressions involved. Executing the program
+ * produces the same result as calling {@link GuiseMesh#meshDocument(MeshContext, Document)} on a copy of the original document.
+ * </p>
+ * <p>
+ * Some elements may be designated as <dfn>interpreted elements</dfn> when the document is compiled, indicating that their content is not known in advance. The
+ * program will mesh such elements using {@link GuiseMesh#meshElement(MeshContext, Element)} each time it is executed. This allows a program compiled from a
+ * template to be executed on a document into which page content has been placed.
+ * </p>
+ * @implSpec This implementation is thread-safe; a program may be executed concurrently by multiple threads.
+ * @implNote An expression that cannot be compiled is not reported until it is evaluated, if ever, consistent with
+ *           {@link GuiseMesh#meshDocument(MeshContext, Document)}.
+ * @author Garret Wilson
+ * @see GuiseMesh#compileDocument(Document)
+ * @see GuiseMesh#compileDocument(Document, Collection)
+ */
+public class MeshProgram {
+
+	private final GuiseMesh guiseMesh;
+
+	private final Document prototypeDocument;
+
+	/** The instruction for the document element, or <code>null</code> if the entire document is static. */
+	@Nullable
+	private final ElementInstruction documentElementInstruction;
+
+	/**
+	 * Constructor, compiling the given document.
+	 * @param guiseMesh The meshing engine providing the evaluator and interpolator to use during compilation and execution.
+	 * @param document The document to compile; a copy of the document will be retained, so later modifications will not affect the program.
+	 * @param interpretedElements The elements in the document, if any, which are not to be compiled but instead meshed anew each time the program is executed.
+	 * @throws IllegalArgumentException if one of the interpreted elements does not belong to the given document.
+	 */
+	MeshProgram(@Nonnull final GuiseMesh guiseMesh, @Nonnull final Document document, @Nonnull final Collection<? extends Element> interpretedElements) {
+		this.guiseMesh = requireNonNull(guiseMesh);
+		final Set<Element> interpretedElementSet = newSetFromMap(new IdentityHashMap<>());
+		for(final Element interpretedElement : interpretedElements) {
+			checkArgument(interpretedElement.getOwnerDocument() == document, "Interpreted element `%s` does not belong to the document being compiled.",
+					interpretedElement.getNodeName());
+			interpretedElementSet.add(interpretedElement);
+		}
+		this.documentElementInstruction = compileElement(document.getDocumentElement(), false, interpretedElementSet);
+		this.prototypeDocument = (Document)document.cloneNode(true);
+	}
+
+	/** @return <code>true</code> if the compiled document contains nothing to be meshed, in which case execution merely produces a copy of the document. */
+	public boolean isStatic() {
+		return documentElementInstruction == null;
+	}
+
+	/**
+	 * Executes the program, producing a new meshed document.
+	 * @param context The context of meshing.
+	 * @return A new document resulting from meshing a copy of the compiled document.
+	 * @throws IllegalArgumentException if the elements have some information that cannot be meshed.
+	 * @throws IOException if there is an error meshing the document.
+	 * @throws MeshException if there was an error directly related to meshing the document, such as parsing an expression.
+	 * @throws DOMException if there is some error manipulating the XML document object model.
+	 * @throws UnsupportedOperationException if meshing would remove or replace the document element.
+	 */
+	public Document execute(@Nonnull final MeshContext context) throws IOException, MeshException, DOMException {
+		final Document document;
+		synchronized(prototypeDocument) { //DOM implementations are not guaranteed to be thread-safe even for reading
+			document = (Document)prototypeDocument.cloneNode(true);
+		}
+		return execute(context, document);
+	}
+
+	/**
+	 * Executes the program on an existing document derived from a copy of the compiled document, meshing the document in place.
+	 * <p>
+	 * The given document must have the same element structure as the compiled document, except within any interpreted elements, the content and attributes of
+	 * which may have been changed arbitrarily. Attribute values and text outside the interpreted elements may have been changed as well; any changed value that
+	 * required interpolation when compiled will be interpolated anew, but a value that was static when compiled will be left as is.
+	 * </p>
+	 * @param context The context of meshing.
+	 * @param document The document to mesh.
+	 * @return The meshed document, which will be the same document supplied as input.
+	 * @throws IllegalArgumentException if the document does not correspond to the compiled document, or if the elements have some information that cannot be
+	 *           meshed.
+	 * @throws IOException if there is an error meshing the document.
+	 * @throws MeshException if there was an error directly related to meshing the document, such as parsing an expression.
+	 * @throws DOMException if there is some error manipulating the XML document object model.
+	 * @throws UnsupportedOperationException if meshing would remove or replace the document element.
+	 */
+	public Document execute(@Nonnull final MeshContext context, @Nonnull final Document document) throws IOException, MeshException, DOMException {
+		if(documentElementInstruction != null) {
+			final Element documentElement = document.getDocumentElement();
+			final List<Element> meshedElements = documentElementInstruction.execute(context, documentElement);
+			if(meshedElements.size() != 1 || meshedElements.get(0) != documentElement) {
+				throw new UnsupportedOperationException("Document element cannot be removed or replaced when meshing a document.");
+			}
+		}
+		return document;
+	}
+
+	//# compile
+
+	/**
+	 * Compiles an element and its descendants.
+	 * @param element The element to compile.
+	 * @param isIterationBody <code>true</code> if the element is being compiled as the body of an <code>mx:each</code> iteration, in which case iteration
+	 *          attributes will already have been removed during execution.
+	 * @param interpretedElements The elements to be meshed anew each time the program is executed.
+	 * @return The instruction for meshing the element, or <code>null</code> if the element and all its descendants are static.
+	 */
+	@Nullable
+	private ElementInstruction compileElement(@Nonnull final Element element, final boolean isIterationBody, @Nonnull final Set<Element> interpretedElements) {
+		if(interpretedElements.contains(element)) {
+			return guiseMesh::meshElement;
+		}
+
+		//# iteration
+		if(!isIterationBody && element.hasAttributeNS(NAMESPACE_STRING, ATTRIBUTE_EACH.getLocalName())) { //mx:each
+			final ElementInstruction body = compileElement(element, true, interpretedElements);
+			return new CompiledElementInstruction(new CompiledExpression(element.getAttributeNS(NAMESPACE_STRING, ATTRIBUTE_EACH.getLocalName())), body, Map.of(),
+					Map.of(), null, List.of());
+		}
+
+		//# attributes
+		final Map<NsName, CompiledInterpolation> attributeInterpolations = new HashMap<>();
+		final Map<NsName, AttributeMutation> attributeMutations = new LinkedHashMap<>();
+		CompiledExpression textExpression = null;
+		final NamedNodeMap attributes = element.getAttributes();
+		for(int attributeIndex = 0; attributeIndex < attributes.getLength(); attributeIndex++) {
+			final Attr attribute = (Attr)attributes.item(attributeIndex);
+			if(NAMESPACE_STRING.equals(attribute.getNamespaceURI())) { //mx:
+				if(ATTRIBUTE_TEXT.getLocalName().equals(attribute.getLocalName())) { //mx:text
+					textExpression = new CompiledExpression(attribute.getValue());
+				} else {
+					final Matcher attributeMutationMatcher = ATTRIBUTE_MUTATION_NAME_PATTERN.matcher(attribute.getLocalName());
+					if(attributeMutationMatcher.matches()) { //mx:attr-foo-bar
+						attributeMutations.put(NsName.ofNode(attribute), new AttributeMutation(
+								NsName.of(attributeMutationMatcher.group(ATTRIBUTE_MUTATION_NAME_PATTERN_NAME_GROUP)), new CompiledExpression(attribute.getValue())));
+					}
+				}
+			} else {
+				compileInterpolation(attribute.getValue()).ifPresent(interpolation -> attributeInterpolations.put(NsName.ofNode(attribute), interpolation));
+			}
+		}
+
+		//# children
+		final List<ChildInstruction> childInstructions = new ArrayList<>();
+		if(textExpression == null) { //mx:text will replace all the children, so there is no need to compile them
+			final NodeList childNodes = element.getChildNodes();
+			for(int childNodeIndex = 0; childNodeIndex < childNodes.getLength(); childNodeIndex++) {
+				final Node childNode = childNodes.item(childNodeIndex);
+				if(childNode instanceof CharacterData) { //Text, Comment, or CDATA
+					final int characterDataIndex = childNodeIndex;
+					compileInterpolation(((CharacterData)childNode).getData())
+							.ifPresent(interpolation -> childInstructions.add(new CharacterDataInstruction(characterDataIndex, interpolation)));
+				} else if(childNode instanceof Element) {
+					final ElementInstruction childElementInstruction = compileElement((Element)childNode, false, interpretedElements);
+					if(childElementInstruction != null) {
+						childInstructions.add(new ChildElementInstruction(childNodeIndex, NsName.ofNode(childNode), childElementInstruction));
+					}
+				}
+			}
+		}
+
+		if(attributeInterpolations.isEmpty() && attributeMutations.isEmpty() && textExpression == null && childInstructions.isEmpty()) {
+			return null; //the element is static
+		}
+		return new CompiledElementInstruction(null, null, attributeInterpolations, attributeMutations, textExpression, childInstructions);
+	}
+
+	/**
+	 * Compiles text for interpolation.
+	 * @implSpec If the text cannot be compiled, it is considered to require interpolation so that the error will be reported, consistent with
+	 *           {@link GuiseMesh#meshDocument(MeshContext, Document)}, only if and when the text is actually meshed.
+	 * @param text The text to compile.
+	 * @return The compiled interpolation, which will be empty if the text is static.
+	 */
+	private Optional<CompiledInterpolation> compileInterpolation(@Nonnull final String text) {
+		MeshInterpolation interpolation;
+		try {
+			final Optional<MeshInterpolation> foundInterpolation = guiseMesh.getInterpolator().compileInterpolation(text, guiseMesh.getEvaluator());
+			if(foundInterpolation.isEmpty()) {
+				return Optional.empty();
+			}
+			interpolation = foundInterpolation.get();
+		} catch(final MeshException meshException) {
+			interpolation = null; //defer the error until execution
+		}
+		return Optional.of(new CompiledInterpolation(text, interpolation));
+	}
+
+	/** An expression compiled from text in the compiled document. */
+	private final class CompiledExpression {
+
+		private final String expression;
+
+		/** The compiled expression, or <code>null</code> if the expression could not be compiled. */
+		@Nullable
+		private final MexlExpression mexlExpression;
+
+		/**
+		 * Constructor, compiling the expression.
+		 * @param expression The expression text in the compiled document.
+		 */
+		public CompiledExpression(@Nonnull final String expression) {
+			this.expression = requireNonNull(expression);
+			MexlExpression compiledExpression;
+			try {
+				compiledExpression = guiseMesh.getEvaluator().compileExpression(expression);
+			} catch(final MexlException mexlException) {
+				compiledExpression = null; //defer the error until execution
+			}
+			this.mexlExpression = compiledExpression;
+		}
+
+		/**
+		 * Evaluates the expression as found in the document being meshed.
+		 * @implSpec If the expression is not the one that was compiled, or could not be compiled, it is evaluated directly by the evaluator.
+		 * @param context The context of meshing.
+		 * @param currentExpression The expression text as it appears in the document being meshed.
+		 * @return The result of the expression, which will be empty if the expression evaluated to <code>null</code>.
+		 * @throws MexlException if there was an error parsing or otherwise processing the expression.
+		 * @see MexlEvaluator#findExpressionResult(MeshContext, CharSequence)
+		 */
+		public Optional<Object> findResult(@Nonnull final MeshContext context, @Nonnull final String currentExpression) throws MexlException {
+			if(mexlExpression != null && currentExpression.equals(expression)) {
+				return mexlExpression.findResult(context);
+			}
+			return guiseMesh.getEvaluator().findExpressionResult(context, currentExpression);
+		}
+
+	}
+
+	/** Interpolation compiled from text in the compiled document. */
+	private final class CompiledInterpolation {
+
+		private final String text;
+
+		/** The compiled interpolation, or <code>null</code> if the text could not be compiled. */
+		@Nullable
+		private final MeshInterpolation interpolation;
+
+		/**
+		 * Constructor.
+		 * @param text The text in the compiled document.
+		 * @param interpolation The compiled interpolation, or <code>null</code> if the text could not be compiled.
+		 */
+		public CompiledInterpolation(@Nonnull final String text, @Nullable final MeshInterpolation interpolation) {
+			this.text = requireNonNull(text);
+			this.interpolation = interpolation;
+		}
+
+		/**
+		 * Interpolates the text as found in the document being meshed.
+		 * @implSpec If the text is not the one that was compiled, or could not be compiled, it is interpolated directly by the interpolator.
+		 * @param context The context of meshing.
+		 * @param currentText The text as it appears in the document being meshed.
+		 * @return The interpolated text if interpolation actually occurred; will be empty if no changes were made to the text.
+		 * @throws MeshInterpolationException if the interpolation syntax of the given text is incorrect.
+		 * @throws MexlException if there was an error parsing or otherwise processing an expression.
+		 * @see MeshInterpolator#findInterpolation(MeshContext, CharSequence, MexlEvaluator)
+		 */
+		public Optional<CharSequence> findInterpolation(@Nonnull final MeshContext context, @Nonnull final String currentText)
+				throws MeshInterpolationException, MexlException {
+			if(interpolation != null && currentText.equals(text)) {
+				return Optional.of(interpolation.interpolate(context));
+			}
+			return guiseMesh.getInterpolator().findInterpolation(context, currentText, guiseMesh.getEvaluator());
+		}
+
+	}
+
+	/** A compiled <code>mx:attr-*</code> attribute mutation. */
+	private static final class AttributeMutation {
+
+		private final NsName attributeName;
+
+		/** @return The name of the attribute to mutate. */
+		public NsName getAttributeName() {
+			return attributeName;
+		}
+
+		private final CompiledExpression expression;
+
+		/** @return The expression determining the attribute value. */
+		public CompiledExpression getExpression() {
+			return expression;
+		}
+
+		/**
+		 * Constructor.
+		 * @param attributeName The name of the attribute to mutate.
+		 * @param expression The expression determining the attribute value.
+		 */
+		public AttributeMutation(@Nonnull final NsName attributeName, @Nonnull final CompiledExpression expression) {
+			this.attributeName = requireNonNull(attributeName);
+			this.expression = requireNonNull(expression);
+		}
+
+	}
+
+	//# execute
+
+	/** An instruction for meshing an element. */
+	@FunctionalInterface
+	private interface ElementInstruction {
+
+		/**
+		 * Meshes an element corresponding to the compiled element.
+		 * @param context The context of meshing.
+		 * @param element The element to mesh.
+		 * @return The meshed element(s), if any, to replace the original element.
+		 * @throws IllegalArgumentException if the element does not correspond to the compiled element, or has some information that cannot be meshed.
+		 * @throws IOException if there is an error meshing the element.
+		 * @throws MeshException if there was an error directly related to meshing the document, such as parsing an expression.
+		 * @throws DOMException if there is some error manipulating the XML document object model.
+		 */
+		public List<Element> execute(@Nonnull MeshContext context, @Nonnull Element element) throws IOException, MeshException, DOMException;
+
+	}
+
+	/**
+	 * An instruction for meshing a compiled element.
+	 * @implSpec This implementation functions equivalently to {@link GuiseMesh#meshElement(MeshContext, Element)}, except that static attributes and descendants
+	 *           are skipped.
+	 */
+	private final class CompiledElementInstruction implements ElementInstruction {
+
+		/** The <code>mx:each</code> iteration source expression, or <code>null</code> if this is not an iteration instruction. */
+		@Nullable
+		private final CompiledExpression eachExpression;
+
+		/** The instruction for meshing each iteration of the element, or <code>null</code> if the iteration body is static. */
+		@Nullable
+		private final ElementInstruction iterationBody;
+
+		/** The interpolations of non-Mesh attribute values, keyed to the attribute names. */
+		private final Map<NsName, CompiledInterpolation> attributeInterpolations;
+
+		/** The attribute mutations, keyed to the names of the <code>mx:attr-*</code> attributes indicating them, in document order. */
+		private final Map<NsName, AttributeMutation> attributeMutations;
+
+		/** The <code>mx:text</code> expression, or <code>null</code> if the element content is not to be replaced. */
+		@Nullable
+		private final CompiledExpression textExpression;
+
+		/** The instructions for the non-static child nodes, in document order. */
+		private final List<ChildInstruction> childInstructions;
+
+		/**
+		 * Constructor.
+		 * @param eachExpression The <code>mx:each</code> iteration source expression, or <code>null</code> if this is not an iteration instruction.
+		 * @param iterationBody The instruction for meshing each iteration of the element, or <code>null</code> if the iteration body is static.
+		 * @param attributeInterpolations The interpolations of non-Mesh attribute values, keyed to the attribute names.
+		 * @param attributeMutations The attribute mutations, keyed to the names of the <code>mx:attr-*</code> attributes indicating them, in document order.
+		 * @param textExpression The <code>mx:text</code> expression, or <code>null</code> if the element content is not to be replaced.
+		 * @param childInstructions The instructions for the non-static child nodes, in document order.
+		 */
+		public CompiledElementInstruction(@Nullable final CompiledExpression eachExpression, @Nullable final ElementInstruction iterationBody,
+				@Nonnull final Map<NsName, CompiledInterpolation> attributeInterpolations, @Nonnull final Map<NsName, AttributeMutation> attributeMutations,
+				@Nullable final CompiledExpression textExpression, @Nonnull final List<ChildInstruction> childInstructions) {
+			this.eachExpression = eachExpression;
+			this.iterationBody = iterationBody;
+			this.attributeInterpolations = Map.copyOf(attributeInterpolations);
+			this.attributeMutations = unmodifiableMap(new LinkedHashMap<>(attributeMutations));
+			this.textExpression = textExpression;
+			this.childInstructions = List.copyOf(childInstructions);
+		}
+
+		@Override
+		@SuppressWarnings("try")
+		public List<Element> execute(final MeshContext context, final Element element) throws IOException, MeshException, DOMException {
+			//# iteration
+			if(eachExpression != null) {
+				final String each = exciseAttribute(element, ATTRIBUTE_EACH) //mx:each
+						.orElseThrow(() -> new IllegalArgumentException(String.format("Element `%s` does not correspond to compiled iteration.", element.getNodeName())));
+				final String iterVar = exciseAttribute(element, ATTRIBUTE_ITER_VAR).orElse(DEFAULT_ITER_VAR); //mx:iter-var
+				final String itemVar = exciseAttribute(element, ATTRIBUTE_ITEM_VAR).orElse(DEFAULT_ITEM_VAR); //mx:item-var
+				final String indexVar = exciseAttribute(element, ATTRIBUTE_INDEX_VAR).orElse(DEFAULT_INDEX_VAR); //mx:index-var
+				final Object iterationSource = eachExpression.findResult(context, each).orElseGet(Collections::emptyList); //consider a null/empty expression to be an empty iteration source
+				try (final Closeable iterationSourceCleanup = toCloseable(iterationSource)) { //ensure the iteration source is closed, in case it uses resource e.g. a directory listing
+					final MeshIterator iterator;
+					try {
+						iterator = MeshIterator.fromIterationSource(iterationSource);
+					} catch(final IllegalArgumentException illegalArgumentException) {
+						throw new MeshException(illegalArgumentException.getMessage(), illegalArgumentException);
+					}
+					final List<Element> result = new ArrayList<>();
+					try (final MeshContext.ScopeNesting scopeNesting = context.nestScope()) {
+						context.setVariable(iterVar, iterator);
+						while(iterator.hasNext()) {
+							final Object item = iterator.next();
+							context.setVariable(itemVar, item);
+							context.setVariable(indexVar, iterator.getIndex());
+							final Element eachElement = (Element)element.cloneNode(true); //mesh a clone of this element; iteration attribute have been removed
+							result.addAll(iterationBody != null ? iterationBody.execute(context, eachElement) : List.of(eachElement));
+						}
+					}
+					return result;
+				}
+			}
+
+			//# attribute interpolation
+			for(final Map.Entry<NsName, CompiledInterpolation> attributeInterpolation : attributeInterpolations.entrySet()) {
+				final NsName attributeName = attributeInterpolation.getKey();
+				final Attr attribute = element.getAttributeNodeNS(attributeName.getNamespaceString(), attributeName.getLocalName());
+				if(attribute != null) {
+					attributeInterpolation.getValue().findInterpolation(context, attribute.getValue()).map(Object::toString).ifPresent(attribute::setValue);
+				}
+			}
+
+			//# attribute mutation
+			if(!attributeMutations.isEmpty()) {
+				//## gather and remove attribute mutation definition attributes
+				final Map<AttributeMutation, String> attributeUpdates = new LinkedHashMap<>(); //unevaluated expressions keyed to attribute mutations
+				attributeMutations.forEach((attributeMutationName, attributeMutation) -> exciseAttribute(element, attributeMutationName)
+						.ifPresent(expression -> attributeUpdates.put(attributeMutation, expression)));
+				//## apply attribute mutations
+				attributeUpdates.forEach((attributeMutation, expression) -> {
+					final NsName name = attributeMutation.getAttributeName();
+					final Optional<Object> foundResult = attributeMutation.getExpression().findResult(context, expression);
+					foundResult.filter(not(Boolean.FALSE::equals)).ifPresentOrElse(result -> {
+						//Boolean results use special XHTML values (or result in attribute removal)
+						final String value = Boolean.TRUE.equals(result) ? name.getLocalName() : result.toString();
+						setAttribute(element, name, value);
+					}, () -> removeAttribute(element, name)); //if no result, or a result of `false`, remove attribute
+				});
+			}
+
+			//# text
+			if(textExpression != null) { //mx:text
+				final Optional<String> foundText = exciseAttribute(element, ATTRIBUTE_TEXT);
+				if(foundText.isPresent()) {
+					final Optional<Object> foundResult = textExpression.findResult(context, foundText.get());
+					element.setTextContent(foundResult.map(Object::toString).orElse(""));
+				}
+				guiseMesh.meshChildNodes(context, element); //the generated content was not available during compilation
+			} else {
+				//# children
+				final NodeList childNodes = element.getChildNodes();
+				int childNodeIndexOffset = 0; //the adjustment to compiled child indexes resulting from replaced child elements
+				for(final ChildInstruction childInstruction : childInstructions) {
+					final Node childNode = childNodes.item(childInstruction.getChildNodeIndex() + childNodeIndexOffset);
+					childNodeIndexOffset += childInstruction.execute(context, element, childNode) - 1;
+				}
+			}
+
+			return List.of(element);
+		}
+
+	}
+
+	/** An instruction for meshing a non-static child node. */
+	private abstract static class ChildInstruction {
+
+		private final int childNodeIndex;
+
+		/** @return The index of the child node within its parent in the compiled document. */
+		public int getChildNodeIndex() {
+			return childNodeIndex;
+		}
+
+		/**
+		 * Constructor.
+		 * @param childNodeIndex The index of the child node within its parent in the compiled document.
+		 */
+		public ChildInstruction(final int childNodeIndex) {
+			this.childNodeIndex = childNodeIndex;
+		}
+
+		/**
+		 * Meshes a child node corresponding to the compiled child node.
+		 * @param context The context of meshing.
+		 * @param parentElement The parent element of the child node.
+		 * @param childNode The child node to mesh, or <code>null</code> if the parent element has no node at the corresponding index.
+		 * @return The number of nodes now in place of the child node.
+		 * @throws IllegalArgumentException if the child node does not correspond to the compiled child node, or has some information that cannot be meshed.
+		 * @throws IOException if there is an error meshing the node.
+		 * @throws MeshException if there was an error directly related to meshing the document, such as parsing an expression.
+		 * @throws DOMException if there is some error manipulating the XML document object model.
+		 */
+		public abstract int execute(@Nonnull MeshContext context, @Nonnull Element parentElement, @Nullable Node childNode)
+				throws IOException, MeshException, DOMException;
+
+	}
+
+	/** An instruction for interpolating a text, comment, or CDATA child node. */
+	private static final class CharacterDataInstruction extends ChildInstruction {
+
+		private final CompiledInterpolation interpolation;
+
+		/**
+		 * Constructor.
+		 * @param childNodeIndex The index of the child node within its parent in the compiled document.
+		 * @param interpolation The compiled interpolation of the child node data.
+		 */
+		public CharacterDataInstruction(final int childNodeIndex, @Nonnull final CompiledInterpolation interpolation) {
+			super(childNodeIndex);
+			this.interpolation = requireNonNull(interpolation);
+		}
+
+		@Override
+		public int execute(final MeshContext context, final Element parentElement, final Node childNode) throws IOException, MeshException, DOMException {
+			checkArgument(childNode instanceof CharacterData, "Element `%s` does not correspond to the compiled element; missing character data at index %d.",
+					parentElement.getNodeName(), getChildNodeIndex());
+			final CharacterData childCharacterData = (CharacterData)childNode;
+			interpolation.findInterpolation(context, childCharacterData.getData()).map(Object::toString).ifPresent(childCharacterData::setData);
+			return 1;
+		}
+
+	}
+
+	/** An instruction for meshing a child element and replacing it with the resulting elements. */
+	private static final class ChildElementInstruction extends ChildInstruction {
+
+		private final NsName elementName;
+
+		private final ElementInstruction elementInstruction;
+
+		/**
+		 * Constructor.
+		 * @param childNodeIndex The index of the child node within its parent in the compiled document.
+		 * @param elementName The name of the child element in the compiled document.
+		 * @param elementInstruction The instruction for meshing the child element.
+		 */
+		public ChildElementInstruction(final int childNodeIndex, @Nonnull final NsName elementName, @Nonnull final ElementInstruction elementInstruction) {
+			super(childNodeIndex);
+			this.elementName = requireNonNull(elementName);
+			this.elementInstruction = requireNonNull(elementInstruction);
+		}
+
+		@Override
+		public int execute(final MeshContext context, final Element parentElement, final Node childNode) throws IOException, MeshException, DOMException {
+			checkArgument(childNode instanceof Element && elementName.matches((Element)childNode),
+					"Element `%s` does not correspond to the compiled element; missing child element `%s` at index %d.", parentElement.getNodeName(),
+					elementName.getLocalName(), getChildNodeIndex());
+			final Element childElement = (Element)childNode;
+			final List<Element> meshedElements = elementInstruction.execute(context, childElement);
+			replaceChild(parentElement, childElement, meshedElements);
+			return meshedElements.size();
+		}
+
+	}
+
+}
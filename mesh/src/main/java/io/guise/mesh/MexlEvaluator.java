@@ -37,6 +37,18 @@ public interface MexlEvaluator {
 	 */
 	public Object evaluate(@Nonnull final MeshContext context, @Nonnull final CharSequence expression) throws MexlException;
 
+	/**
+	 * Compiles an expression so that it may be evaluated repeatedly without being parsed again.
+	 * @implSpec The default implementation returns an expression that delegates to {@link #evaluate(MeshContext, CharSequence)} each time it is evaluated.
+	 * @param expression The expression to compile.
+	 * @return The compiled expression.
+	 * @throws MexlException if there was an error parsing the expression.
+	 */
+	public default MexlExpression compileExpression(@Nonnull final CharSequence expression) throws MexlException {
+		final String expressionString = expression.toString(); //make sure later changes to the character sequence have no effect
+		return context -> evaluate(context, expressionString);
+	}
+
 	/**
 	 * Evaluates an expression using the given meshing context and returns the result as an optional value. If the expression evaluates to an instance of
 	 * {@link Optional}, that instance will be returned.
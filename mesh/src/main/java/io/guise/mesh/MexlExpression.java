@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mesh;
+
+import java.util.Optional;
+
+import javax.annotation.*;
+
+/**
+ * A Mesh Expression Language (MEXL) expression compiled by a {@link MexlEvaluator} so that it may be evaluated repeatedly without being parsed again.
+ * @apiNote Compiled expressions may be evaluated concurrently with different contexts.
+ * @author Garret Wilson
+ * @see MexlEvaluator#compileExpression(CharSequence)
+ */
+@FunctionalInterface
+public interface MexlExpression {
+
+	/**
+	 * Evaluates the expression using the given meshing context.
+	 * @param context The context of meshing.
+	 * @return The result of the expression.
+	 * @throws MexlException if there was an error processing the expression.
+	 */
+	public Object evaluate(@Nonnull MeshContext context) throws MexlException;
+
+	/**
+	 * Evaluates the expression using the given meshing context and returns the result as an optional value. If the expression evaluates to an instance of
+	 * {@link Optional}, that instance will be returned.
+	 * @apiNote This method functions analogously to {@link MexlEvaluator#findExpressionResult(MeshContext, CharSequence)}.
+	 * @implSpec The default implementation delegates to {@link #evaluate(MeshContext)}.
+	 * @param context The context of meshing.
+	 * @return The result of the expression, which will be empty if the expression evaluated to <code>null</code>.
+	 * @throws MexlException if there was an error processing the expression.
+	 */
+	public default Optional<Object> findResult(@Nonnull final MeshContext context) throws MexlException {
+		final Object result = evaluate(context);
+		@SuppressWarnings("unchecked")
+		final Optional<Object> optionalResult = result instanceof Optional ? (Optional<Object>)result : Optional.ofNullable(result);
+		return optionalResult;
+	}
+
+}
@@ -23,6 +23,8 @@
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import com.globalmentor.text.ASCII;
@@ -88,4 +90,40 @@ void testBaseHasInterpolationMethod() {
 		assertThat("Two expressions separated by two false signal characters.", hasInterpolation("a^{br}a^ca^d^{abr}a", "^{", "}"), is(true));
 	}
 
+	/**
+	 * Tests parsing of text into literal and expression segments.
+	 * @see DefaultMeshInterpolator#parseTemplate(CharSequence, String, String)
+	 */
+	@Test
+	void testParseTemplate() {
+		assertThat(DefaultMeshInterpolator.parseTemplate("foo^bar", "^{", "}").hasExpressions(), is(false));
+		assertThat(DefaultMeshInterpolator.parseTemplate("a^{br}a^ca^d^{abr}a", "^{", "}").getExpressions(), is(List.of("br", "abr")));
+		assertThat(DefaultMeshInterpolator.parseTemplate("a^{br}a^ca^d^{abr}a", "^{", "}").findInterpolation(ASCII::toUpperCase).map(Object::toString),
+				isPresentAndIs("aBRa^ca^dABRa"));
+		assertThrows(MeshInterpolationException.class, () -> DefaultMeshInterpolator.parseTemplate("foo^{bar", "^{", "}"),
+				"Incomplete expression in middle of string.");
+	}
+
+	/**
+	 * Verifies that the same text with expressions is parsed only once, and that text without expressions is not cached.
+	 * @see DefaultMeshInterpolator#getTemplate(CharSequence)
+	 */
+	@Test
+	void verifyGetTemplateIsCached() {
+		final DefaultMeshInterpolator interpolator = new DefaultMeshInterpolator();
+		assertThat(interpolator.getTemplate("foo^{bar}"), is(sameInstance(interpolator.getTemplate(new StringBuilder("foo^{bar}")))));
+		assertThat(interpolator.getTemplate("foobar"), is(not(sameInstance(interpolator.getTemplate("foobar")))));
+		assertThat(interpolator.getTemplate("foobar").hasExpressions(), is(false));
+		assertThat(interpolator.hasInterpolation("foobar"), is(false));
+		assertThat("Incomplete expressions are considered to need interpolation.", interpolator.hasInterpolation("foo^{bar"), is(true));
+		assertThrows(MeshInterpolationException.class, () -> interpolator.getTemplate("foo^{bar"));
+		final DefaultMeshInterpolator uncachedInterpolator = new DefaultMeshInterpolator(0);
+		assertThat(uncachedInterpolator.getTemplate("foo^{bar}"), is(not(sameInstance(uncachedInterpolator.getTemplate("foo^{bar}")))));
+		final DefaultMeshInterpolator smallCacheInterpolator = new DefaultMeshInterpolator(2);
+		final DefaultMeshInterpolator.InterpolationTemplate fooTemplate = smallCacheInterpolator.getTemplate("^{foo}");
+		smallCacheInterpolator.getTemplate("^{bar}");
+		smallCacheInterpolator.getTemplate("^{baz}");
+		assertThat("A full cache is cleared.", smallCacheInterpolator.getTemplate("^{foo}"), is(not(sameInstance(fooTemplate))));
+	}
+
 }
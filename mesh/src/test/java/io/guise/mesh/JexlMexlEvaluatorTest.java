@@ -84,4 +84,33 @@ public void shouldRetrieveMapUrfProperty() {
 		assertThat(JexlMexlEvaluator.INSTANCE.evaluate(context, "foo.bar.test"), is(123));
 	}
 
+	/**
+	 * Verifies that a repeated expression is compiled only once.
+	 * @see JexlMexlEvaluator#getExpressionCacheHitCount()
+	 * @see JexlMexlEvaluator#getExpressionCacheMissCount()
+	 */
+	@Test
+	public void verifyExpressionCacheHits() {
+		final JexlMexlEvaluator evaluator = new JexlMexlEvaluator(16);
+		final MeshContext context = new DefaultMeshContext();
+		context.setVariable("foo", Map.of("bar", 123));
+		assertThat(evaluator.evaluate(context, "foo.bar"), is(123));
+		assertThat(evaluator.evaluate(context, "foo.bar"), is(123));
+		assertThat(evaluator.evaluate(context, new StringBuilder("foo.bar")), is(123));
+		assertThat(evaluator.getExpressionCacheMissCount(), is(1L));
+		assertThat(evaluator.getExpressionCacheHitCount(), is(2L));
+	}
+
+	/** Verifies that a cache size of zero disables caching of compiled expressions. */
+	@Test
+	public void verifyExpressionCacheDisabled() {
+		final JexlMexlEvaluator evaluator = new JexlMexlEvaluator(0);
+		final MeshContext context = new DefaultMeshContext();
+		context.setVariable("foo", Map.of("bar", 123));
+		assertThat(evaluator.evaluate(context, "foo.bar"), is(123));
+		assertThat(evaluator.evaluate(context, "foo.bar"), is(123));
+		assertThat(evaluator.getExpressionCacheMissCount(), is(2L));
+		assertThat(evaluator.getExpressionCacheHitCount(), is(0L));
+	}
+
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mesh;
+
+import static com.globalmentor.html.HtmlDom.*;
+import static com.globalmentor.html.spec.HTML.*;
+import static com.globalmentor.xml.XmlDom.*;
+import static io.guise.mesh.GuiseMesh.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.*;
+
+import com.globalmentor.html.HtmlSerializer;
+import com.globalmentor.xml.spec.NsName;
+
+/**
+ * Tests of {@link MeshProgram}.
+ * @author Garret Wilson
+ */
+public class MeshProgramTest {
+
+	/**
+	 * Creates a test document exercising the various meshing features, with static content interspersed.
+	 * @return A new test document.
+	 */
+	private static Document createTestDocument() {
+		final Document document = createXHTMLDocument("Test ^{title}");
+		final Element bodyElement = findHtmlBodyElement(document).orElseThrow(AssertionError::new);
+		appendElement(bodyElement, ELEMENT_H(1), "Static Heading");
+		final Element ulElement = appendElement(bodyElement, NsName.of(XHTML_NAMESPACE_URI_STRING, ELEMENT_UL));
+		final Element liElement = appendElement(ulElement, NsName.of(XHTML_NAMESPACE_URI_STRING, ELEMENT_LI), "^{i}: ");
+		setAttribute(liElement, ATTRIBUTE_EACH.withPrefix(NAMESPACE_PREFIX), "list");
+		liElement.setAttributeNS(null, ATTRIBUTE_TITLE, "Item ^{it}");
+		final Element spanElement = appendElement(liElement, NsName.of(XHTML_NAMESPACE_URI_STRING, ELEMENT_SPAN));
+		setAttribute(spanElement, ATTRIBUTE_TEXT.withPrefix(NAMESPACE_PREFIX), "it");
+		appendElement(bodyElement, NsName.of(XHTML_NAMESPACE_URI_STRING, ELEMENT_P), "Static paragraph.");
+		final Element pElement = appendElement(bodyElement, NsName.of(XHTML_NAMESPACE_URI_STRING, ELEMENT_P), "Dummy");
+		pElement.setAttributeNS(null, "flag", "Dummy Flag");
+		setAttribute(pElement, NsName.of(NAMESPACE_STRING, "attr-flag"), "flag");
+		return document;
+	}
+
+	/**
+	 * Verifies that executing a compiled program produces the same result as meshing the document directly, and that the program may be reused.
+	 * @see MeshProgram#execute(MeshContext)
+	 */
+	@Test
+	void verifyExecuteMatchesMeshDocument() throws IOException {
+		final GuiseMesh guiseMesh = new GuiseMesh();
+		final MeshProgram program = guiseMesh.compileDocument(createTestDocument());
+		assertThat(program.isStatic(), is(false));
+		for(final Map<String, Object> variables : List.<Map<String, Object>>of(Map.of("title", "One", "list", List.of("foo", "bar"), "flag", true),
+				Map.of("title", "Two", "list", List.of(), "flag", false), Map.of("title", "Three", "list", List.of("x", "y", "z"), "flag", "set"))) {
+			final Document expectedDocument = guiseMesh.meshDocument(MeshContext.create(variables), createTestDocument());
+			final Document programDocument = program.execute(MeshContext.create(variables));
+			assertThat(new HtmlSerializer().serialize(programDocument), is(new HtmlSerializer().serialize(expectedDocument)));
+		}
+	}
+
+	/**
+	 * Verifies that executing a compiled program on a copy of the compiled document, into which content has been placed within an interpreted element, produces
+	 * the same result as meshing the document directly.
+	 * @see GuiseMesh#compileDocument(Document, Collection)
+	 * @see MeshProgram#execute(MeshContext, Document)
+	 */
+	@Test
+	void verifyExecuteInterpretedElements() throws IOException {
+		final GuiseMesh guiseMesh = new GuiseMesh();
+		final Document templateDocument = createTestDocument();
+		final Element templateMainElement = appendElement(findHtmlBodyElement(templateDocument).orElseThrow(AssertionError::new),
+				NsName.of(XHTML_NAMESPACE_URI_STRING, ELEMENT_MAIN), "Placeholder");
+		final MeshProgram program = guiseMesh.compileDocument(templateDocument, List.of(templateMainElement));
+		for(final Map<String, Object> variables : List.<Map<String, Object>>of(Map.of("title", "One", "list", List.of("foo", "bar"), "flag", true),
+				Map.of("title", "Two", "list", List.of(), "flag", false))) {
+			final Document expectedDocument = guiseMesh.meshDocument(MeshContext.create(variables), createContentDocument(templateDocument));
+			final Document document = createContentDocument(templateDocument);
+			assertThat(program.execute(MeshContext.create(variables), document), is(sameInstance(document)));
+			assertThat(new HtmlSerializer().serialize(document), is(new HtmlSerializer().serialize(expectedDocument)));
+		}
+	}
+
+	/**
+	 * Creates a copy of a test template document, replacing the content of its {@code <main>} element with content needing to be meshed.
+	 * @param templateDocument The template document.
+	 * @return A new document with content placed in the template.
+	 */
+	private static Document createContentDocument(final Document templateDocument) {
+		final Document document = (Document)templateDocument.cloneNode(true);
+		final Element mainElement = findFirstChildElementByNameNS(findHtmlBodyElement(document).orElseThrow(AssertionError::new), XHTML_NAMESPACE_URI_STRING,
+				ELEMENT_MAIN).orElseThrow(AssertionError::new);
+		removeChildren(mainElement);
+		mainElement.setAttributeNS(null, ATTRIBUTE_TITLE, "Main ^{title}");
+		appendElement(mainElement, NsName.of(XHTML_NAMESPACE_URI_STRING, ELEMENT_P), "Content for ^{title}.");
+		final Element spanElement = appendElement(mainElement, NsName.of(XHTML_NAMESPACE_URI_STRING, ELEMENT_SPAN));
+		setAttribute(spanElement, ATTRIBUTE_TEXT.withPrefix(NAMESPACE_PREFIX), "title");
+		return document;
+	}
+
+	/** Verifies that a document with nothing to mesh is compiled as static, and that execution produces an independent copy of the document. */
+	@Test
+	void verifyStaticDocument() throws IOException {
+		final Document document = createXHTMLDocument("Test Document");
+		appendElement(findHtmlBodyElement(document).orElseThrow(AssertionError::new), NsName.of(XHTML_NAMESPACE_URI_STRING, ELEMENT_P), "Static paragraph.");
+		final MeshProgram program = new GuiseMesh().compileDocument(document);
+		assertThat(program.isStatic(), is(true));
+		final Document programDocument = program.execute(MeshContext.create(Map.of()));
+		assertThat(programDocument, is(not(sameInstance(document))));
+		assertThat(new HtmlSerializer().serialize(programDocument), is(new HtmlSerializer().serialize(document)));
+	}
+
+}
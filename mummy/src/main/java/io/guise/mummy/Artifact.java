@@ -121,6 +121,18 @@ public interface Artifact {
 	 * @apiNote This property is used for incremental mummification; it is usually not appropriate to use in custom properties.
 	 */
 	public static final URI PROPERTY_TAG_MUMMY_SOURCE_CONTENT_MODIFIED_AT = NAMESPACE.resolve("sourceContentModifiedAt");
+	/**
+	 * The {@link Long} size in bytes of the source content, recorded when detecting source content changes by content hash.
+	 * @apiNote This property is used for incremental mummification; it is usually not appropriate to use in custom properties.
+	 * @see GuiseMummy#CONFIG_KEY_MUMMY_SOURCE_CONTENT_HASH
+	 */
+	public static final URI PROPERTY_TAG_MUMMY_SOURCE_CONTENT_SIZE = NAMESPACE.resolve("sourceContentSize");
+	/**
+	 * The {@link Long} non-cryptographic hash of the source content, recorded when detecting source content changes by content hash.
+	 * @apiNote This property is used for incremental mummification; it is usually not appropriate to use in custom properties.
+	 * @see GuiseMummy#CONFIG_KEY_MUMMY_SOURCE_CONTENT_HASH
+	 */
+	public static final URI PROPERTY_TAG_MUMMY_SOURCE_CONTENT_HASH = NAMESPACE.resolve("sourceContentHash");
 	/** The property tag of the <code>mummy/template</code> for specifying a template path, relative to the source path. */
 	public static final URI PROPERTY_TAG_MUMMY_TEMPLATE = NAMESPACE.resolve("template");
 
@@ -19,17 +19,26 @@
 import static com.globalmentor.html.spec.HTML.*;
 import static com.globalmentor.io.Paths.*;
 import static com.globalmentor.java.Conditions.*;
+import static com.globalmentor.java.Enums.*;
+import static io.guise.mummy.mummify.page.PageMummifier.CONFIG_KEY_MUMMY_PAGE_DTD_LOADING;
+import static io.guise.mummy.mummify.page.PageMummifier.DEFAULT_DTD_LOADING;
+import static java.nio.charset.StandardCharsets.*;
 import static java.nio.file.Files.*;
 import static java.util.Objects.*;
+import static java.util.stream.Collectors.*;
 
-import java.io.IOException;
+import java.io.*;
+import java.net.URI;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.*;
 
 import javax.annotation.*;
 import javax.xml.parsers.*;
 
 import org.xml.sax.*;
+import org.xml.sax.ext.EntityResolver2;
 
 import com.globalmentor.html.spec.HTML;
 import com.globalmentor.io.Filenames;
@@ -43,6 +52,8 @@
 import io.guise.mummy.mummify.image.DefaultImageMummifier;
 import io.guise.mummy.mummify.page.HtmlPageMummifier;
 import io.guise.mummy.mummify.page.MarkdownPageMummifier;
+import io.guise.mummy.mummify.page.PageMummifier;
+import io.guise.mummy.mummify.page.PageMummifier.DtdLoading;
 import io.guise.mummy.mummify.page.XhtmlPageMummifier;
 
 /**
@@ -90,9 +101,47 @@ public GuiseProject getProject() {
 		return project;
 	}
 
+	/** The dependency graph, created lazily as the configuration is not available during construction. */
+	private volatile DependencyGraph dependencyGraph = null;
+
+	/**
+	 * Returns the graph for recording dependencies of generated targets, persisting paths relative to the project directory.
+	 * @implSpec The graph compares dependencies by content if {@value GuiseMummy#CONFIG_KEY_MUMMY_SOURCE_CONTENT_HASH} is enabled.
+	 * @return The dependency graph of this context.
+	 */
+	public DependencyGraph getDependencyGraph() {
+		DependencyGraph graph = dependencyGraph;
+		if(graph == null) {
+			synchronized(this) { //dependencies recorded in a graph that is replaced would be lost
+				graph = dependencyGraph;
+				if(graph == null) {
+					graph = new DependencyGraph(getProject().getDirectory(),
+							getConfiguration().findBoolean(GuiseMummy.CONFIG_KEY_MUMMY_SOURCE_CONTENT_HASH).orElse(false));
+					dependencyGraph = graph;
+				}
+			}
+		}
+		return graph;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @implSpec This implementation returns the graph provided by {@link #getDependencyGraph()}.
+	 */
+	@Override
+	public Optional<DependencyGraph> findDependencyGraph() {
+		return Optional.of(getDependencyGraph());
+	}
+
 	/** The shared page document builder factory. Use must be synchronized on the factory itself. */
 	private final DocumentBuilderFactory pageDocumentBuilderFactory;
 
+	/** The page document builders reused by each thread. */
+	private final ThreadLocal<DocumentBuilder> pageDocumentBuilders = ThreadLocal.withInitial(this::newPageDocumentBuilder);
+
+	/** The entity resolver for page documents, created lazily as the configuration is not available during construction. */
+	private volatile EntityResolver pageEntityResolver = null;
+
 	/**
 	 * Constructor.
 	 * @param project The Guise project.
@@ -140,6 +189,16 @@ public Optional<SourcePathMummifier> findRegisteredMummifierForSourceFile(@Nonnu
 		return filenameExtensions(sourceFile).map(Filenames.Extensions::normalize).map(fileMummifiersByExtension::get).filter(Objects::nonNull).findFirst();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * @implSpec This implementation returns the extensions of all registered file mummifiers that are page mummifiers.
+	 */
+	@Override
+	public Set<String> getPageSourceFilenameExtensions() {
+		return fileMummifiersByExtension.entrySet().stream().filter(entry -> entry.getValue() instanceof PageMummifier).map(Map.Entry::getKey)
+				.collect(toUnmodifiableSet());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @implSpec This implementation doesn't support registered source directory mummifiers, and will always return {@link Optional#empty()}.
@@ -151,31 +210,195 @@ public Optional<SourcePathMummifier> findRegisteredMummifierForSourceDirectory(P
 
 	//factory methods
 
+	/**
+	 * The content of entities such as DTDs resolved by {@link DefaultEntityResolver}, keyed by public ID or, if there is no public ID, by system ID. These are
+	 * shared across contexts, as they are loaded from preloaded resources and never change.
+	 */
+	private static final Map<String, byte[]> RESOLVED_ENTITY_CONTENT_CACHE = new ConcurrentHashMap<>();
+
+	/** The DTDs containing only the character entity set declarations and references of DTDs, keyed by public ID or, if none, system ID of the full DTD. */
+	private static final Map<String, byte[]> ENTITY_SETS_DTD_CONTENT_CACHE = new ConcurrentHashMap<>();
+
+	/** The name {@link EntityResolver2} uses to identify the external DTD subset, although not all parsers provide entity names. */
+	private static final String EXTERNAL_SUBSET_ENTITY_NAME = "[dtd]";
+
+	/** The pattern for detecting the <code>DTD</code> public text class in a formal public identifier such as <code>-//W3C//DTD XHTML 1.0 Strict//EN</code>. */
+	private static final Pattern DTD_PUBLIC_ID_PATTERN = Pattern.compile("//DTD\\s");
+
+	/**
+	 * The pattern for the declaration of a parameter entity referring to a character entity set, as used in DTDs such as those of XHTML. The first matching
+	 * group contains the entity name.
+	 */
+	private static final Pattern ENTITY_SET_DECLARATION_PATTERN = Pattern
+			.compile("<!ENTITY\\s+%\\s+([^\\s%;]+)\\s+PUBLIC\\s+\"[^\"]*//ENTITIES\\s[^\"]*\"(?:\\s+\"[^\"]*\")?\\s*>");
+
+	/**
+	 * Returns the entity resolver for page documents.
+	 * @return An entity resolver appropriate for the {@value PageMummifier#CONFIG_KEY_MUMMY_PAGE_DTD_LOADING} configuration.
+	 * @throws IllegalArgumentException if the configured DTD loading is not recognized.
+	 * @see PageEntityResolver
+	 */
+	protected EntityResolver getPageEntityResolver() {
+		EntityResolver entityResolver = pageEntityResolver;
+		if(entityResolver == null) { //the race condition is benign; resolvers for the same configuration are equivalent
+			entityResolver = new PageEntityResolver(
+					getConfiguration().findString(CONFIG_KEY_MUMMY_PAGE_DTD_LOADING).map(fromSerializionOf(DtdLoading.class)).orElse(DEFAULT_DTD_LOADING));
+			pageEntityResolver = entityResolver;
+		}
+		return entityResolver;
+	}
+
 	/**
 	 * Special Guise Mummy entity resolver with additional capabilities.
 	 * @implSpec This implementation uses preloaded versions of frequently-used XHTML-related DTDs and other entities instead of downloading them from external
-	 *           sources by using {@link DefaultEntityResolver}.
+	 *           sources by using {@link DefaultEntityResolver}. The content of preloaded entities is cached in memory after first use.
 	 * @implSpec If the {@value HTML#XHTML_1_1_PUBLIC_ID} DTD is requested, the {@value HTML#XHTML_1_0_STRICT_PUBLIC_ID} will be returned instead, which results
 	 *           in faster parsing and does not produce unnecessary and incorrect default attributes. For most XHTML 1.1 documents there will be no effective
 	 *           difference. See <a href="https://stackoverflow.com/q/60603441/421049">Java XML parser adding unnecessary xmlns and xml:space attributes</a> and
 	 *           <a href="https://www.w3.org/TR/xhtml11/changes.html">XHTML 1.1 - Second Edition § A. Changes from XHTML 1.0 Strict</a>.
+	 * @implSpec For {@link DtdLoading#ENTITIES} the external DTD subset is replaced with a DTD containing only its character entity set declarations and
+	 *           references, if the DTD is preloaded; otherwise the full DTD is loaded. For {@link DtdLoading#NONE} the external DTD subset is replaced with an
+	 *           empty DTD. The external DTD subset is recognized by the entity name or, as not all parsers provide the name, by the <code>DTD</code> public text
+	 *           class of its public identifier.
+	 * @author Garret Wilson
 	 */
-	private static final EntityResolver ENTITY_RESOLVER = new EntityResolver() {
+	protected static class PageEntityResolver implements EntityResolver2 {
 
 		private final EntityResolver defaultEntityResolver = DefaultEntityResolver.getInstance();
 
+		private final DtdLoading dtdLoading;
+
+		/** @return The extent to which external DTDs are loaded. */
+		public DtdLoading getDtdLoading() {
+			return dtdLoading;
+		}
+
+		/**
+		 * Constructor.
+		 * @param dtdLoading The extent to which external DTDs are loaded.
+		 */
+		public PageEntityResolver(@Nonnull final DtdLoading dtdLoading) {
+			this.dtdLoading = requireNonNull(dtdLoading);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * @implSpec This implementation does not provide an external subset for documents that do not declare one.
+		 */
+		@Override
+		public InputSource getExternalSubset(final String name, final String baseURI) throws SAXException, IOException {
+			return null;
+		}
+
 		@Override
 		public InputSource resolveEntity(final String publicID, final String systemID) throws SAXException, IOException {
+			return resolveEntity(null, publicID, null, systemID);
+		}
+
+		@Override
+		public InputSource resolveEntity(final String name, final String publicID, final String baseURI, final String systemID) throws SAXException, IOException {
 			if(XHTML_1_1_PUBLIC_ID.equals(publicID)) { //parse XHTML 1.1 documents as XHTML 1.0 Strict
-				final InputSource inputSource = resolveEntity(XHTML_1_0_STRICT_PUBLIC_ID, systemID);
+				final InputSource inputSource = resolveEntity(name, XHTML_1_0_STRICT_PUBLIC_ID, baseURI, systemID);
 				checkState(inputSource != null, "Default entity resolver should have known the XHTML 1.0 Strict DTD `%s`.", XHTML_1_0_STRICT_PUBLIC_ID);
 				inputSource.setPublicId(publicID);
 				return inputSource;
 			}
-			return defaultEntityResolver.resolveEntity(publicID, systemID);
+			final String absoluteSystemID = resolveSystemID(baseURI, systemID);
+			if(EXTERNAL_SUBSET_ENTITY_NAME.equals(name) || (publicID != null && DTD_PUBLIC_ID_PATTERN.matcher(publicID).find())) {
+				switch(dtdLoading) {
+					case NONE:
+						return createInputSource(new byte[0], publicID, absoluteSystemID);
+					case ENTITIES:
+						final InputSource dtdInputSource = resolveCachedEntity(publicID, absoluteSystemID);
+						final String key = publicID != null ? publicID : absoluteSystemID;
+						final byte[] dtdContent = key != null ? RESOLVED_ENTITY_CONTENT_CACHE.get(key) : null;
+						if(dtdContent == null) { //if the DTD isn't preloaded, there is no content to reduce
+							return dtdInputSource;
+						}
+						//the system ID of the DTD is retained so that any relative entity set system IDs resolve in the same way
+						return createInputSource(ENTITY_SETS_DTD_CONTENT_CACHE.computeIfAbsent(key, __ -> toEntitySetsDtdContent(dtdContent)), publicID, absoluteSystemID);
+					default:
+						break;
+				}
+			}
+			return resolveCachedEntity(publicID, absoluteSystemID);
 		}
 
-	};
+		/**
+		 * Resolves an entity using the default entity resolver, caching the content of the entity for subsequent resolutions.
+		 * @implNote Entities the default entity resolver provides as character streams or with an explicit encoding are not cached.
+		 * @param publicID The public identifier of the entity, or <code>null</code> if none was supplied.
+		 * @param systemID The system identifier of the entity, or <code>null</code> if none was supplied.
+		 * @return An input source for the entity, or <code>null</code> if the default entity resolver does not know the entity.
+		 * @throws SAXException if there is an error resolving the entity.
+		 * @throws IOException if there is an error reading the entity.
+		 */
+		protected @Nullable InputSource resolveCachedEntity(@Nullable final String publicID, @Nullable final String systemID) throws SAXException, IOException {
+			final String key = publicID != null ? publicID : systemID;
+			final byte[] cachedContent = key != null ? RESOLVED_ENTITY_CONTENT_CACHE.get(key) : null;
+			if(cachedContent != null) {
+				return createInputSource(cachedContent, publicID, systemID);
+			}
+			final InputSource inputSource = defaultEntityResolver.resolveEntity(publicID, systemID);
+			if(key == null || inputSource == null || inputSource.getByteStream() == null || inputSource.getEncoding() != null) {
+				return inputSource;
+			}
+			final byte[] content;
+			try (final InputStream inputStream = inputSource.getByteStream()) {
+				content = inputStream.readAllBytes();
+			}
+			RESOLVED_ENTITY_CONTENT_CACHE.putIfAbsent(key, content);
+			return createInputSource(content, publicID, systemID);
+		}
+
+		/**
+		 * Resolves a system identifier against its base URI, as the {@link EntityResolver2} interface provides system identifiers as they appear in the document.
+		 * @param baseURI The base URI against which the system identifier should be resolved, or <code>null</code> if it is not known.
+		 * @param systemID The system identifier as it appears in the document, or <code>null</code> if none was supplied.
+		 * @return The resolved system identifier, or the given system identifier if it could not be resolved.
+		 */
+		private static @Nullable String resolveSystemID(@Nullable final String baseURI, @Nullable final String systemID) {
+			if(baseURI == null || systemID == null) {
+				return systemID;
+			}
+			try {
+				return URI.create(baseURI).resolve(systemID).toString();
+			} catch(final IllegalArgumentException illegalArgumentException) { //leave unusual identifiers for the parser to deal with
+				return systemID;
+			}
+		}
+
+		/**
+		 * Creates an input source for cached entity content.
+		 * @param content The content of the entity.
+		 * @param publicID The public identifier of the entity, or <code>null</code> if none was supplied.
+		 * @param systemID The system identifier of the entity, or <code>null</code> if none was supplied.
+		 * @return A new input source for reading the content.
+		 */
+		private static InputSource createInputSource(@Nonnull final byte[] content, @Nullable final String publicID, @Nullable final String systemID) {
+			final InputSource inputSource = new InputSource(new ByteArrayInputStream(content));
+			inputSource.setPublicId(publicID);
+			inputSource.setSystemId(systemID);
+			return inputSource;
+		}
+
+		/**
+		 * Produces a DTD containing only the character entity set declarations of the given DTD, each followed by a reference to the entity set so that its
+		 * entities are declared.
+		 * @param dtdContent The content of the full DTD, which is assumed to be in UTF-8 (or ASCII, as are the XHTML DTDs).
+		 * @return The content of a DTD declaring only character entities.
+		 * @see #ENTITY_SET_DECLARATION_PATTERN
+		 */
+		private static byte[] toEntitySetsDtdContent(@Nonnull final byte[] dtdContent) {
+			final StringBuilder entitySetsDtd = new StringBuilder();
+			final Matcher matcher = ENTITY_SET_DECLARATION_PATTERN.matcher(new String(dtdContent, UTF_8));
+			while(matcher.find()) {
+				entitySetsDtd.append(matcher.group()).append('\n').append('%').append(matcher.group(1)).append(';').append('\n');
+			}
+			return entitySetsDtd.toString().getBytes(UTF_8);
+		}
+
+	}
 
 	/**
 	 * {@inheritDoc}
@@ -185,6 +408,8 @@ public InputSource resolveEntity(final String publicID, final String systemID) t
 	 *           documents there will be no effective difference. See <a href="https://stackoverflow.com/q/60603441/421049">Java XML parser adding unnecessary
 	 *           xmlns and xml:space attributes</a> and <a href="https://www.w3.org/TR/xhtml11/changes.html">XHTML 1.1 - Second Edition § A. Changes from XHTML
 	 *           1.0 Strict</a>.
+	 * @implSpec This implementation installs the entity resolver returned by {@link #getPageEntityResolver()}, which determines how much of any external DTD is
+	 *           loaded based upon the {@value PageMummifier#CONFIG_KEY_MUMMY_PAGE_DTD_LOADING} configuration.
 	 * @implSpec This implementation synchronizes on the internal document builder factory instance.
 	 */
 	@Override
@@ -192,7 +417,7 @@ public DocumentBuilder newPageDocumentBuilder() {
 		synchronized(pageDocumentBuilderFactory) {
 			try {
 				final DocumentBuilder documentBuilder = pageDocumentBuilderFactory.newDocumentBuilder();
-				documentBuilder.setEntityResolver(ENTITY_RESOLVER); //install an entity resolver that knows about many XHTML-related entities
+				documentBuilder.setEntityResolver(getPageEntityResolver()); //install an entity resolver that knows about many XHTML-related entities
 				return documentBuilder;
 			} catch(final ParserConfigurationException parserConfigurationException) {
 				throw new ConfigurationException(parserConfigurationException);
@@ -200,4 +425,17 @@ public DocumentBuilder newPageDocumentBuilder() {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * @implSpec This implementation keeps a separate document builder for each thread, created using {@link #newPageDocumentBuilder()}, and resets it before
+	 *           returning it.
+	 */
+	@Override
+	public DocumentBuilder getPageDocumentBuilder() {
+		final DocumentBuilder documentBuilder = pageDocumentBuilders.get();
+		documentBuilder.reset();
+		documentBuilder.setEntityResolver(getPageEntityResolver()); //resetting removes the entity resolver
+		return documentBuilder;
+	}
+
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy;
+
+import static com.globalmentor.io.Paths.*;
+import static com.globalmentor.java.Objects.*;
+import static java.nio.file.Files.*;
+import static java.nio.file.StandardCopyOption.*;
+import static java.util.Objects.*;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.*;
+
+import io.clogr.Clogged;
+import io.urf.model.*;
+import io.urf.turf.*;
+
+/**
+ * Stores the generated target descriptions of all artifacts, including their timestamps and fingerprints, in a single binary file keyed by target path.
+ * <p>
+ * Rather than opening and parsing a separate description sidecar file for each artifact, the entire store is read with {@link #load()} at the start of
+ * mummification, and written with {@link #commit()} at the end. The committed file replaces the previous one atomically, so an interrupted mummification leaves
+ * the previous build state intact.
+ * </p>
+ * <p>
+ * The file consists of the {@value #MAGIC_NUMBER} magic number, the {@value #VERSION} format version, and the number of entries, followed by each entry: the
+ * target path relative to the site target directory in modified UTF-8, and the length and bytes of the description serialized as TURF properties.
+ * </p>
+ * @implNote This class is thread-safe.
+ * @author Garret Wilson
+ * @see GuiseMummy#CONFIG_KEY_MUMMY_BUILD_STATE_STORE
+ */
+public class BuildStateStore implements Clogged {
+
+	/** The name of the file, in the site description target directory, in which the build state is stored. */
+	public static final String FILENAME = ".guise-mummy-build-state.bin";
+
+	/** The number identifying a build state file. */
+	static final int MAGIC_NUMBER = 0x47554953;
+
+	/** The version of the build state file format. */
+	static final int VERSION = 1;
+
+	private final Path file;
+
+	/** @return The file in which the build state is stored. */
+	public Path getFile() {
+		return file;
+	}
+
+	private final Path siteTargetDirectory;
+
+	/** The serialized descriptions, mapped to their target paths. */
+	private final Map<Path, byte[]> descriptionBytesByTargetPath = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor.
+	 * @param file The file in which the build state is stored.
+	 * @param siteTargetDirectory The site target directory, against which target paths are stored.
+	 * @throws IllegalArgumentException if the site target directory is not absolute.
+	 */
+	public BuildStateStore(@Nonnull final Path file, @Nonnull final Path siteTargetDirectory) {
+		this.file = requireNonNull(file);
+		this.siteTargetDirectory = checkArgumentAbsolute(siteTargetDirectory).normalize();
+	}
+
+	/**
+	 * Loads the stored build state, replacing any descriptions currently held. If there is no build state file, the store is left empty.
+	 * @apiNote A build state file that cannot be read, such as one in a format that is no longer supported, is ignored with a warning, as it only serves to
+	 *          speed up incremental mummification.
+	 * @throws IOException if there is an I/O error reading the build state file.
+	 */
+	public void load() throws IOException {
+		descriptionBytesByTargetPath.clear();
+		if(!isRegularFile(file)) {
+			return;
+		}
+		try (final DataInputStream inputStream = new DataInputStream(new BufferedInputStream(newInputStream(file)))) {
+			if(inputStream.readInt() != MAGIC_NUMBER || inputStream.readInt() != VERSION) {
+				getLogger().warn("Ignoring build state file `{}` in unrecognized format.", file); //TODO i18n
+				return;
+			}
+			final int count = inputStream.readInt();
+			for(int i = 0; i < count; i++) {
+				final Path targetPath = siteTargetDirectory.resolve(inputStream.readUTF()).normalize();
+				final byte[] descriptionBytes = new byte[inputStream.readInt()];
+				inputStream.readFully(descriptionBytes);
+				descriptionBytesByTargetPath.put(targetPath, descriptionBytes);
+			}
+		} catch(final EOFException eofException) {
+			getLogger().warn("Ignoring truncated build state file `{}`.", file); //TODO i18n
+			descriptionBytesByTargetPath.clear();
+		}
+		getLogger().debug("Loaded build state of {} artifacts from `{}`.", descriptionBytesByTargetPath.size(), file); //TODO i18n
+	}
+
+	/**
+	 * Retrieves the stored description of the artifact with the given target path.
+	 * @param targetPath The path in the site target directory.
+	 * @return The stored description, if present.
+	 * @throws IOException if the stored description cannot be parsed.
+	 */
+	public Optional<UrfResourceDescription> findDescription(@Nonnull final Path targetPath) throws IOException {
+		final byte[] descriptionBytes = descriptionBytesByTargetPath.get(targetPath.toAbsolutePath().normalize());
+		if(descriptionBytes == null) {
+			return Optional.empty();
+		}
+		return new TurfParser<List<Object>>(new SimpleGraphUrfProcessor()).parseDocument(new ByteArrayInputStream(descriptionBytes), TURF.PROPERTIES_MEDIA_TYPE)
+				.stream().flatMap(asInstances(UrfResourceDescription.class)).findFirst();
+	}
+
+	/**
+	 * Stores the description of the artifact with the given target path, replacing any description already stored. The description will not be persisted until
+	 * {@link #commit()} is called.
+	 * @param targetPath The path in the site target directory.
+	 * @param description The description to store.
+	 * @throws IOException if the description cannot be serialized.
+	 */
+	public void putDescription(@Nonnull final Path targetPath, @Nonnull final UrfResourceDescription description) throws IOException {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		new TurfSerializer().serializeDocument(outputStream, TURF.PROPERTIES_MEDIA_TYPE, description);
+		descriptionBytesByTargetPath.put(targetPath.toAbsolutePath().normalize(), outputStream.toByteArray());
+	}
+
+	/**
+	 * Removes the descriptions stored for targets that are no longer generated by the given plan, such as those of deleted source files, so that they do not
+	 * accumulate in the build state file.
+	 * @param plan The current mummification plan.
+	 * @see MummyPlan#findArtifactByTargetPath(Path)
+	 */
+	public void prune(@Nonnull final MummyPlan plan) {
+		descriptionBytesByTargetPath.keySet().removeIf(targetPath -> plan.findArtifactByTargetPath(targetPath).isEmpty());
+	}
+
+	/**
+	 * Atomically writes the build state to the build state file, replacing any existing file.
+	 * @implSpec The build state is first written to a temporary file in the same directory, which is then moved in place of the build state file.
+	 * @throws IOException if there is an I/O error writing the build state file.
+	 */
+	public void commit() throws IOException {
+		final Path directory = file.toAbsolutePath().getParent();
+		createDirectories(directory);
+		final Path tempFile = createTempFile(directory, file.getFileName().toString() + "-", ".tmp");
+		try {
+			final Map<Path, byte[]> descriptionBytesSnapshot = new TreeMap<>(descriptionBytesByTargetPath);
+			try (final DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(newOutputStream(tempFile)))) {
+				outputStream.writeInt(MAGIC_NUMBER);
+				outputStream.writeInt(VERSION);
+				outputStream.writeInt(descriptionBytesSnapshot.size());
+				for(final Map.Entry<Path, byte[]> entry : descriptionBytesSnapshot.entrySet()) {
+					outputStream.writeUTF(siteTargetDirectory.relativize(entry.getKey()).toString());
+					outputStream.writeInt(entry.getValue().length);
+					outputStream.write(entry.getValue());
+				}
+			}
+			move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+			getLogger().debug("Committed build state of {} artifacts to `{}`.", descriptionBytesSnapshot.size(), file); //TODO i18n
+		} finally {
+			deleteIfExists(tempFile);
+		}
+	}
+
+}
@@ -47,6 +47,13 @@ public Optional<Artifact> findParentArtifact(final Artifact artifact) {
 		return Optional.ofNullable(parentArtifactsByArtifact.get(getPrincipalArtifact(artifact)));
 	}
 
+	private final Map<Path, Artifact> artifactsByTargetPath = new HashMap<>();
+
+	@Override
+	public Optional<Artifact> findArtifactByTargetPath(final Path targetPath) {
+		return Optional.ofNullable(artifactsByTargetPath.get(checkArgumentAbsolute(targetPath)));
+	}
+
 	private final Map<Path, Artifact> artifactsByReferenceSourcePath = new HashMap<>();
 
 	@Override
@@ -60,6 +67,7 @@ public Optional<Artifact> findArtifactBySourceReference(final Path referenceSour
 	 */
 	private void initialize(@Nonnull final Artifact artifact) {
 		requireNonNull(artifact);
+		artifactsByTargetPath.put(artifact.getTargetPath(), artifact);
 		if(artifact instanceof CompositeArtifact) {
 			final CompositeArtifact compositeArtifact = (CompositeArtifact)artifact;
 			compositeArtifact.getSubsumedArtifacts().forEach(subsumedArtifact -> principalArtifactsBySubsumedArtifacts.put(subsumedArtifact, artifact));
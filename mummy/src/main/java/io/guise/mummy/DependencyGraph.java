@@ -0,0 +1,414 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy;
+
+import static com.globalmentor.io.Paths.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.*;
+import static java.util.stream.Collectors.*;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.*;
+
+import javax.annotation.*;
+
+import io.clogr.Clogged;
+
+/**
+ * Records what each generated target depends on, along with the state of each dependency at the time the target was generated, so that incremental
+ * mummification can detect targets that need to be regenerated even if their own source has not changed.
+ * <p>
+ * Two kinds of dependencies are recorded:
+ * </p>
+ * <ul>
+ * <li>Paths, such as a page template, a navigation file, or the source of a sibling artifact appearing in navigation. A path dependency need not exist, so that
+ * a target may depend for example on the absence of a template that would otherwise be found first.</li>
+ * <li>The child artifacts of some collection artifact in the plan, such as the siblings appearing in default navigation, so that artifacts being added to or
+ * removed from the collection are detected.</li>
+ * </ul>
+ * <p>
+ * Path dependencies are normally compared by modification timestamp. If the graph {@link #isContentHash() compares by content}, as when
+ * {@value GuiseMummy#CONFIG_KEY_MUMMY_SOURCE_CONTENT_HASH} is enabled, files are instead compared by size and content hash, and directories by their listing,
+ * so that a fresh clone or a checkout does not make every target stale.
+ * </p>
+ * <p>
+ * The graph may be persisted between mummifications using {@link #save(Path)} and {@link #load(Path)}. Paths are stored relative to a base directory, normally
+ * the project directory, so that the project may be relocated.
+ * </p>
+ * @implNote This class is thread-safe.
+ * @author Garret Wilson
+ */
+public class DependencyGraph implements Clogged {
+
+	/** The name of the file, in the site description target directory, in which the dependency graph is persisted. */
+	public static final String FILENAME = ".guise-mummy-dependencies.tsv";
+
+	/** The delimiter between fields of the persisted dependency graph. */
+	private static final char FIELD_DELIMITER = '\t';
+
+	/** The field value indicating a path dependency. */
+	private static final String PATH_TYPE_FIELD_VALUE = "path";
+
+	/** The field value indicating a dependency on the child artifacts of a collection artifact. */
+	private static final String CHILDREN_TYPE_FIELD_VALUE = "children";
+
+	/** The state of a path dependency that did not exist when it was recorded. */
+	private static final String ABSENT_STATE = "-";
+
+	/** The delimiter between components of the state of a path dependency compared by content. */
+	private static final char STATE_COMPONENT_DELIMITER = ' ';
+
+	/** The prefix of the state of a directory dependency compared by content, followed by the signature of its listing. */
+	private static final String DIRECTORY_STATE_PREFIX = "dir" + STATE_COMPONENT_DELIMITER;
+
+	/** The algorithm for producing the signature of a set of child artifacts or a directory listing. */
+	private static final String SIGNATURE_ALGORITHM = "SHA-256";
+
+	/** The size of the buffer for reading file content to be hashed. */
+	private static final int CONTENT_HASH_BUFFER_SIZE = 1 << 16;
+
+	private final Path baseDirectory;
+
+	/** @return The base directory against which persisted paths are resolved. */
+	public Path getBaseDirectory() {
+		return baseDirectory;
+	}
+
+	private final boolean contentHash;
+
+	/** @return Whether path dependencies are compared by content rather than by modification timestamp. */
+	public boolean isContentHash() {
+		return contentHash;
+	}
+
+	/** The recorded states of path dependencies, mapped to dependency paths, mapped to target paths. */
+	private final Map<Path, Map<Path, String>> pathStatesByTarget = new ConcurrentHashMap<>();
+
+	/** The recorded signatures of the child artifacts of collection artifacts, mapped to collection artifact source paths, mapped to target paths. */
+	private final Map<Path, Map<Path, String>> childrenSignaturesByTarget = new ConcurrentHashMap<>();
+
+	/**
+	 * Base directory constructor, comparing path dependencies by modification timestamp.
+	 * @param baseDirectory The base directory against which persisted paths are resolved.
+	 * @throws IllegalArgumentException if the given base directory is not absolute.
+	 */
+	public DependencyGraph(@Nonnull final Path baseDirectory) {
+		this(baseDirectory, false);
+	}
+
+	/**
+	 * Base directory and content hash constructor.
+	 * @param baseDirectory The base directory against which persisted paths are resolved.
+	 * @param contentHash Whether path dependencies should be compared by content rather than by modification timestamp.
+	 * @throws IllegalArgumentException if the given base directory is not absolute.
+	 */
+	public DependencyGraph(@Nonnull final Path baseDirectory, final boolean contentHash) {
+		this.baseDirectory = checkArgumentAbsolute(baseDirectory).normalize();
+		this.contentHash = contentHash;
+	}
+
+	/**
+	 * Records that a target depends on some path, noting the current state of the dependency. If the dependency has already been recorded for the target, its
+	 * state will be updated.
+	 * @apiNote The dependency need not exist; a target may depend on the absence of some file.
+	 * @param target The path of the generated target.
+	 * @param dependency The path of the file on which the target depends.
+	 */
+	public void record(@Nonnull final Path target, @Nonnull final Path dependency) {
+		pathStatesByTarget.computeIfAbsent(target.toAbsolutePath().normalize(), path -> new ConcurrentHashMap<>()).put(dependency.toAbsolutePath().normalize(),
+				getPathState(dependency));
+	}
+
+	/**
+	 * Records that a target depends on the set of child artifacts of a collection artifact, noting the child artifacts currently in the plan. If the dependency
+	 * has already been recorded for the target, its state will be updated.
+	 * @apiNote Only membership is recorded; a target presenting information from the child artifacts should also record their source paths.
+	 * @param target The path of the generated target.
+	 * @param plan The current mummification plan.
+	 * @param collectionArtifact The artifact the children of which the target depends on.
+	 * @see MummyPlan#childArtifacts(Artifact)
+	 */
+	public void recordChildArtifacts(@Nonnull final Path target, @Nonnull final MummyPlan plan, @Nonnull final Artifact collectionArtifact) {
+		childrenSignaturesByTarget.computeIfAbsent(target.toAbsolutePath().normalize(), path -> new ConcurrentHashMap<>())
+				.put(collectionArtifact.getSourcePath().toAbsolutePath().normalize(), getChildrenSignature(plan, collectionArtifact));
+	}
+
+	/**
+	 * Removes all dependencies recorded for a target, as when the target is about to be regenerated.
+	 * @param target The path of the generated target.
+	 */
+	public void clear(@Nonnull final Path target) {
+		final Path normalizedTarget = target.toAbsolutePath().normalize();
+		pathStatesByTarget.remove(normalizedTarget);
+		childrenSignaturesByTarget.remove(normalizedTarget);
+	}
+
+	/**
+	 * Removes all dependencies recorded for targets that are no longer generated by the given plan, such as those of deleted source files, so that they do not
+	 * accumulate in the persisted graph.
+	 * @param plan The current mummification plan.
+	 * @see MummyPlan#findArtifactByTargetPath(Path)
+	 */
+	public void prune(@Nonnull final MummyPlan plan) {
+		pathStatesByTarget.keySet().removeIf(target -> plan.findArtifactByTargetPath(target).isEmpty());
+		childrenSignaturesByTarget.keySet().removeIf(target -> plan.findArtifactByTargetPath(target).isEmpty());
+	}
+
+	/**
+	 * Returns the path dependencies recorded for a target.
+	 * @param target The path of the generated target.
+	 * @return The paths on which the target depends; empty if no path dependencies have been recorded.
+	 */
+	public Set<Path> getDependencies(@Nonnull final Path target) {
+		final Map<Path, String> pathStates = pathStatesByTarget.get(target.toAbsolutePath().normalize());
+		return pathStates != null ? Set.copyOf(pathStates.keySet()) : Set.of();
+	}
+
+	/**
+	 * Determines whether any dependency of a target has changed since it was recorded, including whether some path dependency has been created or deleted, or
+	 * whether child artifacts have been added to or removed from some collection artifact.
+	 * @apiNote A target for which no dependencies have been recorded is not considered stale; its staleness must be determined by other means.
+	 * @implNote The plan is only retrieved from the context if child artifact dependencies have been recorded for the target.
+	 * @param target The path of the generated target.
+	 * @param context The context of static site generation, providing the current plan.
+	 * @return <code>true</code> if some dependency of the target has changed since it was recorded.
+	 */
+	public boolean isStale(@Nonnull final Path target, @Nonnull final MummyContext context) {
+		final Path normalizedTarget = target.toAbsolutePath().normalize();
+		final Map<Path, String> pathStates = pathStatesByTarget.get(normalizedTarget);
+		if(pathStates != null) {
+			final Optional<Path> changedPath = pathStates.entrySet().stream().filter(entry -> isChanged(pathStates, entry.getKey(), entry.getValue()))
+					.map(Map.Entry::getKey).findAny();
+			if(changedPath.isPresent()) {
+				getLogger().debug("Target `{}` is stale because its dependency `{}` has changed.", target, changedPath.get()); //TODO i18n
+				return true;
+			}
+		}
+		final Map<Path, String> childrenSignatures = childrenSignaturesByTarget.get(normalizedTarget);
+		if(childrenSignatures != null && !childrenSignatures.isEmpty()) {
+			final MummyPlan plan = context.getPlan();
+			final Optional<Path> changedCollection = childrenSignatures.entrySet().stream()
+					.filter(entry -> !plan.findArtifactBySourceReference(entry.getKey()).map(collectionArtifact -> getChildrenSignature(plan, collectionArtifact))
+							.filter(entry.getValue()::equals).isPresent())
+					.map(Map.Entry::getKey).findAny();
+			if(changedCollection.isPresent()) {
+				getLogger().debug("Target `{}` is stale because the children of its dependency `{}` have changed.", target, changedCollection.get()); //TODO i18n
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determines whether a path dependency has changed from its recorded state.
+	 * @implSpec When comparing by content, a file with the same size but a different modification timestamp is hashed; if its content is unchanged, the new
+	 *           timestamp is recorded in place of the old state so that the file need not be hashed again.
+	 * @param pathStates The recorded states of the path dependencies of some target.
+	 * @param dependency The path of the dependency.
+	 * @param recordedState The state recorded for the dependency.
+	 * @return <code>true</code> if the dependency has changed.
+	 */
+	private boolean isChanged(@Nonnull final Map<Path, String> pathStates, @Nonnull final Path dependency, @Nonnull final String recordedState) {
+		if(!contentHash) {
+			return !getPathState(dependency).equals(recordedState);
+		}
+		final BasicFileAttributes attributes;
+		try {
+			attributes = readAttributes(dependency, BasicFileAttributes.class);
+			if(attributes.isDirectory()) {
+				return !getDirectoryState(dependency).equals(recordedState);
+			}
+		} catch(final IOException ioException) { //the dependency is missing or inaccessible
+			return !recordedState.equals(ABSENT_STATE);
+		}
+		final String[] recordedComponents = recordedState.split(String.valueOf(STATE_COMPONENT_DELIMITER), -1);
+		if(recordedComponents.length != 3 || !recordedComponents[1].equals(Long.toString(attributes.size()))) { //a change in size needs no hash to detect
+			return true;
+		}
+		final String modifiedAt = attributes.lastModifiedTime().toInstant().toString();
+		if(recordedComponents[0].equals(modifiedAt)) {
+			return false;
+		}
+		try {
+			if(!recordedComponents[2].equals(Long.toHexString(hashContent(dependency)))) {
+				return true;
+			}
+		} catch(final IOException ioException) {
+			return true;
+		}
+		getLogger().debug("Dependency `{}` has a new timestamp but unchanged content.", dependency); //TODO i18n
+		pathStates.replace(dependency, recordedState,
+				modifiedAt + STATE_COMPONENT_DELIMITER + recordedComponents[1] + STATE_COMPONENT_DELIMITER + recordedComponents[2]);
+		return false;
+	}
+
+	/**
+	 * Determines the current state of a path dependency.
+	 * @implSpec If comparing by modification timestamp, the state is the modification timestamp of the dependency. If comparing by content, the state of a file
+	 *           consists of its modification timestamp, size, and content hash; the state of a directory is a signature of its listing.
+	 * @param dependency The path of the dependency.
+	 * @return The state of the dependency, or {@value #ABSENT_STATE} if the dependency does not exist or its state cannot be determined.
+	 * @see #isContentHash()
+	 */
+	private String getPathState(@Nonnull final Path dependency) {
+		try {
+			final BasicFileAttributes attributes = readAttributes(dependency, BasicFileAttributes.class);
+			final String modifiedAt = attributes.lastModifiedTime().toInstant().toString();
+			if(!contentHash) {
+				return modifiedAt;
+			}
+			if(attributes.isDirectory()) {
+				return getDirectoryState(dependency);
+			}
+			return modifiedAt + STATE_COMPONENT_DELIMITER + attributes.size() + STATE_COMPONENT_DELIMITER + Long.toHexString(hashContent(dependency));
+		} catch(final IOException ioException) {
+			return ABSENT_STATE; //a later check will consider the dependency changed if it can be accessed then
+		}
+	}
+
+	/**
+	 * Determines the state of a directory dependency compared by content.
+	 * @param directory The path of the directory.
+	 * @return A state identifying the names of the entries in the directory.
+	 * @throws IOException if there is an error listing the directory.
+	 */
+	private static String getDirectoryState(@Nonnull final Path directory) throws IOException {
+		try (final Stream<Path> entries = list(directory)) {
+			return DIRECTORY_STATE_PREFIX + sign(entries.map(Path::getFileName).map(Path::toString).sorted().collect(joining("\n")));
+		}
+	}
+
+	/**
+	 * Calculates a fast, non-cryptographic hash of the contents of a file, for detecting whether its content has changed.
+	 * @implSpec This implementation uses CRC-32C, the same as is used for detecting source content changes. It is only used in conjunction with the size of the
+	 *           content.
+	 * @param file The file to hash.
+	 * @return The hash of the file contents.
+	 * @throws IOException if there is an I/O error reading the file.
+	 */
+	private static long hashContent(@Nonnull final Path file) throws IOException {
+		final Checksum checksum = new CRC32C();
+		try (final InputStream inputStream = newInputStream(file)) {
+			final byte[] buffer = new byte[CONTENT_HASH_BUFFER_SIZE];
+			int count;
+			while((count = inputStream.read(buffer)) != -1) {
+				checksum.update(buffer, 0, count);
+			}
+		}
+		return checksum.getValue();
+	}
+
+	/**
+	 * Determines the signature of the current child artifacts of a collection artifact.
+	 * @implSpec This implementation hashes the sorted source paths of the child artifacts, relative to the base directory.
+	 * @param plan The current mummification plan.
+	 * @param collectionArtifact The artifact the children of which to sign.
+	 * @return A string identifying the set of child artifacts.
+	 */
+	private String getChildrenSignature(@Nonnull final MummyPlan plan, @Nonnull final Artifact collectionArtifact) {
+		return sign(plan.childArtifacts(collectionArtifact).map(Artifact::getSourcePath)
+				.map(sourcePath -> baseDirectory.relativize(sourcePath.toAbsolutePath().normalize()).toString()).sorted().collect(joining("\n")));
+	}
+
+	/**
+	 * Produces a compact signature of some text, such as a list of paths.
+	 * @param text The text to sign.
+	 * @return A string identifying the text.
+	 */
+	private static String sign(@Nonnull final String text) {
+		try {
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.getInstance(SIGNATURE_ALGORITHM).digest(text.getBytes(UTF_8)));
+		} catch(final NoSuchAlgorithmException noSuchAlgorithmException) {
+			throw new AssertionError(noSuchAlgorithmException); //every Java platform is required to support SHA-256
+		}
+	}
+
+	/**
+	 * Loads a persisted dependency graph, replacing any dependencies recorded for the targets it contains. Malformed lines are ignored.
+	 * @param file The file from which to load the graph.
+	 * @throws IOException if there is an error reading the file.
+	 */
+	public void load(@Nonnull final Path file) throws IOException {
+		try (final BufferedReader reader = newBufferedReader(file, UTF_8)) {
+			final Map<Path, Map<Path, String>> loadedPathStatesByTarget = new HashMap<>();
+			final Map<Path, Map<Path, String>> loadedChildrenSignaturesByTarget = new HashMap<>();
+			String line;
+			while((line = reader.readLine()) != null) {
+				final String[] fields = line.split(String.valueOf(FIELD_DELIMITER), -1);
+				final Map<Path, Map<Path, String>> loadedStatesByTarget;
+				if(fields.length != 4) {
+					loadedStatesByTarget = null;
+				} else if(fields[1].equals(PATH_TYPE_FIELD_VALUE)) {
+					loadedStatesByTarget = loadedPathStatesByTarget;
+				} else if(fields[1].equals(CHILDREN_TYPE_FIELD_VALUE)) {
+					loadedStatesByTarget = loadedChildrenSignaturesByTarget;
+				} else {
+					loadedStatesByTarget = null;
+				}
+				if(loadedStatesByTarget == null) {
+					getLogger().warn("Ignoring malformed dependency graph entry `{}` in `{}`.", line, file); //TODO i18n
+					continue;
+				}
+				loadedStatesByTarget.computeIfAbsent(baseDirectory.resolve(fields[0]).normalize(), path -> new ConcurrentHashMap<>())
+						.put(baseDirectory.resolve(fields[2]).normalize(), fields[3]);
+			}
+			pathStatesByTarget.putAll(loadedPathStatesByTarget);
+			childrenSignaturesByTarget.putAll(loadedChildrenSignaturesByTarget);
+		}
+	}
+
+	/**
+	 * Saves the dependency graph, replacing any existing file.
+	 * @implSpec Each dependency is stored on a separate line, consisting of the target path; the type of dependency, either <code>path</code> or
+	 *           <code>children</code>; the path of the dependency or the source path of the collection artifact; and the state of the dependency, separated by
+	 *           tabs. The state of a path dependency is its modification timestamp; or if comparing by content, the timestamp, size, and content hash of a file
+	 *           or the signature of the listing of a directory. The state is <code>-</code> if the dependency did not exist. Paths are stored relative to the
+	 *           base directory.
+	 * @param file The file in which to save the graph.
+	 * @throws IOException if there is an error writing the file.
+	 */
+	public void save(@Nonnull final Path file) throws IOException {
+		try (final Writer writer = newBufferedWriter(file, UTF_8)) {
+			save(writer, PATH_TYPE_FIELD_VALUE, pathStatesByTarget);
+			save(writer, CHILDREN_TYPE_FIELD_VALUE, childrenSignaturesByTarget);
+		}
+	}
+
+	/**
+	 * Saves dependencies of a single type, sorted by target and dependency.
+	 * @param writer The writer to which to save the dependencies.
+	 * @param type The field value indicating the type of dependency.
+	 * @param statesByTarget The states of the dependencies, mapped to dependency paths, mapped to target paths.
+	 * @throws IOException if there is an error writing the dependencies.
+	 */
+	private void save(@Nonnull final Writer writer, @Nonnull final String type, @Nonnull final Map<Path, Map<Path, String>> statesByTarget) throws IOException {
+		for(final Map.Entry<Path, Map<Path, String>> targetEntry : new TreeMap<>(statesByTarget).entrySet()) {
+			final String target = baseDirectory.relativize(targetEntry.getKey()).toString();
+			for(final Map.Entry<Path, String> dependencyEntry : new TreeMap<>(targetEntry.getValue()).entrySet()) {
+				writer.append(target).append(FIELD_DELIMITER).append(type).append(FIELD_DELIMITER)
+						.append(baseDirectory.relativize(dependencyEntry.getKey()).toString()).append(FIELD_DELIMITER).append(dependencyEntry.getValue()).append('\n');
+			}
+		}
+	}
+
+}
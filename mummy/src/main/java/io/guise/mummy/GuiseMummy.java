@@ -31,10 +31,13 @@
 import java.net.URI;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.regex.Pattern;
 
 import javax.annotation.*;
 
+import org.zalando.fauxpas.ThrowingSupplier;
+
 import com.globalmentor.net.DomainName;
 
 import io.clogr.Clogged;
@@ -46,6 +49,7 @@
 import io.guise.mummy.mummify.collection.DirectoryMummifier;
 import io.guise.mummy.mummify.image.ImageMummifier;
 import io.guise.mummy.mummify.page.PageMummifier;
+import io.urf.model.UrfResourceDescription;
 import io.urf.turf.TurfSerializer;
 
 /**
@@ -200,13 +204,59 @@ public static Optional<Collection<DomainName>> findConfiguredSiteAltDomains(@Non
 	 * @see PageMummifier#CONFIG_KEY_MUMMY_PAGE_NAMES_BARE
 	 */
 	public static final String CONFIG_KEY_MUMMY_ASSET_NAME_PATTERN = "mummy.assetNamePattern";
+	/**
+	 * The configuration indicating whether generated target descriptions should be kept in a single build state file, loaded at once at the start of
+	 * mummification and committed at the end, rather than read from individual description sidecar files; defaults to <code>false</code>.
+	 * @see BuildStateStore
+	 * @see #CONFIG_KEY_MUMMY_BUILD_STATE_EXPORT_SIDECARS
+	 */
+	public static final String CONFIG_KEY_MUMMY_BUILD_STATE_STORE = "mummy.buildState.store";
+	/**
+	 * The configuration indicating whether description sidecar files should still be written, for use by other tools such as a preview server, when using a
+	 * build state store; defaults to <code>true</code>.
+	 * @see #CONFIG_KEY_MUMMY_BUILD_STATE_STORE
+	 */
+	public static final String CONFIG_KEY_MUMMY_BUILD_STATE_EXPORT_SIDECARS = "mummy.buildState.exportSidecars";
 	/**
 	 * The configuration for the list of base filenames of files, in order of priority, that serve as content for a collection; defaults to
 	 * <code>["index"]</code>. During mummification, any content file discovered will be normalized (renamed if needed) to the first of these base filenames.
 	 */
 	public static final String CONFIG_KEY_MUMMY_COLLECTION_CONTENT_BASE_NAMES = "mummy.collectionContentBaseNames";
+	/**
+	 * The configuration for a fixed instant, in ISO-8601 form such as <code>2020-01-01T00:00:00Z</code>, to record as the generation time of all artifacts.
+	 * Takes precedence over {@link #CONFIG_KEY_MUMMY_REPRODUCIBLE}. This setting is required for output that is reproducible across separate clones of the
+	 * source, as version control systems do not preserve source modification times; the time of the commit being built is a good choice.
+	 * @see MummyContext#getGeneratedAt(Artifact)
+	 */
+	public static final String CONFIG_KEY_MUMMY_GENERATED_AT = "mummy.generatedAt";
 	/** The configuration for the base filename for navigation definition; defaults to <code>.navigation</code>. */
 	public static final String CONFIG_KEY_MUMMY_NAVIGATION_BASE_NAME = "mummy.navigationBaseName";
+	/**
+	 * The configuration for the number of worker threads to use when planning and mummifying artifacts; defaults to {@value #DEFAULT_MUMMY_PARALLELISM}, which
+	 * processes all artifacts sequentially. A value of <code>0</code> indicates that parallelism should match the number of available processors.
+	 * @implNote The generated site is the same regardless of parallelism, but log messages from artifacts being processed concurrently may be interleaved.
+	 * @see #findConfiguredMummyParallelism(Configuration)
+	 */
+	public static final String CONFIG_KEY_MUMMY_PARALLELISM = "mummy.parallelism";
+	/** The default mummification parallelism, indicating sequential mummification. */
+	public static final int DEFAULT_MUMMY_PARALLELISM = 1;
+	/**
+	 * The configuration indicating whether output should be reproducible, so that unchanged source content results in byte-identical output; defaults to
+	 * <code>false</code>. If enabled, the modification time of each artifact source rather than the current time is recorded as the artifact generation time,
+	 * unless a fixed instant is configured using {@link #CONFIG_KEY_MUMMY_GENERATED_AT}. Because source modification times are not preserved by version
+	 * control, this setting alone only makes output reproducible within a single working copy.
+	 * @see MummyContext#getGeneratedAt(Artifact)
+	 */
+	public static final String CONFIG_KEY_MUMMY_REPRODUCIBLE = "mummy.reproducible";
+	/**
+	 * The configuration indicating whether incremental mummification should detect source content changes using a hash of the source content rather than
+	 * relying only on its modification timestamp; defaults to <code>false</code>. This prevents regeneration of all artifacts when source timestamps change but
+	 * content does not, as after a fresh clone or a checkout. The content is only hashed if its modification timestamp or size have changed.
+	 * Dependencies such as templates and navigation files are likewise compared by content.
+	 * @see Artifact#PROPERTY_TAG_MUMMY_SOURCE_CONTENT_HASH
+	 * @see DependencyGraph#isContentHash()
+	 */
+	public static final String CONFIG_KEY_MUMMY_SOURCE_CONTENT_HASH = "mummy.sourceContentHash";
 	/** The configuration for the base filename of a template; defaults to <code>.template</code>. */
 	public static final String CONFIG_KEY_MUMMY_TEMPLATE_BASE_NAME = "mummy.templateBaseName";
 	/**
@@ -223,12 +273,32 @@ public static Optional<Collection<DomainName>> findConfiguredSiteAltDomains(@Non
 	 */
 	public static final String CONFIG_KEY_MUMMY_VEIL_NAME_PATTERN = "mummy.veilNamePattern";
 
+	/**
+	 * Retrieves the configured mummification parallelism. A configured value of <code>0</code> will be resolved to the number of available processors.
+	 * @param configuration The configuration from which to retrieve values.
+	 * @return The number of worker threads to use for mummification; a value of <code>1</code> indicates sequential mummification.
+	 * @see #CONFIG_KEY_MUMMY_PARALLELISM
+	 * @throws ConfigurationException if the configured parallelism is negative.
+	 */
+	public static int findConfiguredMummyParallelism(@Nonnull final Configuration configuration) throws ConfigurationException {
+		final int parallelism = configuration.findInt(CONFIG_KEY_MUMMY_PARALLELISM).orElse(DEFAULT_MUMMY_PARALLELISM);
+		Configuration.check(parallelism >= 0, "The `%s` configuration `%d` must not be negative.", CONFIG_KEY_MUMMY_PARALLELISM, parallelism);
+		return parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+	}
+
 	//## deploy configuration
 
 	/** The configuration indicating the DNS to use, if any, for deployment. Must be a {@link Section} indicating a {@link Dns}. */
 	public static final String CONFIG_KEY_DEPLOY_DNS = "deploy.dns";
 	/** The configuration indicating the deployment targets, if any. Must be a collection of {@link Section} each indicating a {@link DeployTarget}. */
 	public static final String CONFIG_KEY_DEPLOY_TARGETS = "deploy.targets";
+	/** The configuration indicating whether deployment targets should only report the deployed objects they would prune, without actually removing them. */
+	public static final String CONFIG_KEY_DEPLOY_PRUNE_DRY_RUN = "deploy.prune.dryRun";
+	/**
+	 * The configuration indicating the maximum integer number of deployed objects a deployment target may prune in a single deployment; if exceeded, no objects
+	 * will be pruned and deployment will fail. If not present, the number of objects pruned is not limited.
+	 */
+	public static final String CONFIG_KEY_DEPLOY_PRUNE_MAX_COUNT = "deploy.prune.maxCount";
 
 	private boolean full = false;
 
@@ -280,15 +350,45 @@ public GuiseMummy() {
 	 * Performs static site generation on a source directory into a target directory.
 	 * @param project The Guise project governing mummification.
 	 * @param phase The life cycle phase to execute (including all those before it).
+	 * @return The context of static site generation, which may be used to mummify the site again using {@link #mummify(MummyContext, LifeCyclePhase)}.
 	 * @throws IllegalArgumentException if the configured source directory does not exist or is not a directory.
 	 * @throws IllegalArgumentException if the configured source and target directories overlap.
 	 * @throws IOException if there is an I/O error generating the static site.
 	 */
-	public void mummify(@Nonnull final GuiseProject project, @Nonnull final LifeCyclePhase phase) throws IOException {
-
+	public MummyContext mummify(@Nonnull final GuiseProject project, @Nonnull final LifeCyclePhase phase) throws IOException {
 		//# initialize phase
 		getLogger().info("Mummify phase: {}", LifeCyclePhase.INITIALIZE); //TODO i18n
 		final Context context = initialize(project); //the initialize phase must always occur
+		executePhases(context, phase);
+		return context;
+	}
+
+	/**
+	 * Performs static site generation again using the context of a previous mummification, such as when the site source has changed while being watched.
+	 * @apiNote Reusing the context keeps the mummifiers registered with it, along with anything they have cached such as loaded templates and excerpts. The site
+	 *          is nevertheless validated and planned again, as the source may have changed, but the initialize phase is skipped. Any change to the site
+	 *          configuration therefore requires a new context to be created using {@link #mummify(GuiseProject, LifeCyclePhase)}.
+	 * @param context A context returned by a previous call to {@link #mummify(GuiseProject, LifeCyclePhase)} of this mummifier.
+	 * @param phase The life cycle phase to execute (including all those before it, except the initialize phase).
+	 * @throws IllegalArgumentException if the given context was not created by this mummifier.
+	 * @throws IllegalArgumentException if the configured source directory does not exist or is not a directory.
+	 * @throws IllegalArgumentException if the configured source and target directories overlap.
+	 * @throws IOException if there is an I/O error generating the static site.
+	 */
+	public void mummify(@Nonnull final MummyContext context, @Nonnull final LifeCyclePhase phase) throws IOException {
+		checkArgument(context instanceof Context && ((Context)context).getMummy() == this, "Context was not created by this mummifier.");
+		executePhases((Context)context, phase);
+	}
+
+	/**
+	 * Performs static site generation for all the life cycle phases after the initialize phase, up to and including the given phase.
+	 * @param context The context of static site generation, as produced by the initialize phase.
+	 * @param phase The life cycle phase to execute (including all those before it).
+	 * @throws IllegalArgumentException if the configured source directory does not exist or is not a directory.
+	 * @throws IllegalArgumentException if the configured source and target directories overlap.
+	 * @throws IOException if there is an I/O error generating the static site.
+	 */
+	protected void executePhases(@Nonnull final Context context, @Nonnull final LifeCyclePhase phase) throws IOException {
 
 		//# validate phase
 		if(phase.compareTo(LifeCyclePhase.VALIDATE) >= 0) {
@@ -299,16 +399,38 @@ public void mummify(@Nonnull final GuiseProject project, @Nonnull final LifeCycl
 		//# plan phase
 		if(phase.compareTo(LifeCyclePhase.PLAN) >= 0) {
 			getLogger().info("Mummify phase: {}", LifeCyclePhase.PLAN); //TODO i18n
-			final Artifact rootArtifact = new DirectoryMummifier().plan(context, context.getSiteSourceDirectory(), context.getSiteTargetDirectory()); //TODO create special SiteMummifier extending DirectoryMummifier
-			final MummyPlan plan = new DefaultMummyPlan(rootArtifact);
-			context.setPlan(plan);
-
-			printArtifactDescription(context, rootArtifact);
+			final Artifact rootArtifact = plan(context).getRootArtifact();
 
 			//# mummify phase
 			if(phase.compareTo(LifeCyclePhase.MUMMIFY) >= 0) {
 				getLogger().info("Mummify phase: {}", LifeCyclePhase.MUMMIFY); //TODO i18n
-				rootArtifact.getMummifier().mummify(context, rootArtifact);
+				final int parallelism = findConfiguredMummyParallelism(context.getConfiguration());
+				final Optional<BuildStateStore> buildStateStore = context.findBuildStateStore();
+				final DependencyGraph dependencyGraph = context.getDependencyGraph();
+				final Path dependencyGraphFile = context.getSiteDescriptionTargetDirectory().resolve(DependencyGraph.FILENAME);
+				if(context.isIncremental() && isRegularFile(dependencyGraphFile)) { //full mummification records all dependencies anew
+					dependencyGraph.load(dependencyGraphFile);
+				}
+				context.deferResourceDescriptionUpdates(); //keep artifact descriptions unchanged while they may be read by other artifacts
+				try {
+					if(parallelism > 1) {
+						executeParallel(parallelism, () -> {
+							rootArtifact.getMummifier().mummify(context, rootArtifact);
+							return null;
+						});
+					} else {
+						rootArtifact.getMummifier().mummify(context, rootArtifact);
+					}
+				} finally {
+					context.applyResourceDescriptionUpdates();
+				}
+				createDirectories(context.getSiteDescriptionTargetDirectory());
+				dependencyGraph.prune(context.getPlan()); //don't keep dependencies of targets that are no longer generated
+				dependencyGraph.save(dependencyGraphFile);
+				if(buildStateStore.isPresent()) {
+					buildStateStore.get().prune(context.getPlan()); //don't keep descriptions of targets that are no longer generated
+					buildStateStore.get().commit();
+				}
 			}
 
 			//# prepare-deploy phase
@@ -368,6 +490,78 @@ public void mummify(@Nonnull final GuiseProject project, @Nonnull final LifeCycl
 		}
 	}
 
+	/**
+	 * Initializes, validates, and plans a site without mummifying it. This allows artifacts to be looked up and generated individually, such as when they are
+	 * rendered on demand.
+	 * @param project The Guise project governing mummification.
+	 * @return The context of static site generation, containing the plan for the site.
+	 * @throws IllegalArgumentException if the configured source directory does not exist or is not a directory.
+	 * @throws IllegalArgumentException if the configured source and target directories overlap.
+	 * @throws IOException if there is an I/O error planning the site.
+	 * @see MummyContext#getPlan()
+	 */
+	public MummyContext plan(@Nonnull final GuiseProject project) throws IOException {
+		final Context context = initialize(project);
+		validate(context);
+		plan(context);
+		return context;
+	}
+
+	/**
+	 * Plan phase; plans the entire site and stores the plan in the context.
+	 * @param context The context of static site generation.
+	 * @return The plan for the site.
+	 * @throws IOException if there is an I/O error planning the site.
+	 */
+	protected MummyPlan plan(@Nonnull final Context context) throws IOException {
+		final int parallelism = findConfiguredMummyParallelism(context.getConfiguration());
+		final Optional<BuildStateStore> buildStateStore = context.findBuildStateStore();
+		if(buildStateStore.isPresent()) { //load all previous target descriptions at once, before planning needs them
+			buildStateStore.get().load();
+		}
+		final DirectoryMummifier rootMummifier = new DirectoryMummifier(); //TODO create special SiteMummifier extending DirectoryMummifier
+		final ThrowingSupplier<Artifact, IOException> rootPlanner = () -> rootMummifier.plan(context, context.getSiteSourceDirectory(),
+				context.getSiteTargetDirectory());
+		final Artifact rootArtifact = parallelism > 1 ? executeParallel(parallelism, rootPlanner) : rootPlanner.tryGet();
+		final MummyPlan plan = new DefaultMummyPlan(rootArtifact);
+		context.setPlan(plan);
+
+		printArtifactDescription(context, rootArtifact);
+
+		return plan;
+	}
+
+	/**
+	 * Executes a phase operation such as planning or mummification using a dedicated fork/join pool.
+	 * @apiNote Mummifiers that are able to break up their work, such as {@link DirectoryMummifier}, detect that they are running in a fork/join pool and plan or
+	 *          mummify independent artifact subtrees concurrently.
+	 * @implSpec The operation is fail-fast: if it fails, the pool is shut down, cancelling outstanding work, and the failure is rethrown.
+	 * @param <T> The type of result produced by the operation.
+	 * @param parallelism The number of worker threads to use.
+	 * @param operation The operation to execute.
+	 * @return The result of the operation.
+	 * @throws IllegalArgumentException if the parallelism is not positive.
+	 * @throws IOException if there is an I/O error executing the operation.
+	 * @see #CONFIG_KEY_MUMMY_PARALLELISM
+	 */
+	protected <T> T executeParallel(final int parallelism, @Nonnull final ThrowingSupplier<T, IOException> operation) throws IOException {
+		getLogger().debug("Executing with parallelism {}.", parallelism); //TODO i18n
+		final ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+		try {
+			return forkJoinPool.invoke(ForkJoinTask.adapt(() -> {
+				try {
+					return operation.tryGet();
+				} catch(final IOException ioException) {
+					throw new UncheckedIOException(ioException);
+				}
+			}));
+		} catch(final UncheckedIOException uncheckedIOException) {
+			throw uncheckedIOException.getCause();
+		} finally {
+			forkJoinPool.shutdownNow();
+		}
+	}
+
 	/**
 	 * Initialize phase; loads the site configuration, if any, and sets up the mummy context.
 	 * @param project The project governing site mummification.
@@ -389,6 +583,10 @@ protected Context initialize(@Nonnull final GuiseProject project) throws IOExcep
 		}
 
 		final Context context = new Context(project, mummyConfiguration);
+		if(mummyConfiguration.findBoolean(CONFIG_KEY_MUMMY_BUILD_STATE_STORE).orElse(false)) {
+			context.setBuildStateStore(
+					new BuildStateStore(context.getSiteDescriptionTargetDirectory().resolve(BuildStateStore.FILENAME), context.getSiteTargetDirectory()));
+		}
 		for(final Class<? extends SourcePathMummifier> mummifierClass : fileMummifierTypes) { //register any additional mummifiers
 			SourcePathMummifier fileMummifier;
 			try {
@@ -595,6 +793,11 @@ public static Configuration getDefaultConfiguration(@Nonnull Path projectDirecto
 	 */
 	protected class Context extends BaseMummyContext {
 
+		/** @return The Guise Mummy instance that created this context. */
+		private GuiseMummy getMummy() {
+			return GuiseMummy.this;
+		}
+
 		private final Configuration siteConfiguration;
 
 		@Override
@@ -623,6 +826,63 @@ protected void setPlan(@Nonnull final MummyPlan plan) {
 			this.plan = requireNonNull(plan);
 		}
 
+		private BuildStateStore buildStateStore = null;
+
+		/**
+		 * Sets the store to hold the generated target descriptions of all artifacts.
+		 * @param buildStateStore The build state store.
+		 */
+		protected void setBuildStateStore(@Nonnull final BuildStateStore buildStateStore) {
+			this.buildStateStore = requireNonNull(buildStateStore);
+		}
+
+		@Override
+		public Optional<BuildStateStore> findBuildStateStore() {
+			return Optional.ofNullable(buildStateStore);
+		}
+
+		/** The pending updates of artifact descriptions, or <code>null</code> if description updates are not being deferred. */
+		private volatile Map<Artifact, UrfResourceDescription> deferredResourceDescriptionUpdates = null;
+
+		/**
+		 * Defers updates of artifact descriptions until {@link #applyResourceDescriptionUpdates()} is called, so that artifact descriptions remain unchanged
+		 * while they may be read by artifacts being mummified concurrently.
+		 * @throws IllegalStateException if description updates are already being deferred.
+		 * @see #updateResourceDescription(Artifact, UrfResourceDescription)
+		 */
+		protected void deferResourceDescriptionUpdates() {
+			checkState(deferredResourceDescriptionUpdates == null, "Artifact description updates are already being deferred.");
+			deferredResourceDescriptionUpdates = new ConcurrentHashMap<>();
+		}
+
+		/**
+		 * Applies any deferred updates of artifact descriptions, and discontinues deferring updates.
+		 * @throws IllegalStateException if description updates are not being deferred.
+		 * @see #deferResourceDescriptionUpdates()
+		 */
+		protected void applyResourceDescriptionUpdates() {
+			final Map<Artifact, UrfResourceDescription> resourceDescriptionUpdates = deferredResourceDescriptionUpdates;
+			checkState(resourceDescriptionUpdates != null, "Artifact description updates are not being deferred.");
+			deferredResourceDescriptionUpdates = null;
+			resourceDescriptionUpdates.forEach(super::updateResourceDescription);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * @implSpec If description updates are being deferred, this implementation records the update to be applied by
+		 *           {@link #applyResourceDescriptionUpdates()}, replacing any update previously recorded for the artifact.
+		 * @see #deferResourceDescriptionUpdates()
+		 */
+		@Override
+		public void updateResourceDescription(final Artifact artifact, final UrfResourceDescription description) {
+			final Map<Artifact, UrfResourceDescription> resourceDescriptionUpdates = deferredResourceDescriptionUpdates;
+			if(resourceDescriptionUpdates != null) {
+				resourceDescriptionUpdates.put(artifact, description);
+			} else {
+				super.updateResourceDescription(artifact, description);
+			}
+		}
+
 		//## deploy
 
 		private Dns deployDns = null;
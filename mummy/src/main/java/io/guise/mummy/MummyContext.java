@@ -20,11 +20,14 @@
 import static java.nio.file.Files.*;
 import static java.util.Objects.*;
 import static java.util.function.Predicate.*;
+import static java.util.stream.Collectors.*;
 import static org.zalando.fauxpas.FauxPas.*;
 
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.*;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Stream;
 
@@ -35,6 +38,7 @@
 import io.guise.mummy.deploy.*;
 import io.guise.mummy.mummify.SourcePathMummifier;
 import io.guise.mummy.mummify.page.PageMummifier;
+import io.urf.model.UrfResourceDescription;
 
 /**
  * Provides information about context of static site generation.
@@ -63,6 +67,117 @@ public default boolean isIncremental() {
 		return !isFull();
 	}
 
+	/**
+	 * Determines the instant to record as the time an artifact was generated, such as in page metadata or image EXIF data.
+	 * @apiNote Recording the actual time of generation makes the output differ each time an artifact is regenerated, changing its fingerprint even if nothing
+	 *          else changed. Using a fixed instant or the source modification time instead allows byte-identical source content to produce byte-identical output.
+	 * @apiNote The source modification time only produces reproducible output for the same working copy of the source. Version control systems such as Git do
+	 *          not preserve modification times, so a fresh clone or checkout will result in different generation times. For output that is reproducible across
+	 *          clones, such as on a build server, {@value GuiseMummy#CONFIG_KEY_MUMMY_GENERATED_AT} must be configured with an instant derived from the source
+	 *          itself, such as the time of the commit being built (e.g. <code>git log -1 --format=%cI</code>).
+	 * @implSpec The default implementation returns the instant configured using {@value GuiseMummy#CONFIG_KEY_MUMMY_GENERATED_AT}, if any. Otherwise if
+	 *           {@value GuiseMummy#CONFIG_KEY_MUMMY_REPRODUCIBLE} is enabled, the last modified time of the artifact source path is returned. Otherwise the current
+	 *           instant is returned.
+	 * @param artifact The artifact being generated.
+	 * @return The instant to record as the generation time of the artifact.
+	 * @throws IOException if there is an error determining the modification time of the artifact source.
+	 * @throws ConfigurationException if the configured generation instant is not valid.
+	 */
+	public default Instant getGeneratedAt(@Nonnull final Artifact artifact) throws IOException {
+		final Configuration configuration = getConfiguration();
+		final Optional<String> foundGeneratedAt = configuration.findString(GuiseMummy.CONFIG_KEY_MUMMY_GENERATED_AT);
+		if(foundGeneratedAt.isPresent()) {
+			try {
+				return Instant.parse(foundGeneratedAt.get());
+			} catch(final DateTimeParseException dateTimeParseException) {
+				throw new ConfigurationException(String.format("Invalid generation instant `%s` configured for `%s`.", foundGeneratedAt.get(),
+						GuiseMummy.CONFIG_KEY_MUMMY_GENERATED_AT), dateTimeParseException); //TODO i18n
+			}
+		}
+		if(configuration.findBoolean(GuiseMummy.CONFIG_KEY_MUMMY_REPRODUCIBLE).orElse(false)) {
+			return getLastModifiedTime(artifact.getSourcePath()).toInstant();
+		}
+		return Instant.now();
+	}
+
+	/**
+	 * Returns the store holding the generated target descriptions of all artifacts, if descriptions are being kept in a single build state file rather than
+	 * individual description sidecar files.
+	 * @implSpec The default implementation returns no build state store.
+	 * @return The build state store, if one is being used.
+	 * @see GuiseMummy#CONFIG_KEY_MUMMY_BUILD_STATE_STORE
+	 */
+	public default Optional<BuildStateStore> findBuildStateStore() {
+		return Optional.empty();
+	}
+
+	/**
+	 * Returns the graph for recording the dependencies of generated targets, used during incremental mummification to determine which targets need to be
+	 * regenerated because something they depend on has changed.
+	 * @implSpec The default implementation returns no dependency graph, meaning that dependencies are not tracked.
+	 * @return The dependency graph, if dependencies are being tracked.
+	 */
+	public default Optional<DependencyGraph> findDependencyGraph() {
+		return Optional.empty();
+	}
+
+	/**
+	 * Records that the generated target of an artifact depends on some path, if dependencies are being tracked.
+	 * @implSpec The default implementation delegates to {@link DependencyGraph#record(Path, Path)} of any graph returned by {@link #findDependencyGraph()}.
+	 * @param artifact The artifact being generated.
+	 * @param dependency The path of the file or directory on which the artifact target depends; it need not exist.
+	 */
+	public default void recordDependency(@Nonnull final Artifact artifact, @Nonnull final Path dependency) {
+		findDependencyGraph().ifPresent(dependencyGraph -> dependencyGraph.record(artifact.getTargetPath(), dependency));
+	}
+
+	/**
+	 * Records that the generated target of an artifact depends on the source of another artifact, such as one whose description appears in navigation, if
+	 * dependencies are being tracked.
+	 * @implSpec The default implementation delegates to {@link #recordDependency(Artifact, Path)} for each of the referent source paths of the dependency.
+	 * @param artifact The artifact being generated.
+	 * @param dependency The artifact on which the artifact target depends.
+	 * @see Artifact#getReferentSourcePaths()
+	 */
+	public default void recordDependency(@Nonnull final Artifact artifact, @Nonnull final Artifact dependency) {
+		dependency.getReferentSourcePaths().forEach(referentSourcePath -> recordDependency(artifact, referentSourcePath));
+	}
+
+	/**
+	 * Records that the generated target of an artifact depends on which child artifacts some collection artifact has in the plan, such as the siblings appearing
+	 * in navigation, if dependencies are being tracked.
+	 * @implSpec The default implementation delegates to {@link DependencyGraph#recordChildArtifacts(Path, MummyPlan, Artifact)} of any graph returned by
+	 *           {@link #findDependencyGraph()}.
+	 * @param artifact The artifact being generated.
+	 * @param collectionArtifact The artifact the children of which the artifact target depends on.
+	 * @see MummyPlan#childArtifacts(Artifact)
+	 */
+	public default void recordChildArtifactsDependency(@Nonnull final Artifact artifact, @Nonnull final Artifact collectionArtifact) {
+		findDependencyGraph().ifPresent(dependencyGraph -> dependencyGraph.recordChildArtifacts(artifact.getTargetPath(), getPlan(), collectionArtifact));
+	}
+
+	/**
+	 * Updates the description of an artifact to match the given description, such as to record the timestamp and fingerprint of the target after the artifact
+	 * has been mummified.
+	 * @apiNote Artifact descriptions may be read while other artifacts are being mummified, possibly concurrently, such as when generating navigation. A
+	 *          mummifier therefore should not modify the description of an artifact directly during mummification, but instead make the changes to a copy
+	 *          and provide it to this method.
+	 * @implSpec The default implementation updates the artifact description immediately, removing any properties not present in the given description and
+	 *           then setting all the properties of the given description.
+	 * @param artifact The artifact the description of which to update.
+	 * @param description The description containing the updated properties of the artifact.
+	 * @see Artifact#getResourceDescription()
+	 */
+	public default void updateResourceDescription(@Nonnull final Artifact artifact, @Nonnull final UrfResourceDescription description) {
+		final UrfResourceDescription resourceDescription = artifact.getResourceDescription();
+		if(resourceDescription == description) {
+			return;
+		}
+		resourceDescription.getProperties().stream().map(Map.Entry::getKey).filter(not(description::hasPropertyValue)).collect(toList())
+				.forEach(resourceDescription::removeProperty);
+		description.getProperties().forEach(property -> resourceDescription.setPropertyValue(property.getKey(), property.getValue()));
+	}
+
 	/**
 	 * Returns some URI indicating the root of the current context, that is, the site source directory. All resource context paths are interpreted relative to
 	 * this root.
@@ -151,6 +266,16 @@ public default SourcePathMummifier getDefaultSourcePathMummifier(@Nonnull final
 	 */
 	public Optional<SourcePathMummifier> findRegisteredMummifierForSourceFile(@Nonnull final Path sourceFile);
 
+	/**
+	 * Returns the filename extensions for which page mummifiers are registered, identifying the files that may be found by
+	 * {@link #findPageSourceFile(Path, String, boolean)}.
+	 * @implSpec The default implementation returns no extensions.
+	 * @return The normalized filename extensions of page source files.
+	 */
+	public default Set<String> getPageSourceFilenameExtensions() {
+		return Set.of();
+	}
+
 	/**
 	 * Retrieves a registered mummifier for a particular source directory.
 	 * @param sourceDirectory The path of the source directory to be mummified.
@@ -268,6 +393,19 @@ public default Optional<Map.Entry<Path, PageMummifier>> findPageSourceFile(@Nonn
 	 */
 	public DocumentBuilder newPageDocumentBuilder();
 
+	/**
+	 * Returns a {@link DocumentBuilder} appropriate for working with Guise Mummy pages, reset and ready for use by the current thread. The same instance may be
+	 * returned again later to the same thread, so the caller must not retain the document builder or share it with other threads, and must finish using it
+	 * before requesting a page document builder again.
+	 * @implSpec The default implementation delegates to {@link #newPageDocumentBuilder()}.
+	 * @implNote This method allows implementations to avoid the cost of creating a document builder and its underlying parser for each page parsed.
+	 * @return A page document builder for use by the current thread.
+	 * @throws ConfigurationException if there is a problem creating a document builder.
+	 */
+	public default DocumentBuilder getPageDocumentBuilder() {
+		return newPageDocumentBuilder();
+	}
+
 	//## deploy
 
 	/**
@@ -93,7 +93,22 @@ public default Stream<Artifact> siblingArtifacts(@Nonnull final Artifact artifac
 		return findParentArtifact(artifact).map(this::childArtifacts).orElse(Stream.empty());
 	}
 
-	//## artifact lookup by source reference 
+	//## artifact lookup by target path
+
+	/**
+	 * Retrieves the artifact that will be generated at the given target path.
+	 * <p>
+	 * Unlike lookup by source reference, no substitution of principal artifacts is made. For example the target path of a directory will return the directory
+	 * artifact, while the target path of its <code>index.html</code> file will return the directory's content artifact.
+	 * </p>
+	 * @param targetPath The absolute path in the site target directory.
+	 * @return The artifact with the given target path, if any.
+	 * @throws IllegalArgumentException if the given target path is not absolute.
+	 * @see Artifact#getTargetPath()
+	 */
+	public Optional<Artifact> findArtifactByTargetPath(@Nonnull final Path targetPath);
+
+	//## artifact lookup by source reference
 
 	/**
 	 * Retrieves an artifact referred to by a reference source path in the file system.
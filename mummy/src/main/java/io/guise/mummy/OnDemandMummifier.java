@@ -0,0 +1,230 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy;
+
+import static com.globalmentor.java.Conditions.*;
+import static java.util.Collections.*;
+import static java.util.Objects.*;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.*;
+
+import io.clogr.Clogged;
+import io.guise.mummy.mummify.page.AbstractPageMummifier;
+
+/**
+ * Generates the artifacts of a planned site individually as they are requested, rather than mummifying the entire site up front.
+ * <p>
+ * The site is planned once using {@link #plan()}. Pages are then rendered from source on first request and kept in memory in a least-recently-used cache;
+ * other artifacts, such as images, are mummified into the site target directory the first time they are requested. Planning the site again discards all
+ * rendered pages, so {@link #plan()} should be called whenever the site source changes.
+ * </p>
+ * @implNote This class is thread-safe.
+ * @author Garret Wilson
+ * @see GuiseMummy#plan(GuiseProject)
+ */
+public class OnDemandMummifier implements Clogged {
+
+	/** The default maximum number of rendered pages to keep in memory. */
+	public static final int DEFAULT_PAGE_CACHE_SIZE = 1000;
+
+	private final GuiseMummy mummifier;
+
+	private final GuiseProject project;
+
+	/** @return The project being mummified. */
+	public GuiseProject getProject() {
+		return project;
+	}
+
+	private final int pageCacheSize;
+
+	/** The site as currently planned, or <code>null</code> if the site has not yet been planned. */
+	private volatile PlannedSite plannedSite = null;
+
+	/**
+	 * Constructor using the default page cache size.
+	 * @param mummifier The mummifier to use for planning the site.
+	 * @param project The project being mummified.
+	 */
+	public OnDemandMummifier(@Nonnull final GuiseMummy mummifier, @Nonnull final GuiseProject project) {
+		this(mummifier, project, DEFAULT_PAGE_CACHE_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 * @param mummifier The mummifier to use for planning the site.
+	 * @param project The project being mummified.
+	 * @param pageCacheSize The maximum number of rendered pages to keep in memory.
+	 * @throws IllegalArgumentException if the given page cache size is negative.
+	 */
+	public OnDemandMummifier(@Nonnull final GuiseMummy mummifier, @Nonnull final GuiseProject project, final int pageCacheSize) {
+		this.mummifier = requireNonNull(mummifier);
+		this.project = requireNonNull(project);
+		this.pageCacheSize = checkArgumentNotNegative(pageCacheSize);
+	}
+
+	/**
+	 * Plans the site, replacing any previous plan and discarding all pages rendered using it.
+	 * @throws IOException if there is an I/O error planning the site.
+	 * @see GuiseMummy#plan(GuiseProject)
+	 */
+	public void plan() throws IOException {
+		plannedSite = new PlannedSite(mummifier.plan(project));
+	}
+
+	/**
+	 * Returns the site as currently planned.
+	 * @return The current planned site.
+	 * @throws IllegalStateException if the site has not yet been planned.
+	 */
+	private PlannedSite getPlannedSite() {
+		final PlannedSite plannedSite = this.plannedSite;
+		checkState(plannedSite != null, "Site has not yet been planned.");
+		return plannedSite;
+	}
+
+	/**
+	 * Returns the context of the current plan.
+	 * @return The context of static site generation containing the current plan.
+	 * @throws IllegalStateException if the site has not yet been planned.
+	 */
+	public MummyContext getContext() {
+		return getPlannedSite().getContext();
+	}
+
+	/**
+	 * Retrieves the artifact in the current plan that will be generated at the given target path.
+	 * @param targetPath The absolute path in the site target directory.
+	 * @return The artifact with the given target path, if any.
+	 * @throws IllegalArgumentException if the given target path is not absolute.
+	 * @throws IllegalStateException if the site has not yet been planned.
+	 * @see MummyPlan#findArtifactByTargetPath(Path)
+	 */
+	public Optional<Artifact> findArtifact(@Nonnull final Path targetPath) {
+		return getContext().getPlan().findArtifactByTargetPath(targetPath);
+	}
+
+	/**
+	 * Determines whether the given artifact is a page that can be rendered in memory.
+	 * @param artifact The artifact to check.
+	 * @return <code>true</code> if the artifact can be rendered using {@link #findRenderedPage(Path)}.
+	 */
+	protected static boolean isRenderable(@Nonnull final Artifact artifact) {
+		return artifact instanceof CorporealSourceArtifact && artifact.getMummifier() instanceof AbstractPageMummifier;
+	}
+
+	/**
+	 * Retrieves the rendered content of the page to be generated at the given target path, rendering it from source if it is not already cached.
+	 * @param targetPath The absolute path in the site target directory.
+	 * @return The rendered page, or empty if there is no artifact at the given target path or the artifact is not a page.
+	 * @throws IllegalArgumentException if the given target path is not absolute.
+	 * @throws IllegalStateException if the site has not yet been planned.
+	 * @throws IOException if there is an error rendering the page.
+	 */
+	public Optional<byte[]> findRenderedPage(@Nonnull final Path targetPath) throws IOException {
+		final PlannedSite plannedSite = getPlannedSite(); //use the same plan throughout, even if the site is planned again in the meantime
+		final MummyContext context = plannedSite.getContext();
+		final Optional<Artifact> foundArtifact = context.getPlan().findArtifactByTargetPath(targetPath).filter(OnDemandMummifier::isRenderable);
+		if(foundArtifact.isEmpty()) {
+			return Optional.empty();
+		}
+		final Artifact artifact = foundArtifact.get();
+		final byte[] cachedPage = plannedSite.renderedPagesByTargetPath.get(artifact.getTargetPath());
+		if(cachedPage != null) {
+			return Optional.of(cachedPage);
+		}
+		getLogger().debug("Rendering page {} on demand.", artifact); //TODO i18n
+		//rendering is not synchronized; concurrent requests for the same page may both render it, with the same result
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		((AbstractPageMummifier)artifact.getMummifier()).mummifyFile(context, (CorporealSourceArtifact)artifact, outputStream);
+		final byte[] renderedPage = outputStream.toByteArray();
+		plannedSite.renderedPagesByTargetPath.put(artifact.getTargetPath(), renderedPage);
+		return Optional.of(renderedPage);
+	}
+
+	/**
+	 * Mummifies the artifact to be generated at the given target path into the site target directory, if it has not already been mummified using the current
+	 * plan. This is appropriate for artifacts that are not rendered as pages, such as images.
+	 * @apiNote Collection artifacts are not mummified, as that would mummify their entire subtree.
+	 * @param targetPath The absolute path in the site target directory.
+	 * @return <code>true</code> if there is an artifact at the given target path that has been mummified.
+	 * @throws IllegalArgumentException if the given target path is not absolute.
+	 * @throws IllegalStateException if the site has not yet been planned.
+	 * @throws IOException if there is an error mummifying the artifact.
+	 */
+	public synchronized boolean mummify(@Nonnull final Path targetPath) throws IOException {
+		final PlannedSite plannedSite = getPlannedSite();
+		final MummyContext context = plannedSite.getContext();
+		final Optional<Artifact> foundArtifact = context.getPlan().findArtifactByTargetPath(targetPath)
+				.filter(artifact -> !(artifact instanceof CollectionArtifact));
+		if(foundArtifact.isEmpty()) {
+			return false;
+		}
+		final Artifact artifact = foundArtifact.get();
+		if(!plannedSite.mummifiedTargetPaths.contains(artifact.getTargetPath())) {
+			getLogger().debug("Mummifying {} on demand.", artifact); //TODO i18n
+			artifact.getMummifier().mummify(context, artifact); //incremental mummification will skip artifacts already up to date in the target directory
+			plannedSite.mummifiedTargetPaths.add(artifact.getTargetPath());
+		}
+		return true;
+	}
+
+	/**
+	 * A site plan along with the artifacts generated using it.
+	 * @author Garret Wilson
+	 */
+	private class PlannedSite {
+
+		private final MummyContext context;
+
+		/** @return The context of static site generation containing the plan. */
+		public MummyContext getContext() {
+			return context;
+		}
+
+		/** The rendered pages, mapped to their target paths, evicting the least recently used pages. */
+		private final Map<Path, byte[]> renderedPagesByTargetPath;
+
+		/** The target paths of the artifacts that have been mummified into the site target directory. */
+		private final Set<Path> mummifiedTargetPaths = ConcurrentHashMap.newKeySet();
+
+		/**
+		 * Constructor.
+		 * @param context The context of static site generation containing the plan.
+		 */
+		public PlannedSite(@Nonnull final MummyContext context) {
+			this.context = requireNonNull(context);
+			renderedPagesByTargetPath = synchronizedMap(new LinkedHashMap<Path, byte[]>(16, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(final Map.Entry<Path, byte[]> eldest) {
+					return size() > pageCacheSize;
+				}
+
+			});
+		}
+
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy;
+
+import static com.globalmentor.io.Paths.*;
+import static java.nio.file.Files.*;
+import static java.nio.file.StandardWatchEventKinds.*;
+import static java.util.concurrent.TimeUnit.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+
+import javax.annotation.*;
+
+import io.clogr.Clogged;
+
+/**
+ * Watches a site source directory tree for changes, so that the site can be mummified again as soon as its source changes.
+ * <p>
+ * Changes are batched: once a change is detected, further changes are collected until no more changes occur within a debounce period. This prevents an editor
+ * save or a checkout, which may produce many events in quick succession, from triggering multiple mummifications.
+ * </p>
+ * @apiNote Dotfiles are not excluded, because files such as templates and navigation files, while not themselves artifacts, affect mummification.
+ * @implNote This class is not thread-safe.
+ * @author Garret Wilson
+ */
+public class SourceWatcher implements Closeable, Clogged {
+
+	/** The default period with no further changes to wait before considering a batch of changes complete. */
+	public static final Duration DEFAULT_DEBOUNCE_DURATION = Duration.ofMillis(200);
+
+	private final Path sourceDirectory;
+
+	/** @return The root of the directory tree being watched. */
+	public Path getSourceDirectory() {
+		return sourceDirectory;
+	}
+
+	private final WatchService watchService;
+
+	/** The watched directories, mapped to their watch keys. */
+	private final Map<WatchKey, Path> directoriesByWatchKey = new HashMap<>();
+
+	/**
+	 * Source directory constructor. The entire directory tree is registered for watching.
+	 * @param sourceDirectory The root of the directory tree to watch.
+	 * @throws IllegalArgumentException if the given source directory is not absolute.
+	 * @throws IOException if there is an error registering the directories to be watched.
+	 */
+	public SourceWatcher(@Nonnull final Path sourceDirectory) throws IOException {
+		this.sourceDirectory = checkArgumentAbsolute(sourceDirectory).normalize();
+		watchService = sourceDirectory.getFileSystem().newWatchService();
+		try {
+			registerDirectoryTree(this.sourceDirectory);
+		} catch(final IOException ioException) {
+			watchService.close();
+			throw ioException;
+		}
+	}
+
+	/**
+	 * Registers a directory and all its subdirectories for watching.
+	 * @param directory The root of the directory tree to register.
+	 * @throws IOException if there is an error registering the directories.
+	 */
+	protected void registerDirectoryTree(@Nonnull final Path directory) throws IOException {
+		try (final Stream<Path> paths = walk(directory)) {
+			final Iterator<Path> pathIterator = paths.filter(Files::isDirectory).iterator();
+			while(pathIterator.hasNext()) {
+				final Path subdirectory = pathIterator.next();
+				directoriesByWatchKey.put(subdirectory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), subdirectory);
+			}
+		}
+	}
+
+	/**
+	 * Waits for changes in the watched directory tree, returning a batch of changes once no further changes have occurred within the given debounce period. Any
+	 * created directory will be watched as well.
+	 * @param debounceDuration The period with no further changes to wait before returning the changes.
+	 * @return The paths that were created, deleted, or modified. If some changes may have been lost, the source directory itself will be included.
+	 * @throws IOException if there is an error watching a created directory.
+	 * @throws InterruptedException if interrupted while waiting.
+	 * @throws ClosedWatchServiceException if this watcher has been closed.
+	 */
+	public Set<Path> awaitChanges(@Nonnull final Duration debounceDuration) throws IOException, InterruptedException {
+		final Set<Path> changedPaths = new LinkedHashSet<>();
+		WatchKey watchKey = watchService.take();
+		do {
+			collectChanges(watchKey, changedPaths);
+			watchKey = watchService.poll(debounceDuration.toMillis(), MILLISECONDS);
+		} while(watchKey != null);
+		return changedPaths;
+	}
+
+	/**
+	 * Collects the changes signaled by a watch key and resets the key.
+	 * @param watchKey The signaled watch key.
+	 * @param changedPaths The set to which changed paths will be added.
+	 * @throws IOException if there is an error watching a created directory.
+	 */
+	protected void collectChanges(@Nonnull final WatchKey watchKey, @Nonnull final Set<Path> changedPaths) throws IOException {
+		final Path directory = directoriesByWatchKey.get(watchKey);
+		for(final WatchEvent<?> event : watchKey.pollEvents()) {
+			if(directory == null || event.kind() == OVERFLOW) { //we don't know what changed
+				getLogger().debug("Unable to determine all changes in `{}`.", sourceDirectory); //TODO i18n
+				changedPaths.add(sourceDirectory);
+				continue;
+			}
+			final Path changedPath = directory.resolve((Path)event.context());
+			changedPaths.add(changedPath);
+			if(event.kind() == ENTRY_CREATE && isDirectory(changedPath, LinkOption.NOFOLLOW_LINKS)) {
+				registerDirectoryTree(changedPath);
+			}
+		}
+		if(!watchKey.reset()) { //if the directory is no longer accessible (e.g. it was deleted), stop keeping track of it
+			directoriesByWatchKey.remove(watchKey);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+	}
+
+}
@@ -161,6 +161,23 @@ public CloudFront(@Nullable String profile) {
 		cloudFrontClient = cloudFrontClientBuilder.build();
 	}
 
+	/**
+	 * The maximum number of paths to include in a single invalidation batch.
+	 * @see <a href="https://docs.aws.amazon.com/AmazonCloudFront/latest/DeveloperGuide/cloudfront-limits.html#limits-invalidations">CloudFront Quotas:
+	 *      Invalidations</a>
+	 */
+	public static final int MAX_INVALIDATION_PATH_COUNT = 3000;
+
+	/**
+	 * The maximum number of wildcard paths to include in a single invalidation batch.
+	 * @see <a href="https://docs.aws.amazon.com/AmazonCloudFront/latest/DeveloperGuide/cloudfront-limits.html#limits-invalidations">CloudFront Quotas:
+	 *      Invalidations</a>
+	 */
+	public static final int MAX_INVALIDATION_WILDCARD_PATH_COUNT = 15;
+
+	/** The wildcard character for matching any path suffix in an invalidation path. */
+	public static final char INVALIDATION_PATH_WILDCARD = '*';
+
 	/** The cache time for the DNS record validating a certificate. */
 	public static final long CERTIFICATE_VALIDATION_DNS_TTL = 300L;
 
@@ -296,6 +313,9 @@ public void prepare(final MummyContext context) throws IOException {
 	 * {@inheritDoc}
 	 * @implSpec This implementation creates a CloudFront distribution if one does not exist, and adds appropriate records to the DNS if a DNS is available. Each
 	 *           S3 bucket name is used as the name of a CloudFront distribution.
+	 * @implSpec For an existing distribution of the primary S3 bucket, this implementation creates a single invalidation batch for the resources of the objects
+	 *           put or pruned during S3 deployment, as reported by {@link S3#getChangedKeys()}. If there are too many paths, they are collapsed into wildcard
+	 *           paths using {@link #collapseInvalidationPaths(Set, int, int)}.
 	 */
 	@Override
 	public Optional<URI> deploy(final MummyContext context, final Artifact rootArtifact) throws IOException {
@@ -317,7 +337,8 @@ public Optional<URI> deploy(final MummyContext context, final Artifact rootArtif
 				}
 				final String distributionId;
 				final DomainName distributionDomainName;
-				if(existingDistributionSummaries.isEmpty()) {
+				final boolean isNewDistribution = existingDistributionSummaries.isEmpty();
+				if(isNewDistribution) {
 					logger.info("Creating distribution for S3 bucket `{}`.", s3Bucket);
 					final StringBuilder commentBuilder = new StringBuilder(); //CloudFront comments are limited to a little over 120 characters in length
 					commentBuilder.append("Created by ").append(context.getMummifierIdentification()); //i18n
@@ -354,6 +375,18 @@ public Optional<URI> deploy(final MummyContext context, final Artifact rootArtif
 					//TODO ensure that the existing distribution truly has the correct origin, i.e. to the S3 bucket
 				}
 
+				//invalidate only the cached resources that actually changed; alternative buckets only redirect, and a new distribution has nothing cached
+				if(!isNewDistribution && s3Bucket.equals(s3.getBucket())) {
+					final Set<String> invalidationPaths = collapseInvalidationPaths(
+							getInvalidationPaths(s3.getChangedKeys(), S3Website.findIndexDocumentSuffix(context.getConfiguration()).orElse(null)),
+							MAX_INVALIDATION_PATH_COUNT, MAX_INVALIDATION_WILDCARD_PATH_COUNT);
+					if(!invalidationPaths.isEmpty()) {
+						logger.info("Invalidating {} path(s) in CloudFront distribution `{}`.", invalidationPaths.size(), distributionId);
+						invalidationPaths.forEach(invalidationPath -> logger.debug("Invalidating path `{}`.", invalidationPath));
+						createInvalidation(cloudFrontClient, distributionId, invalidationPaths);
+					}
+				}
+
 				//add an alias record to the new distribution if we have a Route 53 DNS
 				final DomainName domainName = DomainName.ROOT.resolve(DomainName.of(s3Bucket)); //the domain name is the S3 bucket (as a relative domain) resolved to `.`
 				context.getDeployDns().filter(Route53.class::isInstance).map(Route53.class::cast).ifPresentOrElse(throwingConsumer(route53 -> {
@@ -371,6 +404,107 @@ public Optional<URI> deploy(final MummyContext context, final Artifact rootArtif
 		}
 	}
 
+	/**
+	 * Determines the paths to invalidate in a distribution for the given changed S3 object keys.
+	 * @implSpec Each key is converted to an absolute path. If an index document suffix is given, a key referring to an index document also results in the path
+	 *           of its collection, as the collection path is cached separately by CloudFront even though it is served from the index document.
+	 * @param keys The keys of the changed S3 objects.
+	 * @param indexDocumentSuffix The name of the object serving as the content of a collection, such as <code>index.html</code>, or <code>null</code> if there
+	 *          is no index document.
+	 * @return The invalidation paths, sorted.
+	 * @see S3Website#findIndexDocumentSuffix(Configuration)
+	 */
+	protected static Set<String> getInvalidationPaths(@Nonnull final Collection<String> keys, @Nullable final String indexDocumentSuffix) {
+		final Set<String> invalidationPaths = new TreeSet<>();
+		for(final String key : keys) {
+			final String path = ROOT_PATH + key;
+			invalidationPaths.add(path);
+			if(indexDocumentSuffix != null && (key.equals(indexDocumentSuffix) || key.endsWith(PATH_SEPARATOR + indexDocumentSuffix))) {
+				invalidationPaths.add(path.substring(0, path.length() - indexDocumentSuffix.length())); //e.g. `/foo/index.html` also invalidates `/foo/`
+			}
+		}
+		return invalidationPaths;
+	}
+
+	/**
+	 * Collapses invalidation paths into wildcard paths as needed so that they fall within the invalidation limits.
+	 * @implSpec If there are no more paths than allowed, the paths are returned unchanged. Otherwise this implementation repeatedly replaces the paths within
+	 *           some collection with a single wildcard path such as <code>/foo/*</code>, choosing the most specific collection that brings the paths within the
+	 *           limit, or the collection containing the most paths if no single collection suffices. If the paths still exceed the limit when no more wildcard
+	 *           paths are allowed, a single wildcard path invalidating everything is returned.
+	 * @param paths The absolute paths to invalidate.
+	 * @param maxPathCount The maximum number of paths allowed.
+	 * @param maxWildcardPathCount The maximum number of wildcard paths allowed.
+	 * @return The paths to invalidate, which may include wildcard paths.
+	 * @see #MAX_INVALIDATION_PATH_COUNT
+	 * @see #MAX_INVALIDATION_WILDCARD_PATH_COUNT
+	 */
+	protected static Set<String> collapseInvalidationPaths(@Nonnull final Set<String> paths, final int maxPathCount, final int maxWildcardPathCount) {
+		if(paths.size() <= maxPathCount) {
+			return paths;
+		}
+		final Set<String> invalidateAllPaths = Set.of(ROOT_PATH + INVALIDATION_PATH_WILDCARD);
+		final Set<String> explicitPaths = new TreeSet<>(paths);
+		final Set<String> wildcardCollectionPaths = new TreeSet<>(); //e.g. `/foo/` for `/foo/*`
+		while(explicitPaths.size() + wildcardCollectionPaths.size() > maxPathCount) {
+			if(wildcardCollectionPaths.size() >= maxWildcardPathCount) {
+				return invalidateAllPaths;
+			}
+			//count the paths that would be replaced by a wildcard for each collection
+			final Map<String, Integer> pathCountsByCollectionPath = new HashMap<>();
+			explicitPaths.forEach(path -> countCollectionPaths(pathCountsByCollectionPath, path, path.length()));
+			wildcardCollectionPaths.forEach(collectionPath -> countCollectionPaths(pathCountsByCollectionPath, collectionPath, collectionPath.length() - 1));
+			if(pathCountsByCollectionPath.isEmpty()) { //the remaining paths are all in the root collection
+				return invalidateAllPaths;
+			}
+			final int excessPathCount = explicitPaths.size() + wildcardCollectionPaths.size() - maxPathCount;
+			final Comparator<Map.Entry<String, Integer>> byPathCount = Map.Entry.comparingByValue();
+			final Comparator<Map.Entry<String, Integer>> byDepth = Comparator.comparingInt(entry -> entry.getKey().length());
+			final String wildcardCollectionPath = pathCountsByCollectionPath.entrySet().stream()
+					//prefer the most specific collection that is sufficient on its own, because each wildcard replaces a path
+					.filter(entry -> entry.getValue() - 1 >= excessPathCount).min(byPathCount.thenComparing(byDepth.reversed()))
+					//otherwise use the collection that helps the most
+					.or(() -> pathCountsByCollectionPath.entrySet().stream().max(byPathCount.thenComparing(byDepth))).map(Map.Entry::getKey)
+					.orElseThrow(IllegalStateException::new);
+			explicitPaths.removeIf(path -> path.startsWith(wildcardCollectionPath));
+			wildcardCollectionPaths.removeIf(collectionPath -> collectionPath.startsWith(wildcardCollectionPath));
+			wildcardCollectionPaths.add(wildcardCollectionPath);
+		}
+		final Set<String> collapsedPaths = new TreeSet<>(explicitPaths);
+		wildcardCollectionPaths.forEach(collectionPath -> collapsedPaths.add(collectionPath + INVALIDATION_PATH_WILDCARD));
+		return collapsedPaths;
+	}
+
+	/**
+	 * Increments the count of each non-root collection path that is a prefix of the given path, such as <code>/foo/</code> and <code>/foo/bar/</code> for
+	 * <code>/foo/bar/example.html</code>.
+	 * @param pathCountsByCollectionPath The map of path counts to update.
+	 * @param path The absolute path for which to count collection paths.
+	 * @param endIndex The index past which collection paths are no longer counted, allowing a collection path to be excluded from being counted in itself.
+	 */
+	private static void countCollectionPaths(@Nonnull final Map<String, Integer> pathCountsByCollectionPath, @Nonnull final String path, final int endIndex) {
+		for(int separatorIndex = path.indexOf(PATH_SEPARATOR, 1); separatorIndex >= 0 && separatorIndex < endIndex; separatorIndex = path.indexOf(PATH_SEPARATOR,
+				separatorIndex + 1)) {
+			pathCountsByCollectionPath.merge(path.substring(0, separatorIndex + 1), 1, Integer::sum);
+		}
+	}
+
+	/**
+	 * Creates a single invalidation batch in a distribution.
+	 * @param client The client to use for creating the invalidation.
+	 * @param distributionId The ID of the distribution in which to invalidate the paths.
+	 * @param paths The paths to invalidate, which may include wildcard paths.
+	 * @return The ID of the invalidation created.
+	 * @throws SdkException if an error occurs related to AWS.
+	 */
+	protected static String createInvalidation(@Nonnull final CloudFrontClient client, @Nonnull final String distributionId,
+			@Nonnull final Collection<String> paths) throws SdkException {
+		final String callerReference = UUID.randomUUID().toString(); //the caller reference only prevents duplicate requests
+		return client.createInvalidation(request -> request.distributionId(distributionId)
+				.invalidationBatch(batch -> batch.callerReference(callerReference).paths(batchPaths -> batchPaths.items(paths).quantity(paths.size()))))
+				.invalidation().id();
+	}
+
 	//# ACM utility methods; could be removed to separate library
 
 	//## certificates
@@ -20,19 +20,25 @@
 import static com.globalmentor.java.Conditions.*;
 import static com.globalmentor.net.URIs.toCollectionURI;
 import static io.guise.mummy.GuiseMummy.*;
+import static java.lang.String.format;
+import static java.nio.file.Files.*;
 import static java.util.Collections.*;
 import static java.util.Objects.*;
 import static java.util.stream.Collectors.*;
 import static java.util.stream.StreamSupport.*;
 
-import java.io.IOException;
+import java.io.*;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import javax.annotation.*;
 
+import org.zalando.fauxpas.ThrowingConsumer;
+
 import com.globalmentor.net.*;
 import com.globalmentor.text.StringTemplate;
 
@@ -45,7 +51,9 @@
 import io.urf.vocab.content.Content;
 import software.amazon.awssdk.auth.credentials.ProfileCredentialsProvider;
 import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.retry.*;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.*;
 import software.amazon.awssdk.services.s3.*;
 import software.amazon.awssdk.services.s3.model.*;
@@ -65,6 +73,21 @@ public class S3 implements DeployTarget, Clogged {
 	 */
 	public static final String CONFIG_KEY_BUCKET = "bucket";
 
+	/**
+	 * The section relative key for the URI of an S3-compatible endpoint to use instead of AWS, such as a local stand-in for testing. If present, path-style
+	 * access is used for the bucket.
+	 */
+	public static final String CONFIG_KEY_ENDPOINT = "endpoint";
+
+	/** The section relative key for the maximum number of object requests to have in flight at the same time during deployment. */
+	public static final String CONFIG_KEY_MAX_CONCURRENCY = "maxConcurrency";
+
+	/** @see #CONFIG_KEY_MAX_CONCURRENCY */
+	public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+	/** The number of times a failed request will be retried, with backoff, before giving up; throttled requests are also rate limited on the client. */
+	public static final int DEFAULT_MAX_RETRIES = 8;
+
 	//# policies
 	//TODO rewrite policy code using real JSON serialization
 
@@ -205,6 +228,20 @@ public Stream<String> buckets() {
 		return Stream.of(getBucket());
 	}
 
+	private final URI endpoint;
+
+	/** @return The S3-compatible endpoint being used instead of AWS, if one was set explicitly. */
+	public final Optional<URI> findEndpoint() {
+		return Optional.ofNullable(endpoint);
+	}
+
+	private final int maxConcurrency;
+
+	/** @return The maximum number of object requests to have in flight at the same time during deployment. */
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
 	private final S3Client s3Client;
 
 	/** @return The client for connecting to S3. */
@@ -219,12 +256,25 @@ protected Map<String, S3DeployObject> getDeployObjectsByKey() {
 		return deployObjectsByKey;
 	}
 
+	private final Set<String> changedKeys = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Returns the keys of the objects actually put into or deleted from the bucket during deployment. Objects that were left in place because they were already
+	 * up to date are not included.
+	 * @apiNote This is useful for content delivery targets such as CloudFront to determine which cached resources need to be invalidated.
+	 * @return The keys of the objects changed in the bucket by deployment, in no particular order.
+	 */
+	public Set<String> getChangedKeys() {
+		return unmodifiableSet(changedKeys);
+	}
+
 	/**
 	 * Configuration constructor.
 	 * <p>
 	 * The region is retrieved from {@value #CONFIG_KEY_REGION} in the local configuration. The bucket name is retrieved from {@value #CONFIG_KEY_BUCKET} in the
 	 * local configuration, falling back to {@value GuiseMummy#CONFIG_KEY_SITE_DOMAIN} and finally {@value GuiseMummy#CONFIG_KEY_DOMAIN} in the context
-	 * configuration if not specified.
+	 * configuration if not specified. Any endpoint and maximum concurrency are retrieved from {@value #CONFIG_KEY_ENDPOINT} and
+	 * {@value #CONFIG_KEY_MAX_CONCURRENCY}, respectively, in the local configuration.
 	 * </p>
 	 * @implSpec This method calls {@link #getConfiguredBucket(Configuration, Configuration)} to determine the bucket.
 	 * @param context The context of static site generation.
@@ -232,29 +282,56 @@ protected Map<String, S3DeployObject> getDeployObjectsByKey() {
 	 * @see AWS#CONFIG_KEY_DEPLOY_AWS_PROFILE
 	 * @see #CONFIG_KEY_REGION
 	 * @see #CONFIG_KEY_BUCKET
+	 * @see #CONFIG_KEY_ENDPOINT
+	 * @see #CONFIG_KEY_MAX_CONCURRENCY
 	 * @see GuiseMummy#CONFIG_KEY_SITE_DOMAIN
 	 * @see GuiseMummy#CONFIG_KEY_DOMAIN
 	 * @see #getConfiguredBucket(Configuration, Configuration)
 	 */
 	public S3(@Nonnull final MummyContext context, @Nonnull final Configuration localConfiguration) {
 		this(context.getConfiguration().findString(AWS.CONFIG_KEY_DEPLOY_AWS_PROFILE).orElse(null), Region.of(localConfiguration.getString(CONFIG_KEY_REGION)),
-				getConfiguredBucket(context.getConfiguration(), localConfiguration));
+				getConfiguredBucket(context.getConfiguration(), localConfiguration), findConfiguredEndpoint(localConfiguration).orElse(null),
+				localConfiguration.findInt(CONFIG_KEY_MAX_CONCURRENCY).orElse(DEFAULT_MAX_CONCURRENCY));
 	}
 
 	/**
-	 * Region and bucket constructor.
+	 * Region and bucket constructor using AWS with the default maximum concurrency.
 	 * @param profile The name of the AWS profile to use for retrieving credentials, or <code>null</code> if the default credential provider should be used.
 	 * @param region The AWS region of deployment.
 	 * @param bucket The bucket into which the site should be deployed.
+	 * @see #DEFAULT_MAX_CONCURRENCY
 	 */
 	public S3(@Nullable String profile, @Nonnull final Region region, @Nonnull String bucket) {
+		this(profile, region, bucket, null, DEFAULT_MAX_CONCURRENCY);
+	}
+
+	/**
+	 * Region, bucket, endpoint, and concurrency constructor.
+	 * @implSpec The S3 client retries failed requests up to {@value #DEFAULT_MAX_RETRIES} times using {@link RetryMode#ADAPTIVE}, which backs off and rate limits
+	 *           requests when S3 throttles them. The client's connection pool is sized to the maximum concurrency.
+	 * @param profile The name of the AWS profile to use for retrieving credentials, or <code>null</code> if the default credential provider should be used.
+	 * @param region The AWS region of deployment.
+	 * @param bucket The bucket into which the site should be deployed.
+	 * @param endpoint The URI of an S3-compatible endpoint to use instead of AWS, or <code>null</code> if AWS S3 should be used.
+	 * @param maxConcurrency The maximum number of object requests to have in flight at the same time during deployment.
+	 * @throws IllegalArgumentException if the maximum concurrency is not positive.
+	 */
+	public S3(@Nullable String profile, @Nonnull final Region region, @Nonnull String bucket, @Nullable final URI endpoint, final int maxConcurrency) {
+		checkArgument(maxConcurrency > 0, "Maximum concurrency %d must be positive.", maxConcurrency);
 		this.profile = profile;
 		this.region = requireNonNull(region);
 		this.bucket = requireNonNull(bucket);
-		final S3ClientBuilder s3ClientBuilder = S3Client.builder().region(region);
+		this.endpoint = endpoint;
+		this.maxConcurrency = maxConcurrency;
+		final S3ClientBuilder s3ClientBuilder = S3Client.builder().region(region)
+				.overrideConfiguration(config -> config.retryPolicy(RetryPolicy.builder(RetryMode.ADAPTIVE).numRetries(DEFAULT_MAX_RETRIES).build()))
+				.httpClientBuilder(ApacheHttpClient.builder().maxConnections(Math.max(maxConcurrency, DEFAULT_MAX_CONCURRENCY)));
 		if(profile != null) {
 			s3ClientBuilder.credentialsProvider(ProfileCredentialsProvider.create(profile));
 		}
+		if(endpoint != null) { //S3-compatible stand-ins usually don't support virtual-hosted bucket addressing
+			s3ClientBuilder.endpointOverride(endpoint).serviceConfiguration(config -> config.pathStyleAccessEnabled(true));
+		}
 		s3Client = s3ClientBuilder.build();
 	}
 
@@ -281,6 +358,21 @@ protected static String getConfiguredBucket(@Nonnull final Configuration globalC
 				.orElseThrow(() -> new ConfigurationException("No configured S3 bucket could be determined."));
 	}
 
+	/**
+	 * Determines the S3-compatible endpoint to use instead of AWS, if any.
+	 * @param localConfiguration The local configuration for S3, which may be a section of the project configuration.
+	 * @return The configured endpoint, if any.
+	 * @throws ConfigurationException if the configured endpoint is not a valid URI.
+	 * @see #CONFIG_KEY_ENDPOINT
+	 */
+	protected static Optional<URI> findConfiguredEndpoint(@Nonnull final Configuration localConfiguration) throws ConfigurationException {
+		try {
+			return localConfiguration.findString(CONFIG_KEY_ENDPOINT).map(URI::create);
+		} catch(final IllegalArgumentException illegalArgumentException) {
+			throw new ConfigurationException(illegalArgumentException);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @implSpec This implementation creates and configures the specified bucket as needed, calling {@link #setBucketPolicy(MummyContext, String, boolean)}.
@@ -342,7 +434,8 @@ protected void setBucketPolicy(@Nonnull final MummyContext context, @Nonnull Str
 
 	/**
 	 * {@inheritDoc}
-	 * @implSpec This implementation calls {@link #plan(MummyContext, Artifact)}, {@link #put(MummyContext)}, and {@link #prune(MummyContext)}, in that order.
+	 * @implSpec This implementation calls {@link #plan(MummyContext, Artifact)}, {@link #put(MummyContext, Map)}, and {@link #prune(MummyContext, Set)}, in
+	 *           that order. The bucket is listed only once, before putting, as pruning only needs to consider objects that were in the bucket beforehand.
 	 * @return no URL, as a basic S3 deployment does not have a web site configured.
 	 */
 	@Override
@@ -353,10 +446,16 @@ public Optional<URI> deploy(@Nonnull final MummyContext context, @Nonnull Artifa
 		plan(context, rootArtifact);
 
 		//#put
-		put(context);
+		final Map<String, String> remoteETagsByKey;
+		try {
+			remoteETagsByKey = listObjects(getBucket()).collect(toMap(S3Object::key, S3Object::eTag));
+		} catch(final SdkException sdkException) {
+			throw new IOException(sdkException);
+		}
+		put(context, remoteETagsByKey);
 
 		//#prune
-		prune(context);
+		prune(context, remoteETagsByKey.keySet());
 
 		return Optional.empty();
 	}
@@ -414,55 +513,285 @@ protected void planResource(@Nonnull final MummyContext context, @Nonnull final
 	/** The handle of the content fingerprint tag as a convenience, used for object metadata. */
 	private final static String METADATA_CONTENT_FINGERPRINT = Handle.findFromTag(Content.FINGERPRINT_PROPERTY_TAG).orElseThrow(AssertionError::new);
 
+	/**
+	 * The format of the filename of the local file recording the fingerprint and entity tag of each object deployed to a bucket. There is one parameter:
+	 * <ol>
+	 * <li>S3 bucket</li>
+	 * </ol>
+	 * @apiNote The manifest is not stored in the bucket itself, as the bucket may be publicly readable and the manifest lists every object deployed, including
+	 *          those not linked from the site.
+	 * @see #getDeployManifestFile(MummyContext)
+	 */
+	public static final String DEPLOY_MANIFEST_FILENAME_FORMAT = ".guise-mummy-deploy-manifest-s3-%s.properties";
+
+	/**
+	 * Determines the local file recording the fingerprint and entity tag of each object deployed to the bucket.
+	 * @implSpec This implementation stores the deploy manifest in the site description target directory, using {@link #DEPLOY_MANIFEST_FILENAME_FORMAT} with the
+	 *           bucket name.
+	 * @param context The context of static site generation.
+	 * @return The path to the deploy manifest file, which may not exist.
+	 * @see MummyContext#getSiteDescriptionTargetDirectory()
+	 */
+	protected Path getDeployManifestFile(@Nonnull final MummyContext context) {
+		return context.getSiteDescriptionTargetDirectory().resolve(format(DEPLOY_MANIFEST_FILENAME_FORMAT, getBucket()));
+	}
+
 	/**
 	 * Transfers content for deployment.
 	 * @apiNote This is the main deployment method, which actually deploys content.
+	 * @implSpec This implementation completes the inventory of the remote objects by loading the local deploy manifest, and then calls
+	 *           {@link #put(MummyContext, S3DeployObject, Map, Map)} for each deploy object, with up to {@link #getMaxConcurrency()} objects being transferred at
+	 *           the same time. Finally the deploy manifest is updated if anything changed.
+	 * @param context The context of static site generation.
+	 * @param remoteETagsByKey The entity tags of the objects in the bucket before deployment, associated with their keys.
+	 * @throws IOException if there is an I/O error during putting.
+	 * @see #listObjects(String)
+	 * @see #loadDeployManifest(Path)
+	 * @see #saveDeployManifest(Path, Map)
+	 * @see #executeConcurrently(String, Collection, ThrowingConsumer)
+	 */
+	protected void put(@Nonnull final MummyContext context, @Nonnull final Map<String, String> remoteETagsByKey) throws IOException {
+		final Path deployManifestFile = getDeployManifestFile(context);
+		final Map<String, DeployManifestEntry> deployManifest = loadDeployManifest(deployManifestFile);
+		final Map<String, DeployManifestEntry> newDeployManifest = new ConcurrentHashMap<>();
+		executeConcurrently("Deploying", getDeployObjectsByKey().values(), deployObject -> put(context, deployObject, remoteETagsByKey, deployManifest)
+				.ifPresent(manifestEntry -> newDeployManifest.put(deployObject.getKey(), manifestEntry)));
+		if(!newDeployManifest.equals(deployManifest)) {
+			saveDeployManifest(deployManifestFile, newDeployManifest);
+		}
+	}
+
+	/**
+	 * Transfers the content of a single deploy object if needed.
+	 * @apiNote This method may be called concurrently for different deploy objects.
 	 * @implSpec If incremental mummification is enabled via {@link MummyContext#isIncremental()}, this version skips deploying an artifact if the S3 object
-	 *           fingerprint matches the artifact's fingerprint in its description. The handle form of the {@link Content#FINGERPRINT_PROPERTY_TAG} is used as the
-	 *           S3 object metadata name, with the value being the Base64 encoding of the binary fingerprint value.
-	 * @implSpec This method calls {@link #preparePutObject(MummyContext, S3DeployObject)} to prepare the put request for each object.
-	 * @implSpec This implementation skips directories.
+	 *           fingerprint matches the artifact's fingerprint in its description. The fingerprint of the S3 object is taken from the deploy manifest if the entity
+	 *           tag recorded there still matches that of the S3 object in the bucket; otherwise it is retrieved using {@link #findObjectFingerprint(String)}. No
+	 *           request is made at all for objects not present in the bucket.
+	 * @implSpec This method calls {@link #preparePutObject(MummyContext, S3DeployObject)} to prepare the put request. The key of each object actually put is
+	 *           recorded in {@link #getChangedKeys()}.
 	 * @param context The context of static site generation.
+	 * @param deployObject The object to be deployed.
+	 * @param remoteETagsByKey The entity tags of the objects in the bucket before deployment, associated with their keys.
+	 * @param deployManifest The entries of the deploy manifest before deployment, associated with their keys.
+	 * @return The deploy manifest entry describing the object now in the bucket, which will not be present if the deploy object has no fingerprint.
 	 * @throws IOException if there is an I/O error during putting.
 	 * @see MummyContext#isIncremental()
 	 * @see MummyContext#isFull()
 	 * @see Content#FINGERPRINT_PROPERTY_TAG
 	 */
-	protected void put(@Nonnull final MummyContext context) throws IOException {
+	protected Optional<DeployManifestEntry> put(@Nonnull final MummyContext context, @Nonnull final S3DeployObject deployObject,
+			@Nonnull final Map<String, String> remoteETagsByKey, @Nonnull final Map<String, DeployManifestEntry> deployManifest) throws IOException {
 		try {
-			final S3Client s3Client = getS3Client();
-			final String bucket = getBucket();
-			for(final S3DeployObject deployObject : getDeployObjectsByKey().values()) {
-				final String key = deployObject.getKey();
-				final Optional<byte[]> foundFingerprint = deployObject.findFingerprint();
-				final boolean s3ObjectChanged = context.isFull() //for full mummification, short-circuit and don't compare fingerprints
-						|| foundFingerprint.flatMap(deployObjectFingerprint -> {
-							try {
-								final HeadObjectResponse head = s3Client.headObject(builder -> builder.bucket(bucket).key(key));
-								return Optional.ofNullable(head.metadata().get(METADATA_CONTENT_FINGERPRINT)).map(base64 -> Base64.getUrlDecoder().decode(base64))
-										.map(s3ObjectFingerprint -> !Arrays.equals(s3ObjectFingerprint, deployObjectFingerprint)); //S3 object changed if the fingerprints do _not_ match
-							} catch(final IllegalArgumentException illegalArgumentException) { //if there was some problem decoding the fingerprint value
-								getLogger().warn("Invalid S3 object fingerprint metadata `{}` for key `{}`: {}", METADATA_CONTENT_FINGERPRINT, key,
-										illegalArgumentException.getMessage(), illegalArgumentException);
-								return Optional.empty(); //a valid fingerprint was not found
-							} catch(final NoSuchKeyException noSuchKeyException) { //if the object doesn't even exist on S3
-								return Optional.empty();
-							}
-						}).orElse(true); //if the description fingerprint and/or S3 object fingerprint is missing, assume the object has changed
-				if(s3ObjectChanged) {
-					getLogger().info("Deploying object to S3 key `{}`{}.", key, findDetailLabel(deployObject).map(label -> " (" + label + ")").orElse(""));
-					final PutObjectRequest.Builder putBuilder = preparePutObject(context, deployObject);
-					s3Client.putObject(putBuilder.build(),
-							RequestBody.fromContentProvider(deployObject.createContentStreamProvider(), deployObject.getContentLength(), deployObject.getContentType()));
-				} else {
+			final String key = deployObject.getKey();
+			final Optional<byte[]> foundFingerprint = deployObject.findFingerprint();
+			final String remoteETag = remoteETagsByKey.get(key);
+			if(!context.isFull() && remoteETag != null && foundFingerprint.isPresent()) { //for full mummification, short-circuit and don't compare fingerprints
+				final byte[] fingerprint = foundFingerprint.get();
+				final DeployManifestEntry manifestEntry = deployManifest.get(key);
+				final Optional<byte[]> foundObjectFingerprint = manifestEntry != null && manifestEntry.getETag().equals(remoteETag) //only trust the manifest if the object hasn't been changed since
+						? Optional.of(manifestEntry.getFingerprint())
+						: findObjectFingerprint(key);
+				if(foundObjectFingerprint.map(objectFingerprint -> Arrays.equals(objectFingerprint, fingerprint)).orElse(false)) {
 					getLogger().debug("Keeping previously deployed S3 object for key `{}`.", key);
+					return Optional.of(new DeployManifestEntry(fingerprint, remoteETag));
 				}
 			}
+			getLogger().info("Deploying object to S3 key `{}`{}.", key, findDetailLabel(deployObject).map(label -> " (" + label + ")").orElse(""));
+			final PutObjectRequest.Builder putBuilder = preparePutObject(context, deployObject);
+			final PutObjectResponse putResponse = getS3Client().putObject(putBuilder.build(),
+					RequestBody.fromContentProvider(deployObject.createContentStreamProvider(), deployObject.getContentLength(), deployObject.getContentType()));
+			changedKeys.add(key);
+			return foundFingerprint.map(fingerprint -> new DeployManifestEntry(fingerprint, putResponse.eTag()));
 		} catch(final SdkException sdkException) {
 			throw new IOException(sdkException);
 		}
 	}
 
+	/**
+	 * Retrieves the fingerprint stored in the metadata of an object in the bucket.
+	 * @implSpec The handle form of the {@link Content#FINGERPRINT_PROPERTY_TAG} is used as the S3 object metadata name, with the value being the Base64 encoding
+	 *           of the binary fingerprint value.
+	 * @param key The key of the object.
+	 * @return The fingerprint of the object, which will not be present if the object does not exist or has no valid fingerprint.
+	 * @throws SdkException if some error occurred, such as insufficient permissions.
+	 */
+	protected Optional<byte[]> findObjectFingerprint(@Nonnull final String key) throws SdkException {
+		try {
+			final HeadObjectResponse head = getS3Client().headObject(builder -> builder.bucket(getBucket()).key(key));
+			return Optional.ofNullable(head.metadata().get(METADATA_CONTENT_FINGERPRINT)).map(base64 -> Base64.getUrlDecoder().decode(base64));
+		} catch(final IllegalArgumentException illegalArgumentException) { //if there was some problem decoding the fingerprint value
+			getLogger().warn("Invalid S3 object fingerprint metadata `{}` for key `{}`: {}", METADATA_CONTENT_FINGERPRINT, key,
+					illegalArgumentException.getMessage(), illegalArgumentException);
+			return Optional.empty(); //a valid fingerprint was not found
+		} catch(final NoSuchKeyException noSuchKeyException) { //if the object doesn't even exist on S3
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Loads the deploy manifest from a local file.
+	 * @implSpec Each entry is stored as a property with the object key as the name, and the Base64 fingerprint and the entity tag, separated by a space, as the
+	 *           value. Invalid entries are ignored.
+	 * @param deployManifestFile The file containing the deploy manifest.
+	 * @return The entries of the deploy manifest, associated with their keys; empty if there is no deploy manifest.
+	 * @throws IOException if there is an error reading the deploy manifest.
+	 * @see #getDeployManifestFile(MummyContext)
+	 */
+	protected Map<String, DeployManifestEntry> loadDeployManifest(@Nonnull final Path deployManifestFile) throws IOException {
+		if(!isRegularFile(deployManifestFile)) {
+			return emptyMap();
+		}
+		final Properties properties = new Properties();
+		try (final InputStream inputStream = new BufferedInputStream(newInputStream(deployManifestFile))) {
+			properties.load(inputStream);
+		}
+		final Map<String, DeployManifestEntry> deployManifest = new HashMap<>(properties.size());
+		for(final String key : properties.stringPropertyNames()) {
+			final String value = properties.getProperty(key);
+			final int delimiterIndex = value.indexOf(' ');
+			try {
+				checkArgument(delimiterIndex >= 0, "Missing entity tag.");
+				deployManifest.put(key,
+						new DeployManifestEntry(Base64.getUrlDecoder().decode(value.substring(0, delimiterIndex)), value.substring(delimiterIndex + 1)));
+			} catch(final IllegalArgumentException illegalArgumentException) {
+				getLogger().warn("Ignoring invalid deploy manifest entry for key `{}`: {}", key, illegalArgumentException.getMessage());
+			}
+		}
+		return deployManifest;
+	}
+
+	/**
+	 * Saves the deploy manifest to a local file.
+	 * @param deployManifestFile The file in which to store the deploy manifest.
+	 * @param deployManifest The entries of the deploy manifest, associated with their keys.
+	 * @throws IOException if there is an error writing the deploy manifest.
+	 * @see #getDeployManifestFile(MummyContext)
+	 * @see #loadDeployManifest(Path)
+	 */
+	protected void saveDeployManifest(@Nonnull final Path deployManifestFile, @Nonnull final Map<String, DeployManifestEntry> deployManifest)
+			throws IOException {
+		final Properties properties = new Properties();
+		deployManifest.forEach((key, manifestEntry) -> properties.setProperty(key,
+				Base64.getUrlEncoder().withoutPadding().encodeToString(manifestEntry.getFingerprint()) + ' ' + manifestEntry.getETag()));
+		getLogger().debug("Saving deploy manifest with {} entries to `{}`.", deployManifest.size(), deployManifestFile);
+		final Path deployManifestDirectory = deployManifestFile.getParent();
+		if(deployManifestDirectory != null) {
+			createDirectories(deployManifestDirectory);
+		}
+		try (final OutputStream outputStream = new BufferedOutputStream(newOutputStream(deployManifestFile))) {
+			properties.store(outputStream, "Guise Mummy deploy manifest");
+		}
+	}
+
+	/**
+	 * An entry of the deploy manifest, recording the fingerprint of the content of an object deployed to the bucket and the resulting entity tag. As long as the
+	 * entity tag of the object in the bucket remains the same, the object can be assumed to have the recorded fingerprint.
+	 * @author Garret Wilson
+	 */
+	protected static final class DeployManifestEntry {
+
+		private final byte[] fingerprint;
+
+		/** @return The fingerprint of the deployed content. */
+		public byte[] getFingerprint() {
+			return fingerprint.clone();
+		}
+
+		private final String eTag;
+
+		/** @return The entity tag of the deployed object. */
+		public String getETag() {
+			return eTag;
+		}
+
+		/**
+		 * Constructor.
+		 * @param fingerprint The fingerprint of the deployed content.
+		 * @param eTag The entity tag of the deployed object.
+		 */
+		public DeployManifestEntry(@Nonnull final byte[] fingerprint, @Nonnull final String eTag) {
+			this.fingerprint = fingerprint.clone();
+			this.eTag = requireNonNull(eTag);
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(fingerprint) * 31 + eTag.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if(this == object) {
+				return true;
+			}
+			if(!(object instanceof DeployManifestEntry)) {
+				return false;
+			}
+			final DeployManifestEntry manifestEntry = (DeployManifestEntry)object;
+			return Arrays.equals(fingerprint, manifestEntry.fingerprint) && eTag.equals(manifestEntry.eTag);
+		}
+
+	}
+
+	/**
+	 * Performs an operation on each of the given items, with up to {@link #getMaxConcurrency()} operations executing at the same time, logging progress along
+	 * the way. If any operation fails, the remaining operations are canceled.
+	 * @param <T> The type of item being processed.
+	 * @param description A short description of the operation for progress logging, such as <code>"Deploying"</code>.
+	 * @param items The items to process.
+	 * @param operation The operation to perform on each item.
+	 * @throws IOException if one of the operations failed. An {@link UncheckedIOException} or {@link SdkException} thrown by an operation is converted to an
+	 *           {@link IOException}.
+	 */
+	protected <T> void executeConcurrently(@Nonnull final String description, @Nonnull final Collection<T> items,
+			@Nonnull final ThrowingConsumer<? super T, IOException> operation) throws IOException {
+		final int count = items.size();
+		if(count == 0) {
+			return;
+		}
+		final ExecutorService executorService = Executors.newFixedThreadPool(Math.min(getMaxConcurrency(), count));
+		try {
+			final CompletionService<T> completionService = new ExecutorCompletionService<>(executorService);
+			for(final T item : items) {
+				completionService.submit(() -> {
+					operation.tryAccept(item);
+					return item;
+				});
+			}
+			int loggedPercent = 0;
+			for(int completedCount = 1; completedCount <= count; completedCount++) {
+				try {
+					completionService.take().get();
+				} catch(final ExecutionException executionException) {
+					final Throwable cause = executionException.getCause();
+					if(cause instanceof IOException) {
+						throw (IOException)cause;
+					} else if(cause instanceof UncheckedIOException) {
+						throw ((UncheckedIOException)cause).getCause();
+					} else if(cause instanceof SdkException) {
+						throw new IOException(cause);
+					} else if(cause instanceof RuntimeException) {
+						throw (RuntimeException)cause;
+					} else if(cause instanceof Error) {
+						throw (Error)cause;
+					}
+					throw new IOException(cause);
+				}
+				final int percent = (int)(completedCount * 100L / count);
+				if(percent / 10 > loggedPercent / 10) { //log progress in steps of 10%
+					getLogger().info("{}: {}/{} ({}%).", description, completedCount, count, percent);
+					loggedPercent = percent;
+				}
+			}
+		} catch(final InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(format("%s interrupted.", description));
+		} finally {
+			executorService.shutdownNow(); //cancel any remaining operations if we stopped early
+		}
+	}
+
 	/**
 	 * Prepares a request for putting a deploy object to S3.
 	 * @implSpec This version sets up the put builder for the bucket, key, and content type; and configures any metadata.
@@ -495,39 +824,94 @@ protected Optional<String> findDetailLabel(@Nonnull final S3DeployObject deployO
 		return Optional.empty();
 	}
 
+	/** The maximum number of keys that may be deleted in a single <code>DeleteObjects</code> request. */
+	public static final int DELETE_OBJECTS_MAX_KEY_COUNT = 1000;
+
 	/**
 	 * Prunes any objects that don't exist in the site.
 	 * @apiNote This process can occur even when actual putting is being performed concurrently, as existing objects that are in the site are left undisturbed.
 	 *          There is no need to determine if the existing object is out of date, as it will be replaced if it hasn't been already. Only files no longer in the
 	 *          site are removed.
+	 * @implSpec This implementation collects the keys of all the given objects no longer in the site and deletes them in batches of up to
+	 *           {@value #DELETE_OBJECTS_MAX_KEY_COUNT} keys, with up to {@link #getMaxConcurrency()} batches being deleted at the same time. If
+	 *           {@link GuiseMummy#CONFIG_KEY_DEPLOY_PRUNE_DRY_RUN} is enabled, the objects are only listed. If there are more objects to prune than allowed by
+	 *           {@link GuiseMummy#CONFIG_KEY_DEPLOY_PRUNE_MAX_COUNT}, nothing is deleted. The keys of deleted objects are recorded in {@link #getChangedKeys()}.
 	 * @param context The context of static site generation.
-	 * @throws IOException if there is an I/O error during pruning.
+	 * @param remoteKeys The keys of the objects in the bucket, such as listed before deployment.
+	 * @throws IOException if there is an I/O error during pruning, or there are more objects to prune than allowed.
+	 * @see #deleteObjects(String, List)
 	 */
-	protected void prune(@Nonnull final MummyContext context) throws IOException {
-		try {
-			final S3Client s3Client = getS3Client();
-			final String bucket = getBucket();
-			final Map<String, S3DeployObject> deployObjectsByKey = getDeployObjectsByKey();
-			ListObjectsV2Request listObjectsRequest = ListObjectsV2Request.builder().bucket(bucket).build();
-			ListObjectsV2Response listObjectsResponse;
-			do {
-				listObjectsResponse = s3Client.listObjectsV2(listObjectsRequest);
-				for(final S3Object s3Object : listObjectsResponse.contents()) {
-					final String key = s3Object.key();
-					if(!deployObjectsByKey.containsKey(key)) { //if this object isn't in our site, delete it
-						getLogger().info("Pruning S3 object `{}`.", key);
-						s3Client.deleteObject(builder -> builder.bucket(bucket).key(key));
-					}
-				}
-				listObjectsRequest = ListObjectsV2Request.builder().bucket(bucket).continuationToken(listObjectsResponse.nextContinuationToken()).build();
-			} while(listObjectsResponse.isTruncated());
-		} catch(final SdkException sdkException) {
-			throw new IOException(sdkException);
+	protected void prune(@Nonnull final MummyContext context, @Nonnull final Set<String> remoteKeys) throws IOException {
+		final Configuration configuration = context.getConfiguration();
+		final boolean isDryRun = configuration.findBoolean(CONFIG_KEY_DEPLOY_PRUNE_DRY_RUN).orElse(false);
+		final int maxCount = configuration.findInt(CONFIG_KEY_DEPLOY_PRUNE_MAX_COUNT).orElse(Integer.MAX_VALUE);
+		final String bucket = getBucket();
+		final Map<String, S3DeployObject> deployObjectsByKey = getDeployObjectsByKey();
+		final List<String> pruneKeys = remoteKeys.stream().filter(key -> !deployObjectsByKey.containsKey(key)) //if this object isn't in our site, delete it
+				.sorted().collect(toList());
+		if(pruneKeys.isEmpty()) {
+			return;
 		}
+		if(isDryRun) {
+			pruneKeys.forEach(key -> getLogger().info("Would prune S3 object `{}` (dry run).", key));
+			getLogger().info("Dry run: {} object(s) would be pruned from S3 bucket `{}`.", pruneKeys.size(), bucket);
+			return;
+		}
+		if(pruneKeys.size() > maxCount) {
+			throw new IOException(format("Refusing to prune %d objects from S3 bucket `%s`, which exceeds the maximum of %d allowed by `%s`.", pruneKeys.size(),
+					bucket, maxCount, CONFIG_KEY_DEPLOY_PRUNE_MAX_COUNT)); //TODO i18n
+		}
+		final List<List<String>> pruneKeyBatches = new ArrayList<>();
+		for(int batchStart = 0; batchStart < pruneKeys.size(); batchStart += DELETE_OBJECTS_MAX_KEY_COUNT) {
+			pruneKeyBatches.add(pruneKeys.subList(batchStart, Math.min(batchStart + DELETE_OBJECTS_MAX_KEY_COUNT, pruneKeys.size())));
+		}
+		executeConcurrently("Pruning", pruneKeyBatches, pruneKeyBatch -> {
+			try {
+				deleteObjects(bucket, pruneKeyBatch);
+				changedKeys.addAll(pruneKeyBatch);
+			} catch(final SdkException sdkException) {
+				throw new IOException(sdkException);
+			}
+		});
 	}
 
 	//# S3 utility methods; could be removed to separate library
 
+	//## objects
+
+	/**
+	 * Lists all the objects in a bucket.
+	 * @apiNote Additional pages of objects are requested lazily as the stream is consumed.
+	 * @param bucket The bucket the objects of which to list.
+	 * @return A stream of the objects in the bucket.
+	 * @throws SdkException if some error occurred, such as insufficient permissions.
+	 */
+	protected Stream<S3Object> listObjects(@Nonnull final String bucket) throws SdkException {
+		return getS3Client().listObjectsV2Paginator(builder -> builder.bucket(bucket)).contents().stream();
+	}
+
+	/**
+	 * Deletes objects from a bucket using a single request.
+	 * @param bucket The bucket from which to delete the objects.
+	 * @param keys The keys of the objects to delete; there must be no more than {@value #DELETE_OBJECTS_MAX_KEY_COUNT} keys.
+	 * @throws IllegalArgumentException if more than {@value #DELETE_OBJECTS_MAX_KEY_COUNT} keys are given.
+	 * @throws IOException if one or more of the objects could not be deleted.
+	 * @throws SdkException if some error occurred, such as insufficient permissions.
+	 */
+	protected void deleteObjects(@Nonnull final String bucket, @Nonnull final List<String> keys) throws IOException, SdkException {
+		checkArgument(keys.size() <= DELETE_OBJECTS_MAX_KEY_COUNT, "Cannot delete more than %d objects in a single request.", DELETE_OBJECTS_MAX_KEY_COUNT);
+		keys.forEach(key -> getLogger().info("Pruning S3 object `{}`.", key));
+		final List<ObjectIdentifier> objectIdentifiers = keys.stream().map(key -> ObjectIdentifier.builder().key(key).build()).collect(toList());
+		final DeleteObjectsResponse deleteResponse = getS3Client()
+				.deleteObjects(builder -> builder.bucket(bucket).delete(delete -> delete.objects(objectIdentifiers).quiet(true))); //only report errors
+		final List<S3Error> errors = deleteResponse.errors();
+		if(!errors.isEmpty()) {
+			final S3Error error = errors.get(0);
+			throw new IOException(format("Unable to delete %d object(s) from S3 bucket `%s`; key `%s`: %s (%s)", errors.size(), bucket, error.key(), error.message(),
+					error.code())); //TODO i18n
+		}
+	}
+
 	//## hosted zones
 
 	/**
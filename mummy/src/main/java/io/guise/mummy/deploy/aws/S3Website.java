@@ -243,6 +243,8 @@ protected Set<S3ArtifactRedirectDeployObject> getRoutingRuleRedirectObjects() {
 	 * @see AWS#CONFIG_KEY_DEPLOY_AWS_PROFILE
 	 * @see #CONFIG_KEY_REGION
 	 * @see #CONFIG_KEY_BUCKET
+	 * @see #CONFIG_KEY_ENDPOINT
+	 * @see #CONFIG_KEY_MAX_CONCURRENCY
 	 * @see #CONFIG_KEY_ALT_BUCKETS
 	 * @see GuiseMummy#CONFIG_KEY_SITE_DOMAIN
 	 * @see GuiseMummy#CONFIG_KEY_SITE_ALT_DOMAINS
@@ -252,14 +254,16 @@ protected Set<S3ArtifactRedirectDeployObject> getRoutingRuleRedirectObjects() {
 	 */
 	public S3Website(@Nonnull final MummyContext context, @Nonnull final Configuration localConfiguration) {
 		this(context.getConfiguration().findString(AWS.CONFIG_KEY_DEPLOY_AWS_PROFILE).orElse(null), Region.of(localConfiguration.getString(CONFIG_KEY_REGION)),
-				getConfiguredBucket(context.getConfiguration(), localConfiguration), getConfiguredAltBuckets(context.getConfiguration(), localConfiguration),
+				getConfiguredBucket(context.getConfiguration(), localConfiguration), findConfiguredEndpoint(localConfiguration).orElse(null),
+				localConfiguration.findInt(CONFIG_KEY_MAX_CONCURRENCY).orElse(DEFAULT_MAX_CONCURRENCY),
+				getConfiguredAltBuckets(context.getConfiguration(), localConfiguration),
 				findConfiguredSiteDomain(context.getConfiguration()).orElse(null),
 				localConfiguration.findString(CONFIG_KEY_REDIRECT_MEANS).map(fromSerializionOf(RedirectMeans.class)).orElse(DEFAULT_REDIRECT_MEANS),
 				localConfiguration.findInt(CONFIG_KEY_REDIRECT_COUNT_OPTIMAL_THRESHOLD).orElse(DEFAULT_REDIRECT_COUNT_OPTIMAL_OPTIMAL_THRESHOLD));
 	}
 
 	/**
-	 * Region, bucket, and alternative buckets constructor. The alternative buckets will be stored as a set.
+	 * Region, bucket, and alternative buckets constructor using AWS with the default maximum concurrency. The alternative buckets will be stored as a set.
 	 * @apiNote This redirect count optimal threshold must not be greater than <code>50</code>, because as of May 2020 AWS S3 does not allow more than this number
 	 *          of routing rule-based redirects; otherwise the following error will occur:
 	 *          <blockquote><code>software.amazon.awssdk.services.s3.model.S3Exception: … routing rules provided,
@@ -273,10 +277,35 @@ public S3Website(@Nonnull final MummyContext context, @Nonnull final Configurati
 	 * @param redirectMeans The S3 website means to be used for effecting redirects.
 	 * @param redirectCountOptimalThreshold The number of redirects required to switch to using object-redirects for non-collection alt locations.
 	 * @throws IllegalArgumentException if the given site domain is not absolute.
+	 * @see #DEFAULT_MAX_CONCURRENCY
 	 */
 	public S3Website(@Nullable String profile, @Nonnull final Region region, @Nonnull String bucket, @Nonnull final Collection<String> altBuckets,
 			@Nullable DomainName siteDomain, @Nonnull final RedirectMeans redirectMeans, @Nonnegative final int redirectCountOptimalThreshold) {
-		super(profile, region, bucket);
+		this(profile, region, bucket, null, DEFAULT_MAX_CONCURRENCY, altBuckets, siteDomain, redirectMeans, redirectCountOptimalThreshold);
+	}
+
+	/**
+	 * Region, bucket, endpoint, concurrency, and alternative buckets constructor. The alternative buckets will be stored as a set.
+	 * @apiNote This redirect count optimal threshold must not be greater than <code>50</code>, because as of May 2020 AWS S3 does not allow more than this number
+	 *          of routing rule-based redirects; otherwise the following error will occur:
+	 *          <blockquote><code>software.amazon.awssdk.services.s3.model.S3Exception: … routing rules provided,
+	 *           the number of routing rules in a website configuration is limited to 50. (Service: S3, Status Code: 400, Request ID: …)</code></blockquote>
+	 * @param profile The name of the AWS profile to use for retrieving credentials, or <code>null</code> if the default credential provider should be used.
+	 * @param region The AWS region of deployment.
+	 * @param bucket The bucket into which the site should be deployed.
+	 * @param endpoint The URI of an S3-compatible endpoint to use instead of AWS, or <code>null</code> if AWS S3 should be used.
+	 * @param maxConcurrency The maximum number of object requests to have in flight at the same time during deployment.
+	 * @param altBuckets The bucket alternatives, if any, to redirect to the primary bucket.
+	 * @param siteDomain The full-qualified domain name of the site. If specified, it will be used in cases that which a site other than the bucket is to be
+	 *          indicated, such as in redirect hostname, to prevent e.g. a CloudFront distribution redirecting back to the bucket URL.
+	 * @param redirectMeans The S3 website means to be used for effecting redirects.
+	 * @param redirectCountOptimalThreshold The number of redirects required to switch to using object-redirects for non-collection alt locations.
+	 * @throws IllegalArgumentException if the given site domain is not absolute, or the maximum concurrency is not positive.
+	 */
+	public S3Website(@Nullable String profile, @Nonnull final Region region, @Nonnull String bucket, @Nullable final URI endpoint, final int maxConcurrency,
+			@Nonnull final Collection<String> altBuckets, @Nullable DomainName siteDomain, @Nonnull final RedirectMeans redirectMeans,
+			@Nonnegative final int redirectCountOptimalThreshold) {
+		super(profile, region, bucket, endpoint, maxConcurrency);
 		this.altBuckets = new LinkedHashSet<>(altBuckets); //maintain order to help with reporting and debugging
 		if(siteDomain != null) {
 			siteDomain.checkArgumentAbsolute();
@@ -363,6 +392,23 @@ protected void setBucketPolicy(final MummyContext context, final String bucket,
 		}
 	}
 
+	/**
+	 * Determines the index document suffix, that is the name of the object used as the content of a collection, such as <code>index.html</code>.
+	 * @implSpec The index document suffix is based upon the first of the configured {@link GuiseMummy#CONFIG_KEY_MUMMY_COLLECTION_CONTENT_BASE_NAMES}, with
+	 *           the page filename extension added unless {@link PageMummifier#CONFIG_KEY_MUMMY_PAGE_NAMES_BARE} is enabled.
+	 * @param configuration The configuration of static site generation.
+	 * @return The index document suffix, which will not be present if no collection content base names are configured.
+	 */
+	public static Optional<String> findIndexDocumentSuffix(@Nonnull final Configuration configuration) {
+		final Collection<String> collectionContentBaseNames = configuration.getCollection(CONFIG_KEY_MUMMY_COLLECTION_CONTENT_BASE_NAMES, String.class);
+		if(collectionContentBaseNames.isEmpty()) {
+			return Optional.empty();
+		}
+		final String indexDocumentBaseName = collectionContentBaseNames.iterator().next(); //e.g. "index" (mummification should have normalized to use the first one)
+		final boolean isNameBare = configuration.findBoolean(PageMummifier.CONFIG_KEY_MUMMY_PAGE_NAMES_BARE).orElse(false);
+		return Optional.of(isNameBare ? indexDocumentBaseName : addExtension(indexDocumentBaseName, PAGE_FILENAME_EXTENSION));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @implSpec After deployment to the primary bucket, this version configures the primary and alternative buckets for website access.
@@ -415,14 +461,8 @@ public Optional<URI> deploy(@Nonnull final MummyContext context, @Nonnull Artifa
 			final WebsiteConfiguration.Builder websiteConfigurationBuilder = WebsiteConfiguration.builder();
 
 			//set the index document, if any, based upon the collection content base name
-			final Collection<String> collectionContentBaseNames = configuration.getCollection(CONFIG_KEY_MUMMY_COLLECTION_CONTENT_BASE_NAMES, String.class);
-			if(!collectionContentBaseNames.isEmpty()) {
-				final String indexDocumentBaseName = collectionContentBaseNames.iterator().next(); //e.g. "index" (mummification should have normalized to use the first one)
-				final boolean isNameBare = configuration.findBoolean(PageMummifier.CONFIG_KEY_MUMMY_PAGE_NAMES_BARE).orElse(false);
-				final String indexDocumentSuffix = isNameBare ? indexDocumentBaseName : addExtension(indexDocumentBaseName, PAGE_FILENAME_EXTENSION);
-				final IndexDocument indexDocument = IndexDocument.builder().suffix(indexDocumentSuffix).build();
-				websiteConfigurationBuilder.indexDocument(indexDocument);
-			}
+			findIndexDocumentSuffix(configuration)
+					.ifPresent(indexDocumentSuffix -> websiteConfigurationBuilder.indexDocument(IndexDocument.builder().suffix(indexDocumentSuffix).build()));
 			if(!routingRules.isEmpty()) {
 				websiteConfigurationBuilder.routingRules(routingRules.toArray(RoutingRule[]::new));
 			}
@@ -16,18 +16,22 @@
 
 package io.guise.mummy.mummify;
 
-import static com.globalmentor.java.Conditions.*;
 import static com.globalmentor.util.Optionals.*;
 import static io.guise.mummy.Artifact.*;
 import static java.nio.file.Files.*;
+import static java.nio.file.StandardCopyOption.*;
 import static org.zalando.fauxpas.FauxPas.*;
 
 import java.io.*;
 import java.net.URI;
 import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.time.*;
 import java.util.*;
 import java.util.regex.*;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
 
 import javax.annotation.*;
 
@@ -79,6 +83,9 @@ protected Artifact createArtifact(@Nonnull final MummyContext context, @Nonnull
 	 * @implSpec If incremental mummification is enabled via {@link MummyContext#isIncremental()}, this implementation loads the last generated target description
 	 *           and uses that. If full mummification is turned on or the source content has been modified, it loads source metadata anew using
 	 *           {@link #loadSourceMetadata(MummyContext, Path)}.
+	 * @implSpec If {@value GuiseMummy#CONFIG_KEY_MUMMY_SOURCE_CONTENT_HASH} is enabled, the source content is considered modified only if its size or its hash
+	 *           as calculated by {@link #hashSourceContent(Path)} differs from that recorded; the content is only hashed if its modification timestamp has
+	 *           changed. If only the timestamp changed, the new timestamp is recorded in the description.
 	 * @param context The context of static site generation.
 	 * @param sourceFile The file containing the source of this artifact in the site source directory.
 	 * @param targetFile The target path in the site target directory for the artifact.
@@ -92,10 +99,11 @@ protected Artifact createArtifact(@Nonnull final MummyContext context, @Nonnull
 	protected UrfResourceDescription loadArtifactDescription(@Nonnull MummyContext context, @Nonnull final Path sourceFile, @Nonnull final Path targetFile)
 			throws IOException {
 		final Optional<Instant> sourceModifiedAt = exists(sourceFile) ? Optional.of(getLastModifiedTime(sourceFile).toInstant()) : Optional.empty();
+		final boolean isSourceContentHash = context.getConfiguration().findBoolean(GuiseMummy.CONFIG_KEY_MUMMY_SOURCE_CONTENT_HASH).orElse(false);
 		final Optional<UrfResourceDescription> cachedDescription;
 		if(context.isIncremental()) {
 			//we'll load the target description if we can, and see if we can use it
-			cachedDescription = loadArtifactTargetDescription(context, targetFile).filter(description -> {
+			cachedDescription = loadArtifactTargetDescription(context, targetFile).filter(throwingPredicate(description -> {
 				//check the source content modified timestamp, and discard the target description if the source content has changed at all
 				final boolean sourceContentDirty = description.findPropertyValue(PROPERTY_TAG_MUMMY_SOURCE_CONTENT_MODIFIED_AT)
 						//Check the timestamp against the actual file timestamp. We can compare them directly without using a range
@@ -109,13 +117,30 @@ protected UrfResourceDescription loadArtifactDescription(@Nonnull MummyContext c
 						.map(modifiedAt -> !isPresentAndEquals(sourceModifiedAt, modifiedAt))
 						//if there is no timestamp, we consider the content dirty
 						.orElse(true);
-				if(sourceContentDirty) {
+				if(isSourceContentHash && sourceModifiedAt.isPresent()) {
+					final Optional<Long> sourceContentSize = filterAsInstance(description.findPropertyValue(PROPERTY_TAG_MUMMY_SOURCE_CONTENT_SIZE), Number.class)
+							.map(Number::longValue);
+					if(!isPresentAndEquals(sourceContentSize, size(sourceFile))) { //a change in size needs no hash to detect, even with the same timestamp
+						return false;
+					}
+					if(sourceContentDirty) { //if only the timestamp changed, see if the content actually changed
+						final Optional<Long> sourceContentHash = filterAsInstance(description.findPropertyValue(PROPERTY_TAG_MUMMY_SOURCE_CONTENT_HASH), Number.class)
+								.map(Number::longValue);
+						if(!isPresentAndEquals(sourceContentHash, hashSourceContent(sourceFile))) {
+							return false;
+						}
+						getLogger().debug("Source file `{}` has a new timestamp but unchanged content.", sourceFile);
+						//record the new timestamp so that the content need not be hashed again next time
+						description.setPropertyValue(PROPERTY_TAG_MUMMY_SOURCE_CONTENT_MODIFIED_AT, sourceModifiedAt.get());
+						description.setPropertyValue(PROPERTY_TAG_MUMMY_DESCRIPTION_DIRTY, true);
+					}
+				} else if(sourceContentDirty) {
 					return false;
 				}
 				//TODO check source description sidecar timestamp
 				getLogger().debug("Using previously generated target description to describe source file `{}`.", sourceFile);
 				return true;
-			});
+			}));
 		} else { //full mummification
 			cachedDescription = Optional.empty();
 		}
@@ -149,11 +174,40 @@ protected UrfResourceDescription loadArtifactDescription(@Nonnull MummyContext c
 			getArtifactMediaType(context, sourceFile).ifPresent(mediaType -> description.setPropertyValue(Content.TYPE_PROPERTY_TAG, mediaType));
 			//add the source modification timestamp, if any
 			sourceModifiedAt.ifPresent(instant -> description.setPropertyValue(PROPERTY_TAG_MUMMY_SOURCE_CONTENT_MODIFIED_AT, instant));
+			//add the source size and content hash if detecting source content changes by hash
+			if(isSourceContentHash && sourceModifiedAt.isPresent()) {
+				description.setPropertyValue(PROPERTY_TAG_MUMMY_SOURCE_CONTENT_SIZE, size(sourceFile));
+				description.setPropertyValue(PROPERTY_TAG_MUMMY_SOURCE_CONTENT_HASH, hashSourceContent(sourceFile));
+			}
 			description.setPropertyValue(PROPERTY_TAG_MUMMY_DESCRIPTION_DIRTY, true); //we created a new description, so the description needs to be persisted
 			return description;
 		})); //TODO add a way to make this immutable?
 	}
 
+	/**
+	 * Calculates a fast, non-cryptographic hash of the contents of a source file, for detecting whether its content has changed.
+	 * @implSpec This implementation uses CRC-32C, which is hardware accelerated on common platforms. It is only used in conjunction with the size of the content,
+	 *           and is not suitable for verifying content integrity.
+	 * @param sourceFile The source file to hash.
+	 * @return The hash of the source file contents.
+	 * @throws IOException if there is an I/O error reading the source file.
+	 * @see GuiseMummy#CONFIG_KEY_MUMMY_SOURCE_CONTENT_HASH
+	 */
+	protected static long hashSourceContent(@Nonnull final Path sourceFile) throws IOException {
+		final Checksum checksum = new CRC32C();
+		try (final InputStream inputStream = newInputStream(sourceFile)) {
+			final byte[] buffer = new byte[SOURCE_CONTENT_HASH_BUFFER_SIZE];
+			int count;
+			while((count = inputStream.read(buffer)) != -1) {
+				checksum.update(buffer, 0, count);
+			}
+		}
+		return checksum.getValue();
+	}
+
+	/** The size of the buffer for reading source content to be hashed. */
+	private static final int SOURCE_CONTENT_HASH_BUFFER_SIZE = 1 << 16;
+
 	/**
 	 * Loads any metadata stored in the source file itself, if applicable.
 	 * @apiNote This method ignores any metadata stored in related files such as sidecar files.
@@ -167,48 +221,96 @@ protected UrfResourceDescription loadArtifactDescription(@Nonnull MummyContext c
 	/**
 	 * {@inheritDoc}
 	 * @apiNote This method cannot be overridden, as it performs necessary checks for incremental mummification. To implement file mummification,
-	 *          {@link #mummifyFile(MummyContext, CorporealSourceArtifact)} should be overridden instead.
+	 *          {@link #mummifyFile(MummyContext, CorporealSourceArtifact, OutputStream)} should be overridden instead.
 	 * @implSpec If incremental mummification is enabled via {@link MummyContext#isIncremental()}, this version checks the the timestamp of the target file, and
-	 *           delegates to {@link #mummifyFile(MummyContext, CorporealSourceArtifact)} if the file needs regenerated.
-	 * @implSpec This implementation saves the description description if modified by calling {@link #saveTargetDescription(MummyContext, Artifact)}.
+	 *           delegates to {@link #mummifyFile(MummyContext, CorporealSourceArtifact, OutputStream)} if the file needs regenerated.
+	 * @implSpec The file is regenerated into a temporary file, calculating its fingerprint as it is written. If its fingerprint matches that of the previously
+	 *           generated target file, as determined by {@link #findPreviousTargetFingerprint(MummyContext, Artifact)}, the existing target file and its
+	 *           timestamp are left untouched; otherwise the temporary file replaces the target file. The fingerprint of a target file that was not regenerated is
+	 *           reused from the description if present.
+	 * @implSpec In incremental mummification the target file is also regenerated if the context dependency graph indicates that something it depends on has
+	 *           changed. Any dependencies recorded for the target are cleared before it is regenerated, so that only its current dependencies are recorded.
+	 * @implSpec If the description is modified, this implementation updates a copy of the description and saves it by calling
+	 *           {@link #saveTargetDescription(MummyContext, Artifact, UrfResourceDescription)}. The artifact description itself is not modified, as other
+	 *           artifacts may be reading it concurrently; instead the copy is provided to {@link MummyContext#updateResourceDescription(Artifact,
+	 *           UrfResourceDescription)}.
+	 * @implSpec This implementation delegates to {@link #mummify(MummyContext, Artifact, boolean)} without forcing regeneration.
 	 * @throws ClassCastException if the given artifact is not an instance of {@link CorporealSourceArtifact}.
 	 * @see Content#MODIFIED_AT_PROPERTY_TAG
 	 * @see Artifact#PROPERTY_TAG_MUMMY_DESCRIPTION_DIRTY
 	 * @see MummyContext#isIncremental()
 	 * @see MummyContext#isFull()
+	 * @see MummyContext#findDependencyGraph()
 	 */
 	@Override
 	public final void mummify(@Nonnull final MummyContext context, @Nonnull Artifact artifact) throws IOException {
+		mummify(context, artifact, false);
+	}
+
+	/**
+	 * Mummifies a file artifact, optionally forcing its target file to be regenerated even if it appears to be up to date. This allows a mummifier to regenerate
+	 * a related artifact, such as an image aspect, without modifying the artifact description to make it appear dirty.
+	 * @apiNote This method cannot be overridden, as it performs necessary checks for incremental mummification.
+	 * @implSpec See {@link #mummify(MummyContext, Artifact)}; if regeneration is forced, the target content is considered dirty regardless of the recorded
+	 *           timestamp or dependencies.
+	 * @param context The context of static site generation.
+	 * @param artifact The artifact being generated
+	 * @param force <code>true</code> if the target file should be regenerated even if incremental mummification would otherwise consider it up to date.
+	 * @throws IOException if there is an I/O error during static site generation.
+	 * @throws ClassCastException if the given artifact is not an instance of {@link CorporealSourceArtifact}.
+	 */
+	protected final void mummify(@Nonnull final MummyContext context, @Nonnull Artifact artifact, final boolean force) throws IOException {
 		getLogger().trace("Mummifying file artifact {} ...", artifact);
 		final Path targetFile = artifact.getTargetPath();
 		final UrfResourceDescription description = artifact.getResourceDescription();
 		final Optional<Instant> oldTargetModifiedAt;
 		final boolean targetContentDirty;
-		if(context.isIncremental()) {
+		if(context.isIncremental() && !force) {
 			oldTargetModifiedAt = exists(targetFile) ? Optional.of(getLastModifiedTime(targetFile).toInstant()) : Optional.empty();
 			targetContentDirty = description.findPropertyValue(Content.MODIFIED_AT_PROPERTY_TAG)
 					.map(modifiedAt -> !isPresentAndEquals(oldTargetModifiedAt, modifiedAt))
 					//if there is no timestamp, we consider the content dirty
-					.orElse(true);
-		} else { //full mummification
+					.orElse(true)
+					//the content is also dirty if anything it depends on, such as a template or navigation, has changed
+					|| context.findDependencyGraph().map(dependencyGraph -> dependencyGraph.isStale(targetFile, context)).orElse(false);
+		} else { //full or forced mummification
 			targetContentDirty = true;
-			oldTargetModifiedAt = Optional.empty(); //no need to check the old target modification timestamp if we're doing full mummification
+			oldTargetModifiedAt = Optional.empty(); //no need to check the old target modification timestamp if we're regenerating regardless
 		}
 		//produce target file if dirty
 		final Instant newTargetModifiedAt;
+		final byte[] newTargetFingerprint;
 		if(targetContentDirty) {
 			final Path parentDirectory = targetFile.getParent();
 			if(parentDirectory != null && !exists(parentDirectory)) { //ensure parent directories exist, as artifact children may specify files several layers deep, e.g. blog posts 
 				createDirectories(parentDirectory);
 			}
-			mummifyFile(context, (CorporealSourceArtifact)artifact);
-			checkState(exists(targetFile), "Mummification of artifact source file `%s` did not produce target file `%s`.", artifact.getSourcePath(), targetFile);
-			getLogger().debug("Mummified file artifact {}.", artifact);
+			final Optional<byte[]> previousTargetFingerprint = findPreviousTargetFingerprint(context, artifact);
+			context.findDependencyGraph().ifPresent(dependencyGraph -> dependencyGraph.clear(targetFile)); //dependencies will be recorded anew during generation
+			//generate into a temporary file in the same directory so that it can be compared with the existing file and atomically moved into place
+			final Path tempFile = createTempFile(parentDirectory, "." + targetFile.getFileName() + "-", TEMP_FILE_SUFFIX);
+			try {
+				final MessageDigest fingerprintDigest = FINGERPRINT_ALGORITHM.getInstance(); //calculate the fingerprint while writing rather than reading the file again
+				try (final OutputStream outputStream = new BufferedOutputStream(new DigestOutputStream(newOutputStream(tempFile), fingerprintDigest))) {
+					mummifyFile(context, (CorporealSourceArtifact)artifact, outputStream);
+				}
+				newTargetFingerprint = fingerprintDigest.digest();
+				if(previousTargetFingerprint.map(fingerprint -> Arrays.equals(fingerprint, newTargetFingerprint)).orElse(false)) {
+					getLogger().debug("Regenerated file artifact {} is unchanged; keeping previously generated target file `{}`.", artifact, targetFile);
+				} else {
+					move(tempFile, targetFile, REPLACE_EXISTING, ATOMIC_MOVE);
+					getLogger().debug("Mummified file artifact {}.", artifact);
+				}
+			} finally {
+				deleteIfExists(tempFile);
+			}
 			newTargetModifiedAt = getLastModifiedTime(targetFile).toInstant();
 		} else {
 			getLogger().debug("Using previously generated target file `{}`.", targetFile);
 			newTargetModifiedAt = oldTargetModifiedAt
 					.orElseThrow(() -> new AssertionError("If the old target timestamp was not present, the target content should have been marked as dirty."));
+			//reuse any existing fingerprint, as checking content dirtiness ensures it is up to date
+			newTargetFingerprint = filterAsInstance(description.findPropertyValue(Content.FINGERPRINT_PROPERTY_TAG), byte[].class).orElse(null);
 		}
 		//produce description file if dirty
 		final boolean targetDescriptionDirty = targetContentDirty //checking content dirtiness inherently covers a missing or out of date target timestamp
@@ -217,29 +319,65 @@ public final void mummify(@Nonnull final MummyContext context, @Nonnull Artifact
 				//require a fingerprint property (checking content dirtiness takes care of outdated fingerprint) 
 				|| !description.hasPropertyValue(Content.FINGERPRINT_PROPERTY_TAG);
 		if(targetDescriptionDirty) {
-			description.setPropertyValue(Content.MODIFIED_AT_PROPERTY_TAG, newTargetModifiedAt); //update the target file timestamp
-			description.setPropertyValue(Content.FINGERPRINT_PROPERTY_TAG, FINGERPRINT_ALGORITHM.digest(targetFile)); //update the target fingerprint
-			description.removeProperty(PROPERTY_TAG_MUMMY_DESCRIPTION_DIRTY); //remove the description dirty flag, if any
+			//update a copy, as other artifacts may be reading the description concurrently, e.g. for navigation
+			final UrfResourceDescription updatedDescription = new UrfObject();
+			for(final Map.Entry<URI, Object> property : description.getProperties()) {
+				updatedDescription.setPropertyValue(property.getKey(), property.getValue());
+			}
+			updatedDescription.setPropertyValue(Content.MODIFIED_AT_PROPERTY_TAG, newTargetModifiedAt); //update the target file timestamp
+			updatedDescription.setPropertyValue(Content.FINGERPRINT_PROPERTY_TAG,
+					newTargetFingerprint != null ? newTargetFingerprint : FINGERPRINT_ALGORITHM.digest(targetFile)); //read the target file only if the fingerprint is unknown
+			updatedDescription.removeProperty(PROPERTY_TAG_MUMMY_DESCRIPTION_DIRTY); //remove the description dirty flag, if any
 			try {
-				saveTargetDescription(context, artifact);
+				saveTargetDescription(context, artifact, updatedDescription);
 			} catch(final IOException ioException) {
 				//If there is any I/O error saving the description, set its dirty flag for completeness
 				//(although its usefulness at this point is questionable).
-				description.setPropertyValue(PROPERTY_TAG_MUMMY_DESCRIPTION_DIRTY, true);
+				updatedDescription.setPropertyValue(PROPERTY_TAG_MUMMY_DESCRIPTION_DIRTY, true);
 				throw ioException;
+			} finally {
+				context.updateResourceDescription(artifact, updatedDescription);
 			}
 		} else {
 			getLogger().debug("Using previously generated target description file `{}`.", getArtifactTargetDescriptionFile(context, artifact));
 		}
 	}
 
+	/** The suffix of the temporary file into which a target file is generated before replacing the existing target file. */
+	private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+	/**
+	 * Retrieves the fingerprint of the target file generated in a previous mummification, if it is still present and unmodified.
+	 * @implSpec This implementation retrieves the fingerprint from the target description file, but only if the target modification timestamp recorded there
+	 *           matches that of the existing target file.
+	 * @param context The context of static site generation.
+	 * @param artifact The artifact being generated.
+	 * @return The fingerprint of the existing target file, if known.
+	 * @throws IOException if there is an I/O error retrieving the previous fingerprint.
+	 * @see Content#FINGERPRINT_PROPERTY_TAG
+	 */
+	protected Optional<byte[]> findPreviousTargetFingerprint(@Nonnull final MummyContext context, @Nonnull final Artifact artifact) throws IOException {
+		final Path targetFile = artifact.getTargetPath();
+		if(!exists(targetFile)) {
+			return Optional.empty();
+		}
+		final Instant targetModifiedAt = getLastModifiedTime(targetFile).toInstant();
+		return loadArtifactTargetDescription(context, targetFile)
+				.filter(description -> description.findPropertyValue(Content.MODIFIED_AT_PROPERTY_TAG).map(targetModifiedAt::equals).orElse(false))
+				.flatMap(description -> filterAsInstance(description.findPropertyValue(Content.FINGERPRINT_PROPERTY_TAG), byte[].class));
+	}
+
 	/**
 	 * Invariably mummifies a resource to a file in the presence of a context artifact, which may or may not be the same as the artifact itself. Mummification is
 	 * always performed, regardless of the state of metadata.
+	 * @apiNote The content is written to the given output stream rather than to the artifact target path, so that the caller may avoid replacing the target file
+	 *          if the generated content is unchanged.
 	 * @param context The context of static site generation.
 	 * @param artifact The artifact being generated.
+	 * @param outputStream The output stream to which the generated content should be written; it should not be closed by this method.
 	 * @throws IOException if there is an I/O error during mummification.
 	 */
-	protected abstract void mummifyFile(@Nonnull final MummyContext context, @Nonnull CorporealSourceArtifact artifact) throws IOException;
+	protected abstract void mummifyFile(@Nonnull final MummyContext context, @Nonnull CorporealSourceArtifact artifact, @Nonnull OutputStream outputStream)
+			throws IOException;
 
 }
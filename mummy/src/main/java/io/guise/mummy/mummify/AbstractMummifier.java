@@ -86,14 +86,20 @@ protected Path getArtifactTargetDescriptionFile(final @Nonnull MummyContext cont
 
 	/**
 	 * Loads the generated target description of an artifact based upon its target path.
+	 * @implSpec If the context has a build state store, the description is retrieved from the store; otherwise it is loaded from the target description file.
 	 * @param context The context of static site generation.
 	 * @param targetPath The path in the site target directory (not the path of the target description itself).
 	 * @throws IllegalArgumentException if the given target path is not in the site target tree.
 	 * @return The generated target description, if present, of the resource being mummified.
 	 * @throws IOException if there is an I/O error retrieving the description, including if the metadata is invalid.
 	 * @see #getArtifactTargetDescriptionFile(MummyContext, Path)
+	 * @see MummyContext#findBuildStateStore()
 	 */
 	protected Optional<UrfResourceDescription> loadArtifactTargetDescription(@Nonnull MummyContext context, @Nonnull final Path targetPath) throws IOException {
+		final Optional<BuildStateStore> buildStateStore = context.findBuildStateStore();
+		if(buildStateStore.isPresent()) {
+			return buildStateStore.get().findDescription(targetPath);
+		}
 		final Path descriptionFile = getArtifactTargetDescriptionFile(context, targetPath);
 		if(!isRegularFile(descriptionFile)) {
 			return Optional.empty();
@@ -106,14 +112,39 @@ protected Optional<UrfResourceDescription> loadArtifactTargetDescription(@Nonnul
 
 	/**
 	 * Saves an artifact's description as-is with no modifications.
+	 * @implSpec This implementation delegates to {@link #saveTargetDescription(MummyContext, Artifact, UrfResourceDescription)}.
 	 * @param context The context of static site generation.
 	 * @param artifact The artifact being generated
 	 * @throws IOException if there is an I/O error saving the description.
 	 * @see #getArtifactTargetDescriptionFile(MummyContext, Artifact)
 	 * @see GuiseMummy#CONFIG_KEY_MUMMY_TEXT_OUTPUT_LINE_SEPARATOR
+	 * @see MummyContext#findBuildStateStore()
 	 */
 	protected void saveTargetDescription(@Nonnull final MummyContext context, @Nonnull Artifact artifact) throws IOException {
-		final UrfResourceDescription description = artifact.getResourceDescription();
+		saveTargetDescription(context, artifact, artifact.getResourceDescription());
+	}
+
+	/**
+	 * Saves a description as the description of an artifact, such as an updated copy of the artifact's description, with no modifications.
+	 * @implSpec If the context has a build state store, the description is placed in the store, and the target description file is only written if
+	 *           {@value GuiseMummy#CONFIG_KEY_MUMMY_BUILD_STATE_EXPORT_SIDECARS} is enabled, as it is by default.
+	 * @param context The context of static site generation.
+	 * @param artifact The artifact being generated
+	 * @param description The description to save for the artifact.
+	 * @throws IOException if there is an I/O error saving the description.
+	 * @see #getArtifactTargetDescriptionFile(MummyContext, Artifact)
+	 * @see GuiseMummy#CONFIG_KEY_MUMMY_TEXT_OUTPUT_LINE_SEPARATOR
+	 * @see MummyContext#findBuildStateStore()
+	 */
+	protected void saveTargetDescription(@Nonnull final MummyContext context, @Nonnull Artifact artifact, @Nonnull final UrfResourceDescription description)
+			throws IOException {
+		final Optional<BuildStateStore> buildStateStore = context.findBuildStateStore();
+		if(buildStateStore.isPresent()) {
+			buildStateStore.get().putDescription(artifact.getTargetPath(), description);
+			if(!context.getConfiguration().findBoolean(CONFIG_KEY_MUMMY_BUILD_STATE_EXPORT_SIDECARS).orElse(true)) {
+				return;
+			}
+		}
 		final Path descriptionFile = getArtifactTargetDescriptionFile(context, artifact);
 		//create parent directory as needed
 		final Path descriptionTargetParentPath = descriptionFile.getParent();
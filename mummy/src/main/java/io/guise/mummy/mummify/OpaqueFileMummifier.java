@@ -17,7 +17,6 @@
 package io.guise.mummy.mummify;
 
 import static com.globalmentor.io.Files.*;
-import static java.nio.file.StandardCopyOption.*;
 import static java.util.Collections.*;
 
 import java.io.*;
@@ -65,10 +64,10 @@ protected List<Entry<URI, Object>> loadSourceMetadata(MummyContext context, Path
 	 * @implSpec This implementation merely copies the file with no further action.
 	 */
 	@Override
-	public void mummifyFile(final MummyContext context, final CorporealSourceArtifact artifact) throws IOException {
+	public void mummifyFile(final MummyContext context, final CorporealSourceArtifact artifact, final OutputStream outputStream) throws IOException {
 		final Path sourceFile = artifact.getSourcePath();
 		checkArgumentRegularFile(sourceFile);
-		Files.copy(sourceFile, artifact.getTargetPath(), REPLACE_EXISTING);
+		Files.copy(sourceFile, outputStream);
 	}
 
 }
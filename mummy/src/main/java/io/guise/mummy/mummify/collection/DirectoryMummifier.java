@@ -32,11 +32,14 @@
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.regex.*;
 import java.util.stream.Stream;
 
 import javax.annotation.*;
 
+import org.zalando.fauxpas.ThrowingSupplier;
+
 import com.globalmentor.html.spec.HTML;
 import com.globalmentor.io.Filenames;
 import com.globalmentor.net.MediaType;
@@ -118,6 +121,8 @@ protected Path getArtifactTargetDescriptionFile(final MummyContext context, fina
 	/**
 	 * {@inheritDoc}
 	 * @implSpec This implementation recursively discovers and describes an artifacts for all its children.
+	 * @implSpec If this method is called from within a {@link ForkJoinPool}, the child artifacts are planned concurrently, each child directory in turn
+	 *           planning its own children concurrently. The resulting child artifacts are nevertheless always in the order in which they were discovered.
 	 * @see GuiseMummy#CONFIG_KEY_MUMMY_COLLECTION_CONTENT_BASE_NAMES
 	 */
 	@Override
@@ -171,28 +176,40 @@ public DirectoryArtifact plan(final MummyContext context, final Path sourceDirec
 
 		//discover and plan the child artifacts
 		final Pattern assetNamePattern = context.getConfiguration().getObject(CONFIG_KEY_MUMMY_ASSET_NAME_PATTERN, Pattern.class);
-		final List<Artifact> childArtifacts = new ArrayList<>();
+		final List<ThrowingSupplier<Artifact, IOException>> childPlanners = new ArrayList<>();
 		try (final Stream<Path> childPaths = list(sourceDirectory).filter(not(context::isIgnore))) {
-			childPaths.forEach(throwingConsumer(childSourcePath -> {
+			childPaths.forEach(childSourcePath -> {
 				if(!isPresentAndEquals(discoveredContentFile, childSourcePath)) { //skip the content file, if any
-					final SourcePathMummifier registeredChildMummifier = context.getMummifierForSourcePath(childSourcePath);
-					assert childSourcePath.getFileName() != null;
-					final String childSourceFilename = childSourcePath.getFileName().toString();
-					//for assets or paths an an asset tree, don't mummify any pages
-					final SourcePathMummifier childMummifier;
-					if((registeredChildMummifier instanceof PageMummifier) && (isAssetSourceDirectoryTree || assetNamePattern.matcher(childSourceFilename).matches())) {
-						childMummifier = context.getDefaultSourcePathMummifier(childSourcePath);
-					} else {
-						childMummifier = registeredChildMummifier;
-					}
-					final Path childTargetPath = planChildArtifactTargetPath(context, targetDirectory, childSourceFilename, childMummifier, isAssetSourceDirectoryTree);
-					final Artifact childArtifact = childMummifier.plan(context, childSourcePath, childTargetPath);
+					childPlanners.add(() -> {
+						final SourcePathMummifier registeredChildMummifier = context.getMummifierForSourcePath(childSourcePath);
+						assert childSourcePath.getFileName() != null;
+						final String childSourceFilename = childSourcePath.getFileName().toString();
+						//for assets or paths an an asset tree, don't mummify any pages
+						final SourcePathMummifier childMummifier;
+						if((registeredChildMummifier instanceof PageMummifier) && (isAssetSourceDirectoryTree || assetNamePattern.matcher(childSourceFilename).matches())) {
+							childMummifier = context.getDefaultSourcePathMummifier(childSourcePath);
+						} else {
+							childMummifier = registeredChildMummifier;
+						}
+						final Path childTargetPath = planChildArtifactTargetPath(context, targetDirectory, childSourceFilename, childMummifier,
+								isAssetSourceDirectoryTree);
 
-					//TODO add error handling here with a better error
+						//TODO add error handling here with a better error
 
-					childArtifacts.add(childArtifact);
+						return childMummifier.plan(context, childSourcePath, childTargetPath);
+					});
 				}
-			}));
+			});
+		}
+		//plan the children concurrently if we are running in a fork/join pool; in either case the child artifacts remain in discovery order
+		final List<Artifact> childArtifacts;
+		if(ForkJoinTask.inForkJoinPool()) {
+			childArtifacts = invokeAllInOrder(childPlanners);
+		} else {
+			childArtifacts = new ArrayList<>(childPlanners.size());
+			for(final ThrowingSupplier<Artifact, IOException> childPlanner : childPlanners) {
+				childArtifacts.add(childPlanner.tryGet());
+			}
 		}
 		return new DirectoryArtifact(this, sourceDirectory, targetDirectory, contentArtifact, childArtifacts);
 	}
@@ -342,6 +359,8 @@ protected Path planChildArtifactTargetPath(@Nonnull final MummyContext context,
 	/**
 	 * {@inheritDoc}
 	 * @implSpec This implementation saves the description description if modified by calling {@link #saveTargetDescription(MummyContext, Artifact)}.
+	 * @implSpec If this method is called from within a {@link ForkJoinPool}, the child artifacts are mummified concurrently using
+	 *           {@link #mummifyChildArtifactsParallel(MummyContext, Collection)}; otherwise they are mummified sequentially in order.
 	 */
 	@Override
 	public void mummify(final MummyContext context, final Artifact artifact) throws IOException {
@@ -367,9 +386,71 @@ public void mummify(final MummyContext context, final Artifact artifact) throws
 		}));
 
 		//mummify each child artifact
-		for(final Artifact childArtifact : directoryArtifact.getChildArtifacts()) {
-			childArtifact.getMummifier().mummify(context, childArtifact);
+		if(ForkJoinTask.inForkJoinPool()) {
+			mummifyChildArtifactsParallel(context, directoryArtifact.getChildArtifacts());
+		} else {
+			for(final Artifact childArtifact : directoryArtifact.getChildArtifacts()) {
+				childArtifact.getMummifier().mummify(context, childArtifact);
+			}
+		}
+	}
+
+	/**
+	 * Mummifies child artifacts concurrently as tasks in the current fork/join pool. Child artifact subtrees are independent of each other, so each child is
+	 * forked as a separate task; any directory child will in turn fork its own children.
+	 * @apiNote This method must only be called from within a {@link ForkJoinPool}.
+	 * @implSpec This implementation delegates to {@link #invokeAllInOrder(List)}.
+	 * @param context The context of static site generation.
+	 * @param childArtifacts The child artifacts to mummify.
+	 * @throws IOException if there is an I/O error mummifying one of the child artifacts.
+	 * @see GuiseMummy#CONFIG_KEY_MUMMY_PARALLELISM
+	 */
+	protected void mummifyChildArtifactsParallel(@Nonnull final MummyContext context, @Nonnull final Collection<Artifact> childArtifacts) throws IOException {
+		final List<ThrowingSupplier<Void, IOException>> childMummifications = new ArrayList<>(childArtifacts.size());
+		for(final Artifact childArtifact : childArtifacts) {
+			childMummifications.add(() -> {
+				childArtifact.getMummifier().mummify(context, childArtifact);
+				return null;
+			});
+		}
+		invokeAllInOrder(childMummifications);
+	}
+
+	/**
+	 * Forks each of the given operations as a task in the current fork/join pool and collects the results.
+	 * @apiNote This method must only be called from within a {@link ForkJoinPool}.
+	 * @implSpec This implementation joins the tasks in the order given. If a task fails, all remaining tasks are cancelled and the failure is rethrown, so that
+	 *           the failure reported is deterministic regardless of thread scheduling.
+	 * @param <T> The type of result produced by each operation.
+	 * @param operations The operations to perform.
+	 * @return The results of the operations, in the same order as the operations.
+	 * @throws IOException if there is an I/O error performing one of the operations.
+	 */
+	protected static <T> List<T> invokeAllInOrder(@Nonnull final List<? extends ThrowingSupplier<T, IOException>> operations) throws IOException {
+		final List<ForkJoinTask<T>> tasks = new ArrayList<>(operations.size());
+		for(final ThrowingSupplier<T, IOException> operation : operations) {
+			final ForkJoinTask<T> task = ForkJoinTask.adapt(() -> {
+				try {
+					return operation.tryGet();
+				} catch(final IOException ioException) {
+					throw new UncheckedIOException(ioException);
+				}
+			});
+			tasks.add(task.fork());
+		}
+		final List<T> results = new ArrayList<>(tasks.size());
+		for(int taskIndex = 0; taskIndex < tasks.size(); taskIndex++) {
+			try {
+				results.add(tasks.get(taskIndex).join());
+			} catch(final RuntimeException | Error throwable) {
+				tasks.subList(taskIndex + 1, tasks.size()).forEach(task -> task.cancel(false)); //fail fast
+				if(throwable instanceof UncheckedIOException) {
+					throw ((UncheckedIOException)throwable).getCause();
+				}
+				throw throwable;
+			}
 		}
+		return results;
 	}
 
 }
@@ -20,24 +20,26 @@
 import static com.globalmentor.io.Images.*;
 import static java.lang.String.format;
 import static java.nio.file.Files.*;
-import static java.nio.file.StandardCopyOption.*;
 import static java.util.Collections.*;
+import static java.util.Objects.*;
 import static java.util.stream.Collectors.*;
 import static javax.imageio.ImageIO.*;
 
-import java.awt.*;
 import java.awt.geom.Dimension2D;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.nio.file.*;
 import java.time.Instant;
 import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.*;
 import javax.imageio.*;
 import javax.imageio.ImageWriter;
 import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.plugins.jpeg.JPEGImageWriteParam;
+import javax.imageio.spi.ImageWriterSpi;
 import javax.imageio.stream.*;
 
 import com.globalmentor.awt.geom.ImmutableDimension2D;
@@ -45,7 +47,7 @@
 import com.globalmentor.java.Objects;
 import com.globalmentor.net.MediaType;
 
-import io.confound.config.Configuration;
+import io.confound.config.*;
 import io.guise.mummy.*;
 import io.urf.model.UrfResourceDescription;
 import io.urf.vocab.content.Content;
@@ -77,6 +79,30 @@ public class DefaultImageMummifier extends BaseImageMummifier {
 	/** @see #CONFIG_KEY_MUMMY_IMAGE_PROCESS_THRESHOLD_FILE_SIZE */
 	public static final long DEFAULT_SCALE_THRESHOLD_FILE_SIZE = 800_000;
 
+	/**
+	 * The ID of the scaler that progressively halves images using bilinear interpolation.
+	 * @see #CONFIG_KEY_MUMMY_IMAGE_SCALER
+	 * @see ProgressiveImageScaler
+	 */
+	public static final String SCALER_ID_PROGRESSIVE = "progressive";
+
+	/**
+	 * The ID of the scaler that uses a separable Lanczos filter.
+	 * @see #CONFIG_KEY_MUMMY_IMAGE_SCALER
+	 * @see LanczosImageScaler
+	 */
+	public static final String SCALER_ID_LANCZOS = "lanczos";
+
+	/**
+	 * The ID of the scaler that uses AWT area averaging.
+	 * @see #CONFIG_KEY_MUMMY_IMAGE_SCALER
+	 * @see SmoothImageScaler
+	 */
+	public static final String SCALER_ID_SMOOTH = "smooth";
+
+	/** @see #CONFIG_KEY_MUMMY_IMAGE_SCALER */
+	public static final String DEFAULT_SCALER_ID = SCALER_ID_PROGRESSIVE;
+
 	/** No-args constructor. */
 	public DefaultImageMummifier() {
 		super(Set.of(GIF_MEDIA_TYPE, JPEG_MEDIA_TYPE, PNG_MEDIA_TYPE));
@@ -100,18 +126,59 @@ protected Artifact createArtifact(final MummyContext context, final Path sourceF
 		return super.createArtifact(context, sourceFile, outputFile, description);
 	}
 
+	/**
+	 * The decoded source images shared with aspects currently being generated, keyed to the aspect artifacts.
+	 * @see #mummifyFile(MummyContext, CorporealSourceArtifact, OutputStream)
+	 */
+	private final Map<Artifact, DecodedImage> aspectDecodedImages = new ConcurrentHashMap<>();
+
+	/**
+	 * Determines the maximum length of each axis when scaling the image for the given artifact, taking into account any image aspect.
+	 * @param context The context of static site generation.
+	 * @param artifact The artifact being generated.
+	 * @return The maximum length in pixels of the width and height of the generated image.
+	 * @see #CONFIG_KEY_MUMMY_IMAGE_SCALE_MAX_LENGTH
+	 * @see #CONFIG_KEY_FORMAT_MUMMY_IMAGE_ASPECT___SCALE_MAX_LENGTH
+	 */
+	protected int getScaleMaxLength(@Nonnull final MummyContext context, @Nonnull final Artifact artifact) {
+		final Optional<String> foundAspect = artifact.getResourceDescription().findPropertyValue(AspectualArtifact.PROPERTY_TAG_MUMMY_ASPECT).map(Object::toString);
+		final String configKeyScaleMaxLength = foundAspect.map(aspect -> format(CONFIG_KEY_FORMAT_MUMMY_IMAGE_ASPECT___SCALE_MAX_LENGTH, aspect))
+				.orElse(CONFIG_KEY_MUMMY_IMAGE_SCALE_MAX_LENGTH);
+		return context.getConfiguration().findInt(configKeyScaleMaxLength).orElse(DEFAULT_SCALE_MAX_LENGTH);
+	}
+
+	/**
+	 * Determines the compression quality to use when writing the image for the given artifact, taking into account any image aspect.
+	 * @param context The context of static site generation.
+	 * @param artifact The artifact being generated.
+	 * @return The compression quality, between 0.0 and 1.0.
+	 * @see #CONFIG_KEY_MUMMY_IMAGE_COMPRESSION_QUALITY
+	 * @see #CONFIG_KEY_FORMAT_MUMMY_IMAGE_ASPECT___COMPRESSION_QUALITY
+	 */
+	protected double getCompressionQuality(@Nonnull final MummyContext context, @Nonnull final Artifact artifact) {
+		final Optional<String> foundAspect = artifact.getResourceDescription().findPropertyValue(AspectualArtifact.PROPERTY_TAG_MUMMY_ASPECT).map(Object::toString);
+		final String configKeyCompressionQuality = foundAspect.map(aspect -> format(CONFIG_KEY_FORMAT_MUMMY_IMAGE_ASPECT___COMPRESSION_QUALITY, aspect))
+				.orElse(CONFIG_KEY_MUMMY_IMAGE_COMPRESSION_QUALITY);
+		return context.getConfiguration().findDouble(configKeyCompressionQuality).orElse(DEFAULT_COMPRESSION_QUALITY);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @implSpec This implementation scales the image in an attempt to reduce the file size if the file size is above a certain threshold.
-	 * @implSpec This implementation delegates to {@link #processImage(MummyContext, Artifact, InputStream, OutputStream, boolean)} for scaling.
+	 * @implSpec This implementation delegates to {@link #decodeImage(InputStream, boolean, int)} for reading the image and to
+	 *           {@link #processImage(MummyContext, Artifact, DecodedImage, OutputStream)} for scaling.
 	 * @implSpec This implementation delegates to
 	 *           {@link #addImageMetadata(org.apache.commons.imaging.common.bytesource.ByteSource, OutputStream, UrfResourceDescription, boolean, String, Instant)}
-	 *           to add metadata to the image after processing.
+	 *           to add metadata to the image after processing, using {@link MummyContext#getGeneratedAt(Artifact)} as the modification time.
+	 * @implSpec The source image is decoded only once for the main image and all its aspects, at a reduced resolution if all of them are much smaller than the
+	 *           source. Aspects are generated in order of decreasing size, each scaled from the smallest image already produced that is still at least as large
+	 *           as the aspect.
 	 */
 	@Override
-	public void mummifyFile(final MummyContext context, final CorporealSourceArtifact artifact) throws IOException {
+	public void mummifyFile(final MummyContext context, final CorporealSourceArtifact artifact, final OutputStream outputStream) throws IOException {
 		final long imageScaleThresholdSize = context.getConfiguration().findLong(CONFIG_KEY_MUMMY_IMAGE_PROCESS_THRESHOLD_FILE_SIZE)
 				.orElse(DEFAULT_SCALE_THRESHOLD_FILE_SIZE);
+		DecodedImage decodedImage = aspectDecodedImages.get(artifact); //if this is an aspect being generated with its main image, the source will already be decoded
 		if(artifact.getSourceSize(context) > imageScaleThresholdSize) { //if the size of the image source file goes over our threshold for scaling
 			final boolean isImageJpeg = artifact.getResourceDescription().findPropertyValue(Content.TYPE_PROPERTY_TAG).flatMap(Objects.asInstance(MediaType.class))
 					.<Boolean>map(Images.JPEG_MEDIA_TYPE::hasBaseType).orElse(false);
@@ -120,13 +187,25 @@ public void mummifyFile(final MummyContext context, final CorporealSourceArtifac
 			final boolean isProcessTerminal = !isPostProcessWriteMetadataSupported; //	//if we don't support writing metadata post-processing, we'll write directly to the file when processing
 
 			//process image
-			final OutputStream processOutputStream;
-			try (final InputStream inputStream = new BufferedInputStream(artifact.openSource(context))) {
-				processOutputStream = isProcessTerminal //remember the stream used for output (even though it will be closed) 
-						? new BufferedOutputStream(newOutputStream(artifact.getTargetPath()))
-						: new TempOutputStream(); //use a TempOutputStream for later use if processing isn't terminal 
-				try (final OutputStream outputStream = processOutputStream) {
-					processImage(context, artifact, inputStream, outputStream, isKeepProcessMetadata);
+			final TempOutputStream tempOutputStream = isProcessTerminal ? null : new TempOutputStream(); //use a TempOutputStream for later use if processing isn't terminal
+			try {
+				if(decodedImage == null) {
+					int decodeMaxLength = getScaleMaxLength(context, artifact); //decode at a resolution sufficient for the largest image that will be generated
+					if(artifact instanceof AspectualArtifact) {
+						for(final Artifact aspectArtifact : ((AspectualArtifact)artifact).getAspects()) {
+							decodeMaxLength = Math.max(decodeMaxLength, getScaleMaxLength(context, aspectArtifact));
+						}
+					}
+					try (final InputStream inputStream = new BufferedInputStream(artifact.openSource(context))) {
+						decodedImage = decodeImage(inputStream, isKeepProcessMetadata, decodeMaxLength);
+					}
+				}
+				if(isProcessTerminal) {
+					processImage(context, artifact, decodedImage, outputStream);
+				} else {
+					try (final OutputStream processOutputStream = tempOutputStream) {
+						processImage(context, artifact, decodedImage, processOutputStream);
+					}
 				}
 			} catch(final IOException ioException) { //provide more context to I/O errors
 				throw new IOException(format("Error processing image `%s`: %s", artifact.getSourcePath(), ioException.getLocalizedMessage()), ioException); //TODO i18n
@@ -135,22 +214,30 @@ public void mummifyFile(final MummyContext context, final CorporealSourceArtifac
 			//add metadata and stream to output file (if supported)
 			if(isPostProcessWriteMetadataSupported) {
 				final boolean sRGB = true; //processing the image with Java Image I/O converts it to sRGB if it wasn't already
-				final TempOutputStream tempOutputStream = (TempOutputStream)processOutputStream;
-				try (final OutputStream outputStream = new BufferedOutputStream(newOutputStream(artifact.getTargetPath()))) {
+				try {
 					addImageMetadata(tempOutputStream.toByteSource(), outputStream, artifact.getResourceDescription(), sRGB, context.getMummifierIdentification(),
-							Instant.now());
+							context.getGeneratedAt(artifact));
 				} catch(final IOException ioException) { //provide more context to I/O errors
 					throw new IOException(format("Error processing image `%s`: %s", artifact.getSourcePath(), ioException.getLocalizedMessage()), ioException); //TODO i18n
 				}
 			}
 		} else {
-			copy(artifact.getSourcePath(), artifact.getTargetPath(), REPLACE_EXISTING); //TODO abstract the copy, here and in OpaqueFileMummifier
+			copy(artifact.getSourcePath(), outputStream); //TODO abstract the copy, here and in OpaqueFileMummifier
 		}
 
 		if(artifact instanceof AspectualArtifact) { //mummify any image aspects TODO generalize within framework
-			for(final Artifact aspectArtifact : ((AspectualArtifact)artifact).getAspects()) {
-				aspectArtifact.getResourceDescription().removeProperty(Content.MODIFIED_AT_PROPERTY_TAG); //use the absence of the `content/modifiedAt` property as a proxy flag to force writing (force the content to be considered dirty)
-				mummify(context, aspectArtifact);
+			//generate the largest aspects first so that smaller aspects can be scaled from them
+			final List<Artifact> aspectArtifacts = ((AspectualArtifact)artifact).getAspects().stream()
+					.sorted(Comparator.<Artifact>comparingInt(aspectArtifact -> getScaleMaxLength(context, aspectArtifact)).reversed()).collect(toList());
+			for(final Artifact aspectArtifact : aspectArtifacts) {
+				if(decodedImage != null) { //share the decoded image with the aspect
+					aspectDecodedImages.put(aspectArtifact, decodedImage);
+				}
+				try {
+					mummify(context, aspectArtifact, true); //the aspect is generated from the image, which has just been regenerated
+				} finally {
+					aspectDecodedImages.remove(aspectArtifact);
+				}
 			}
 		}
 	}
@@ -158,8 +245,8 @@ public void mummifyFile(final MummyContext context, final CorporealSourceArtifac
 	/**
 	 * Processes an image from the given input stream and writes the processed image to the given output stream. Image aspect are recognized and processed
 	 * accordingly.
-	 * @implSpec This implementation scales an image using the AWT to draw on a scaled image using bicubic interpolation and quality-biased rendering.
-	 * @implSpec This implementation preserves no metadata.
+	 * @implSpec This implementation delegates to {@link #decodeImage(InputStream, boolean, int)} and then to
+	 *           {@link #processImage(MummyContext, Artifact, DecodedImage, OutputStream)}.
 	 * @param context The context of static site generation.
 	 * @param artifact The artifact being generated.
 	 * @param inputStream The input stream for reading the source image.
@@ -167,74 +254,117 @@ public void mummifyFile(final MummyContext context, final CorporealSourceArtifac
 	 * @param keepMetadata <code>true</code> if the metadata in the original image should be maintained, or <code>false</code> if all metadata should be discarded
 	 *          during processing.
 	 * @throws IOException if there is an I/O error during image processing.
-	 * @see <a href="http://www.hanhuy.com/pfn/java-image-thumbnail-comparison">A comparison of Java image thumbnailing techniques</a>
-	 * @see <a href="https://www.universalwebservices.net/web-programming-resources/java/adjust-jpeg-image-compression-quality-when-saving-images-in-java/">Adjust
-	 *      JPEG image compression quality when saving images in Java</a>
 	 * @see AspectualArtifact#PROPERTY_TAG_MUMMY_ASPECT
 	 */
 	protected void processImage(@Nonnull final MummyContext context, @Nonnull Artifact artifact, final InputStream inputStream, final OutputStream outputStream,
 			final boolean keepMetadata) throws IOException {
-		final Optional<String> foundAspect = artifact.getResourceDescription().findPropertyValue(AspectualArtifact.PROPERTY_TAG_MUMMY_ASPECT).map(Object::toString);
-		//determine the correct configuration keys based upon the aspect, if any
-		final String configKeyScaleMaxLength = foundAspect.map(aspect -> format(CONFIG_KEY_FORMAT_MUMMY_IMAGE_ASPECT___SCALE_MAX_LENGTH, aspect))
-				.orElse(CONFIG_KEY_MUMMY_IMAGE_SCALE_MAX_LENGTH);
-		final String configKeyCompressionQuality = foundAspect.map(aspect -> format(CONFIG_KEY_FORMAT_MUMMY_IMAGE_ASPECT___COMPRESSION_QUALITY, aspect))
-				.orElse(CONFIG_KEY_MUMMY_IMAGE_COMPRESSION_QUALITY);
+		processImage(context, artifact, decodeImage(inputStream, keepMetadata, getScaleMaxLength(context, artifact)), outputStream);
+	}
 
+	/**
+	 * Decodes an image from the given input stream, subsampling the source if the image will only be used to generate images much smaller than the source.
+	 * @implSpec This implementation reads the image dimensions before decoding, and uses {@link ImageReadParam#setSourceSubsampling(int, int, int, int)} with
+	 *           the factor determined by {@link #getSourceSubsampling(int, int, int)}.
+	 * @param inputStream The input stream for reading the source image.
+	 * @param keepMetadata <code>true</code> if the metadata in the original image should be maintained, or <code>false</code> if all metadata should be discarded
+	 *          during processing.
+	 * @param maxLength The maximum length in pixels of the width and height of any image that will be generated from the decoded image.
+	 * @return The decoded image.
+	 * @throws IOException if there is an I/O error decoding the image.
+	 */
+	protected DecodedImage decodeImage(@Nonnull final InputStream inputStream, final boolean keepMetadata, final int maxLength) throws IOException {
 		final int imageIndex = 0; //this processing logic assumes that that the first image is the one being processed
-
-		//load
 		final ImageInputStream imageInputStream = createImageInputStream(inputStream); //this stream will not be closed in this method, as it wraps a stream provided by the caller
 		if(imageInputStream == null) {
 			throw new IOException("No suitable image input stream service provider found.");
 		}
-		final BufferedImage oldImage; //read the first of the images
-		final IIOMetadata oldImageMetadata;
-		final ImageWriter imageWriter; //determine the writer based on the reader, so we do that while the reader is still valid
-		{ //use the reader in a separate scope to keep it from being accidentally used after it is disposed
-			final ImageReader imageReader = findNext(getImageReaders(imageInputStream)) //use the first available image reader
-					.orElseThrow(() -> new IOException("No service provider image reader available."));
+		final ImageReader imageReader = findNext(getImageReaders(imageInputStream)) //use the first available image reader
+				.orElseThrow(() -> new IOException("No service provider image reader available."));
+		try {
+			final ImageReadParam imageReadParam = imageReader.getDefaultReadParam();
+			imageReader.setInput(imageInputStream, true, !keepMetadata); //tell the image reader to read from the image input stream, ignoring metadata if we shouldn't keep metadata
+			final int width = imageReader.getWidth(imageIndex); //only the header is needed to determine the dimensions
+			final int height = imageReader.getHeight(imageIndex);
+			final int subsampling = getSourceSubsampling(width, height, maxLength);
+			if(subsampling > 1) {
+				imageReadParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+			}
+			final BufferedImage image = imageReader.read(imageIndex, imageReadParam); //tell the image reader to read the image
+			final IIOMetadata imageMetadata = keepMetadata ? imageReader.getImageMetadata(imageIndex) : null; //get any metadata associated with the image if we have been asked to keep it
+			final ImageWriter imageWriter = getImageWriter(imageReader); //determine the writer based on the reader, so we do that while the reader is still valid
 			try {
-				final ImageReadParam imageReadParam = imageReader.getDefaultReadParam();
-				imageReader.setInput(imageInputStream, true, !keepMetadata); //tell the image reader to read from the image input stream, ignoring metadata if we shouldn't keep metadata
-				oldImage = imageReader.read(imageIndex, imageReadParam); //tell the image reader to read the image
-				oldImageMetadata = keepMetadata ? imageReader.getImageMetadata(imageIndex) : null; //get any metadata associated with the image if we have been asked to keep it
-				imageWriter = getImageWriter(imageReader); //get an image writer that corresponds to the reader
+				return new DecodedImage(image, width, height, imageMetadata, imageWriter.getOriginatingProvider());
 			} finally {
-				imageReader.dispose(); //tell the image reader we don't need it any more
+				imageWriter.dispose(); //we only need the writer's service provider; a new writer will be created for each image written
 			}
+		} finally {
+			imageReader.dispose(); //tell the image reader we don't need it any more
+		}
+	}
+
+	/**
+	 * Determines the factor by which an image may be subsampled when decoding, given the largest image that will be generated from it.
+	 * @apiNote Subsampling picks individual source pixels rather than averaging them, so the decoded image is kept at least twice as large as any generated image
+	 *          to leave the scaler enough pixels to filter out aliasing.
+	 * @param width The width of the source image.
+	 * @param height The height of the source image.
+	 * @param maxLength The maximum length in pixels of the width and height of any image that will be generated.
+	 * @return The largest power of two by which the source may be subsampled along each axis; <code>1</code> if the source should not be subsampled.
+	 */
+	protected static int getSourceSubsampling(final int width, final int height, final int maxLength) {
+		if(width <= maxLength && height <= maxLength) { //if the image won't be scaled, use all the pixels
+			return 1;
+		}
+		final Dimension2D scaledDimensions = ImmutableDimension2D.of(width, height).constrainedBy(maxLength, maxLength);
+		final long minWidth = 2L * (long)Math.ceil(scaledDimensions.getWidth());
+		final long minHeight = 2L * (long)Math.ceil(scaledDimensions.getHeight());
+		int subsampling = 1;
+		while(width / (subsampling * 2) >= minWidth && height / (subsampling * 2) >= minHeight) {
+			subsampling *= 2;
 		}
+		return subsampling;
+	}
+
+	/**
+	 * Processes a decoded image and writes the processed image to the given output stream. Image aspect are recognized and processed accordingly.
+	 * @implSpec This implementation scales the image from the smallest image already produced from the decoded image that is still at least as large as the
+	 *           target size, and records the scaled image in the decoded image for later use by smaller aspects.
+	 * @implSpec This implementation delegates to the {@link ImageScaler} returned by {@link #getImageScaler(MummyContext)} for scaling.
+	 * @implSpec This implementation preserves no metadata other than any kept when decoding.
+	 * @param context The context of static site generation.
+	 * @param artifact The artifact being generated.
+	 * @param decodedImage The decoded source image.
+	 * @param outputStream The output stream for writing the target image.
+	 * @throws IOException if there is an I/O error during image processing.
+	 * @see <a href="https://www.universalwebservices.net/web-programming-resources/java/adjust-jpeg-image-compression-quality-when-saving-images-in-java/">Adjust
+	 *      JPEG image compression quality when saving images in Java</a>
+	 * @see AspectualArtifact#PROPERTY_TAG_MUMMY_ASPECT
+	 */
+	protected void processImage(@Nonnull final MummyContext context, @Nonnull Artifact artifact, @Nonnull final DecodedImage decodedImage,
+			final OutputStream outputStream) throws IOException {
 
 		//scale
-		final int scaleMaxLength = context.getConfiguration().findInt(configKeyScaleMaxLength).orElse(DEFAULT_SCALE_MAX_LENGTH);
-		final int oldWidth = oldImage.getWidth();
-		final int oldHeight = oldImage.getHeight();
+		final int scaleMaxLength = getScaleMaxLength(context, artifact);
+		final int oldWidth = decodedImage.getOriginalWidth();
+		final int oldHeight = decodedImage.getOriginalHeight();
 		final BufferedImage newImage;
 		if(oldWidth > scaleMaxLength || oldHeight > scaleMaxLength) { //if this image needs scaled
 			final Dimension2D scaledDimensions = ImmutableDimension2D.of(oldWidth, oldHeight).constrainedBy(scaleMaxLength, scaleMaxLength);
 			final int newWidth = (int)scaledDimensions.getWidth(); //take the floor value; don't round up to prevent going outside the constraining dimensions
 			final int newHeight = (int)scaledDimensions.getHeight();
-
-			//this technique, modified from http://www.hanhuy.com/pfn/java-image-thumbnail-comparison , produces images virtually identical to JAI subsample average but is really slow---but leaves no black lines like the current JAI
-			final Image scaledImage = oldImage.getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
-			final int oldImageType = oldImage.getType();
-			final int newImageType = oldImageType != BufferedImage.TYPE_CUSTOM ? oldImageType //use the existing image type if it isn't custom
-					: (oldImage.getTransparency() == Transparency.OPAQUE) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB; //otherwise use RGB unless ARGB is needed for transparency
-			newImage = new BufferedImage(newWidth, newHeight, newImageType);
-			final Graphics2D graphics = newImage.createGraphics();
-			try {
-				graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-				graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-				graphics.drawImage(scaledImage, null, null);
-			} finally {
-				graphics.dispose();
+			final BufferedImage sourceImage = decodedImage.getSmallestImageCovering(newWidth, newHeight);
+			if(sourceImage.getWidth() == newWidth && sourceImage.getHeight() == newHeight) { //another aspect may have already produced this size
+				newImage = sourceImage;
+			} else {
+				newImage = getImageScaler(context).scale(sourceImage, newWidth, newHeight);
+				decodedImage.addScaledImage(newImage);
 			}
-			scaledImage.flush();
 		} else { //if the image doesn't need scaled
-			newImage = oldImage; //use the original image unchanged
+			newImage = decodedImage.getImage(); //use the original image unchanged
 		}
 
 		//write
+		final ImageWriter imageWriter = decodedImage.getImageWriterProvider().createWriterInstance();
 		try {
 			final ImageWriteParam imageWriteParam = imageWriter.getDefaultWriteParam(); //get default parameters for writing the image
 			if(imageWriteParam.canWriteCompressed()) { //if the writer can compress images (if we don't do this check, an exception will be thrown if the image writer doesn't support compression, e.g. for PNG files)
@@ -243,7 +373,7 @@ protected void processImage(@Nonnull final MummyContext context, @Nonnull Artifa
 				if(compressionTypes != null && compressionTypes.length > 0) { //if there are compression types, one must be set or an error will be thrown; for example, a GIF provides compression types "LZW" and "lzw"
 					imageWriteParam.setCompressionType(compressionTypes[0]); //use the first available compression type
 				}
-				imageWriteParam.setCompressionQuality((float)context.getConfiguration().findDouble(configKeyCompressionQuality).orElse(DEFAULT_COMPRESSION_QUALITY));
+				imageWriteParam.setCompressionQuality((float)getCompressionQuality(context, artifact));
 				if(imageWriteParam instanceof JPEGImageWriteParam) {
 					//Important: Optimize the Huffman tables (guaranteeing Huffman tables) as a workaround to avoid a
 					//"javax.imageio.IIOException: Missing Huffman code table entry" inside JPEGImageWriter.writeImage()
@@ -256,11 +386,133 @@ protected void processImage(@Nonnull final MummyContext context, @Nonnull Artifa
 				throw new IOException("No suitable image output stream service provider found.");
 			}
 			imageWriter.setOutput(imageOutputStream); //tell the image writer to write to the image output stream
-			final IIOImage iioImage = new IIOImage(newImage, null, oldImageMetadata); //write with no thumbnails, but try to keep metadata (if we read and kept any)
+			final IIOImage iioImage = new IIOImage(newImage, null, decodedImage.getImageMetadata()); //write with no thumbnails, but try to keep metadata (if we read and kept any)
 			imageWriter.write(null, iioImage, imageWriteParam); //tell the image writer to read the image using the custom parameters
 		} finally {
 			imageWriter.dispose(); //tell the image writer we don't need it any more
 		}
 	}
 
+	/**
+	 * Determines the image scaler to use.
+	 * @param context The context of static site generation.
+	 * @return The configured image scaler.
+	 * @throws ConfigurationException if the configured scaler ID is not recognized.
+	 * @see #CONFIG_KEY_MUMMY_IMAGE_SCALER
+	 */
+	protected ImageScaler getImageScaler(@Nonnull final MummyContext context) throws ConfigurationException {
+		final String scalerId = context.getConfiguration().findString(CONFIG_KEY_MUMMY_IMAGE_SCALER).orElse(DEFAULT_SCALER_ID);
+		switch(scalerId) {
+			case SCALER_ID_PROGRESSIVE:
+				return ProgressiveImageScaler.INSTANCE;
+			case SCALER_ID_LANCZOS:
+				return LanczosImageScaler.INSTANCE;
+			case SCALER_ID_SMOOTH:
+				return SmoothImageScaler.INSTANCE;
+			default:
+				throw new ConfigurationException(format("Unknown image scaler `%s`.", scalerId)); //TODO i18n
+		}
+	}
+
+	/**
+	 * A source image that has been decoded, along with the images that have been scaled from it so far.
+	 * @apiNote This allows a single decoded source image to be shared among the main image and its aspects, with each smaller image scaled from the closest
+	 *          larger image already produced.
+	 * @implSpec This class is not thread-safe.
+	 * @author Garret Wilson
+	 */
+	protected static class DecodedImage {
+
+		private final BufferedImage image;
+
+		/** @return The image as originally decoded. */
+		public BufferedImage getImage() {
+			return image;
+		}
+
+		private final int originalWidth;
+
+		/** @return The width of the source image in pixels. */
+		public int getOriginalWidth() {
+			return originalWidth;
+		}
+
+		private final int originalHeight;
+
+		/** @return The height of the source image in pixels. */
+		public int getOriginalHeight() {
+			return originalHeight;
+		}
+
+		@Nullable
+		private final IIOMetadata imageMetadata;
+
+		/** @return The metadata of the source image if it was kept, or <code>null</code> if no metadata was kept. */
+		public @Nullable IIOMetadata getImageMetadata() {
+			return imageMetadata;
+		}
+
+		private final ImageWriterSpi imageWriterProvider;
+
+		/** @return The service provider for creating writers corresponding to the format of the source image. */
+		public ImageWriterSpi getImageWriterProvider() {
+			return imageWriterProvider;
+		}
+
+		/** The images scaled so far from the decoded image. */
+		private final List<BufferedImage> scaledImages = new ArrayList<>();
+
+		/**
+		 * Constructor in which the original dimensions are those of the decoded image.
+		 * @param image The decoded image.
+		 * @param imageMetadata The metadata of the source image if it was kept, or <code>null</code> if no metadata was kept.
+		 * @param imageWriterProvider The service provider for creating writers corresponding to the format of the source image.
+		 */
+		public DecodedImage(@Nonnull final BufferedImage image, @Nullable final IIOMetadata imageMetadata, @Nonnull final ImageWriterSpi imageWriterProvider) {
+			this(image, image.getWidth(), image.getHeight(), imageMetadata, imageWriterProvider);
+		}
+
+		/**
+		 * Constructor.
+		 * @param image The decoded image, which may have been decoded at a reduced size.
+		 * @param originalWidth The width of the source image in pixels.
+		 * @param originalHeight The height of the source image in pixels.
+		 * @param imageMetadata The metadata of the source image if it was kept, or <code>null</code> if no metadata was kept.
+		 * @param imageWriterProvider The service provider for creating writers corresponding to the format of the source image.
+		 */
+		public DecodedImage(@Nonnull final BufferedImage image, final int originalWidth, final int originalHeight, @Nullable final IIOMetadata imageMetadata,
+				@Nonnull final ImageWriterSpi imageWriterProvider) {
+			this.image = requireNonNull(image);
+			this.originalWidth = originalWidth;
+			this.originalHeight = originalHeight;
+			this.imageMetadata = imageMetadata;
+			this.imageWriterProvider = requireNonNull(imageWriterProvider);
+		}
+
+		/**
+		 * Records an image scaled from the decoded image, so that it may serve as a source for scaling smaller images.
+		 * @param scaledImage The scaled image.
+		 */
+		public void addScaledImage(@Nonnull final BufferedImage scaledImage) {
+			scaledImages.add(requireNonNull(scaledImage));
+		}
+
+		/**
+		 * Returns the smallest image available, either the decoded image or one of the images scaled from it, that is at least as large as the given dimensions.
+		 * @param width The minimum width in pixels.
+		 * @param height The minimum height in pixels.
+		 * @return The smallest available image covering the given dimensions; the decoded image if no scaled image is large enough.
+		 */
+		public BufferedImage getSmallestImageCovering(final int width, final int height) {
+			BufferedImage smallestImage = image;
+			for(final BufferedImage scaledImage : scaledImages) {
+				if(scaledImage.getWidth() >= width && scaledImage.getHeight() >= height
+						&& (long)scaledImage.getWidth() * scaledImage.getHeight() < (long)smallestImage.getWidth() * smallestImage.getHeight()) {
+					smallestImage = scaledImage;
+				}
+			}
+			return smallestImage;
+		}
+
+	}
 }
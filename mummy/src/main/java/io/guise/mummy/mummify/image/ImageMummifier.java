@@ -33,6 +33,12 @@ public interface ImageMummifier extends Mummifier {
 	/** The configuration indicating the maximum integer length in pixels of each axis (width and height) when scaling images. */
 	public static final String CONFIG_KEY_MUMMY_IMAGE_SCALE_MAX_LENGTH = "mummy.image.scaleMaxLength";
 
+	/**
+	 * The configuration indicating the ID of the algorithm to use when scaling images: <code>"progressive"</code>, <code>"lanczos"</code>, or
+	 * <code>"smooth"</code>.
+	 */
+	public static final String CONFIG_KEY_MUMMY_IMAGE_SCALER = "mummy.image.scaler";
+
 	/** The configuration indicating the aspects (by string IDs) to generate for processed images. */
 	public static final String CONFIG_KEY_MUMMY_IMAGE_WITH_ASPECTS = "mummy.image.withAspects";
 
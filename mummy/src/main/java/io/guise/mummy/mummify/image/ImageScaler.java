@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.guise.mummy.mummify.image;
+
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+import javax.annotation.*;
+
+/**
+ * Strategy for resampling an image to new dimensions.
+ * @apiNote Implementations should be thread-safe, as a single scaler may be used to scale several images concurrently.
+ * @author Garret Wilson
+ */
+public interface ImageScaler {
+
+	/**
+	 * Scales an image to the given dimensions.
+	 * @apiNote The given image is not modified.
+	 * @param image The image to scale.
+	 * @param newWidth The width of the scaled image.
+	 * @param newHeight The height of the scaled image.
+	 * @return A new image scaled to the given dimensions.
+	 * @throws IllegalArgumentException if the given width or height is not positive.
+	 */
+	BufferedImage scale(@Nonnull BufferedImage image, int newWidth, int newHeight);
+
+	/**
+	 * Determines the type of image to create for holding a scaled version of the given image.
+	 * @param image The image being scaled.
+	 * @return The type of the given image if it isn't custom; otherwise {@link BufferedImage#TYPE_INT_RGB} for opaque images, or
+	 *         {@link BufferedImage#TYPE_INT_ARGB} for images that need transparency.
+	 */
+	static int getScaledImageType(@Nonnull final BufferedImage image) {
+		final int imageType = image.getType();
+		return imageType != BufferedImage.TYPE_CUSTOM ? imageType //use the existing image type if it isn't custom
+				: (image.getTransparency() == Transparency.OPAQUE) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB; //otherwise use RGB unless ARGB is needed for transparency
+	}
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.guise.mummy.mummify.image;
+
+import static com.globalmentor.java.Conditions.*;
+import static java.lang.Math.*;
+
+import java.awt.image.*;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import javax.annotation.*;
+
+/**
+ * Image scaler using a separable Lanczos filter, resampling first horizontally and then vertically on packed ARGB <code>int</code> rasters.
+ * @apiNote This scaler produces sharper results than area averaging at a fraction of the cost, and can distribute the rows of each pass across processors.
+ * @implNote Color channels are filtered independently without alpha premultiplication, in the sRGB color space, which may produce slight fringing along the
+ *           edges of partially transparent areas.
+ * @author Garret Wilson
+ * @see <a href="https://en.wikipedia.org/wiki/Lanczos_resampling">Lanczos resampling</a>
+ */
+public class LanczosImageScaler implements ImageScaler {
+
+	/** The default radius of the filter, giving the Lanczos3 kernel. */
+	public static final int DEFAULT_RADIUS = 3;
+
+	/** The shared instance of this scaler, using the default radius and resampling rows in parallel. */
+	public static final LanczosImageScaler INSTANCE = new LanczosImageScaler(DEFAULT_RADIUS, true);
+
+	private final int radius;
+
+	/** @return The radius of the Lanczos kernel, in source pixels when enlarging and in target pixels when reducing. */
+	public int getRadius() {
+		return radius;
+	}
+
+	private final boolean parallel;
+
+	/** @return Whether the rows of each resampling pass are distributed across processors. */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Constructor.
+	 * @param radius The radius of the Lanczos kernel.
+	 * @param parallel Whether the rows of each resampling pass should be distributed across processors.
+	 * @throws IllegalArgumentException if the given radius is not positive.
+	 */
+	public LanczosImageScaler(final int radius, final boolean parallel) {
+		checkArgument(radius > 0, "Lanczos radius %d must be positive.", radius);
+		this.radius = radius;
+		this.parallel = parallel;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @implSpec This implementation produces an image of type {@link BufferedImage#TYPE_INT_ARGB} if the given image has alpha, and
+	 *           {@link BufferedImage#TYPE_INT_RGB} otherwise.
+	 */
+	@Override
+	public BufferedImage scale(final BufferedImage image, final int newWidth, final int newHeight) {
+		checkArgument(newWidth > 0 && newHeight > 0, "Invalid scaled image dimensions %dx%d.", newWidth, newHeight);
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final boolean hasAlpha = image.getColorModel().hasAlpha();
+
+		//horizontal pass: source rows are read one at a time to avoid copying the entire source raster
+		final Filter horizontalFilter = new Filter(width, newWidth);
+		final int[] intermediate = new int[newWidth * height];
+		forEachRow(height, y -> {
+			final int[] row = getRow(image, y);
+			final int offset = y * newWidth;
+			for(int x = 0; x < newWidth; x++) {
+				final int start = horizontalFilter.starts[x];
+				final float[] weights = horizontalFilter.weights[x];
+				float a = 0, r = 0, g = 0, b = 0;
+				for(int k = 0; k < weights.length; k++) {
+					final int pixel = row[start + k];
+					final float weight = weights[k];
+					a += weight * (pixel >>> 24);
+					r += weight * ((pixel >> 16) & 0xFF);
+					g += weight * ((pixel >> 8) & 0xFF);
+					b += weight * (pixel & 0xFF);
+				}
+				intermediate[offset + x] = pack(hasAlpha ? a : 255, r, g, b);
+			}
+		});
+
+		//vertical pass: whole intermediate rows are accumulated at a time for sequential memory access
+		final BufferedImage newImage = new BufferedImage(newWidth, newHeight, hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		final int[] target = ((DataBufferInt)newImage.getRaster().getDataBuffer()).getData();
+		final Filter verticalFilter = new Filter(height, newHeight);
+		forEachRow(newHeight, y -> {
+			final int start = verticalFilter.starts[y];
+			final float[] weights = verticalFilter.weights[y];
+			final float[] as = new float[newWidth], rs = new float[newWidth], gs = new float[newWidth], bs = new float[newWidth];
+			for(int k = 0; k < weights.length; k++) {
+				final int offset = (start + k) * newWidth;
+				final float weight = weights[k];
+				for(int x = 0; x < newWidth; x++) {
+					final int pixel = intermediate[offset + x];
+					as[x] += weight * (pixel >>> 24);
+					rs[x] += weight * ((pixel >> 16) & 0xFF);
+					gs[x] += weight * ((pixel >> 8) & 0xFF);
+					bs[x] += weight * (pixel & 0xFF);
+				}
+			}
+			final int offset = y * newWidth;
+			for(int x = 0; x < newWidth; x++) {
+				target[offset + x] = pack(as[x], rs[x], gs[x], bs[x]);
+			}
+		});
+		return newImage;
+	}
+
+	/**
+	 * Retrieves the pixels of a single row of an image in the default ARGB color model.
+	 * @implSpec This implementation reads the raster data directly for common image types, and otherwise falls back to
+	 *           {@link BufferedImage#getRGB(int, int, int, int, int[], int, int)}.
+	 * @param image The image from which to read pixels.
+	 * @param y The index of the row to read.
+	 * @return The packed ARGB pixel values of the row.
+	 */
+	protected static int[] getRow(@Nonnull final BufferedImage image, final int y) {
+		final int width = image.getWidth();
+		final int[] row = new int[width];
+		switch(image.getType()) {
+			case BufferedImage.TYPE_INT_RGB:
+				image.getRaster().getDataElements(0, y, width, 1, row);
+				for(int x = 0; x < width; x++) {
+					row[x] |= 0xFF000000;
+				}
+				return row;
+			case BufferedImage.TYPE_INT_ARGB:
+				return (int[])image.getRaster().getDataElements(0, y, width, 1, row);
+			case BufferedImage.TYPE_3BYTE_BGR:
+				{
+					final byte[] bytes = (byte[])image.getRaster().getDataElements(0, y, width, 1, null);
+					for(int x = 0, i = 0; x < width; x++, i += 3) {
+						row[x] = 0xFF000000 | ((bytes[i] & 0xFF) << 16) | ((bytes[i + 1] & 0xFF) << 8) | (bytes[i + 2] & 0xFF); //data elements are in RGB band order
+					}
+				}
+				return row;
+			default:
+				return image.getRGB(0, y, width, 1, row, 0, width);
+		}
+	}
+
+	/**
+	 * Performs an operation for each row index, in parallel if this scaler is configured to do so.
+	 * @param rowCount The number of rows.
+	 * @param rowOperation The operation to perform, accepting the row index.
+	 */
+	protected void forEachRow(final int rowCount, @Nonnull final IntConsumer rowOperation) {
+		final IntStream rows = IntStream.range(0, rowCount);
+		(isParallel() ? rows.parallel() : rows).forEach(rowOperation);
+	}
+
+	/**
+	 * Packs channel values into a single ARGB pixel, rounding and clamping each channel.
+	 * @param a The alpha value.
+	 * @param r The red value.
+	 * @param g The green value.
+	 * @param b The blue value.
+	 * @return The packed ARGB pixel value.
+	 */
+	private static int pack(final float a, final float r, final float g, final float b) {
+		return (clamp(a) << 24) | (clamp(r) << 16) | (clamp(g) << 8) | clamp(b);
+	}
+
+	/**
+	 * Rounds a channel value and clamps it to the range of a byte.
+	 * @param value The channel value.
+	 * @return The value rounded and restricted to the range <code>0</code>–<code>255</code>.
+	 */
+	private static int clamp(final float value) {
+		return max(0, min(255, round(value)));
+	}
+
+	/**
+	 * Evaluates the Lanczos kernel.
+	 * @param x The distance from the center of the kernel.
+	 * @return The kernel weight at the given distance.
+	 */
+	protected double lanczos(final double x) {
+		if(x == 0.0) {
+			return 1.0;
+		}
+		if(x <= -radius || x >= radius) {
+			return 0.0;
+		}
+		final double piX = PI * x;
+		return radius * sin(piX) * sin(piX / radius) / (piX * piX);
+	}
+
+	/**
+	 * The precomputed normalized kernel weights for resampling one axis.
+	 * @author Garret Wilson
+	 */
+	private class Filter {
+
+		/** The index of the first source pixel contributing to each target pixel. */
+		final int[] starts;
+
+		/** The weights of the consecutive source pixels contributing to each target pixel. */
+		final float[][] weights;
+
+		/**
+		 * Constructor.
+		 * @param length The number of source pixels along the axis.
+		 * @param newLength The number of target pixels along the axis.
+		 */
+		Filter(final int length, final int newLength) {
+			starts = new int[newLength];
+			weights = new float[newLength][];
+			final double scale = (double)newLength / length;
+			final double filterScale = max(1.0, 1.0 / scale); //when reducing, stretch the kernel to cover all source pixels
+			final double support = radius * filterScale;
+			for(int i = 0; i < newLength; i++) {
+				final double center = (i + 0.5) / scale;
+				final int left = max(0, (int)floor(center - support));
+				final int right = min(length - 1, (int)ceil(center + support));
+				final double[] rawWeights = new double[right - left + 1];
+				double sum = 0.0;
+				for(int j = left; j <= right; j++) {
+					final double weight = lanczos((j + 0.5 - center) / filterScale);
+					rawWeights[j - left] = weight;
+					sum += weight;
+				}
+				final float[] pixelWeights = new float[rawWeights.length];
+				for(int k = 0; k < rawWeights.length; k++) {
+					pixelWeights[k] = (float)(rawWeights[k] / sum); //normalize so that flat areas keep their values
+				}
+				starts[i] = left;
+				weights[i] = pixelWeights;
+			}
+		}
+
+	}
+
+}
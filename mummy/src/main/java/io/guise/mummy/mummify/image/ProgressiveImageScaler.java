@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.guise.mummy.mummify.image;
+
+import static com.globalmentor.java.Conditions.*;
+import static java.util.Objects.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import javax.annotation.*;
+
+/**
+ * Image scaler that downscales in several steps, halving the dimensions each step using hardware-friendly bilinear interpolation, before the final step to the
+ * requested dimensions.
+ * @apiNote Progressive downscaling avoids the aliasing of a single-step bilinear or bicubic scale, while being much faster than area averaging.
+ * @author Garret Wilson
+ * @see <a href="https://web.archive.org/web/20080516181120/http://today.java.net/pub/a/today/2007/04/03/perils-of-image-getscaledinstance.html">The Perils of
+ *      Image.getScaledInstance()</a>
+ */
+public class ProgressiveImageScaler implements ImageScaler {
+
+	/** The shared instance of this scaler, using bicubic interpolation for the final step. */
+	public static final ProgressiveImageScaler INSTANCE = new ProgressiveImageScaler(RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+
+	private final Object finalInterpolation;
+
+	/** @return The {@link RenderingHints#KEY_INTERPOLATION} value to use for the final scaling step. */
+	public Object getFinalInterpolation() {
+		return finalInterpolation;
+	}
+
+	/**
+	 * Final interpolation constructor.
+	 * @param finalInterpolation The {@link RenderingHints#KEY_INTERPOLATION} value to use for the final scaling step, such as
+	 *          {@link RenderingHints#VALUE_INTERPOLATION_BILINEAR} or {@link RenderingHints#VALUE_INTERPOLATION_BICUBIC}.
+	 * @throws IllegalArgumentException if the given value is not compatible with {@link RenderingHints#KEY_INTERPOLATION}.
+	 */
+	public ProgressiveImageScaler(@Nonnull final Object finalInterpolation) {
+		checkArgument(RenderingHints.KEY_INTERPOLATION.isCompatibleValue(requireNonNull(finalInterpolation)), "Invalid interpolation value %s.", finalInterpolation);
+		this.finalInterpolation = finalInterpolation;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @implSpec While each dimension is still larger than twice the requested size, this implementation halves the image using bilinear interpolation. The
+	 *           remaining scale is performed using the configured final interpolation. Enlarging an image is performed in a single step.
+	 */
+	@Override
+	public BufferedImage scale(final BufferedImage image, final int newWidth, final int newHeight) {
+		checkArgument(newWidth > 0 && newHeight > 0, "Invalid scaled image dimensions %dx%d.", newWidth, newHeight);
+		final int imageType = ImageScaler.getScaledImageType(image);
+		BufferedImage currentImage = image;
+		int width = image.getWidth();
+		int height = image.getHeight();
+		while(width / 2 >= newWidth && height / 2 >= newHeight) { //halve the image until the next halving would go below the requested size
+			width /= 2;
+			height /= 2;
+			currentImage = draw(currentImage, width, height, imageType, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		}
+		if(width != newWidth || height != newHeight || currentImage == image) { //always return a new image, even if there is nothing to scale
+			currentImage = draw(currentImage, newWidth, newHeight, imageType, getFinalInterpolation());
+		}
+		return currentImage;
+	}
+
+	/**
+	 * Draws an image onto a new image of the given dimensions.
+	 * @param image The image to draw.
+	 * @param width The width of the new image.
+	 * @param height The height of the new image.
+	 * @param imageType The type of image to create.
+	 * @param interpolation The {@link RenderingHints#KEY_INTERPOLATION} value to use.
+	 * @return The new image.
+	 */
+	protected static BufferedImage draw(@Nonnull final BufferedImage image, final int width, final int height, final int imageType,
+			@Nonnull final Object interpolation) {
+		final BufferedImage newImage = new BufferedImage(width, height, imageType);
+		final Graphics2D graphics = newImage.createGraphics();
+		try {
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+			graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			graphics.drawImage(image, 0, 0, width, height, null);
+		} finally {
+			graphics.dispose();
+		}
+		return newImage;
+	}
+
+}
@@ -28,6 +28,7 @@
 import static io.guise.mummy.GuiseMummy.*;
 import static java.nio.file.Files.*;
 import static java.util.Collections.*;
+import static java.util.Objects.*;
 import static java.util.function.Function.*;
 import static java.util.function.Predicate.*;
 import static java.util.stream.Collectors.*;
@@ -37,9 +38,11 @@
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.text.Collator;
 import java.time.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -166,6 +169,26 @@ protected GuiseMesh getGuiseMesh() {
 		return guiseMesh;
 	}
 
+	/**
+	 * The templates already loaded, validated, and compiled, mapped to the template file from which they were loaded.
+	 * @implNote Mummifiers are registered with a context, so this cache lasts as long as the context, which may be reused for several mummification runs.
+	 */
+	private final Map<Path, LoadedTemplate> loadedTemplates = new ConcurrentHashMap<>();
+
+	/**
+	 * The key for the {@link MeshProgram} compiled from the template applied to a document, stored as user data of the document.
+	 * @see Document#getUserData(String)
+	 * @see #applyTemplate(MummyContext, Artifact, Document)
+	 * @see #meshDocument(MummyContext, Artifact, Document)
+	 */
+	private static final String USER_DATA_KEY_TEMPLATE_PROGRAM = AbstractPageMummifier.class.getName() + ".templateProgram";
+
+	/**
+	 * The excerpts already loaded, if any, mapped to the source path of the artifact from which they were loaded.
+	 * @implNote Mummifiers are registered with a context, so this cache lasts as long as the context, which may be reused for several mummification runs.
+	 */
+	private final Map<Path, LoadedExcerpt> loadedSourceExcerpts = new ConcurrentHashMap<>();
+
 	/**
 	 * {@inheritDoc}
 	 * @implSpec This version changes the output file extension to {@value PageMummifier#PAGE_FILENAME_EXTENSION}, or leaves if off altogether if bare names were
@@ -224,7 +247,10 @@ public Stream<NavigationItem> navigation(@Nonnull MummyContext context, final Ar
 	 * @throws IllegalArgumentException if the information of the navigation artifacts prevent them from being ordered.
 	 */
 	protected Stream<NavigationItem> defaultNavigation(@Nonnull MummyContext context, @Nonnull final Artifact artifact) {
+		//navigation artifacts are children of the parent navigation artifact; artifacts added to or removed from it change the navigation
+		findParentNavigationArtifact(context, artifact).ifPresent(parentNavigationArtifact -> context.recordChildArtifactsDependency(artifact, parentNavigationArtifact));
 		return defaultNavigationArtifacts(context, artifact).map(navigationArtifact -> { //map navigation artifacts to their navigation items
+			context.recordDependency(artifact, navigationArtifact); //navigation items use information from the navigation artifact description
 			final String href = context.getPlan().referenceInSource(artifact, navigationArtifact).toString();
 			return DefaultNavigationItem.forArtifactReference(href, navigationArtifact);
 		});
@@ -400,13 +426,68 @@ protected List<Map.Entry<URI, Object>> extractMetadata(@Nonnull MummyContext con
 		//TODO consider parsing out "keywords" in to multiple keyword+ properties for convenience
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * @implSpec This implementation caches the excerpt of each artifact the first time it is loaded, and thereafter returns a copy of the cached excerpt, so
+	 *           that pages such as blog indexes requesting excerpts of the same artifacts do not reload and parse the artifact sources each time. The source is
+	 *           loaded by delegating to {@link PageMummifier#loadSourceExcerpt(MummyContext, CorporealSourceArtifact)}.
+	 * @implSpec The loaded excerpt is cached and keyed to the source path, along with the last modified timestamp of the source file. If the file has been
+	 *           modified since the excerpt was loaded, the excerpt will be loaded again.
+	 */
+	@Override
+	public Optional<DocumentFragment> loadSourceExcerpt(final MummyContext context, final CorporealSourceArtifact artifact) throws IOException, DOMException {
+		final Path sourcePath = artifact.getSourcePath();
+		final FileTime sourceModifiedAt = getLastModifiedTime(sourcePath);
+		LoadedExcerpt loadedExcerpt = loadedSourceExcerpts.get(sourcePath);
+		if(loadedExcerpt == null || !loadedExcerpt.getModifiedAt().equals(sourceModifiedAt)) { //load the excerpt if we haven't yet or it is stale
+			//keep the excerpt in a document of its own, so as not to retain the entire source document in memory
+			final Optional<DocumentFragment> foundExcerpt = PageMummifier.super.loadSourceExcerpt(context, artifact).map(excerpt -> {
+				final Document excerptDocument = excerpt.getOwnerDocument().getImplementation().createDocument(null, null, null);
+				return (DocumentFragment)excerptDocument.importNode(excerpt, true);
+			});
+			loadedExcerpt = new LoadedExcerpt(sourceModifiedAt, foundExcerpt);
+			loadedSourceExcerpts.put(sourcePath, loadedExcerpt); //a concurrent load of the same excerpt would produce an equivalent excerpt
+		}
+		return loadedExcerpt.findExcerpt().map(excerpt -> {
+			synchronized(excerpt) { //DOM implementations are not guaranteed to be thread-safe even for reading
+				return (DocumentFragment)excerpt.cloneNode(true);
+			}
+		});
+	}
+
+	/** An excerpt loaded from a source file, if the source has an excerpt. */
+	private static final class LoadedExcerpt {
+
+		private final FileTime modifiedAt;
+
+		/** @return The modification timestamp of the source file when the excerpt was loaded. */
+		public FileTime getModifiedAt() {
+			return modifiedAt;
+		}
+
+		private final Optional<DocumentFragment> excerpt;
+
+		/** @return The loaded excerpt, which must not be modified, if the source has an excerpt. */
+		public Optional<DocumentFragment> findExcerpt() {
+			return excerpt;
+		}
+
+		/**
+		 * Constructor.
+		 * @param modifiedAt The modification timestamp of the source file when the excerpt was loaded.
+		 * @param excerpt The loaded excerpt, if any.
+		 */
+		public LoadedExcerpt(@Nonnull final FileTime modifiedAt, @Nonnull final Optional<DocumentFragment> excerpt) {
+			this.modifiedAt = requireNonNull(modifiedAt);
+			this.excerpt = requireNonNull(excerpt);
+		}
+
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @implSpec This implementation loads the source document using {@link #loadSourceDocument(MummyContext, InputStream, String)} and then extracts the first
 	 *           paragraph.
-	 * @implNote This implementation typically results in loading the source document N+1 times, that is, every time it is requested in addition to the time the
-	 *           source document itself is mummified. Perhaps this won't be too much, though, as it is unlikely many targets would be requesting excerpts of the
-	 *           same source.
 	 */
 	@Override
 	public Optional<DocumentFragment> loadSourceExcerpt(final MummyContext context, final InputStream inputStream, final String name)
@@ -436,7 +517,7 @@ protected Optional<DocumentFragment> getExcerpt(final Element element) {
 	 * @see GuiseMummy#CONFIG_KEY_MUMMY_TEXT_OUTPUT_LINE_SEPARATOR
 	 */
 	@Override
-	public void mummifyFile(final MummyContext context, final CorporealSourceArtifact artifact) throws IOException {
+	public void mummifyFile(final MummyContext context, final CorporealSourceArtifact artifact, final OutputStream outputStream) throws IOException {
 
 		try {
 
@@ -451,11 +532,7 @@ public void mummifyFile(final MummyContext context, final CorporealSourceArtifac
 			final Document templatedDocument = applyTemplate(context, artifact, normalizedDocument);
 
 			//#mesh document: evaluate MEXL expressions and perform transformations
-			final MeshContext meshContext = new DefaultMeshContext();
-			meshContext.setVariable(MESH_CONTEXT_VARIABLE_PLAN, context.getPlan());
-			meshContext.setVariable(MESH_CONTEXT_VARIABLE_ARTIFACT, artifact);
-			meshContext.setVariable(MESH_CONTEXT_VARIABLE_PAGE, artifact.getResourceDescription());
-			final Document meshedDocument = getGuiseMesh().meshDocument(meshContext, templatedDocument);
+			final Document meshedDocument = meshDocument(context, artifact, templatedDocument);
 
 			//#process document: evaluate Guise Mummy directives and widgets; and perform transformations
 			final Document processedDocument = processDocument(context, artifact, meshedDocument);
@@ -470,11 +547,9 @@ public void mummifyFile(final MummyContext context, final CorporealSourceArtifac
 			final Document ascribedDocument = ascribeDocument(context, artifact, cleansedDocument);
 
 			//#save target document
-			try (final OutputStream outputStream = new BufferedOutputStream(newOutputStream(artifact.getTargetPath()))) {
-				final HtmlSerializer htmlSerializer = new HtmlSerializer(true, PageFormatProfile.INSTANCE);
-				htmlSerializer.setLineSeparator(context.getConfiguration().getString(CONFIG_KEY_MUMMY_TEXT_OUTPUT_LINE_SEPARATOR));
-				htmlSerializer.serialize(ascribedDocument, null, null, outputStream); //serialize using the HTML5 doctype (with no public or system ID)
-			}
+			final HtmlSerializer htmlSerializer = new HtmlSerializer(true, PageFormatProfile.INSTANCE);
+			htmlSerializer.setLineSeparator(context.getConfiguration().getString(CONFIG_KEY_MUMMY_TEXT_OUTPUT_LINE_SEPARATOR));
+			htmlSerializer.serialize(ascribedDocument, null, null, outputStream); //serialize using the HTML5 doctype (with no public or system ID)
 			getLogger().trace("Generated page output document `{}`.", artifact.getTargetPath());
 
 		} catch(final IllegalArgumentException | IllegalDataException | MeshException | DOMException exception) { //convert input errors and XML errors to I/O errors
@@ -593,19 +668,19 @@ protected Document applyTemplate(@Nonnull MummyContext context, @Nonnull final A
 					final Path templateFile = templateSource.getKey();
 					final PageMummifier templateMummifier = templateSource.getValue();
 					getLogger().trace("  {*} found template: {}", templateFile);
+					context.recordDependency(artifact, templateFile);
 
-					//#load and relocate the template document
+					//1. load (and validate) and relocate the template document
 					final Document templateDocument;
+					final MeshProgram templateProgram;
 					{
-						final Document sourceTemplateDocument = templateMummifier.loadSourceDocument(context, templateFile);
+						final Map.Entry<Document, MeshProgram> template = loadTemplate(context, templateFile, templateMummifier);
 						//relocate the template links _within the source tree_ as if it were in the place of the artifact source
-						templateDocument = relocateDocument(context, sourceTemplateDocument, templateFile,
+						templateDocument = relocateDocument(context, template.getKey(), templateFile,
 								referentArtifact -> context.getPlan().referenceInSource(artifact, referentArtifact));
+						templateProgram = template.getValue();
 					}
 
-					//1. validate structure
-					findHtmlElement(templateDocument).orElseThrow(() -> new IOException(String.format("Template `%s` has no root `<html>` element.", templateFile)));
-
 					// Do _not_ apply metadata. Metadata is now generated semantically from the actual description, which has already been loaded.
 
 					//2. import/merge head information
@@ -631,6 +706,8 @@ protected Document applyTemplate(@Nonnull MummyContext context, @Nonnull final A
 						if(XHTML_ELEMENT_FRAMESET.matches(templateContentElement)) {
 							throw new IOException(String.format("Template `%s` does not support `<frameset>`.", templateFile));
 						}
+						//only the head and the content element will differ from the template as compiled, so the template program can mesh the document
+						templateDocument.setUserData(USER_DATA_KEY_TEMPLATE_PROGRAM, templateProgram, null);
 					}
 					foundSourceContentElement.ifPresentOrElse(sourceContentElement -> {
 						getLogger().trace("  {*} applying source content");
@@ -643,11 +720,106 @@ protected Document applyTemplate(@Nonnull MummyContext context, @Nonnull final A
 				})).orElse(sourceDocument); //return the source document unchanged if we can't find a template
 	}
 
+	/**
+	 * Loads a template document and validates its structure, returning a copy that may be modified by the caller.
+	 * @implSpec This implementation delegates to {@link #loadTemplate(MummyContext, Path, PageMummifier)}.
+	 * @implNote The returned document has not been relocated, as relocation is specific to the artifact to which the template is being applied.
+	 * @param context The context of static site generation.
+	 * @param templateFile The source file of the template.
+	 * @param templateMummifier The mummifier for loading the template.
+	 * @return A new copy of the loaded template document, which has not yet been relocated.
+	 * @throws IOException if there is an error loading the template or the template is not valid.
+	 * @throws DOMException if there is some error manipulating the XML document object model.
+	 */
+	protected Document loadTemplateDocument(@Nonnull MummyContext context, @Nonnull final Path templateFile, @Nonnull final PageMummifier templateMummifier)
+			throws IOException, DOMException {
+		return loadTemplate(context, templateFile, templateMummifier).getKey();
+	}
+
+	/**
+	 * Loads a template document, validates its structure, and compiles it for meshing. A copy of the template document is returned that may be modified by the
+	 * caller, along with the program compiled from the template.
+	 * <p>
+	 * The template is only parsed, validated, and compiled once per template file for each modification of the file; subsequent calls return a fresh clone of
+	 * the previously loaded document, which is much cheaper than parsing the template anew for each page, along with the same compiled program.
+	 * </p>
+	 * @implSpec The loaded template is cached and keyed to the template file, along with the last modified timestamp of the file. If the file has been modified
+	 *           since the template was loaded, the template will be loaded again.
+	 * @implSpec The template {@code <head>} element and content element are compiled as interpreted elements, as their content will be different for each page
+	 *           to which the template is applied. See {@link GuiseMesh#compileDocument(Document, Collection)}.
+	 * @implNote The returned document has not been relocated, as relocation is specific to the artifact to which the template is being applied.
+	 * @param context The context of static site generation.
+	 * @param templateFile The source file of the template.
+	 * @param templateMummifier The mummifier for loading the template.
+	 * @return A new copy of the loaded template document, which has not yet been relocated, along with the program compiled from the template document.
+	 * @throws IOException if there is an error loading the template or the template is not valid.
+	 * @throws DOMException if there is some error manipulating the XML document object model.
+	 * @see #findContentElement(Document)
+	 */
+	protected Map.Entry<Document, MeshProgram> loadTemplate(@Nonnull MummyContext context, @Nonnull final Path templateFile,
+			@Nonnull final PageMummifier templateMummifier) throws IOException, DOMException {
+		final FileTime templateModifiedAt = getLastModifiedTime(templateFile);
+		LoadedTemplate loadedTemplate = loadedTemplates.get(templateFile);
+		if(loadedTemplate == null || !loadedTemplate.getModifiedAt().equals(templateModifiedAt)) { //load the template if we haven't yet or it is stale
+			final Document templateDocument = templateMummifier.loadSourceDocument(context, templateFile);
+			findHtmlElement(templateDocument).orElseThrow(() -> new IOException(String.format("Template `%s` has no root `<html>` element.", templateFile)));
+			final List<Element> interpretedElements = Stream.of(findHtmlHeadElement(templateDocument), findContentElement(templateDocument))
+					.flatMap(Optional::stream).collect(toList());
+			final MeshProgram templateProgram = getGuiseMesh().compileDocument(templateDocument, interpretedElements);
+			loadedTemplate = new LoadedTemplate(templateModifiedAt, templateDocument, templateProgram);
+			loadedTemplates.put(templateFile, loadedTemplate); //a concurrent load of the same template would produce an equivalent template
+		}
+		final Document templateDocument = loadedTemplate.getDocument();
+		synchronized(templateDocument) { //DOM implementations are not guaranteed to be thread-safe even for reading
+			return Map.entry((Document)templateDocument.cloneNode(true), loadedTemplate.getProgram());
+		}
+	}
+
+	/** A template loaded from a template file, along with the program compiled from it. */
+	private static final class LoadedTemplate {
+
+		private final FileTime modifiedAt;
+
+		/** @return The modification timestamp of the template file when the template was loaded. */
+		public FileTime getModifiedAt() {
+			return modifiedAt;
+		}
+
+		private final Document document;
+
+		/** @return The loaded template document, which must not be modified. */
+		public Document getDocument() {
+			return document;
+		}
+
+		private final MeshProgram program;
+
+		/** @return The program compiled from the template document. */
+		public MeshProgram getProgram() {
+			return program;
+		}
+
+		/**
+		 * Constructor.
+		 * @param modifiedAt The modification timestamp of the template file when the template was loaded.
+		 * @param document The loaded template document.
+		 * @param program The program compiled from the template document.
+		 */
+		public LoadedTemplate(@Nonnull final FileTime modifiedAt, @Nonnull final Document document, @Nonnull final MeshProgram program) {
+			this.modifiedAt = requireNonNull(modifiedAt);
+			this.document = requireNonNull(document);
+			this.program = requireNonNull(program);
+		}
+
+	}
+
 	/**
 	 * Finds the source file for a template, if there is one, for the given artifact. The template may be specified in the description of the document itself
 	 * using the <code>mummy:template</code> property ({@link Artifact#PROPERTY_TAG_MUMMY_TEMPLATE}). Otherwise a search is made for a template file in the given
 	 * artifact directory and ancestor directories.
 	 * @apiNote The template property is used from the description, because the original {@code <meta>} elements will have been removed during normalization.
+	 * @implSpec When searching for a template file, this implementation records as dependencies of the artifact all the candidate template files, whether or not
+	 *           they exist, in each directory searched, so that adding or removing a template that would change the search result is detected.
 	 * @param context The context of static site generation.
 	 * @param artifact The artifact being generated
 	 * @param sourceDocument The source document to process.
@@ -684,7 +856,19 @@ protected Optional<Map.Entry<Path, PageMummifier>> findTemplateSourceFile(@Nonnu
 			}
 		} else { //if no custom template was specified
 			final String templateBaseName = context.getConfiguration().getString(CONFIG_KEY_MUMMY_TEMPLATE_BASE_NAME);
-			return context.findPageSourceFile(artifact.getSourceDirectory(), templateBaseName, true); //look for a template
+			final Optional<Map.Entry<Path, PageMummifier>> templateSource = context.findPageSourceFile(artifact.getSourceDirectory(), templateBaseName, true);
+			final Optional<Path> templateDirectory = templateSource.map(Map.Entry::getKey).map(Path::getParent);
+			final Set<String> pageSourceFilenameExtensions = context.getPageSourceFilenameExtensions();
+			final Path siteSourceDirectory = context.getSiteSourceDirectory();
+			for(Path directory = artifact.getSourceDirectory(); directory != null && directory.startsWith(siteSourceDirectory); directory = directory.getParent()) {
+				for(final String pageSourceFilenameExtension : pageSourceFilenameExtensions) {
+					context.recordDependency(artifact, directory.resolve(addExtension(templateBaseName, pageSourceFilenameExtension)));
+				}
+				if(templateDirectory.isPresent() && directory.equals(templateDirectory.get())) { //directories above the template are not searched
+					break;
+				}
+			}
+			return templateSource;
 		}
 	}
 
@@ -847,6 +1031,40 @@ protected Optional<Element> findContentElement(@Nonnull final Document sourceDoc
 						.flatMap(htmlElement -> findFirstChildElementByNameNS(htmlElement, XHTML_NAMESPACE_URI_STRING, ELEMENT_FRAMESET)));
 	}
 
+	//#mesh
+
+	/**
+	 * Meshes a document by evaluating Mesh Expression Language (MEXL) expressions and performing transformations.
+	 * <p>
+	 * The plan, the artifact, and the artifact description are made available to expressions as the {@value PageMummifier#MESH_CONTEXT_VARIABLE_PLAN},
+	 * {@value PageMummifier#MESH_CONTEXT_VARIABLE_ARTIFACT}, and {@value PageMummifier#MESH_CONTEXT_VARIABLE_PAGE} variables, respectively.
+	 * </p>
+	 * @implSpec If a template was applied to the document in {@link #applyTemplate(MummyContext, Artifact, Document)}, this implementation meshes the document
+	 *           by executing the program compiled from the template, so that only the parts of the document not known when the template was compiled are
+	 *           analyzed. Otherwise the document is meshed by {@link #getGuiseMesh()}.
+	 * @param context The context of static site generation.
+	 * @param artifact The artifact being generated
+	 * @param document The document to mesh.
+	 * @return The meshed document, which may or may not be the same document supplied as input.
+	 * @throws IllegalArgumentException if the document has some information that cannot be meshed.
+	 * @throws IOException if there is an error meshing the document.
+	 * @throws MeshException if there was an error directly related to meshing the document, such as parsing an expression.
+	 * @throws DOMException if there is some error manipulating the XML document object model.
+	 * @see MeshProgram#execute(MeshContext, Document)
+	 */
+	protected Document meshDocument(@Nonnull MummyContext context, @Nonnull final Artifact artifact, @Nonnull final Document document)
+			throws IOException, MeshException, DOMException {
+		final MeshContext meshContext = new DefaultMeshContext();
+		meshContext.setVariable(MESH_CONTEXT_VARIABLE_PLAN, context.getPlan());
+		meshContext.setVariable(MESH_CONTEXT_VARIABLE_ARTIFACT, artifact);
+		meshContext.setVariable(MESH_CONTEXT_VARIABLE_PAGE, artifact.getResourceDescription());
+		final MeshProgram templateProgram = (MeshProgram)document.setUserData(USER_DATA_KEY_TEMPLATE_PROGRAM, null, null); //retrieve and remove the template program
+		if(templateProgram != null) {
+			return templateProgram.execute(meshContext, document);
+		}
+		return getGuiseMesh().meshDocument(meshContext, document);
+	}
+
 	//#process
 
 	/**
@@ -1426,7 +1644,8 @@ protected void cleanseChildElements(@Nonnull MummyContext context, @Nonnull fina
 	 * <p>
 	 * Metadata in the Guise Mummy namespace {@link GuiseMummy#NAMESPACE} and other internal namespaces are skipped.
 	 * </p>
-	 * @implSpec This implementation adds additional metadata to identify the generator and indicate the generation time.
+	 * @implSpec This implementation adds additional metadata to identify the generator and indicate the generation time as determined by
+	 *           {@link MummyContext#getGeneratedAt(Artifact)}.
 	 * @param context The context of static site generation.
 	 * @param artifact The artifact being generated
 	 * @param document The document to ascribe.
@@ -1504,7 +1723,7 @@ protected Document ascribeDocument(@Nonnull MummyContext context, @Nonnull final
 		//#identify Guise Mummy as the generator
 		setNamedMetadata(document, META_NAME_GENERATOR, context.getMummifierIdentification());
 		//#indicate the instant of generation
-		setNamedMetadata(document, META_NAME_GENERATED_AT, Instant.now().toString());
+		setNamedMetadata(document, META_NAME_GENERATED_AT, context.getGeneratedAt(artifact).toString());
 
 		return document;
 	}
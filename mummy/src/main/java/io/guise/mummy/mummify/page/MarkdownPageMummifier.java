@@ -153,7 +153,7 @@ public Document loadSourceDocument(final MummyContext context, final InputStream
 		final Document document;
 		final String htmlBodyContent = getHtmlRenderer().render(markdownDocument);
 		final String xhtmlDocumentString = XHTML_TEMPLATE.apply(removeExtension(name), htmlBodyContent);
-		final DocumentBuilder documentBuilder = context.newPageDocumentBuilder();
+		final DocumentBuilder documentBuilder = context.getPageDocumentBuilder();
 		try {
 			document = documentBuilder.parse(new ByteArrayInputStream(xhtmlDocumentString.getBytes(UTF_8)));
 		} catch(final SAXException saxException) { //we don't expect this error, so checking for the locations using SAXParseException isn't that useful
@@ -73,6 +73,10 @@ public class NavigationManager implements Clogged {
 	 * additive navigation file (following the same rules as the main navigation definition file, except that its base name ends in
 	 * {@value #NAVIGATION_ADD_NAME_SUFFIX}) is loaded and appended to the original defined navigation.</li>
 	 * </ul>
+	 * <p>
+	 * All candidate navigation files, whether or not they exist, are recorded as dependencies of the artifact so that adding or removing a navigation file is
+	 * detected.
+	 * </p>
 	 * @param context The context of static site generation.
 	 * @param artifact The artifact for which navigation is being managed.
 	 * @return The navigation items loaded from the appropriate file(s). The stream will not throw an {@link IOException} during iteration.
@@ -86,6 +90,18 @@ public Optional<Stream<NavigationItem>> loadNavigation(@Nonnull MummyContext con
 		final Path sourceDirectory = artifact.getSourceDirectory();
 		final Optional<String> pageFilename = artifact.isSourcePathFile() ? findFilename(artifact.getSourcePath()) : Optional.empty();
 
+		//record the candidate navigation files
+		pageFilename.ifPresent(filename -> SUPPORTED_NAVIGATION_FILE_EXTENSIONS.forEach(ext -> {
+			context.recordDependency(artifact, sourceDirectory.resolve(addExtension(DOTFILE_PREFIX + filename + navigationBaseName, ext)));
+			context.recordDependency(artifact, sourceDirectory.resolve(addExtension(DOTFILE_PREFIX + filename + navigationAddBaseName, ext)));
+		}));
+		for(Path directory = sourceDirectory; directory != null && directory.startsWith(context.getSiteSourceDirectory()); directory = directory.getParent()) {
+			for(final String ext : SUPPORTED_NAVIGATION_FILE_EXTENSIONS) {
+				context.recordDependency(artifact, directory.resolve(addExtension(navigationBaseName, ext)));
+				context.recordDependency(artifact, directory.resolve(addExtension(navigationAddBaseName, ext)));
+			}
+		}
+
 		//look for a per-page navigation definition file in the form `.filename.ext.navigation.*`
 		final Optional<Stream<NavigationItem>> pageNavigationDefinition = pageFilename.flatMap(throwingFunction(filename -> {
 			final Set<String> navigationFilenames = SUPPORTED_NAVIGATION_FILE_EXTENSIONS.stream()
@@ -172,6 +188,7 @@ protected final Stream<NavigationItem> loadNavigationFileUnchecked(@Nonnull Mumm
 	 */
 	protected Stream<NavigationItem> loadNavigationFile(@Nonnull MummyContext context, @Nonnull final Artifact artifact, @Nonnull final Path navigationFile)
 			throws IOException {
+		context.recordDependency(artifact, navigationFile);
 		switch(findFilenameExtension(navigationFile)
 				.orElseThrow(() -> new IllegalArgumentException(String.format("Navigation file `%s` has no extension.", navigationFile)))) {
 			case Text.LST_FILENAME_EXTENSION:
@@ -32,6 +32,7 @@
 
 import org.w3c.dom.*;
 
+import com.globalmentor.lex.Identifier;
 import com.globalmentor.net.MediaType;
 import com.globalmentor.net.URIPath;
 import com.globalmentor.xml.spec.NsName;
@@ -57,6 +58,37 @@ public interface PageMummifier extends Mummifier {
 	@Deprecated
 	public static final String OBSOLETE_CONFIG_KEY_MUMMY_PAGE_NAMES_BARE = "mummy.pageNamesBare";
 
+	/**
+	 * The configuration indicating how much of the external DTD of a page source document, such as the XHTML 1.0 Strict DTD, is loaded when parsing. The value
+	 * is the lowercase, kebab-case form of {@link DtdLoading} (e.g. <code>entities</code>).
+	 * @see #DEFAULT_DTD_LOADING
+	 */
+	public static final String CONFIG_KEY_MUMMY_PAGE_DTD_LOADING = "mummy.page.dtdLoading";
+
+	/**
+	 * The default extent of loading page source document external DTDs if none is specified in the configuration.
+	 * @see #CONFIG_KEY_MUMMY_PAGE_DTD_LOADING
+	 */
+	public static final DtdLoading DEFAULT_DTD_LOADING = DtdLoading.FULL;
+
+	/**
+	 * The extent to which the external DTD of a page source document is loaded.
+	 * @author Garret Wilson
+	 * @see PageMummifier#CONFIG_KEY_MUMMY_PAGE_DTD_LOADING
+	 */
+	public enum DtdLoading implements Identifier {
+
+		/** The entire DTD is loaded, including element and attribute declarations; any default attribute values will be added to the document. */
+		FULL,
+		/**
+		 * Only the character entity sets referenced by the DTD are loaded, so that named character references such as <code>&amp;nbsp;</code> may still be used.
+		 * Element and attribute declarations, including default attribute values, are skipped.
+		 */
+		ENTITIES,
+		/** No external DTD is loaded; only the entities predefined by XML may be used, and references to other entities are ignored. */
+		NONE;
+	}
+
 	/** The standard Internet media types for generated pages: <code>text/html</code> in UTF-8. */
 	public static final MediaType PAGE_MEDIA_TYPE = HTML_MEDIA_TYPE.withCharset(UTF_8);
 
@@ -47,7 +47,7 @@ public Set<String> getSupportedFilenameExtensions() {
 	 */
 	@Override
 	public Document loadSourceDocument(final MummyContext context, final InputStream inputStream, final String name) throws IOException, DOMException {
-		final DocumentBuilder documentBuilder = context.newPageDocumentBuilder();
+		final DocumentBuilder documentBuilder = context.getPageDocumentBuilder();
 		try {
 			return documentBuilder.parse(inputStream);
 		} catch(final SAXException saxException) {
@@ -104,7 +104,11 @@ public NsName getWidgetElementName() {
 	public List<Element> processElement(final PageMummifier mummifier, final MummyContext context, final Artifact artifact, final Element widgetElement)
 			throws IOException, DOMException {
 		final Document document = widgetElement.getOwnerDocument();
-		final Stream<Artifact> items = mummifier.childNavigationArtifacts(context, artifact);
+		//items are children of the parent navigation artifact; artifacts added to or removed from it change the listing
+		mummifier.findParentNavigationArtifact(context, artifact)
+				.ifPresent(parentNavigationArtifact -> context.recordChildArtifactsDependency(artifact, parentNavigationArtifact));
+		final Stream<Artifact> items = mummifier.childNavigationArtifacts(context, artifact)
+				.peek(item -> context.recordDependency(artifact, item)); //items present information, such as excerpts, from the item sources
 		return findAttribute(widgetElement, ATTRIBUTE_GROUP_BY) //group-by
 				.map(groupBy -> {
 					final List<Element> groupedItemElements = new ArrayList<>();
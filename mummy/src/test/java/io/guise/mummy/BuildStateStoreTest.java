@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy;
+
+import static com.github.npathai.hamcrestopt.OptionalMatchers.*;
+import static java.nio.file.Files.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Set;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.guise.mummy.mummify.Mummifier;
+import io.guise.mummy.mummify.collection.DirectoryArtifact;
+import io.urf.model.*;
+import io.urf.vocab.content.Content;
+
+/**
+ * Tests of {@link BuildStateStore}.
+ * @author Garret Wilson
+ */
+public class BuildStateStoreTest {
+
+	/**
+	 * Verifies that committed descriptions can be loaded again into another store.
+	 * @see BuildStateStore#commit()
+	 * @see BuildStateStore#load()
+	 */
+	@Test
+	void verifyCommitLoadRoundTrip(@TempDir final Path tempDir) throws IOException {
+		final Path siteTargetDirectory = tempDir.resolve("site");
+		final Path file = tempDir.resolve("site-description").resolve(BuildStateStore.FILENAME);
+		final Path targetFile = siteTargetDirectory.resolve("foo").resolve("bar.html");
+		final UrfObject description = new UrfObject();
+		description.setPropertyValue(Content.MODIFIED_AT_PROPERTY_TAG, Instant.parse("2020-01-02T03:04:05Z"));
+		description.setPropertyValue(Artifact.PROPERTY_TAG_MUMMY_ORDER, 3L);
+
+		final BuildStateStore buildStateStore = new BuildStateStore(file, siteTargetDirectory);
+		buildStateStore.load();
+		assertThat("A missing build state file results in an empty store.", buildStateStore.findDescription(targetFile), isEmpty());
+		buildStateStore.putDescription(targetFile, description);
+		buildStateStore.commit();
+		assertThat(isRegularFile(file), is(true));
+
+		final BuildStateStore loadedBuildStateStore = new BuildStateStore(file, siteTargetDirectory);
+		loadedBuildStateStore.load();
+		final UrfResourceDescription loadedDescription = loadedBuildStateStore.findDescription(targetFile).orElseThrow(AssertionError::new);
+		assertThat(loadedDescription.findPropertyValue(Content.MODIFIED_AT_PROPERTY_TAG), isPresentAndIs(Instant.parse("2020-01-02T03:04:05Z")));
+		assertThat(loadedDescription.findPropertyValue(Artifact.PROPERTY_TAG_MUMMY_ORDER), isPresentAndIs(3L));
+		assertThat(loadedBuildStateStore.findDescription(siteTargetDirectory.resolve("other.html")), isEmpty());
+	}
+
+	/**
+	 * Verifies that a build state file in an unrecognized format is ignored rather than causing mummification to fail.
+	 * @see BuildStateStore#load()
+	 */
+	@Test
+	void verifyLoadIgnoresUnrecognizedFormat(@TempDir final Path tempDir) throws IOException {
+		final Path file = writeString(tempDir.resolve(BuildStateStore.FILENAME), "not a build state file");
+		final BuildStateStore buildStateStore = new BuildStateStore(file, tempDir.resolve("site"));
+		buildStateStore.load();
+		assertThat(buildStateStore.findDescription(tempDir.resolve("site").resolve("index.html")), isEmpty());
+	}
+
+	/**
+	 * Verifies that pruning removes the descriptions of targets no longer in the plan, so that they are not committed.
+	 * @see BuildStateStore#prune(MummyPlan)
+	 */
+	@Test
+	void verifyPrune(@TempDir final Path tempDir) throws IOException {
+		final Path sourceDirectory = tempDir.resolve("source");
+		final Path siteTargetDirectory = tempDir.resolve("site");
+		final Path file = tempDir.resolve("site-description").resolve(BuildStateStore.FILENAME);
+		final Mummifier mummifier = mock(Mummifier.class);
+		final Artifact fooArtifact = new DummyArtifact(mummifier, sourceDirectory.resolve("foo.xhtml"), siteTargetDirectory.resolve("foo.html"));
+		final MummyPlan plan = new DefaultMummyPlan(new DirectoryArtifact(mummifier, sourceDirectory, siteTargetDirectory, null, Set.of(fooArtifact)));
+		final Path deletedTarget = siteTargetDirectory.resolve("deleted.html");
+
+		final BuildStateStore buildStateStore = new BuildStateStore(file, siteTargetDirectory);
+		buildStateStore.putDescription(fooArtifact.getTargetPath(), new UrfObject());
+		buildStateStore.putDescription(deletedTarget, new UrfObject());
+		buildStateStore.prune(plan);
+		assertThat(buildStateStore.findDescription(fooArtifact.getTargetPath()), isPresent());
+		assertThat(buildStateStore.findDescription(deletedTarget), isEmpty());
+		buildStateStore.commit();
+
+		final BuildStateStore loadedBuildStateStore = new BuildStateStore(file, siteTargetDirectory);
+		loadedBuildStateStore.load();
+		assertThat(loadedBuildStateStore.findDescription(fooArtifact.getTargetPath()), isPresent());
+		assertThat(loadedBuildStateStore.findDescription(deletedTarget), isEmpty());
+	}
+
+}
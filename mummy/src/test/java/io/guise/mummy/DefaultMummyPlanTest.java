@@ -100,4 +100,21 @@ void testFindParentArtifact() {
 				isPresentAndIs(fooDirectoryArtifact));
 	}
 
+	/** @see MummyPlan#findArtifactByTargetPath(Path) */
+	@Test
+	void testFindArtifactByTargetPath() {
+		final Path sourceDirectory = getTempDirectory().resolve("source"); //used only for identification; no I/O
+		final Path targetDirectory = getTempDirectory().resolve("target");
+		final Mummifier mummifier = mock(Mummifier.class);
+		final Artifact indexArtifact = new DummyArtifact(mummifier, sourceDirectory.resolve("index.xhtml"), targetDirectory.resolve("index.html"));
+		final Artifact childArtifact = new DummyArtifact(mummifier, sourceDirectory.resolve("test.xhtml"), targetDirectory.resolve("test.html"));
+		final DirectoryArtifact directoryArtifact = new DirectoryArtifact(mummifier, sourceDirectory, targetDirectory, indexArtifact, Set.of(childArtifact));
+		final MummyPlan plan = new DefaultMummyPlan(directoryArtifact);
+		assertThat(plan.findArtifactByTargetPath(targetDirectory), isPresentAndIs(directoryArtifact));
+		assertThat("Content artifact target path retrieves content artifact, not principal artifact.", plan.findArtifactByTargetPath(targetDirectory.resolve("index.html")),
+				isPresentAndIs(indexArtifact));
+		assertThat(plan.findArtifactByTargetPath(targetDirectory.resolve("test.html")), isPresentAndIs(childArtifact));
+		assertThat("Source path is not a target path.", plan.findArtifactByTargetPath(sourceDirectory.resolve("test.xhtml")), isEmpty());
+	}
+
 }
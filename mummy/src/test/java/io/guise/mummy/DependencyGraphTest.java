@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy;
+
+import static java.nio.file.Files.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Set;
+
+import javax.annotation.*;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.guise.mummy.mummify.Mummifier;
+import io.guise.mummy.mummify.collection.DirectoryArtifact;
+
+/**
+ * Tests of {@link DependencyGraph}.
+ * @author Garret Wilson
+ */
+public class DependencyGraphTest {
+
+	/** @see DependencyGraph#isStale(Path, MummyContext) */
+	@Test
+	void testIsStale(@TempDir final Path tempDir) throws IOException {
+		final MummyContext context = new DummyMummyContext(new DefaultGuiseProject(tempDir));
+		final DependencyGraph dependencyGraph = new DependencyGraph(tempDir);
+		final Path target = tempDir.resolve("target").resolve("index.html");
+		final Path template = writeString(tempDir.resolve(".template.xhtml"), "template");
+		final Path navigation = tempDir.resolve(".navigation.lst");
+		assertThat("A target with no recorded dependencies is not stale.", dependencyGraph.isStale(target, context), is(false));
+
+		dependencyGraph.record(target, template);
+		dependencyGraph.record(target, navigation);
+		assertThat(dependencyGraph.getDependencies(target), containsInAnyOrder(template, navigation));
+		assertThat(dependencyGraph.isStale(target, context), is(false));
+
+		setLastModifiedTime(template, FileTime.from(Instant.parse("2020-01-01T00:00:00Z")));
+		assertThat("A modified dependency makes the target stale.", dependencyGraph.isStale(target, context), is(true));
+		dependencyGraph.record(target, template);
+		assertThat(dependencyGraph.isStale(target, context), is(false));
+
+		writeString(navigation, "index.html");
+		assertThat("A dependency that was created makes the target stale.", dependencyGraph.isStale(target, context), is(true));
+		dependencyGraph.record(target, navigation);
+		delete(template);
+		assertThat("A dependency that was deleted makes the target stale.", dependencyGraph.isStale(target, context), is(true));
+
+		dependencyGraph.clear(target);
+		assertThat(dependencyGraph.getDependencies(target), is(empty()));
+		assertThat(dependencyGraph.isStale(target, context), is(false));
+	}
+
+	/**
+	 * Verifies that a saved dependency graph can be loaded again, retaining the recorded state of each dependency.
+	 * @see DependencyGraph#save(Path)
+	 * @see DependencyGraph#load(Path)
+	 */
+	@Test
+	void verifySaveLoadRoundTrip(@TempDir final Path tempDir) throws IOException {
+		final Path target = tempDir.resolve("target").resolve("foo.html");
+		final Path sibling = writeString(tempDir.resolve("bar.xhtml"), "bar");
+		final Path template = tempDir.resolve(".template.xhtml");
+		final DependencyGraph dependencyGraph = new DependencyGraph(tempDir);
+		dependencyGraph.record(target, sibling);
+		dependencyGraph.record(target, template);
+		final Path graphFile = tempDir.resolve(DependencyGraph.FILENAME);
+		dependencyGraph.save(graphFile);
+
+		final MummyContext context = new DummyMummyContext(new DefaultGuiseProject(tempDir));
+		final DependencyGraph loadedDependencyGraph = new DependencyGraph(tempDir);
+		loadedDependencyGraph.load(graphFile);
+		assertThat(loadedDependencyGraph.getDependencies(target), containsInAnyOrder(sibling, template));
+		assertThat(loadedDependencyGraph.isStale(target, context), is(false));
+		writeString(template, "template");
+		assertThat("An absent dependency is restored as absent.", loadedDependencyGraph.isStale(target, context), is(true));
+	}
+
+	/**
+	 * Verifies that when comparing by content, a dependency with a new timestamp but the same content does not make the target stale, while changed content or
+	 * a changed directory listing does.
+	 * @see DependencyGraph#isContentHash()
+	 */
+	@Test
+	void verifyContentHashComparison(@TempDir final Path tempDir) throws IOException {
+		final MummyContext context = new DummyMummyContext(new DefaultGuiseProject(tempDir));
+		final DependencyGraph dependencyGraph = new DependencyGraph(tempDir, true);
+		final Path target = tempDir.resolve("target").resolve("index.html");
+		final Path template = writeString(tempDir.resolve(".template.xhtml"), "template");
+		final Path directory = createDirectories(tempDir.resolve("posts"));
+		dependencyGraph.record(target, template);
+		dependencyGraph.record(target, directory);
+		assertThat(dependencyGraph.isStale(target, context), is(false));
+
+		setLastModifiedTime(template, FileTime.from(Instant.parse("2020-01-01T00:00:00Z")));
+		setLastModifiedTime(directory, FileTime.from(Instant.parse("2020-01-01T00:00:00Z")));
+		assertThat("A new timestamp with the same content does not make the target stale.", dependencyGraph.isStale(target, context), is(false));
+
+		writeString(template, "tEmplate");
+		setLastModifiedTime(template, FileTime.from(Instant.parse("2020-01-02T00:00:00Z")));
+		assertThat("Changed content of the same size makes the target stale.", dependencyGraph.isStale(target, context), is(true));
+		dependencyGraph.record(target, template);
+
+		writeString(directory.resolve("foo.xhtml"), "foo");
+		setLastModifiedTime(directory, FileTime.from(Instant.parse("2020-01-01T00:00:00Z")));
+		assertThat("A changed directory listing makes the target stale.", dependencyGraph.isStale(target, context), is(true));
+	}
+
+	/**
+	 * Verifies that a target depending on the child artifacts of a collection is stale only when child artifacts are added or removed, and that the dependency
+	 * survives persistence.
+	 * @see DependencyGraph#recordChildArtifacts(Path, MummyPlan, Artifact)
+	 * @see DependencyGraph#isStale(Path, MummyContext)
+	 */
+	@Test
+	void verifyChildArtifactsDependency(@TempDir final Path tempDir) throws IOException {
+		final Path sourceDirectory = tempDir.resolve("source");
+		final Path targetDirectory = tempDir.resolve("target");
+		final Mummifier mummifier = mock(Mummifier.class);
+		final Artifact fooArtifact = new DummyArtifact(mummifier, sourceDirectory.resolve("foo.xhtml"), targetDirectory.resolve("foo.html"));
+		final Artifact barArtifact = new DummyArtifact(mummifier, sourceDirectory.resolve("bar.xhtml"), targetDirectory.resolve("bar.html"));
+		final MummyPlan plan = new DefaultMummyPlan(new DirectoryArtifact(mummifier, sourceDirectory, targetDirectory, null, Set.of(fooArtifact)));
+		final DependencyGraph dependencyGraph = new DependencyGraph(tempDir);
+		dependencyGraph.recordChildArtifacts(fooArtifact.getTargetPath(), plan, plan.getRootArtifact());
+		assertThat(dependencyGraph.isStale(fooArtifact.getTargetPath(), contextWithPlan(tempDir, plan)), is(false));
+
+		final Path graphFile = tempDir.resolve(DependencyGraph.FILENAME);
+		dependencyGraph.save(graphFile);
+		final DependencyGraph loadedDependencyGraph = new DependencyGraph(tempDir);
+		loadedDependencyGraph.load(graphFile);
+		assertThat(loadedDependencyGraph.isStale(fooArtifact.getTargetPath(), contextWithPlan(tempDir, plan)), is(false));
+
+		final MummyPlan siblingAddedPlan = new DefaultMummyPlan(
+				new DirectoryArtifact(mummifier, sourceDirectory, targetDirectory, null, Set.of(fooArtifact, barArtifact)));
+		assertThat("An added sibling makes the target stale.", loadedDependencyGraph.isStale(fooArtifact.getTargetPath(), contextWithPlan(tempDir, siblingAddedPlan)),
+				is(true));
+	}
+
+	/**
+	 * Verifies that pruning removes the dependencies of targets no longer in the plan.
+	 * @see DependencyGraph#prune(MummyPlan)
+	 */
+	@Test
+	void verifyPrune(@TempDir final Path tempDir) throws IOException {
+		final Path sourceDirectory = tempDir.resolve("source");
+		final Path targetDirectory = tempDir.resolve("target");
+		final Mummifier mummifier = mock(Mummifier.class);
+		final Artifact fooArtifact = new DummyArtifact(mummifier, sourceDirectory.resolve("foo.xhtml"), targetDirectory.resolve("foo.html"));
+		final MummyPlan plan = new DefaultMummyPlan(new DirectoryArtifact(mummifier, sourceDirectory, targetDirectory, null, Set.of(fooArtifact)));
+		final Path template = tempDir.resolve(".template.xhtml");
+		final Path deletedTarget = targetDirectory.resolve("deleted.html");
+		final DependencyGraph dependencyGraph = new DependencyGraph(tempDir);
+		dependencyGraph.record(fooArtifact.getTargetPath(), template);
+		dependencyGraph.record(deletedTarget, template);
+		dependencyGraph.recordChildArtifacts(deletedTarget, plan, plan.getRootArtifact());
+		dependencyGraph.prune(plan);
+		assertThat(dependencyGraph.getDependencies(fooArtifact.getTargetPath()), contains(template));
+		assertThat(dependencyGraph.getDependencies(deletedTarget), is(empty()));
+		assertThat(dependencyGraph.isStale(deletedTarget, new DummyMummyContext(new DefaultGuiseProject(tempDir))), is(false));
+	}
+
+	/**
+	 * Creates a context providing the given plan.
+	 * @param projectDirectory The project directory.
+	 * @param plan The plan the context should provide.
+	 * @return A new context providing the plan.
+	 */
+	private static MummyContext contextWithPlan(@Nonnull final Path projectDirectory, @Nonnull final MummyPlan plan) {
+		return new DummyMummyContext(new DefaultGuiseProject(projectDirectory)) {
+			@Override
+			public MummyPlan getPlan() {
+				return plan;
+			}
+		};
+	}
+
+}
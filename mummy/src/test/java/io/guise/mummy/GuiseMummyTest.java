@@ -153,4 +153,33 @@ public void testGetConfiguredSiteAltDomainsRootThrowsException() {
 		assertThrows(ConfigurationException.class, () -> GuiseMummy.findConfiguredSiteAltDomains(configuration));
 	}
 
+	//## `mummy.parallelism`
+
+	/** @see GuiseMummy#findConfiguredMummyParallelism(Configuration) */
+	@Test
+	public void testFindConfiguredMummyParallelismDefaultsToSequential() {
+		assertThat(GuiseMummy.findConfiguredMummyParallelism(Configuration.empty()), is(GuiseMummy.DEFAULT_MUMMY_PARALLELISM));
+	}
+
+	/** @see GuiseMummy#findConfiguredMummyParallelism(Configuration) */
+	@Test
+	public void testFindConfiguredMummyParallelism() {
+		final Configuration configuration = new ObjectMapConfiguration(Map.of(GuiseMummy.CONFIG_KEY_MUMMY_PARALLELISM, 4));
+		assertThat(GuiseMummy.findConfiguredMummyParallelism(configuration), is(4));
+	}
+
+	/** @see GuiseMummy#findConfiguredMummyParallelism(Configuration) */
+	@Test
+	public void testFindConfiguredMummyParallelismZeroUsesAvailableProcessors() {
+		final Configuration configuration = new ObjectMapConfiguration(Map.of(GuiseMummy.CONFIG_KEY_MUMMY_PARALLELISM, 0));
+		assertThat(GuiseMummy.findConfiguredMummyParallelism(configuration), is(Runtime.getRuntime().availableProcessors()));
+	}
+
+	/** @see GuiseMummy#findConfiguredMummyParallelism(Configuration) */
+	@Test
+	public void testFindConfiguredMummyParallelismNegativeThrowsException() {
+		final Configuration configuration = new ObjectMapConfiguration(Map.of(GuiseMummy.CONFIG_KEY_MUMMY_PARALLELISM, -1));
+		assertThrows(ConfigurationException.class, () -> GuiseMummy.findConfiguredMummyParallelism(configuration));
+	}
+
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy;
+
+import static java.nio.file.Files.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Map;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.confound.config.*;
+import io.guise.mummy.mummify.Mummifier;
+
+/**
+ * Tests of {@link MummyContext}.
+ * @author Garret Wilson
+ */
+public class MummyContextTest {
+
+	/** @see MummyContext#getGeneratedAt(Artifact) */
+	@Test
+	void testGetGeneratedAt(@TempDir final Path tempDir) throws IOException {
+		final Path sourceFile = writeString(tempDir.resolve("source.html"), "test");
+		final Instant sourceModifiedAt = Instant.parse("2019-06-01T12:00:00Z");
+		setLastModifiedTime(sourceFile, FileTime.from(sourceModifiedAt));
+		final Artifact artifact = new DummyArtifact(mock(Mummifier.class), sourceFile, tempDir.resolve("target.html"));
+
+		final Instant before = Instant.now();
+		final Instant generatedAt = new DummyMummyContext(new DefaultGuiseProject(tempDir, Configuration.empty())).getGeneratedAt(artifact);
+		assertThat("The current time is used by default.", generatedAt, is(both(greaterThanOrEqualTo(before)).and(lessThanOrEqualTo(Instant.now()))));
+
+		final MummyContext reproducibleContext = new DummyMummyContext(
+				new DefaultGuiseProject(tempDir, new ObjectMapConfiguration(Map.of(GuiseMummy.CONFIG_KEY_MUMMY_REPRODUCIBLE, true))));
+		assertThat("Reproducible output uses the source modification time.", reproducibleContext.getGeneratedAt(artifact), is(sourceModifiedAt));
+
+		final MummyContext fixedContext = new DummyMummyContext(new DefaultGuiseProject(tempDir, new ObjectMapConfiguration(
+				Map.of(GuiseMummy.CONFIG_KEY_MUMMY_REPRODUCIBLE, true, GuiseMummy.CONFIG_KEY_MUMMY_GENERATED_AT, "2020-01-01T00:00:00Z"))));
+		assertThat("A fixed instant takes precedence.", fixedContext.getGeneratedAt(artifact), is(Instant.parse("2020-01-01T00:00:00Z")));
+
+		final MummyContext invalidContext = new DummyMummyContext(
+				new DefaultGuiseProject(tempDir, new ObjectMapConfiguration(Map.of(GuiseMummy.CONFIG_KEY_MUMMY_GENERATED_AT, "yesterday"))));
+		assertThrows(ConfigurationException.class, () -> invalidContext.getGeneratedAt(artifact));
+	}
+
+}
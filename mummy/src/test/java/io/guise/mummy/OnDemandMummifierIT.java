@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy;
+
+import static com.github.npathai.hamcrestopt.OptionalMatchers.*;
+import static java.nio.charset.StandardCharsets.*;
+import static java.nio.file.Files.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Integration tests of {@link OnDemandMummifier}.
+ * @author Garret Wilson
+ */
+public class OnDemandMummifierIT extends BaseEndToEndIT {
+
+	private static final String PAGE_XHTML_FORMAT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!DOCTYPE html>\n"
+			+ "<html xmlns=\"http://www.w3.org/1999/xhtml\">\n<head>\n<meta charset=\"UTF-8\" />\n<title>%s</title>\n</head>\n<body>\n<h1>%s</h1>\n</body>\n</html>\n";
+
+	@Override
+	protected void populateSiteSourceDirectory(final Path siteSourceDirectory) throws IOException {
+		super.populateSiteSourceDirectory(siteSourceDirectory);
+		writeString(siteSourceDirectory.resolve("page.xhtml"), String.format(PAGE_XHTML_FORMAT, "Page", "Original"));
+		writeString(siteSourceDirectory.resolve("data.bin"), "data");
+	}
+
+	/**
+	 * Verifies that pages are rendered in memory without writing to the site target directory, and that planning again picks up changes to the source.
+	 * @see OnDemandMummifier#findRenderedPage(Path)
+	 * @see OnDemandMummifier#plan()
+	 */
+	@Test
+	void verifyFindRenderedPage() throws IOException {
+		final OnDemandMummifier onDemandMummifier = new OnDemandMummifier(new GuiseMummy(), getFixtureProject());
+		onDemandMummifier.plan();
+		final Path targetPageFile = getSiteTargetDirectory().resolve("page.html");
+		assertThat(onDemandMummifier.findRenderedPage(targetPageFile).map(bytes -> new String(bytes, UTF_8)), isPresentAnd(containsString("<h1>Original</h1>")));
+		assertThat("Rendered pages are not written to the target directory.", exists(targetPageFile), is(false));
+		assertThat("Non-page artifacts are not rendered.", onDemandMummifier.findRenderedPage(getSiteTargetDirectory().resolve("data.bin")), isEmpty());
+		assertThat(onDemandMummifier.findRenderedPage(getSiteTargetDirectory().resolve("missing.html")), isEmpty());
+
+		writeString(getSiteSourceDirectory().resolve("page.xhtml"), String.format(PAGE_XHTML_FORMAT, "Page", "Changed"));
+		onDemandMummifier.plan();
+		assertThat("Planning again discards rendered pages.",
+				onDemandMummifier.findRenderedPage(targetPageFile).map(bytes -> new String(bytes, UTF_8)), isPresentAnd(containsString("<h1>Changed</h1>")));
+	}
+
+	/** @see OnDemandMummifier#mummify(Path) */
+	@Test
+	void testMummify() throws IOException {
+		final OnDemandMummifier onDemandMummifier = new OnDemandMummifier(new GuiseMummy(), getFixtureProject());
+		onDemandMummifier.plan();
+		final Path targetDataFile = getSiteTargetDirectory().resolve("data.bin");
+		assertThat(onDemandMummifier.mummify(targetDataFile), is(true));
+		assertThat(readString(targetDataFile, UTF_8), is("data"));
+		assertThat("Only the requested artifact is mummified.", exists(getSiteTargetDirectory().resolve("page.html")), is(false));
+		assertThat(onDemandMummifier.mummify(getSiteTargetDirectory().resolve("missing.bin")), is(false));
+	}
+
+}
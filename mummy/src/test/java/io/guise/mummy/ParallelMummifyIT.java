@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy;
+
+import static com.globalmentor.io.Files.*;
+import static io.guise.mummy.GuiseMummy.*;
+import static java.nio.charset.StandardCharsets.*;
+import static java.nio.file.Files.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Integration tests verifying that mummifying a site in parallel produces the same site as mummifying it sequentially.
+ * @author Garret Wilson
+ */
+public class ParallelMummifyIT extends BaseEndToEndIT {
+
+	/** The number of subdirectories in the test site. */
+	private static final int DIRECTORY_COUNT = 4;
+
+	/** The number of pages in each directory of the test site. */
+	private static final int PAGE_COUNT = 8;
+
+	private static final String TEMPLATE_XHTML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!DOCTYPE html>\n"
+			+ "<html xmlns=\"http://www.w3.org/1999/xhtml\" xmlns:mummy=\"https://guise.io/name/mummy/\">\n<head>\n<meta charset=\"UTF-8\" />\n<title>Template</title>\n</head>\n"
+			+ "<body>\n<nav><ul mummy:regenerate=\"regenerate\"><li><a href=\"\">Item</a></li></ul></nav>\n<main><p>Placeholder</p></main>\n</body>\n</html>\n";
+
+	private static final String PAGE_XHTML_FORMAT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!DOCTYPE html>\n"
+			+ "<html xmlns=\"http://www.w3.org/1999/xhtml\" xmlns:mummy=\"https://guise.io/name/mummy/\">\n<head>\n<meta charset=\"UTF-8\" />\n<title>%s</title>\n</head>\n"
+			+ "<body>\n<h1>%1$s</h1>\n%s\n</body>\n</html>\n";
+
+	@Override
+	protected void configure(final Map<String, Object> settings) {
+		super.configure(settings);
+		settings.put(CONFIG_KEY_MUMMY_GENERATED_AT, "2020-01-01T00:00:00Z"); //keep the generation timestamp from varying between runs
+	}
+
+	@Override
+	protected void populateSiteSourceDirectory(final Path siteSourceDirectory) throws IOException {
+		super.populateSiteSourceDirectory(siteSourceDirectory);
+		writeString(siteSourceDirectory.resolve(".template.xhtml"), TEMPLATE_XHTML);
+		writeString(siteSourceDirectory.resolve("index.xhtml"), String.format(PAGE_XHTML_FORMAT, "Home", "<mummy:directory />"));
+		for(int directoryIndex = 0; directoryIndex < DIRECTORY_COUNT; directoryIndex++) {
+			final Path directory = createDirectories(siteSourceDirectory.resolve("directory-" + directoryIndex));
+			writeString(directory.resolve("index.xhtml"), String.format(PAGE_XHTML_FORMAT, "Directory " + directoryIndex, "<mummy:directory />"));
+			for(int pageIndex = 0; pageIndex < PAGE_COUNT; pageIndex++) {
+				final String title = "Page " + directoryIndex + "-" + pageIndex;
+				writeString(directory.resolve("page-" + pageIndex + ".xhtml"), String.format(PAGE_XHTML_FORMAT, title, "<p>" + title + "</p>"));
+			}
+		}
+	}
+
+	/**
+	 * Verifies that mummifying using several threads, with navigation and directory listings reading the descriptions of artifacts that may be being mummified
+	 * concurrently, generates exactly the same site as mummifying sequentially.
+	 * @see GuiseMummy#CONFIG_KEY_MUMMY_PARALLELISM
+	 */
+	@Test
+	void verifyParallelMummifyMatchesSequential() throws IOException {
+		mummify(LifeCyclePhase.MUMMIFY);
+		final Map<Path, String> sequentialSite = readSiteTarget();
+		assertThat(sequentialSite.keySet(), hasSize(1 + DIRECTORY_COUNT * (1 + PAGE_COUNT)));
+
+		deleteFileTree(getSiteTargetDirectory());
+		deleteFileTree(getFixtureProject().getConfiguration().getPath(PROJECT_CONFIG_KEY_SITE_DESCRIPTION_TARGET_DIRECTORY));
+		getFixtureProjectSettings().put(CONFIG_KEY_MUMMY_PARALLELISM, 4);
+		mummify(LifeCyclePhase.MUMMIFY);
+		assertThat(readSiteTarget(), is(sequentialSite));
+	}
+
+	/**
+	 * Reads the content of all the generated files in the site target directory.
+	 * @return The content of each generated file, keyed by its path relative to the site target directory.
+	 * @throws IOException if there is an error reading the generated files.
+	 */
+	private Map<Path, String> readSiteTarget() throws IOException {
+		final Path siteTargetDirectory = getSiteTargetDirectory();
+		final Map<Path, String> contentsByPath = new HashMap<>();
+		try (final Stream<Path> paths = walk(siteTargetDirectory)) {
+			for(final Path file : (Iterable<Path>)paths.filter(Files::isRegularFile)::iterator) {
+				contentsByPath.put(siteTargetDirectory.relativize(file), readString(file, UTF_8));
+			}
+		}
+		return contentsByPath;
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy;
+
+import static java.nio.file.Files.*;
+import static java.nio.file.StandardWatchEventKinds.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of {@link SourceWatcher}.
+ * @implNote These tests use the platform watch service, which on some platforms polls for changes, so generous timeouts are used.
+ * @author Garret Wilson
+ */
+public class SourceWatcherTest {
+
+	/** The debounce period to use, long enough for changes made in quick succession by a test to arrive in a single batch. */
+	private static final Duration DEBOUNCE_DURATION = Duration.ofSeconds(1);
+
+	/** The maximum time to wait for changes before failing a test. */
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+	/**
+	 * Verifies that changes in different directories made within the debounce period are returned as a single batch.
+	 * @see SourceWatcher#awaitChanges(Duration)
+	 */
+	@Test
+	void verifyChangesWithinDebouncePeriodAreBatched(@TempDir final Path tempDir) throws IOException {
+		final Path subdirectory = createDirectory(tempDir.resolve("sub"));
+		try (final SourceWatcher sourceWatcher = new SourceWatcher(tempDir)) {
+			final Path file1 = writeString(tempDir.resolve("foo.xhtml"), "foo");
+			final Path file2 = writeString(subdirectory.resolve("bar.xhtml"), "bar");
+			final Set<Path> changedPaths = assertTimeoutPreemptively(TIMEOUT, () -> sourceWatcher.awaitChanges(DEBOUNCE_DURATION));
+			assertThat(changedPaths, hasItems(file1, file2));
+			assertThat(changedPaths, not(hasItem(tempDir)));
+		}
+	}
+
+	/**
+	 * Verifies that a directory created after the watcher was started is itself watched, so that changes within it are detected.
+	 * @see SourceWatcher#awaitChanges(Duration)
+	 */
+	@Test
+	void verifyCreatedDirectoryIsWatched(@TempDir final Path tempDir) throws IOException {
+		try (final SourceWatcher sourceWatcher = new SourceWatcher(tempDir)) {
+			final Path subdirectory = createDirectory(tempDir.resolve("sub"));
+			assertThat(assertTimeoutPreemptively(TIMEOUT, () -> sourceWatcher.awaitChanges(DEBOUNCE_DURATION)), hasItem(subdirectory));
+			final Path file = writeString(subdirectory.resolve("foo.xhtml"), "foo");
+			assertThat(assertTimeoutPreemptively(TIMEOUT, () -> sourceWatcher.awaitChanges(DEBOUNCE_DURATION)), hasItem(file));
+		}
+	}
+
+	/**
+	 * Verifies that if the watch service indicates that events were lost, the source directory itself is reported as changed.
+	 * @see SourceWatcher#collectChanges(WatchKey, Set)
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	void verifyOverflowReportsSourceDirectory(@TempDir final Path tempDir) throws IOException {
+		final WatchEvent<Object> overflowEvent = mock(WatchEvent.class);
+		when(overflowEvent.kind()).thenReturn(OVERFLOW);
+		final WatchKey watchKey = mock(WatchKey.class);
+		when(watchKey.pollEvents()).thenReturn(List.of(overflowEvent));
+		try (final SourceWatcher sourceWatcher = new SourceWatcher(tempDir)) {
+			final Set<Path> changedPaths = new LinkedHashSet<>();
+			sourceWatcher.collectChanges(watchKey, changedPaths);
+			assertThat(changedPaths, is(Set.of(sourceWatcher.getSourceDirectory())));
+			verify(watchKey).reset();
+		}
+	}
+
+}
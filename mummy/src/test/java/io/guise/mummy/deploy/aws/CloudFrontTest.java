@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2019 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy.deploy.aws;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests of {@link CloudFront}.
+ * @author Garret Wilson
+ */
+public class CloudFrontTest {
+
+	/** @see CloudFront#getInvalidationPaths(Collection, String) */
+	@Test
+	public void testGetInvalidationPaths() {
+		assertThat(CloudFront.getInvalidationPaths(List.of(), "index.html"), is(empty()));
+		assertThat(CloudFront.getInvalidationPaths(List.of("foo.html", "bar/example.jpg"), "index.html"), contains("/bar/example.jpg", "/foo.html"));
+		assertThat(CloudFront.getInvalidationPaths(List.of("index.html", "foo/index.html", "foo/notindex.html"), "index.html"),
+				contains("/", "/foo/", "/foo/index.html", "/foo/notindex.html", "/index.html"));
+		assertThat(CloudFront.getInvalidationPaths(List.of("foo/index.html"), null), contains("/foo/index.html"));
+	}
+
+	/** @see CloudFront#collapseInvalidationPaths(Set, int, int) */
+	@Test
+	public void testCollapseInvalidationPaths() {
+		final Set<String> paths = new TreeSet<>(Set.of("/index.html", "/foo/a.html", "/foo/b.html", "/foo/bar/c.html", "/foo/bar/d.html", "/foo/bar/e.html",
+				"/other/f.html", "/other/g.html"));
+		assertThat("Paths within the limit are left alone.", CloudFront.collapseInvalidationPaths(paths, 8, 15), is(paths));
+		assertThat("The most specific sufficient collection is collapsed.", CloudFront.collapseInvalidationPaths(paths, 6, 15),
+				containsInAnyOrder("/index.html", "/foo/a.html", "/foo/b.html", "/foo/bar/*", "/other/f.html", "/other/g.html"));
+		assertThat("Wildcards within a collapsed collection are subsumed.", CloudFront.collapseInvalidationPaths(paths, 3, 15),
+				containsInAnyOrder("/index.html", "/foo/*", "/other/*"));
+		assertThat("Too many wildcards invalidates everything.", CloudFront.collapseInvalidationPaths(paths, 3, 1), contains("/*"));
+		assertThat("Root-level paths can only be collapsed to everything.", CloudFront.collapseInvalidationPaths(Set.of("/a.html", "/b.html", "/c.html"), 2, 15),
+				contains("/*"));
+	}
+
+}
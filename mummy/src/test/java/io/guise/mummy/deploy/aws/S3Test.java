@@ -16,16 +16,29 @@
 
 package io.guise.mummy.deploy.aws;
 
+import static com.github.npathai.hamcrestopt.OptionalMatchers.*;
+import static com.globalmentor.java.OperatingSystem.*;
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
+import java.io.*;
+import java.net.URI;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.*;
 
 import org.junit.jupiter.api.*;
 
 import io.confound.config.*;
-import io.guise.mummy.GuiseMummy;
+import io.guise.mummy.*;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
 
 /**
  * Tests of {@link S3}.
@@ -90,4 +103,201 @@ public void testGetConfiguredBucketDefaultsToSiteDomain() {
 		assertThat(S3.getConfiguredBucket(globalConfiguration, localConfiguration), is("test.example.com"));
 	}
 
+	//## `….endpoint`
+
+	/*** @see S3#findConfiguredEndpoint(Configuration) */
+	@Test
+	public void testFindConfiguredEndpoint() {
+		assertThat(S3.findConfiguredEndpoint(Configuration.empty()), isEmpty());
+		assertThat(S3.findConfiguredEndpoint(new StringMapConfiguration(Map.of(S3.CONFIG_KEY_ENDPOINT, "http://localhost:9000"))),
+				isPresentAndIs(URI.create("http://localhost:9000")));
+		assertThrows(ConfigurationException.class,
+				() -> S3.findConfiguredEndpoint(new StringMapConfiguration(Map.of(S3.CONFIG_KEY_ENDPOINT, "http://local host:9000"))));
+	}
+
+	//# deployment
+
+	/*** @see S3#executeConcurrently(String, Collection, org.zalando.fauxpas.ThrowingConsumer) */
+	@Test
+	public void verifyExecuteConcurrentlyBoundsConcurrency() throws IOException {
+		final S3 s3 = new S3(null, Region.US_EAST_1, "example.com", URI.create("http://localhost:9000"), 3);
+		final List<Integer> items = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+		final Set<Integer> processedItems = ConcurrentHashMap.newKeySet();
+		final AtomicInteger inFlightCount = new AtomicInteger();
+		final AtomicInteger maxInFlightCount = new AtomicInteger();
+		s3.executeConcurrently("Testing", items, item -> {
+			maxInFlightCount.accumulateAndGet(inFlightCount.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(2);
+			} catch(final InterruptedException interruptedException) {
+				throw new InterruptedIOException();
+			} finally {
+				inFlightCount.decrementAndGet();
+			}
+			processedItems.add(item);
+		});
+		assertThat(processedItems, is(new HashSet<>(items)));
+		assertThat(maxInFlightCount.get(), is(lessThanOrEqualTo(3)));
+	}
+
+	/*** @see S3#executeConcurrently(String, Collection, org.zalando.fauxpas.ThrowingConsumer) */
+	@Test
+	public void verifyExecuteConcurrentlyPropagatesFailure() {
+		final S3 s3 = new S3(null, Region.US_EAST_1, "example.com", URI.create("http://localhost:9000"), 4);
+		final IOException ioException = assertThrows(IOException.class, () -> s3.executeConcurrently("Testing", List.of(1, 2, 3), item -> {
+			if(item == 2) {
+				throw new UncheckedIOException(new FileNotFoundException("test"));
+			}
+		}));
+		assertThat(ioException, is(instanceOf(FileNotFoundException.class)));
+	}
+
+	/*** @see S3.DeployManifestEntry */
+	@Test
+	public void testDeployManifestEntryEquality() {
+		final byte[] fingerprint = {1, 2, 3};
+		final S3.DeployManifestEntry manifestEntry = new S3.DeployManifestEntry(fingerprint, "\"abc\"");
+		fingerprint[0] = 9; //the entry must not be affected by changes to the original array
+		assertThat(manifestEntry, is(new S3.DeployManifestEntry(new byte[] {1, 2, 3}, "\"abc\"")));
+		assertThat(manifestEntry.hashCode(), is(new S3.DeployManifestEntry(new byte[] {1, 2, 3}, "\"abc\"").hashCode()));
+		assertThat(manifestEntry, is(not(new S3.DeployManifestEntry(new byte[] {1, 2, 3}, "\"abd\""))));
+		assertThat(manifestEntry, is(not(new S3.DeployManifestEntry(new byte[] {1, 2, 4}, "\"abc\""))));
+	}
+
+	/**
+	 * Creates an S3 deploy target for deployment tests, with a mock client.
+	 * @param s3Client The mock client to use.
+	 * @param siteKeys The keys of the objects in the site.
+	 * @return The new S3 deploy target.
+	 */
+	private static S3 createDeployFixture(final S3Client s3Client, final Collection<String> siteKeys) {
+		doReturn(DeleteObjectsResponse.builder().build()).when(s3Client).deleteObjects(any(DeleteObjectsRequest.class));
+		final S3 s3 = new S3(null, Region.US_EAST_1, "example.com", URI.create("http://localhost:9000"), 2) {
+			@Override
+			protected S3Client getS3Client() {
+				return s3Client;
+			}
+		};
+		siteKeys.forEach(key -> s3.getDeployObjectsByKey().put(key, mock(S3DeployObject.class)));
+		return s3;
+	}
+
+	/**
+	 * Creates an incremental mummification context for deployment tests.
+	 * @return A new context that is not for full mummification.
+	 */
+	private static MummyContext createIncrementalContext() {
+		return new DummyMummyContext(new DefaultGuiseProject(getWorkingDirectory(), Configuration.empty())) {
+			@Override
+			public boolean isFull() {
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Creates a mock deploy object with the given content and fingerprint.
+	 * @param key The S3 key of the object.
+	 * @param fingerprint The fingerprint of the object.
+	 * @return A new mock deploy object.
+	 * @throws IOException if there is an I/O error stubbing the content length.
+	 */
+	private static S3DeployObject createDeployObject(final String key, final byte[] fingerprint) throws IOException {
+		final byte[] content = {1, 2, 3, 4};
+		final S3DeployObject deployObject = mock(S3DeployObject.class);
+		when(deployObject.getKey()).thenReturn(key);
+		when(deployObject.findFingerprint()).thenReturn(Optional.of(fingerprint));
+		when(deployObject.getContentLength()).thenReturn((long)content.length);
+		when(deployObject.getContentType()).thenReturn("application/octet-stream");
+		when(deployObject.createContentStreamProvider()).thenReturn(() -> new ByteArrayInputStream(content));
+		return deployObject;
+	}
+
+	/*** @see S3#put(MummyContext, S3DeployObject, Map, Map) */
+	@Test
+	public void verifyPutSkipsObjectMatchingDeployManifestWithoutHead() throws IOException {
+		final S3Client s3Client = mock(S3Client.class, CALLS_REAL_METHODS);
+		final S3 s3 = createDeployFixture(s3Client, List.of());
+		final byte[] fingerprint = {1, 2, 3};
+		final Optional<S3.DeployManifestEntry> manifestEntry = s3.put(createIncrementalContext(), createDeployObject("index.html", fingerprint),
+				Map.of("index.html", "\"abc\""), Map.of("index.html", new S3.DeployManifestEntry(fingerprint, "\"abc\"")));
+		assertThat(manifestEntry, isPresentAndIs(new S3.DeployManifestEntry(fingerprint, "\"abc\"")));
+		verify(s3Client, never()).headObject(any(HeadObjectRequest.class));
+		verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+		assertThat(s3.getChangedKeys(), is(empty()));
+	}
+
+	/*** @see S3#put(MummyContext, S3DeployObject, Map, Map) */
+	@Test
+	public void verifyPutFallsBackToHeadForDeployManifestETagMismatch() throws IOException {
+		final S3Client s3Client = mock(S3Client.class, CALLS_REAL_METHODS);
+		final byte[] fingerprint = {1, 2, 3};
+		doReturn(HeadObjectResponse.builder().metadata(Map.of(S3DeployObject.METADATA_CONTENT_FINGERPRINT, Base64.getUrlEncoder().encodeToString(fingerprint)))
+				.build()).when(s3Client).headObject(any(HeadObjectRequest.class));
+		final S3 s3 = createDeployFixture(s3Client, List.of());
+		final Optional<S3.DeployManifestEntry> manifestEntry = s3.put(createIncrementalContext(), createDeployObject("index.html", fingerprint),
+				Map.of("index.html", "\"def\""), Map.of("index.html", new S3.DeployManifestEntry(new byte[] {9, 9, 9}, "\"abc\"")));
+		assertThat(manifestEntry, isPresentAndIs(new S3.DeployManifestEntry(fingerprint, "\"def\"")));
+		verify(s3Client).headObject(any(HeadObjectRequest.class));
+		verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+	}
+
+	/*** @see S3#put(MummyContext, S3DeployObject, Map, Map) */
+	@Test
+	public void verifyPutUploadsObjectMissingFromBucketWithoutHead() throws IOException {
+		final S3Client s3Client = mock(S3Client.class, CALLS_REAL_METHODS);
+		doReturn(PutObjectResponse.builder().eTag("\"new\"").build()).when(s3Client).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+		final S3 s3 = createDeployFixture(s3Client, List.of());
+		final byte[] fingerprint = {1, 2, 3};
+		final Optional<S3.DeployManifestEntry> manifestEntry = s3.put(createIncrementalContext(), createDeployObject("new.html", fingerprint),
+				Map.of("index.html", "\"abc\""), Map.of("new.html", new S3.DeployManifestEntry(fingerprint, "\"old\"")));
+		assertThat(manifestEntry, isPresentAndIs(new S3.DeployManifestEntry(fingerprint, "\"new\"")));
+		verify(s3Client, never()).headObject(any(HeadObjectRequest.class));
+		verify(s3Client).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+		assertThat(s3.getChangedKeys(), is(Set.of("new.html")));
+	}
+
+	/*** @see S3#prune(MummyContext, Set) */
+	@Test
+	public void verifyPruneDeletesInBatches() throws IOException {
+		final S3Client s3Client = mock(S3Client.class, CALLS_REAL_METHODS);
+		final List<String> staleKeys = IntStream.range(0, 2500).mapToObj(i -> "stale-" + i + ".html").collect(Collectors.toList());
+		final Set<String> bucketKeys = new HashSet<>(staleKeys);
+		bucketKeys.add("index.html");
+		final S3 s3 = createDeployFixture(s3Client, List.of("index.html"));
+		s3.prune(new DummyMummyContext(new DefaultGuiseProject(getWorkingDirectory(), Configuration.empty())), bucketKeys);
+		final Set<String> deletedKeys = new HashSet<>();
+		final int[] batchSizes = mockingDetails(s3Client).getInvocations().stream().map(invocation -> invocation.getArguments())
+				.filter(arguments -> arguments.length == 1 && arguments[0] instanceof DeleteObjectsRequest).map(arguments -> (DeleteObjectsRequest)arguments[0])
+				.mapToInt(request -> {
+					request.delete().objects().forEach(objectIdentifier -> deletedKeys.add(objectIdentifier.key()));
+					return request.delete().objects().size();
+				}).sorted().toArray();
+		assertThat(batchSizes, is(new int[] {500, 1000, 1000}));
+		assertThat(deletedKeys, is(new HashSet<>(staleKeys)));
+		verify(s3Client, never()).listObjectsV2(any(ListObjectsV2Request.class)); //the keys listed before putting are reused
+	}
+
+	/*** @see S3#prune(MummyContext, Set) */
+	@Test
+	public void verifyPruneDryRunDeletesNothing() throws IOException {
+		final S3Client s3Client = mock(S3Client.class, CALLS_REAL_METHODS);
+		final S3 s3 = createDeployFixture(s3Client, List.of("index.html"));
+		s3.prune(new DummyMummyContext(
+				new DefaultGuiseProject(getWorkingDirectory(), new ObjectMapConfiguration(Map.of(GuiseMummy.CONFIG_KEY_DEPLOY_PRUNE_DRY_RUN, true)))),
+				Set.of("index.html", "stale.html"));
+		verify(s3Client, never()).deleteObjects(any(DeleteObjectsRequest.class));
+	}
+
+	/*** @see S3#prune(MummyContext, Set) */
+	@Test
+	public void verifyPruneMaxCountPreventsDeletion() {
+		final S3Client s3Client = mock(S3Client.class, CALLS_REAL_METHODS);
+		final S3 s3 = createDeployFixture(s3Client, List.of("index.html"));
+		assertThrows(IOException.class, () -> s3.prune(
+				new DummyMummyContext(new DefaultGuiseProject(getWorkingDirectory(), new ObjectMapConfiguration(Map.of(GuiseMummy.CONFIG_KEY_DEPLOY_PRUNE_MAX_COUNT, 1)))),
+				Set.of("index.html", "stale1.html", "stale2.html")));
+		verify(s3Client, never()).deleteObjects(any(DeleteObjectsRequest.class));
+	}
+
 }
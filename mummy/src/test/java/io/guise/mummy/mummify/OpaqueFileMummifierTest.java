@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy.mummify;
+
+import static com.github.npathai.hamcrestopt.OptionalMatchers.*;
+import static java.nio.file.Files.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.*;
+import java.time.Instant;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.confound.config.*;
+import io.guise.mummy.*;
+import io.urf.vocab.content.Content;
+
+/**
+ * Tests of {@link OpaqueFileMummifier}.
+ * @author Garret Wilson
+ */
+public class OpaqueFileMummifierTest {
+
+	/**
+	 * Verifies that regenerating a file with identical content keeps the existing target file, while different content replaces it.
+	 * @see AbstractFileMummifier#mummify(MummyContext, Artifact)
+	 */
+	@Test
+	void verifyRegeneratedUnchangedFileIsKept(@TempDir final Path tempDir) throws IOException {
+		final MummyContext context = new FakeMummyContext(new DefaultGuiseProject(tempDir));
+		final OpaqueFileMummifier mummifier = new OpaqueFileMummifier();
+		final Path sourceFile = writeString(createDirectories(context.getSiteSourceDirectory()).resolve("test.bin"), "foo");
+		final Path targetFile = context.getSiteTargetDirectory().resolve("test.bin");
+
+		mummifier.mummify(context, DefaultSourceFileArtifact.builder(mummifier, sourceFile, targetFile).withEmptyDescription().build());
+		assertThat(readString(targetFile), is("foo"));
+		final Object targetFileKey = readAttributes(targetFile, BasicFileAttributes.class).fileKey();
+
+		mummifier.mummify(context, DefaultSourceFileArtifact.builder(mummifier, sourceFile, targetFile).withEmptyDescription().build());
+		assertThat("Unchanged content leaves the target file in place.", readAttributes(targetFile, BasicFileAttributes.class).fileKey(), is(targetFileKey));
+
+		writeString(sourceFile, "bar");
+		mummifier.mummify(context, DefaultSourceFileArtifact.builder(mummifier, sourceFile, targetFile).withEmptyDescription().build());
+		assertThat(readString(targetFile), is("bar"));
+		assertThat("Changed content replaces the target file.", readAttributes(targetFile, BasicFileAttributes.class).fileKey(), is(not(targetFileKey)));
+		try (final Stream<Path> targetFiles = list(targetFile.getParent())) {
+			assertThat("No temporary files are left behind.", targetFiles.count(), is(1L));
+		}
+	}
+
+	/**
+	 * Verifies that when detecting source changes by content hash, a source file with a new timestamp but the same content still uses the previously generated
+	 * target description, while a change in size is detected even with the same timestamp.
+	 * @see AbstractFileMummifier#loadArtifactDescription(MummyContext, Path, Path)
+	 * @see GuiseMummy#CONFIG_KEY_MUMMY_SOURCE_CONTENT_HASH
+	 */
+	@Test
+	void verifySourceContentHashDetectsChanges(@TempDir final Path tempDir) throws IOException {
+		final Configuration configuration = new ObjectMapConfiguration(Map.of(GuiseMummy.CONFIG_KEY_MUMMY_SOURCE_CONTENT_HASH, true))
+				.withFallback(GuiseMummy.getDefaultConfiguration(tempDir));
+		final MummyContext context = new FakeMummyContext(new DefaultGuiseProject(tempDir, configuration)) {
+			@Override
+			public boolean isFull() {
+				return false;
+			}
+		};
+		final OpaqueFileMummifier mummifier = new OpaqueFileMummifier();
+		final Path sourceFile = writeString(createDirectories(context.getSiteSourceDirectory()).resolve("test.bin"), "foo");
+		final Path targetFile = context.getSiteTargetDirectory().resolve("test.bin");
+		mummifier.mummify(context, mummifier.plan(context, sourceFile, targetFile));
+
+		final Instant touchedAt = Instant.parse("2020-01-01T00:00:00Z");
+		setLastModifiedTime(sourceFile, FileTime.from(touchedAt));
+		final Artifact touchedArtifact = mummifier.plan(context, sourceFile, targetFile);
+		assertThat("The previous target description is used.", touchedArtifact.getResourceDescription().hasPropertyValue(Content.MODIFIED_AT_PROPERTY_TAG),
+				is(true));
+		assertThat(touchedArtifact.getResourceDescription().findPropertyValue(Artifact.PROPERTY_TAG_MUMMY_SOURCE_CONTENT_MODIFIED_AT), isPresentAndIs(touchedAt));
+		mummifier.mummify(context, touchedArtifact);
+
+		writeString(sourceFile, "foobar");
+		setLastModifiedTime(sourceFile, FileTime.from(touchedAt));
+		final Artifact changedArtifact = mummifier.plan(context, sourceFile, targetFile);
+		assertThat("A new description is created for changed content.", changedArtifact.getResourceDescription().hasPropertyValue(Content.MODIFIED_AT_PROPERTY_TAG),
+				is(false));
+	}
+
+}
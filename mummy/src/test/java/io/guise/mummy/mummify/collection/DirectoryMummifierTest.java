@@ -24,6 +24,7 @@
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.concurrent.*;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -67,4 +68,37 @@ void verifyPlannedComprisedArtifacts(@TempDir final Path tempDir) throws IOExcep
 				directoryArtifact.getSubsumedArtifacts().stream().map(Artifact::getSourcePath).collect(toSet()), containsInAnyOrder(indexFile));
 	}
 
+	/**
+	 * Ensures that planning within a fork/join pool produces the same artifacts in the same order as sequential planning.
+	 * @param A temporary directory to serve as the project base directory for the planning test.
+	 * @see DirectoryMummifier#plan(MummyContext, Path, Path)
+	 */
+	@Test
+	void verifyParallelPlanMatchesSequentialPlan(@TempDir final Path tempDir) throws IOException {
+		final GuiseProject project = new DefaultGuiseProject(tempDir);
+		final MummyContext mummyContext = new FakeMummyContext(project);
+		final Path sourceDirectory = createDirectories(tempDir.resolve("src").resolve("site"));
+		writeString(sourceDirectory.resolve("index.md"), "# Index", UTF_8);
+		for(int i = 0; i < 10; i++) {
+			writeString(sourceDirectory.resolve("child" + i + ".md"), "# Child " + i, UTF_8);
+			final Path subdirectory = createDirectory(sourceDirectory.resolve("sub" + i));
+			writeString(subdirectory.resolve("index.md"), "# Sub " + i, UTF_8);
+			writeString(subdirectory.resolve("grandchild.md"), "# Grandchild " + i, UTF_8);
+		}
+		final Path targetDirectory = createDirectory(tempDir.resolve("target"));
+		final DirectoryMummifier directoryMummifier = new DirectoryMummifier();
+		final DirectoryArtifact sequentialArtifact = directoryMummifier.plan(mummyContext, sourceDirectory, targetDirectory);
+		final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+		try {
+			final DirectoryArtifact parallelArtifact = forkJoinPool.submit(() -> directoryMummifier.plan(mummyContext, sourceDirectory, targetDirectory)).get();
+			assertThat("Parallel planning should produce the same artifacts in the same order.",
+					parallelArtifact.getChildArtifacts().stream().map(Artifact::getTargetPath).collect(toList()),
+					contains(sequentialArtifact.getChildArtifacts().stream().map(Artifact::getTargetPath).toArray()));
+		} catch(final InterruptedException | ExecutionException exception) {
+			throw new AssertionError(exception);
+		} finally {
+			forkJoinPool.shutdown();
+		}
+	}
+
 }
@@ -211,7 +211,7 @@ void setupTestMummifier() throws IOException {
 		testMummifier = new BaseImageMummifier(Set.of(JPEG_MEDIA_TYPE)) {
 
 			@Override
-			protected void mummifyFile(MummyContext context, CorporealSourceArtifact artifact) throws IOException {
+			protected void mummifyFile(MummyContext context, CorporealSourceArtifact artifact, OutputStream outputStream) throws IOException {
 				throw new AssertionError();
 			}
 		};
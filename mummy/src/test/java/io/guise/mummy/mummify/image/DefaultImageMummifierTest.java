@@ -20,10 +20,14 @@
 import static com.globalmentor.io.Images.*;
 import static com.globalmentor.java.OperatingSystem.*;
 import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
 
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.nio.file.Paths;
 
+import javax.imageio.ImageIO;
+
 import org.junit.jupiter.api.*;
 
 import io.confound.config.Configuration;
@@ -65,4 +69,37 @@ void testGetArtifactMediaType() throws IOException {
 		assertThat(testMummifier.getArtifactMediaType(fixtureContext, Paths.get("test.PNG")), isPresentAndIs(PNG_MEDIA_TYPE));
 	}
 
+	/**
+	 * Verifies that aspects are scaled from the smallest image already produced that covers the requested size.
+	 * @see DefaultImageMummifier.DecodedImage#getSmallestImageCovering(int, int)
+	 */
+	@Test
+	void verifyDecodedImageGetSmallestImageCovering() {
+		final BufferedImage image = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB);
+		final DefaultImageMummifier.DecodedImage decodedImage = new DefaultImageMummifier.DecodedImage(image, null,
+				ImageIO.getImageWritersByFormatName("png").next().getOriginatingProvider());
+		assertThat(decodedImage.getSmallestImageCovering(600, 400), is(sameInstance(image)));
+		final BufferedImage largeImage = new BufferedImage(900, 600, BufferedImage.TYPE_INT_RGB);
+		final BufferedImage mediumImage = new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB);
+		decodedImage.addScaledImage(largeImage);
+		decodedImage.addScaledImage(mediumImage);
+		assertThat(decodedImage.getSmallestImageCovering(1000, 600), is(sameInstance(image)));
+		assertThat(decodedImage.getSmallestImageCovering(900, 600), is(sameInstance(largeImage)));
+		assertThat(decodedImage.getSmallestImageCovering(700, 400), is(sameInstance(largeImage)));
+		assertThat(decodedImage.getSmallestImageCovering(300, 200), is(sameInstance(mediumImage)));
+		assertThat(decodedImage.getOriginalWidth(), is(1200));
+		assertThat(decodedImage.getOriginalHeight(), is(800));
+	}
+
+	/** @see DefaultImageMummifier#getSourceSubsampling(int, int, int) */
+	@Test
+	void testGetSourceSubsampling() {
+		assertThat(DefaultImageMummifier.getSourceSubsampling(1920, 1080, 1920), is(1));
+		assertThat(DefaultImageMummifier.getSourceSubsampling(3000, 2000, 1920), is(1));
+		assertThat(DefaultImageMummifier.getSourceSubsampling(8000, 6000, 1920), is(2));
+		assertThat(DefaultImageMummifier.getSourceSubsampling(8000, 6000, 960), is(4));
+		assertThat(DefaultImageMummifier.getSourceSubsampling(6000, 8000, 480), is(8));
+		assertThat(DefaultImageMummifier.getSourceSubsampling(8000, 100, 1920), is(2));
+	}
+
 }
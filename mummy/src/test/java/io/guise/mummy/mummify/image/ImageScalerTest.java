@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.guise.mummy.mummify.image;
+
+import static io.guise.mummy.mummify.image.BaseImageMummifierTest.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests of {@link ImageScaler} implementations.
+ * @author Garret Wilson
+ */
+public class ImageScalerTest {
+
+	/**
+	 * The maximum average difference, per color channel on a scale of 0–255, allowed between a scaler's output and that of the {@link SmoothImageScaler}
+	 * reference.
+	 */
+	private static final double MAX_MEAN_CHANNEL_DIFFERENCE = 6.0;
+
+	/** The image scalers to test. */
+	private static final List<ImageScaler> IMAGE_SCALERS = List.of(SmoothImageScaler.INSTANCE, ProgressiveImageScaler.INSTANCE, LanczosImageScaler.INSTANCE,
+			new LanczosImageScaler(2, false));
+
+	/**
+	 * Computes the average difference per color channel between two images of the same size.
+	 * @param image1 The first image.
+	 * @param image2 The second image.
+	 * @return The mean absolute difference of the red, green, and blue channels of all pixels.
+	 */
+	private static double meanChannelDifference(final BufferedImage image1, final BufferedImage image2) {
+		long totalDifference = 0;
+		for(int y = 0; y < image1.getHeight(); y++) {
+			for(int x = 0; x < image1.getWidth(); x++) {
+				final int pixel1 = image1.getRGB(x, y);
+				final int pixel2 = image2.getRGB(x, y);
+				for(int shift = 0; shift < 24; shift += 8) {
+					totalDifference += Math.abs(((pixel1 >> shift) & 0xFF) - ((pixel2 >> shift) & 0xFF));
+				}
+			}
+		}
+		return totalDifference / (3.0 * image1.getWidth() * image1.getHeight());
+	}
+
+	/** @see ImageScaler#scale(BufferedImage, int, int) */
+	@Test
+	void testScaleDimensions() {
+		for(final ImageScaler imageScaler : IMAGE_SCALERS) {
+			final BufferedImage image = new BufferedImage(100, 60, BufferedImage.TYPE_INT_RGB);
+			for(final int[] dimensions : new int[][] {{50, 30}, {33, 20}, {7, 4}, {1, 1}, {100, 60}, {150, 90}}) {
+				final BufferedImage scaledImage = imageScaler.scale(image, dimensions[0], dimensions[1]);
+				assertThat(scaledImage, is(not(sameInstance(image))));
+				assertThat(scaledImage.getWidth(), is(dimensions[0]));
+				assertThat(scaledImage.getHeight(), is(dimensions[1]));
+			}
+			assertThrows(IllegalArgumentException.class, () -> imageScaler.scale(image, 0, 30));
+		}
+	}
+
+	/**
+	 * Verifies that a uniformly colored image keeps its color and transparency when scaled.
+	 * @see ImageScaler#scale(BufferedImage, int, int)
+	 */
+	@Test
+	void verifyScalePreservesSolidColor() {
+		for(final ImageScaler imageScaler : IMAGE_SCALERS) {
+			for(final int imageType : new int[] {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_3BYTE_BGR}) {
+				final int color = imageType == BufferedImage.TYPE_INT_ARGB ? 0x80336699 : 0xFF336699;
+				final BufferedImage image = new BufferedImage(90, 60, imageType);
+				for(int y = 0; y < image.getHeight(); y++) {
+					for(int x = 0; x < image.getWidth(); x++) {
+						image.setRGB(x, y, color);
+					}
+				}
+				final BufferedImage scaledImage = imageScaler.scale(image, 20, 13);
+				for(int y = 0; y < scaledImage.getHeight(); y++) {
+					for(int x = 0; x < scaledImage.getWidth(); x++) {
+						final int pixel = scaledImage.getRGB(x, y);
+						for(int shift = 0; shift < 32; shift += 8) {
+							assertThat(Math.abs(((pixel >>> shift) & 0xFF) - ((color >>> shift) & 0xFF)), is(lessThanOrEqualTo(1)));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Verifies that scalers produce output comparable in quality to the original AWT area-averaging approach.
+	 * @see SmoothImageScaler
+	 */
+	@Test
+	void verifyScaleQualityParity() throws IOException {
+		for(final ImageScaler imageScaler : IMAGE_SCALERS) {
+			final BufferedImage image;
+			try (final InputStream inputStream = getClass().getResourceAsStream(GATE_TURRET_REDUCED_JPEG_RESOURCE_NAME)) {
+				image = ImageIO.read(inputStream);
+			}
+			for(final int[] dimensions : new int[][] {{600, 400}, {324, 216}, {97, 64}}) {
+				final BufferedImage referenceImage = SmoothImageScaler.INSTANCE.scale(image, dimensions[0], dimensions[1]);
+				final BufferedImage scaledImage = imageScaler.scale(image, dimensions[0], dimensions[1]);
+				assertThat(meanChannelDifference(referenceImage, scaledImage), is(lessThan(MAX_MEAN_CHANNEL_DIFFERENCE)));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2020 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.mummy.mummify.page;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.nio.file.Files.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.*;
+
+import io.guise.mummy.BaseEndToEndIT;
+import io.guise.mummy.GuiseMummy.LifeCyclePhase;
+
+/**
+ * Integration tests of applying templates to pages.
+ * @author Garret Wilson
+ */
+public class PageTemplateIT extends BaseEndToEndIT {
+
+	private static final String TEMPLATE_XHTML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!DOCTYPE html>\n"
+			+ "<html xmlns=\"http://www.w3.org/1999/xhtml\" xmlns:mx=\"https://guise.io/name/mesh/\">\n<head>\n<meta charset=\"UTF-8\" />\n<title>Template</title>\n</head>\n"
+			+ "<body>\n<header><p class=\"page-title\" mx:text=\"page.title\">Page Title</p></header>\n<main><p>Placeholder</p></main>\n</body>\n</html>\n";
+
+	private static final String PAGE_XHTML_FORMAT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!DOCTYPE html>\n"
+			+ "<html xmlns=\"http://www.w3.org/1999/xhtml\" xmlns:mx=\"https://guise.io/name/mesh/\">\n<head>\n<meta charset=\"UTF-8\" />\n<title>%s</title>\n</head>\n"
+			+ "<body>\n<h1 mx:text=\"page.title\">Dummy Title</h1>\n</body>\n</html>\n";
+
+	@Override
+	protected void populateSiteSourceDirectory(final Path siteSourceDirectory) throws IOException {
+		super.populateSiteSourceDirectory(siteSourceDirectory);
+		writeString(siteSourceDirectory.resolve(".template.xhtml"), TEMPLATE_XHTML);
+		writeString(siteSourceDirectory.resolve("one.xhtml"), String.format(PAGE_XHTML_FORMAT, "Page One"));
+		writeString(siteSourceDirectory.resolve("two.xhtml"), String.format(PAGE_XHTML_FORMAT, "Page Two"));
+	}
+
+	/** Verifies that a template compiled once is meshed separately for each page to which it is applied, along with the content of each page. */
+	@Test
+	void verifyTemplateMeshedForEachPage() throws IOException {
+		mummify(LifeCyclePhase.MUMMIFY);
+		for(final Map.Entry<String, String> pageTitle : Map.of("one.html", "Page One", "two.html", "Page Two").entrySet()) {
+			final String title = pageTitle.getValue();
+			final String output = readString(getSiteTargetDirectory().resolve(pageTitle.getKey()), UTF_8);
+			assertThat(output, containsString("<p class=\"page-title\">" + title + "</p>"));
+			assertThat(output, containsString("<h1>" + title + "</h1>"));
+			assertThat(output, not(containsString("Placeholder")));
+		}
+	}
+
+}
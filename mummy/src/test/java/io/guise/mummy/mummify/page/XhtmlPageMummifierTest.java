@@ -16,18 +16,29 @@
 
 package io.guise.mummy.mummify.page;
 
+import static com.globalmentor.html.HtmlDom.*;
 import static com.globalmentor.java.OperatingSystem.*;
+import static com.globalmentor.xml.XmlDom.*;
+import static java.nio.charset.StandardCharsets.*;
+import static java.nio.file.Files.*;
+import static javax.xml.XMLConstants.XML_NS_URI;
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
 import java.io.*;
 import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.*;
 
-import io.confound.config.Configuration;
+import io.confound.config.*;
+import io.guise.mesh.*;
 import io.guise.mummy.*;
 import io.urf.URF.Handle;
 
@@ -39,6 +50,10 @@ public class XhtmlPageMummifierTest {
 
 	public static final String SIMPLE_METADATA_XHTML_RESOURCE_NAME = "simple-metadata.xhtml";
 
+	private static final String XHTML_1_0_STRICT_DOCUMENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Strict//EN\" \"http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd\">\n"
+			+ "<html xmlns=\"http://www.w3.org/1999/xhtml\"><head><title>Test</title></head><body><pre>foo&nbsp;bar</pre></body></html>";
+
 	private MummyContext mummyContext;
 
 	@BeforeEach
@@ -73,4 +88,154 @@ public void testSimpleXhtmlMetadata() throws IOException {
 		}
 	}
 
+	/**
+	 * Loads the {@link #XHTML_1_0_STRICT_DOCUMENT} test document and returns its <code>&lt;pre&gt;</code> element.
+	 * @param context The mummy context to use for loading the document.
+	 * @return The <code>&lt;pre&gt;</code> element of the loaded document.
+	 */
+	private static Element loadXhtml10StrictPreElement(final MummyContext context) throws IOException {
+		final Document document = new XhtmlPageMummifier().loadSourceDocument(context, new ByteArrayInputStream(XHTML_1_0_STRICT_DOCUMENT.getBytes(UTF_8)),
+				"test.xhtml");
+		return (Element)document.getElementsByTagName("pre").item(0);
+	}
+
+	/**
+	 * Verifies that the same document builder is reused on the same thread, and that it can be used to load multiple documents.
+	 * @see MummyContext#getPageDocumentBuilder()
+	 */
+	@Test
+	public void verifyPageDocumentBuilderReused() throws IOException {
+		assertThat(mummyContext.getPageDocumentBuilder(), is(sameInstance(mummyContext.getPageDocumentBuilder())));
+		assertThat(loadXhtml10StrictPreElement(mummyContext).getTextContent(), is("foo\u00A0bar"));
+		assertThat(loadXhtml10StrictPreElement(mummyContext).getTextContent(), is("foo\u00A0bar"));
+	}
+
+	/**
+	 * Verifies that the full XHTML 1.0 Strict DTD is loaded by default, including default attributes.
+	 * @see PageMummifier#DEFAULT_DTD_LOADING
+	 */
+	@Test
+	public void testLoadSourceDocumentDtdLoadingFull() throws IOException {
+		final Element preElement = loadXhtml10StrictPreElement(mummyContext);
+		assertThat(preElement.getTextContent(), is("foo\u00A0bar"));
+		assertThat(preElement.getAttributeNS(XML_NS_URI, "space"), is("preserve"));
+	}
+
+	/**
+	 * Verifies that only character entities are loaded from the XHTML 1.0 Strict DTD when so configured.
+	 * @see PageMummifier.DtdLoading#ENTITIES
+	 */
+	@Test
+	public void testLoadSourceDocumentDtdLoadingEntities() throws IOException {
+		final MummyContext entitiesMummyContext = new FakeMummyContext(
+				new DefaultGuiseProject(getWorkingDirectory(), new StringMapConfiguration(Map.of(PageMummifier.CONFIG_KEY_MUMMY_PAGE_DTD_LOADING, "entities"))));
+		final Element preElement = loadXhtml10StrictPreElement(entitiesMummyContext);
+		assertThat(preElement.getTextContent(), is("foo\u00A0bar"));
+		assertThat("No default attributes are added.", preElement.hasAttributeNS(XML_NS_URI, "space"), is(false));
+	}
+
+	/**
+	 * Verifies that the XHTML 1.0 Strict DTD is not loaded at all when so configured.
+	 * @see PageMummifier.DtdLoading#NONE
+	 */
+	@Test
+	public void testLoadSourceDocumentDtdLoadingNone() throws IOException {
+		final MummyContext noneMummyContext = new FakeMummyContext(
+				new DefaultGuiseProject(getWorkingDirectory(), new StringMapConfiguration(Map.of(PageMummifier.CONFIG_KEY_MUMMY_PAGE_DTD_LOADING, "none"))));
+		final Element preElement = loadXhtml10StrictPreElement(noneMummyContext);
+		assertThat("Undeclared entities are ignored.", preElement.getTextContent(), is("foobar"));
+		assertThat("No default attributes are added.", preElement.hasAttributeNS(XML_NS_URI, "space"), is(false));
+	}
+
+	/**
+	 * Verifies that a template is loaded only once, that each request receives an independent copy, and that the template is loaded again if modified.
+	 * @see XhtmlPageMummifier#loadTemplateDocument(MummyContext, Path, PageMummifier)
+	 */
+	@Test
+	public void verifyLoadTemplateDocumentCachesUntilModified(@TempDir final Path tempDir) throws IOException {
+		final XhtmlPageMummifier mummifier = new XhtmlPageMummifier();
+		final Path templateFile = tempDir.resolve(".template.xhtml");
+		writeString(templateFile, "<html xmlns=\"http://www.w3.org/1999/xhtml\"><head><title>Template</title></head><body><p>One</p></body></html>", UTF_8);
+		final Document templateDocument1 = mummifier.loadTemplateDocument(mummyContext, templateFile, mummifier);
+		final Document templateDocument2 = mummifier.loadTemplateDocument(mummyContext, templateFile, mummifier);
+		assertThat(templateDocument2, not(sameInstance(templateDocument1)));
+		final Element bodyElement1 = findHtmlBodyElement(templateDocument1).orElseThrow(AssertionError::new);
+		bodyElement1.getParentNode().removeChild(bodyElement1);
+		assertThat("Modifying one template copy does not affect another.", findHtmlBodyElement(templateDocument2).isPresent(), is(true));
+
+		writeString(templateFile, "<html xmlns=\"http://www.w3.org/1999/xhtml\"><head><title>Template</title></head><body><p>Two</p></body></html>", UTF_8);
+		setLastModifiedTime(templateFile, FileTime.fromMillis(getLastModifiedTime(templateFile).toMillis() + 10_000));
+		final Document templateDocument3 = mummifier.loadTemplateDocument(mummyContext, templateFile, mummifier);
+		assertThat(findHtmlBodyElement(templateDocument3).orElseThrow(AssertionError::new).getTextContent(), is("Two"));
+	}
+
+	/**
+	 * Verifies that a template is compiled only once, that the compiled program meshes each copy of the template with the content placed in it, and that the
+	 * template is compiled again if modified.
+	 * @see XhtmlPageMummifier#loadTemplate(MummyContext, Path, PageMummifier)
+	 */
+	@Test
+	public void verifyLoadTemplateCompilesOnceUntilModified(@TempDir final Path tempDir) throws IOException {
+		final AtomicInteger compileCount = new AtomicInteger();
+		final GuiseMesh guiseMesh = new GuiseMesh() {
+			@Override
+			public MeshProgram compileDocument(final Document document, final Collection<? extends Element> interpretedElements) {
+				compileCount.incrementAndGet();
+				return super.compileDocument(document, interpretedElements);
+			}
+		};
+		final XhtmlPageMummifier mummifier = new XhtmlPageMummifier() {
+			@Override
+			protected GuiseMesh getGuiseMesh() {
+				return guiseMesh;
+			}
+		};
+		final Path templateFile = tempDir.resolve(".template.xhtml");
+		writeString(templateFile, "<html xmlns=\"http://www.w3.org/1999/xhtml\"><head><title>^{title}</title></head>"
+				+ "<body><header>^{site}</header><main><p>Placeholder</p></main></body></html>", UTF_8);
+		final Map.Entry<Document, MeshProgram> template1 = mummifier.loadTemplate(mummyContext, templateFile, mummifier);
+		final Map.Entry<Document, MeshProgram> template2 = mummifier.loadTemplate(mummyContext, templateFile, mummifier);
+		assertThat(compileCount.get(), is(1));
+		assertThat(template2.getKey(), not(sameInstance(template1.getKey())));
+		assertThat(template2.getValue(), is(sameInstance(template1.getValue())));
+
+		for(final String title : List.of("One", "Two")) {
+			final Document templateDocument = mummifier.loadTemplateDocument(mummyContext, templateFile, mummifier);
+			final Element mainElement = findHtmlBodyElement(templateDocument).flatMap(bodyElement -> childElementsOf(bodyElement).skip(1).findFirst())
+					.orElseThrow(AssertionError::new);
+			mainElement.getFirstChild().setTextContent("Content for ^{title}.");
+			final MeshContext meshContext = MeshContext.create(Map.of("title", title, "site", "Site"));
+			assertThat(template1.getValue().execute(meshContext, templateDocument), is(sameInstance(templateDocument)));
+			assertThat(findHtmlHeadElement(templateDocument).orElseThrow(AssertionError::new).getTextContent(), is(title));
+			assertThat(findHtmlBodyElement(templateDocument).orElseThrow(AssertionError::new).getTextContent(), is("SiteContent for " + title + "."));
+		}
+		assertThat(compileCount.get(), is(1));
+
+		writeString(templateFile, "<html xmlns=\"http://www.w3.org/1999/xhtml\"><head><title>Template</title></head><body><p>Two</p></body></html>", UTF_8);
+		setLastModifiedTime(templateFile, FileTime.fromMillis(getLastModifiedTime(templateFile).toMillis() + 10_000));
+		final Map.Entry<Document, MeshProgram> template3 = mummifier.loadTemplate(mummyContext, templateFile, mummifier);
+		assertThat(compileCount.get(), is(2));
+		assertThat(template3.getValue(), not(sameInstance(template1.getValue())));
+	}
+
+	/**
+	 * Verifies that an excerpt is loaded once and that each request receives an independent copy.
+	 * @see XhtmlPageMummifier#loadSourceExcerpt(MummyContext, CorporealSourceArtifact)
+	 */
+	@Test
+	public void verifyLoadSourceExcerptIsCached(@TempDir final Path tempDir) throws IOException {
+		final XhtmlPageMummifier mummifier = new XhtmlPageMummifier();
+		final Path sourceFile = tempDir.resolve("post.xhtml");
+		writeString(sourceFile,
+				"<html xmlns=\"http://www.w3.org/1999/xhtml\"><head><title>Post</title></head><body><p></p><p>First paragraph.</p><p>Second.</p></body></html>", UTF_8);
+		final CorporealSourceArtifact artifact = DefaultSourceFileArtifact.builder(mummifier, sourceFile, tempDir.resolve("post.html")).withEmptyDescription()
+				.build();
+		final DocumentFragment excerpt1 = mummifier.loadSourceExcerpt(mummyContext, artifact).orElseThrow(AssertionError::new);
+		assertThat(excerpt1.getTextContent(), is("First paragraph."));
+		delete(sourceFile); //the excerpt should no longer need the source
+		final DocumentFragment excerpt2 = mummifier.loadSourceExcerpt(mummyContext, artifact).orElseThrow(AssertionError::new);
+		assertThat(excerpt2, not(sameInstance(excerpt1)));
+		assertThat(excerpt2.getTextContent(), is("First paragraph."));
+	}
+
 }
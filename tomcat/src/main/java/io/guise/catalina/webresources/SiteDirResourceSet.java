@@ -18,13 +18,17 @@
 
 import static com.globalmentor.io.Filenames.*;
 import static com.globalmentor.io.Paths.*;
+import static com.globalmentor.java.Conditions.*;
 import static com.globalmentor.net.URIs.*;
 import static java.nio.file.Files.*;
+import static java.util.Collections.*;
 import static java.util.Objects.*;
 
 import java.io.*;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.util.List;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
 
 import javax.annotation.*;
 
@@ -48,6 +52,8 @@
  *           file. The sidecar metadata file must be in TURF Properties format. By default it is expected to be stored in a file with the same name in the
  *           description base directory, but with a <code>-.tupr</code> extension added to whatever extension the filename already has. Determination of the
  *           sidecar is configurable using {@link #setDescriptionFileSidecarPrefix(String)} and {@link #setDescriptionFileSidecarExtension(String)}.
+ * @implSpec The content type determined from each sidecar is cached, up to the size configured using {@link #setDescriptionCacheSize(int)}, and only parsed
+ *           again if the sidecar is modified.
  * @author Garret Wilson
  */
 public class SiteDirResourceSet extends DirResourceSet {
@@ -134,6 +140,36 @@ public void setDescriptionFileSidecarExtension(@Nonnull final String extension)
 		descriptionFileSidecarExtension = requireNonNull(extension);
 	}
 
+	/** The default maximum number of description sidecar lookups to cache. */
+	public static final int DEFAULT_DESCRIPTION_CACHE_SIZE = 10_000;
+
+	private int descriptionCacheSize = DEFAULT_DESCRIPTION_CACHE_SIZE;
+
+	/**
+	 * Retrieves the maximum number of description sidecar lookups to cache.
+	 * @implSpec Defaults to {@value #DEFAULT_DESCRIPTION_CACHE_SIZE}.
+	 * @return The maximum number of cached description lookups; <code>0</code> if descriptions are not cached.
+	 */
+	public int getDescriptionCacheSize() {
+		return descriptionCacheSize;
+	}
+
+	/**
+	 * Sets the maximum number of description sidecar lookups to cache. This should be set before the resource set is initialized.
+	 * @implSpec Defaults to {@value #DEFAULT_DESCRIPTION_CACHE_SIZE}.
+	 * @param descriptionCacheSize The maximum number of cached description lookups; <code>0</code> if descriptions should not be cached.
+	 * @throws IllegalArgumentException if the given size is negative.
+	 */
+	public void setDescriptionCacheSize(final int descriptionCacheSize) {
+		this.descriptionCacheSize = checkArgumentNotNegative(descriptionCacheSize);
+	}
+
+	/**
+	 * The cached results of looking up description sidecar files, keyed to the description sidecar file, in least-recently-used order. Missing sidecar files and
+	 * sidecars without a content type are cached as well.
+	 */
+	private Map<Path, DescriptionCacheEntry> descriptionCache; //set when initialized in initInternal()
+
 	/**
 	 * No-arguments constructor. The description base directory, if not changed before initialization, will be assumed to be be the same as the site base.
 	 * @apiNote This constructor is necessary if used with the {@link Digester}.
@@ -165,6 +201,17 @@ protected void initInternal() throws LifecycleException {
 		//default to the file base if there is no custom description base set
 		descriptionFileBase = descriptionBaset != null ? new File(getDescriptionBase(), getInternalPath()) : getFileBase();
 		checkType(descriptionFileBase);
+		final int maxDescriptionCacheSize = getDescriptionCacheSize();
+		descriptionCache = synchronizedMap(new LinkedHashMap<Path, DescriptionCacheEntry>(16, 0.75f, true) { //access order, for evicting the least recently used entries
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Path, DescriptionCacheEntry> eldest) {
+				return size() > maxDescriptionCacheSize;
+			}
+
+		});
 	}
 
 	/**
@@ -185,24 +232,13 @@ public WebResource getResource(String path) {
 				}
 				final FileResource fileResource = new FileResource(root, path, file, isReadOnly(), getManifest());
 
-				//load any description sidecar
+				//determine the content type from any description sidecar
 				final Path filePath = file.toPath();
 				final String filename = Paths.findFilename(filePath)
 						.orElseThrow(() -> new IllegalArgumentException(String.format("Path %s has no filename.", filePath)));
 				final String descriptionFilename = Filenames.addExtension(getDescriptionFileSidecarPrefix() + filename, getDescriptionFileSidecarExtension()); //e.g. `filename.ext.-.tupr`
 				final Path descriptionFile = changeBase(filePath.resolveSibling(descriptionFilename), getFileBase().toPath(), getDescriptionFileBase().toPath());
-				if(isRegularFile(descriptionFile)) {
-					try (final InputStream inputStream = new BufferedInputStream(newInputStream(descriptionFile))) {
-						new TurfParser<List<Object>>(new SimpleGraphUrfProcessor()).parseDocument(inputStream, TURF.PROPERTIES_MEDIA_TYPE).stream()
-								.flatMap(Objects.asInstances(UrfResourceDescription.class)).findFirst().ifPresentOrElse(description -> {
-									//set the MIME type if indicated
-									description.findPropertyValue(Content.TYPE_PROPERTY_TAG).ifPresent(contentType -> fileResource.setMimeType(contentType.toString()));
-								}, () -> log.warn(String.format("No description found for resource %s in file %s.", file, descriptionFile)));
-
-					} catch(final IOException ioException) {
-						log.error(String.format("Error loading resource-specific metadata for resource %s from %s.", file, descriptionFile), ioException);
-					}
-				}
+				findDescriptionContentType(file, descriptionFile).ifPresent(fileResource::setMimeType);
 
 				return fileResource;
 
@@ -211,4 +247,80 @@ public WebResource getResource(String path) {
 		return super.getResource(path);
 	}
 
+	/**
+	 * Determines the content type of a resource indicated by its description sidecar file, if any.
+	 * @implSpec The result is cached, keyed to the description file along with its modification timestamp, so that the sidecar is only parsed again if it has
+	 *           been modified. The absence of a sidecar file is cached as well, so that a missing sidecar requires only a single file system check.
+	 * @param file The resource file being described.
+	 * @param descriptionFile The description sidecar file, which may not exist.
+	 * @return The content type indicated by the description, if any.
+	 */
+	protected Optional<String> findDescriptionContentType(@Nonnull final File file, @Nonnull final Path descriptionFile) {
+		FileTime descriptionModifiedAt;
+		try {
+			descriptionModifiedAt = getLastModifiedTime(descriptionFile);
+		} catch(final NoSuchFileException noSuchFileException) {
+			descriptionModifiedAt = null;
+		} catch(final IOException ioException) {
+			log.error(String.format("Error checking resource-specific metadata for resource %s in %s.", file, descriptionFile), ioException);
+			return Optional.empty();
+		}
+		final DescriptionCacheEntry cachedEntry = descriptionCache.get(descriptionFile);
+		if(cachedEntry != null && cachedEntry.isCurrent(descriptionModifiedAt)) {
+			return Optional.ofNullable(cachedEntry.contentType);
+		}
+		String contentType = null;
+		if(descriptionModifiedAt != null) {
+			try (final InputStream inputStream = new BufferedInputStream(newInputStream(descriptionFile))) {
+				final Optional<UrfResourceDescription> foundDescription = new TurfParser<List<Object>>(new SimpleGraphUrfProcessor())
+						.parseDocument(inputStream, TURF.PROPERTIES_MEDIA_TYPE).stream().flatMap(Objects.asInstances(UrfResourceDescription.class)).findFirst();
+				if(foundDescription.isPresent()) {
+					contentType = foundDescription.get().findPropertyValue(Content.TYPE_PROPERTY_TAG).map(Object::toString).orElse(null);
+				} else {
+					log.warn(String.format("No description found for resource %s in file %s.", file, descriptionFile));
+				}
+			} catch(final IOException ioException) {
+				log.error(String.format("Error loading resource-specific metadata for resource %s from %s.", file, descriptionFile), ioException);
+				return Optional.empty(); //don't cache errors; the sidecar may be in the process of being written
+			}
+		}
+		descriptionCache.put(descriptionFile, new DescriptionCacheEntry(descriptionModifiedAt, contentType)); //a concurrent lookup would produce an equivalent entry
+		return Optional.ofNullable(contentType);
+	}
+
+	/**
+	 * The cached result of looking up a description sidecar file.
+	 * @author Garret Wilson
+	 */
+	private static final class DescriptionCacheEntry {
+
+		/** The modification timestamp of the description file, or <code>null</code> if the description file did not exist. */
+		@Nullable
+		private final FileTime modifiedAt;
+
+		/** The content type indicated by the description, or <code>null</code> if none was indicated. */
+		@Nullable
+		private final String contentType;
+
+		/**
+		 * Constructor.
+		 * @param modifiedAt The modification timestamp of the description file, or <code>null</code> if the description file did not exist.
+		 * @param contentType The content type indicated by the description, or <code>null</code> if none was indicated.
+		 */
+		DescriptionCacheEntry(@Nullable final FileTime modifiedAt, @Nullable final String contentType) {
+			this.modifiedAt = modifiedAt;
+			this.contentType = contentType;
+		}
+
+		/**
+		 * Determines whether this entry reflects the current state of the description file.
+		 * @param currentModifiedAt The current modification timestamp of the description file, or <code>null</code> if the description file does not exist.
+		 * @return <code>true</code> if the description file has not been created, modified, or deleted since this entry was cached.
+		 */
+		boolean isCurrent(@Nullable final FileTime currentModifiedAt) {
+			return modifiedAt != null ? modifiedAt.equals(currentModifiedAt) : currentModifiedAt == null;
+		}
+
+	}
+
 }
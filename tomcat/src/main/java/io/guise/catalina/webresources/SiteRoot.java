@@ -17,6 +17,7 @@
 package io.guise.catalina.webresources;
 
 import static com.globalmentor.io.Filenames.*;
+import static com.globalmentor.java.Conditions.*;
 import static com.globalmentor.net.URIs.*;
 import static java.util.Objects.*;
 
@@ -143,6 +144,27 @@ public void setDescriptionFileSidecarExtension(@Nonnull final String extension)
 		descriptionFileSidecarExtension = requireNonNull(extension);
 	}
 
+	private int descriptionCacheSize = SiteDirResourceSet.DEFAULT_DESCRIPTION_CACHE_SIZE;
+
+	/**
+	 * Retrieves the maximum number of description sidecar lookups to cache.
+	 * @implSpec Defaults to {@value SiteDirResourceSet#DEFAULT_DESCRIPTION_CACHE_SIZE}.
+	 * @return The maximum number of cached description lookups; <code>0</code> if descriptions are not cached.
+	 */
+	public int getDescriptionCacheSize() {
+		return descriptionCacheSize;
+	}
+
+	/**
+	 * Sets the maximum number of description sidecar lookups to cache.
+	 * @implSpec Defaults to {@value SiteDirResourceSet#DEFAULT_DESCRIPTION_CACHE_SIZE}.
+	 * @param descriptionCacheSize The maximum number of cached description lookups; <code>0</code> if descriptions should not be cached.
+	 * @throws IllegalArgumentException if the given size is negative.
+	 */
+	public void setDescriptionCacheSize(final int descriptionCacheSize) {
+		this.descriptionCacheSize = checkArgumentNotNegative(descriptionCacheSize);
+	}
+
 	/** Creates the root using the context doc base as the directory for site resources descriptions. */
 	public SiteRoot() {
 		this((String)null);
@@ -171,6 +193,7 @@ protected WebResourceSet createMainResourceSet() {
 						descriptionBaseFile.getAbsolutePath());
 				siteDirResourceSet.setDescriptionFileSidecarPrefix(getDescriptionFileSidecarPrefix());
 				siteDirResourceSet.setDescriptionFileSidecarExtension(getDescriptionFileSidecarExtension());
+				siteDirResourceSet.setDescriptionCacheSize(getDescriptionCacheSize());
 				return siteDirResourceSet;
 			});
 		}).orElseGet(super::createMainResourceSet);